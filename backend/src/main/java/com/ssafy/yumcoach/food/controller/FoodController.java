@@ -1,14 +1,31 @@
 package com.ssafy.yumcoach.food.controller;
 
+import com.ssafy.yumcoach.auth.principal.CustomUserPrincipal;
+import com.ssafy.yumcoach.food.model.FoodBatchRequest;
+import com.ssafy.yumcoach.food.model.FoodBatchResponse;
 import com.ssafy.yumcoach.food.model.FoodDetailDto;
 import com.ssafy.yumcoach.food.model.FoodItemDto;
+import com.ssafy.yumcoach.food.model.FoodSearchResponse;
+import com.ssafy.yumcoach.food.model.catalog.CategoryLevel;
+import com.ssafy.yumcoach.food.model.catalog.Nutrient;
+import com.ssafy.yumcoach.food.model.catalog.NutrientRange;
+import com.ssafy.yumcoach.food.model.service.FoodCatalogService;
+import com.ssafy.yumcoach.food.model.service.FoodExportService;
 import com.ssafy.yumcoach.food.model.service.FoodService;
+import com.ssafy.yumcoach.user.model.service.UserService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/foods")
@@ -16,6 +33,9 @@ import java.util.List;
 public class FoodController {
 
     private final FoodService foodService;
+    private final FoodCatalogService foodCatalogService;
+    private final FoodExportService foodExportService;
+    private final UserService userService;
 
     /**
      * 단일 식품 상세정보 조회 API
@@ -68,24 +88,92 @@ public class FoodController {
                 : ResponseEntity.ok(detail);
     }
 
+    /**
+     * 식품 상세정보 일괄 조회 API
+     *
+     * 여러 food_id 를 한 번에 받아 상세정보를 foodId 기준 맵으로 돌려준다.
+     * 식단 편집 화면처럼 식품 여러 개를 한꺼번에 보여줄 때 GET /api/foods/{foodId} 를
+     * 반복 호출하지 않도록 쓴다. (DB 조회 시에도 IN 절 한 번)
+     *
+     * 예: POST /api/foods/batch
+     *
+     * Request Body Example:
+     * {
+     *   "foodIds": ["FD00123", "FD00321", "FD99999"]
+     * }
+     *
+     * Response:
+     * - 200 OK: FoodBatchResponse
+     * - 400 Bad Request: foodIds 가 비었거나 최대 개수(500) 초과
+     *
+     * Response Body Example:
+     * {
+     *   "foods": {
+     *     "FD00123": { "food": { ... }, "nutrition": { ... } },
+     *     "FD00321": { "food": { ... }, "nutrition": { ... } }
+     *   },
+     *   "missing": ["FD99999"]
+     * }
+     *
+     * @return foodId → 상세정보 맵과 존재하지 않는 id 목록
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> getFoodDetails(@RequestBody FoodBatchRequest request) {
+
+        List<String> foodIds = request == null ? null : request.getFoodIds();
+        if (foodIds == null || foodIds.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "foodIds는 필수입니다."));
+        }
+
+        try {
+            FoodBatchResponse response = foodService.getFoodDetails(foodIds);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     /**
      * 식품 검색 API
      *
      * 키워드를 기준으로 food_items 테이블에서 식품 이름, 대표식품 이름, 또는
      * 카테고리명(대분류/중분류/소분류)에 대해 LIKE 검색을 수행한다.
+     * (메모리 카탈로그가 적재되어 있으면 DB 대신 n-gram 역색인으로 같은 결과를 돌려준다.)
+     *
+     * 정렬(sort):
+     * - popular (기본값): 일치 정도(이름 일치 > 앞부분 일치 > 단어 시작 일치)와
+     *   전체 사용자 / 내 섭취 기록 빈도를 섞은 점수 순. 자주 먹는 식품이 위로 온다.
+     * - name: 식품 이름 오름차순
+     *
+     * fuzzy=true 이면 오타를 허용한다. 일반 검색 결과 뒤에 이름(또는 이름 속 단어)과
+     * 편집 거리 1~2 인 식품을 거리 → 이름 순으로 이어 붙인다. (예: "바나니" → 바나나, "chiken" → chicken)
+     *
+     * category 를 주면 food_type 분류 코드로 결과를 거른다. 코드 길이로 단계를 구분한다:
+     * 대분류 2자리(01), 대표식품 5자리(01004), 중분류 7자리(0100416), 소분류 9자리(010041600).
+     * facets=true 이면 목록 대신 { items, facets } 를 돌려주고, facets 에는 limit 과 관계없이
+     * 일치하는 식품 전체의 단계별 분류 개수를 담는다 (개수 내림차순, 단계별 상위 100개).
+     * fuzzy=true 와 함께 쓰면 items 와 같은 오타 허용 후보(편집 거리 1~2 포함) 기준으로 센다.
      *
      * 예: GET /api/foods/search?keyword=apple&limit=50
      *
-     * @param keyword 검색할 식품명 또는 키워드 (필수)
-     * @param limit   검색 결과 제한 개수 (기본값 50)
+     * @param keyword  검색할 식품명 또는 키워드 (필수)
+     * @param limit    검색 결과 제한 개수 (기본값 50)
+     * @param fuzzy    오타 허용 여부 (기본값 false, true 이면 sort 는 무시)
+     * @param sort     정렬 기준 popular | name (기본값 popular)
+     * @param category 분류 코드 필터 (선택)
+     * @param facets   분류별 개수 포함 여부 (기본값 false)
      *
      * Request Example:
      *   GET /api/foods/search?keyword=banana
      *   GET /api/foods/search?keyword=과일&limit=20
+     *   GET /api/foods/search?keyword=바나니&fuzzy=true
+     *   GET /api/foods/search?keyword=김치&category=06&facets=true
      *
      * Response:
-     * - 200 OK: List<FoodItemDto> (식품 기본정보 목록)
+     * - 200 OK: List<FoodItemDto> (식품 기본정보 목록), facets=true 이면 FoodSearchResponse
      * - 204 No Content: 검색된 식품 없음
+     * - 400 Bad Request: 분류 코드 형식 오류
+     * - 503 Service Unavailable: category / facets 사용 시 카탈로그 적재 전
      *
      * Response Body Example:
      * [
@@ -105,17 +193,298 @@ public class FoodController {
      *   }
      * ]
      *
+     * facets=true Response Body Example:
+     * {
+     *   "items": [ ... ],
+     *   "facets": {
+     *     "major": { "06": 120, "15": 8 },
+     *     "representative": { "06001": 95, ... },
+     *     "middle": { ... },
+     *     "minor": { ... }
+     *   }
+     * }
+     *
      * @return 식품 기본정보 목록 또는 NoContent
      */
     @GetMapping("/search")
-    public ResponseEntity<@NonNull List<FoodItemDto>> searchFoods(
+    public ResponseEntity<?> searchFoods(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(defaultValue = "popular") String sort,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @AuthenticationPrincipal CustomUserPrincipal user) {
+
+        if (category != null && CategoryLevel.ofCode(category) == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "분류 코드는 2/5/7/9자리 숫자여야 합니다."));
+        }
+
+        try {
+            List<FoodItemDto> foods;
+            if (fuzzy) {
+                foods = foodService.searchFoodFuzzy(keyword, limit, category);
+            } else if ("name".equalsIgnoreCase(sort)) {
+                foods = foodService.searchFood(keyword, limit, category);
+            } else {
+                foods = foodService.searchFoodPopular(keyword, limit,
+                        user == null ? null : user.getUserId(), category);
+            }
+
+            if (facets) {
+                return ResponseEntity.ok(new FoodSearchResponse(foods, foodService.searchFacets(keyword, category, fuzzy)));
+            }
+            return foods == null || foods.isEmpty()
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.ok(foods);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("message", "식품 카탈로그를 준비 중입니다."));
+        }
+    }
+
+    /**
+     * 식품 검색 스트리밍 API (NDJSON)
+     *
+     * searchFoods 의 이름순(sort=name) 결과를 한 줄에 FoodItemDto 하나씩 흘려보낸다.
+     * 목록 전체를 메모리에 만들지 않으므로 limit 을 크게 잡는 관리 도구/동기화용으로 쓴다.
+     *
+     * 예: GET /api/foods/search?keyword=김치&limit=100000&format=ndjson
+     *
+     * Response:
+     * - 200 OK: application/x-ndjson (결과가 없으면 빈 본문)
+     *
+     * @return FoodItemDto 스트림
+     */
+    @GetMapping(value = "/search", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> searchFoodsStream(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "50") int limit) {
 
-        List<FoodItemDto> foods = foodService.searchFood(keyword, limit);
+        StreamingResponseBody body = out -> foodExportService.writeSearch(keyword, limit, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * 식품 전체 내보내기 API (NDJSON, 관리자 전용)
+     *
+     * 전체 식품 + 대표 영양정보를 food_id 순으로 한 줄에 FoodDetailDto 하나씩 흘려보낸다.
+     * 카탈로그가 적재되어 있으면 DB 를 거치지 않고, 적재 전이면 DB 커서로 한 행씩 읽는다.
+     *
+     * 예: GET /api/foods/export
+     *
+     * Response:
+     * - 200 OK: application/x-ndjson
+     * - 403 Forbidden: 관리자 아님
+     *
+     * @return FoodDetailDto 스트림
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportFoods(@AuthenticationPrincipal CustomUserPrincipal user) {
+
+        if (user == null || !userService.isAdmin(user.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "관리자 권한이 필요합니다."));
+        }
+
+        StreamingResponseBody body = foodExportService::writeCatalog;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"foods.ndjson\"")
+                .body(body);
+    }
+
+    /**
+     * 식품 자동완성 API
+     *
+     * 입력 중인 문자열을 자모 단위로 풀어 식품 이름(및 이름 속 단어)의 앞부분과 비교한다.
+     * 자음만 입력하면 초성으로 찾는다. (예: "ㄷㄱ" → 닭가슴살, "닭ㄱ" → 닭가슴살)
+     * 결과는 짧은 이름(기본 식품) 우선, 최대 20개.
+     *
+     * 예: GET /api/foods/autocomplete?q=ㄷㄱ&limit=10
+     *
+     * @param q     입력 중인 문자열 (필수)
+     * @param limit 결과 제한 개수 (기본값 10, 최대 20)
+     *
+     * Response:
+     * - 200 OK: List<FoodItemDto>
+     * - 204 No Content: 일치하는 식품 없음
+     *
+     * @return 식품 기본정보 목록 또는 NoContent
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<@NonNull List<FoodItemDto>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        List<FoodItemDto> foods = foodService.autocomplete(q, limit);
 
         return foods == null || foods.isEmpty()
                 ? ResponseEntity.noContent().build()
                 : ResponseEntity.ok(foods);
     }
+
+    /**
+     * 영양소 범위 필터 API
+     *
+     * 100g 기준 영양소 값에 최소/최대 조건을 걸어 식품을 찾는다. 조건은 여러 개를 함께 쓸 수 있고,
+     * 영양소 이름은 NutritionFactsPrimaryDto 필드명(proteinG, fatG, energyKcal ...)을 쓴다.
+     * 메모리 카탈로그의 영양소별 정렬 색인으로 처리하므로 DB 를 거치지 않는다.
+     *
+     * 예: GET /api/foods/filter?proteinG.min=20&fatG.max=5&sort=proteinG,desc&limit=30
+     *
+     * @param params
+     *   - {필드}.min / {필드}.max : 범위 조건 (경계 포함)
+     *   - sort  : {필드},asc|desc (생략 시 food_id 순)
+     *   - limit : 결과 제한 개수 (기본값 50, 최대 500)
+     *
+     * Response:
+     * - 200 OK: List<FoodDetailDto> (기본정보 + 영양성분)
+     * - 204 No Content: 조건을 만족하는 식품 없음
+     * - 400 Bad Request: 알 수 없는 필드명 / 숫자가 아닌 값 / min > max
+     * - 503 Service Unavailable: 카탈로그 적재 전
+     *
+     * @return 식품 상세 목록 또는 NoContent
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterByNutrients(@RequestParam Map<String, String> params) {
+
+        List<NutrientRange> ranges = new ArrayList<>();
+        Nutrient sortBy = null;
+        boolean descending = false;
+        int limit = 50;
+
+        try {
+            for (Map.Entry<String, String> e : params.entrySet()) {
+                String key = e.getKey();
+                String value = e.getValue().trim();
+
+                if ("limit".equals(key)) {
+                    limit = Integer.parseInt(value);
+                } else if ("sort".equals(key)) {
+                    String[] parts = value.split(",");
+                    sortBy = requireNutrient(parts[0].trim());
+                    descending = parts.length > 1 && "desc".equalsIgnoreCase(parts[1].trim());
+                } else if (key.endsWith(".min")) {
+                    Nutrient n = requireNutrient(key.substring(0, key.length() - 4));
+                    ranges.add(NutrientRange.atLeast(n, Double.parseDouble(value)));
+                } else if (key.endsWith(".max")) {
+                    Nutrient n = requireNutrient(key.substring(0, key.length() - 4));
+                    ranges.add(NutrientRange.atMost(n, Double.parseDouble(value)));
+                } else {
+                    throw new IllegalArgumentException("알 수 없는 파라미터: " + key);
+                }
+            }
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "숫자 형식이 올바르지 않습니다."));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+
+        try {
+            List<FoodDetailDto> foods = foodService.filterByNutrients(ranges, sortBy, descending, limit);
+            return foods.isEmpty()
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.ok(foods);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("message", "식품 카탈로그를 준비 중입니다."));
+        }
+    }
+
+    /**
+     * 대체 식품 추천 API
+     *
+     * 열량/단백질/탄수화물/지방/당류/나트륨/식이섬유(100g 기준)를 정규화한 벡터 공간에서
+     * 주어진 식품과 가장 가까운 식품 k 개를 가까운 순으로 돌려준다.
+     * excludeRestricted=true(기본값)이면 로그인 사용자의 식이 제한 값(예: "땅콩")이
+     * 이름에 들어간 식품은 뺀다.
+     *
+     * 예: GET /api/foods/FD00123/similar?k=10
+     *
+     * @param foodId            기준 식품 ID
+     * @param k                 결과 개수 (기본값 10, 최대 50)
+     * @param excludeRestricted 식이 제한 반영 여부 (기본값 true)
+     *
+     * Response:
+     * - 200 OK: List<FoodDetailDto>
+     * - 204 No Content: 추천할 식품 없음
+     * - 404 Not Found: foodId 가 없거나 영양정보가 부족함
+     * - 503 Service Unavailable: 카탈로그 적재 전
+     *
+     * @return 비슷한 식품 목록
+     */
+    @GetMapping("/{foodId}/similar")
+    public ResponseEntity<?> getSimilarFoods(
+            @PathVariable String foodId,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(defaultValue = "true") boolean excludeRestricted,
+            @AuthenticationPrincipal CustomUserPrincipal user) {
+
+        Integer userId = excludeRestricted && user != null ? user.getUserId() : null;
+        try {
+            List<FoodDetailDto> foods = foodService.findSimilarFoods(foodId, k, userId);
+            if (foods == null) return ResponseEntity.notFound().build();
+            return foods.isEmpty()
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.ok(foods);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("message", "식품 카탈로그를 준비 중입니다."));
+        }
+    }
+
+    /**
+     * 식품 카탈로그 다시 적재 (관리자 전용)
+     *
+     * 새 카탈로그와 검색 색인을 백그라운드에서 만든 뒤 한 번에 교체한다. 교체 전까지는
+     * 기존 카탈로그로 계속 응답한다. force=false 면 원본 테이블이 바뀌지 않았을 때 건너뛴다.
+     *
+     * 예: POST /api/foods/admin/reload?force=true
+     *
+     * Response:
+     * - 202 Accepted: 다시 적재 시작
+     * - 409 Conflict: 이미 다시 적재하는 중
+     * - 403 Forbidden: 관리자 아님
+     */
+    @PostMapping("/admin/reload")
+    public ResponseEntity<?> reloadCatalog(
+            @AuthenticationPrincipal CustomUserPrincipal user,
+            @RequestParam(defaultValue = "true") boolean force) {
+
+        if (user == null || !userService.isAdmin(user.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "관리자 권한이 필요합니다."));
+        }
+
+        boolean started = foodCatalogService.reloadAsync(force);
+        return started
+                ? ResponseEntity.accepted().body(foodCatalogService.status())
+                : ResponseEntity.status(HttpStatus.CONFLICT).body(foodCatalogService.status());
+    }
+
+    /**
+     * 식품 카탈로그 상태 (관리자 전용)
+     *
+     * 현재 세대 번호, 식품 수, 원본 버전, 마지막 교체 시각/소요 시간, 실패 횟수 등
+     *
+     * 예: GET /api/foods/admin/catalog-status
+     */
+    @GetMapping("/admin/catalog-status")
+    public ResponseEntity<?> catalogStatus(@AuthenticationPrincipal CustomUserPrincipal user) {
+
+        if (user == null || !userService.isAdmin(user.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "관리자 권한이 필요합니다."));
+        }
+        return ResponseEntity.ok(foodCatalogService.status());
+    }
+
+    private static Nutrient requireNutrient(String name) {
+        Nutrient n = Nutrient.fromName(name);
+        if (n == null) throw new IllegalArgumentException("알 수 없는 영양소: " + name);
+        return n;
+    }
 }
@@ -0,0 +1,14 @@
+package com.ssafy.yumcoach.food.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 여러 식품 상세를 한 번에 조회하기 위한 요청
+ */
+@Data
+public class FoodBatchRequest {
+
+    private List<String> foodIds;
+}
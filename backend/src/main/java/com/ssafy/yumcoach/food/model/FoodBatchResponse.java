@@ -0,0 +1,23 @@
+package com.ssafy.yumcoach.food.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 식품 상세 일괄 조회 결과
+ *
+ * - foods: foodId → 상세정보 (요청 순서 유지)
+ * - missing: 존재하지 않는 foodId 목록
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodBatchResponse {
+
+    private Map<String, FoodDetailDto> foods;
+    private List<String> missing;
+}
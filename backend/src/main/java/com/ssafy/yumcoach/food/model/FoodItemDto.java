@@ -15,6 +15,12 @@ public class FoodItemDto {
     private String servingSize; // "1포(30g)" 같은 문자열일 가능성, 칼로리 기준
     private String weight;      // g 단위 문자열일 수도 있음, 한 팩(포장) 기준
 
+    // servingSize / weight 를 그램으로 환산한 값 (읽을 수 없으면 null, mL 는 1g/mL 로 환산)
+    private Double servingGrams;
+    private String servingUnit; // 원래 단위: g, kg, mg, ml, l
+    private Double weightGrams;
+    private String weightUnit;
+
     private LocalDate dataCreated;
     private LocalDate dataReference;
 }
@@ -0,0 +1,15 @@
+package com.ssafy.yumcoach.food.model;
+
+import lombok.Data;
+
+/**
+ * 식품 인기도 집계 한 행 (food_popularity / food_popularity_user / meal 증분 집계 공용)
+ * 전역 집계 행은 userId 가 null 이다.
+ */
+@Data
+public class FoodPopularityDto {
+
+    private Integer userId;
+    private String foodId;
+    private Integer useCount;
+}
@@ -0,0 +1,17 @@
+package com.ssafy.yumcoach.food.model;
+
+import lombok.Data;
+
+/**
+ * 식품 인기도 집계 진행 위치 (food_popularity_state)
+ */
+@Data
+public class FoodPopularityStateDto {
+
+    // 집계에 반영된 마지막 meal.id
+    private long lastMealId;
+    // 다음에 반영할 위치 (그때 본 MAX(meal.id))
+    private long pendingMealId;
+    // pendingMealId 를 본 뒤 지난 시간 (DB 시계 기준, 없으면 null)
+    private Long pendingAgeSeconds;
+}
@@ -0,0 +1,23 @@
+package com.ssafy.yumcoach.food.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 분류 패싯을 함께 돌려주는 식품 검색 결과 (facets=true 일 때)
+ *
+ * - items: 검색 결과 (limit 적용)
+ * - facets: 단계(major/representative/middle/minor) → 분류 코드 → 일치 식품 수 (limit 적용 전 전체 기준)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodSearchResponse {
+
+    private List<FoodItemDto> items;
+    private Map<String, Map<String, Integer>> facets;
+}
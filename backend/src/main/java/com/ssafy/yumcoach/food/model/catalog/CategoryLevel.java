@@ -0,0 +1,68 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+/**
+ * food_type 의 분류 단계
+ *
+ * 식품코드(food_id)는 "D101-004160000-0001" 처럼 분류 코드를 그대로 품고 있다.
+ * - 대분류  (식품대분류코드, 2자리): 01
+ * - 대표식품 (대표식품코드, 5자리):  01004
+ * - 중분류  (식품중분류코드, 7자리): 0100416
+ * - 소분류  (식품소분류코드, 9자리): 010041600
+ * 코드 길이가 단계마다 달라서 코드만 보고 단계를 알 수 있다.
+ */
+public enum CategoryLevel {
+
+    MAJOR("major", 2),
+    REPRESENTATIVE("representative", 5),
+    MIDDLE("middle", 7),
+    MINOR("minor", 9);
+
+    private static final CategoryLevel[] VALUES = values();
+
+    private final String key;
+    private final int codeLength;
+
+    CategoryLevel(String key, int codeLength) {
+        this.key = key;
+        this.codeLength = codeLength;
+    }
+
+    /** 응답 JSON 에 쓰는 이름 */
+    public String key() {
+        return key;
+    }
+
+    public int codeLength() {
+        return codeLength;
+    }
+
+    /**
+     * @return 코드 길이에 맞는 단계, 숫자가 아니거나 길이가 맞지 않으면 null
+     */
+    public static CategoryLevel ofCode(String code) {
+        if (code == null) return null;
+        for (int i = 0; i < code.length(); i++) {
+            if (!Character.isDigit(code.charAt(i))) return null;
+        }
+        for (CategoryLevel level : VALUES) {
+            if (level.codeLength == code.length()) return level;
+        }
+        return null;
+    }
+
+    /**
+     * 식품코드에서 소분류 코드(9자리)를 뽑는다. 형식이 다르면 null.
+     * 예) "D101-004160000-0001" → "01" + "0041600" = "010041600"
+     */
+    static String minorCodeOf(String foodId) {
+        if (foodId == null || foodId.length() < 13) return null;
+        if (foodId.charAt(4) != '-') return null;
+        String major = foodId.substring(2, 4);
+        String rest = foodId.substring(5, 12);
+        String code = major + rest;
+        for (int i = 0; i < code.length(); i++) {
+            if (!Character.isDigit(code.charAt(i))) return null;
+        }
+        return code;
+    }
+}
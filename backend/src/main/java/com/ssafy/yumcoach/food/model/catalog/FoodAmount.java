@@ -0,0 +1,98 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import com.ssafy.yumcoach.food.model.FoodItemDto;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * food_items.serving_size / weight 문자열을 그램 단위 수치로 읽은 값
+ *
+ * - "100g", "1포(30g)", "1회 제공량 (250mL)", "1.8kg", "1,000 g" 등에서 수량 + 단위를 찾는다.
+ * - 괄호 안 수량이 있으면 그것을 쓴다 ("1포(30g)" → 30g). 없으면 처음 나온 수량.
+ * - 부피(mL, L)는 밀도 1 로 보고 그램으로 바꾼다. 원래 단위는 unit 으로 남긴다.
+ *
+ * @param grams 그램 환산 값
+ * @param unit  원래 단위 (g, kg, mg, ml, l 중 하나)
+ */
+public record FoodAmount(double grams, String unit) {
+
+    /** 1회 제공량을 모를 때 쓰는 섭취량 (g) */
+    public static final int DEFAULT_GRAMS = 100;
+
+    private static final Pattern QUANTITY = Pattern.compile(
+            "(\\d{1,3}(?:,\\d{3})+|\\d+)(?:\\.(\\d+))?\\s*"
+                    + "(kg|mg|ml|mℓ|g|l|ℓ|킬로그램|밀리그램|밀리리터|그램|리터)(?![a-z])",
+            Pattern.CASE_INSENSITIVE);
+
+    public boolean isVolume() {
+        return "ml".equals(unit) || "l".equals(unit);
+    }
+
+    /**
+     * @return 수량을 찾지 못했거나 0 이하이면 null
+     */
+    public static FoodAmount parse(String text) {
+        if (text == null || text.isBlank()) return null;
+
+        Matcher m = QUANTITY.matcher(text);
+        FoodAmount first = null;
+        while (m.find()) {
+            FoodAmount amount = toAmount(m);
+            if (amount == null) continue;
+            if (insideParentheses(text, m.start())) return amount;
+            if (first == null) first = amount;
+        }
+        return first;
+    }
+
+    /**
+     * 그램 값을 식단 섭취량(정수 g)으로 반올림한다.
+     * 작은 제공량이 0g 이 되지 않도록 최소 1g 이고, 값이 없으면 DEFAULT_GRAMS.
+     */
+    public static int wholeGrams(Double grams) {
+        if (grams == null || grams.isNaN() || grams <= 0) return DEFAULT_GRAMS;
+        return (int) Math.max(1L, Math.round(grams));
+    }
+
+    /**
+     * DB 에서 바로 읽은 FoodItemDto 에 그램 환산 값을 채운다 (카탈로그 적재 전 조회용).
+     */
+    public static FoodItemDto fill(FoodItemDto item) {
+        if (item == null) return null;
+        FoodAmount serving = parse(item.getServingSize());
+        FoodAmount weight = parse(item.getWeight());
+        item.setServingGrams(serving == null ? null : serving.grams());
+        item.setServingUnit(serving == null ? null : serving.unit());
+        item.setWeightGrams(weight == null ? null : weight.grams());
+        item.setWeightUnit(weight == null ? null : weight.unit());
+        return item;
+    }
+
+    private static FoodAmount toAmount(Matcher m) {
+        String number = m.group(1).replace(",", "") + (m.group(2) == null ? "" : "." + m.group(2));
+        double value = Double.parseDouble(number);
+        if (value <= 0) return null;
+
+        switch (m.group(3).toLowerCase(Locale.ROOT)) {
+            case "kg", "킬로그램":
+                return new FoodAmount(value * 1000, "kg");
+            case "mg", "밀리그램":
+                return new FoodAmount(value / 1000, "mg");
+            case "ml", "mℓ", "밀리리터":
+                return new FoodAmount(value, "ml");
+            case "l", "ℓ", "리터":
+                return new FoodAmount(value * 1000, "l");
+            default:
+                return new FoodAmount(value, "g");
+        }
+    }
+
+    private static boolean insideParentheses(String text, int pos) {
+        int open = Math.max(text.lastIndexOf('(', pos), text.lastIndexOf('[', pos));
+        if (open < 0) return false;
+        int close = Math.max(text.lastIndexOf(')', pos), text.lastIndexOf(']', pos));
+        return close < open;
+    }
+}
@@ -0,0 +1,166 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * 한글 자모/초성 자동완성 색인
+ *
+ * 식품 이름을 두 가지 키로 풀어 각각 PrefixTrie 에 넣는다.
+ * - 자모 키: "닭가슴살" → "ㄷㅏㄹㄱㄱㅏㅅㅡㅁㅅㅏㄹ" (입력 중인 "달", "닭ㄱ" 도 접두사로 맞는다)
+ * - 초성 키: "닭가슴살" → "ㄷㄱㅅㅅ" ("ㄷㄱ" 같은 초성 입력용)
+ * 이름 전체뿐 아니라 이름 안의 각 단어 시작 위치부터의 접미사도 키로 넣어
+ * "닭가슴살 스테이크" 가 "스테" 로도 나오게 한다. 대표식품명도 같이 넣는다.
+ *
+ * 순위는 이름이 짧을수록, 같으면 이름순으로 앞선다 (기본 식품이 가공품보다 먼저 나오도록).
+ */
+public final class FoodAutocompleteIndex {
+
+    public static final int MAX_RESULTS = 20;
+
+    private static final int JAMO_DEPTH = 12;
+    private static final int CHOSEONG_DEPTH = 8;
+
+    private final FoodCatalog catalog;
+    private final PrefixTrie jamoTrie;
+    private final PrefixTrie choseongTrie;
+    private final int[] priority;
+
+    private FoodAutocompleteIndex(FoodCatalog catalog, PrefixTrie jamoTrie, PrefixTrie choseongTrie, int[] priority) {
+        this.catalog = catalog;
+        this.jamoTrie = jamoTrie;
+        this.choseongTrie = choseongTrie;
+        this.priority = priority;
+    }
+
+    static FoodAutocompleteIndex build(FoodCatalog catalog) {
+        int n = catalog.size();
+
+        PrefixTrie.Builder jamo = new PrefixTrie.Builder(JAMO_DEPTH, MAX_RESULTS);
+        PrefixTrie.Builder choseong = new PrefixTrie.Builder(CHOSEONG_DEPTH, MAX_RESULTS);
+        for (int ord = 0; ord < n; ord++) {
+            addKeys(jamo, choseong, catalog.foodName(ord), ord);
+            String rep = catalog.representativeFoodName(ord);
+            if (rep != null && !rep.equals(catalog.foodName(ord))) {
+                addKeys(jamo, choseong, rep, ord);
+            }
+        }
+
+        int[] priority = defaultPriority(catalog);
+        return new FoodAutocompleteIndex(catalog, jamo.build(priority), choseong.build(priority), priority);
+    }
+
+    /**
+     * 입력 중인 문자열로 시작하는 식품을 순위 순으로 최대 limit 개 돌려준다.
+     * 자음만 입력했으면 초성 키로, 아니면 자모 키로 찾는다.
+     *
+     * @return 카탈로그 ordinal 목록
+     */
+    public int[] suggest(String query, int limit) {
+        if (query == null || limit <= 0) return new int[0];
+        String trimmed = query.strip();
+        if (trimmed.isEmpty()) return new int[0];
+
+        boolean choseongOnly = HangulJamo.isChoseongOnly(trimmed);
+        String key = choseongOnly ? HangulJamo.choseong(trimmed) : HangulJamo.jamo(trimmed);
+        PrefixTrie trie = choseongOnly ? choseongTrie : jamoTrie;
+
+        int[] top = trie.lookup(key);
+        int max = Math.min(limit, MAX_RESULTS);
+
+        if (key.length() <= trie.maxDepth()) {
+            return top.length <= max ? top : Arrays.copyOf(top, max);
+        }
+
+        // 색인 깊이보다 긴 질의: 후보의 실제 키로 다시 확인
+        int[] out = new int[Math.min(top.length, max)];
+        int n = 0;
+        for (int ord : top) {
+            if (n == out.length) break;
+            if (startsWithAnyKey(ord, key, choseongOnly)) out[n++] = ord;
+        }
+        if (n == max || top.length < MAX_RESULTS) {
+            // 캐시된 목록이 하위 트리 전부이거나 이미 다 채웠다
+            return Arrays.copyOf(out, n);
+        }
+        return scanSubtree(trie, key, choseongOnly, max);
+    }
+
+    /**
+     * 잘린 깊이의 노드 아래 키를 모두 실제 키로 확인해 순위 순으로 max 개를 고른다.
+     */
+    private int[] scanSubtree(PrefixTrie trie, String key, boolean choseongOnly, int max) {
+        int[] candidates = trie.candidates(key);
+        // 상위 32비트 = 우선순위, 하위 32비트 = ordinal
+        long[] matched = new long[candidates.length];
+        int n = 0;
+        for (int ord : candidates) {
+            if (startsWithAnyKey(ord, key, choseongOnly)) {
+                matched[n++] = ((long) priority[ord] << 32) | (ord & 0xFFFFFFFFL);
+            }
+        }
+        Arrays.sort(matched, 0, n);
+
+        int[] out = new int[Math.min(n, max)];
+        int taken = 0;
+        for (int j = 0; j < n && taken < out.length; j++) {
+            if (j > 0 && matched[j] == matched[j - 1]) continue; // 같은 식품이 여러 키로 들어온 경우
+            out[taken++] = (int) matched[j];
+        }
+        return Arrays.copyOf(out, taken);
+    }
+
+    public int nodeCount() {
+        return jamoTrie.nodeCount() + choseongTrie.nodeCount();
+    }
+
+    private boolean startsWithAnyKey(int ord, String key, boolean choseongOnly) {
+        return startsWithAnyWord(catalog.foodName(ord), key, choseongOnly)
+                || startsWithAnyWord(catalog.representativeFoodName(ord), key, choseongOnly);
+    }
+
+    private static boolean startsWithAnyWord(String name, String key, boolean choseongOnly) {
+        if (name == null) return false;
+        for (int start : wordStarts(name)) {
+            String suffix = name.substring(start);
+            String k = choseongOnly ? HangulJamo.choseong(suffix) : HangulJamo.jamo(suffix);
+            if (k.startsWith(key)) return true;
+        }
+        return false;
+    }
+
+    private static void addKeys(PrefixTrie.Builder jamo, PrefixTrie.Builder choseong, String name, int ord) {
+        if (name == null) return;
+        for (int start : wordStarts(name)) {
+            String suffix = name.substring(start);
+            jamo.add(HangulJamo.jamo(suffix), ord);
+            choseong.add(HangulJamo.choseong(suffix), ord);
+        }
+    }
+
+    /**
+     * 이름의 첫 글자와, 글자/숫자가 아닌 문자 바로 뒤에 오는 글자/숫자 위치
+     */
+    private static int[] wordStarts(String name) {
+        IntList starts = new IntList();
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c)) continue;
+            if (i == 0 || !Character.isLetterOrDigit(name.charAt(i - 1))) starts.add(i);
+        }
+        return starts.toArray();
+    }
+
+    private static int[] defaultPriority(FoodCatalog catalog) {
+        int n = catalog.size();
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, Comparator
+                .comparingInt((Integer o) -> catalog.foodName(o) == null ? Integer.MAX_VALUE : catalog.foodName(o).length())
+                .thenComparing(catalog::foodName, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        int[] priority = new int[n];
+        for (int rank = 0; rank < n; rank++) priority[order[rank]] = rank;
+        return priority;
+    }
+}
@@ -0,0 +1,401 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import com.ssafy.yumcoach.food.model.FoodDetailDto;
+import com.ssafy.yumcoach.food.model.FoodItemDto;
+import com.ssafy.yumcoach.food.model.NutritionFactsPrimaryDto;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * food_items + nutrition_facts_primary 전체를 메모리에 올려둔 읽기 전용 카탈로그
+ *
+ * - 식품마다 0부터 시작하는 조밀한 ordinal 을 부여한다 (food_id 오름차순).
+ * - 영양소는 Nutrient 별 double[] 컬럼으로 저장한다. 값이 없으면 NaN.
+ * - foodId → ordinal 조회는 HashMap 한 번 (O(1)).
+ * - serving_size / weight 문자열은 적재할 때 한 번 그램으로 환산해 컬럼으로 둔다 (FoodAmount).
+ *
+ * 한 번 만들어지면 절대 수정하지 않으므로 여러 스레드에서 락 없이 읽어도 된다.
+ * 이름 검색 색인 등 카탈로그에서 파생되는 색인은 처음 쓰일 때(또는 warmUp() 에서) 한 번만 만든다.
+ * 그래서 스냅샷에서 읽은 카탈로그는 색인이 준비되기 전에도 foodId 조회를 바로 처리할 수 있다.
+ */
+public final class FoodCatalog {
+
+    public static final int NOT_FOUND = -1;
+
+    private final int size;
+    private final Map<String, Integer> ordinals;
+
+    private final String[] foodIds;
+    private final String[] foodNames;
+    private final String[] representativeFoodNames;
+    private final String[] servingSizes;
+    private final String[] weights;
+    private final double[] servingGrams; // 읽을 수 없으면 NaN
+    private final String[] servingUnits;
+    private final double[] weightGrams;
+    private final String[] weightUnits;
+    private final LocalDate[] dataCreated;
+    private final LocalDate[] dataReference;
+
+    private final boolean[] hasNutrition;
+    private final long[] nutritionIds;
+    private final double[][] nutrients; // [Nutrient.ordinal()][food ordinal]
+
+    private volatile FoodSearchIndex searchIndex;
+    private volatile FoodAutocompleteIndex autocompleteIndex;
+    private volatile FoodFuzzyIndex fuzzyIndex;
+    private volatile FoodNutrientIndex nutrientIndex;
+    private volatile FoodVectorIndex vectorIndex;
+    private volatile FoodCategoryIndex categoryIndex;
+
+    private FoodCatalog(Builder b) {
+        this.size = b.size;
+        this.ordinals = new HashMap<>(b.ordinals);
+        this.foodIds = Arrays.copyOf(b.foodIds, size);
+        this.foodNames = Arrays.copyOf(b.foodNames, size);
+        this.representativeFoodNames = Arrays.copyOf(b.representativeFoodNames, size);
+        this.servingSizes = Arrays.copyOf(b.servingSizes, size);
+        this.weights = Arrays.copyOf(b.weights, size);
+        this.servingGrams = Arrays.copyOf(b.servingGrams, size);
+        this.servingUnits = Arrays.copyOf(b.servingUnits, size);
+        this.weightGrams = Arrays.copyOf(b.weightGrams, size);
+        this.weightUnits = Arrays.copyOf(b.weightUnits, size);
+        this.dataCreated = Arrays.copyOf(b.dataCreated, size);
+        this.dataReference = Arrays.copyOf(b.dataReference, size);
+        this.hasNutrition = Arrays.copyOf(b.hasNutrition, size);
+        this.nutritionIds = Arrays.copyOf(b.nutritionIds, size);
+        this.nutrients = new double[b.nutrients.length][];
+        for (int i = 0; i < nutrients.length; i++) {
+            this.nutrients[i] = Arrays.copyOf(b.nutrients[i], size);
+        }
+    }
+
+    public static FoodCatalog empty() {
+        return new Builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    static Builder builder(int expectedSize) {
+        Builder b = new Builder();
+        b.ensureCapacity(expectedSize);
+        return b;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return foodId 의 ordinal, 없으면 NOT_FOUND(-1)
+     */
+    public int ordinalOf(String foodId) {
+        if (foodId == null) return NOT_FOUND;
+        Integer ord = ordinals.get(foodId);
+        return ord == null ? NOT_FOUND : ord;
+    }
+
+    public boolean contains(String foodId) {
+        return ordinalOf(foodId) != NOT_FOUND;
+    }
+
+    public String foodId(int ord) {
+        return foodIds[ord];
+    }
+
+    public String foodName(int ord) {
+        return foodNames[ord];
+    }
+
+    public String representativeFoodName(int ord) {
+        return representativeFoodNames[ord];
+    }
+
+    String servingSize(int ord) {
+        return servingSizes[ord];
+    }
+
+    String weight(int ord) {
+        return weights[ord];
+    }
+
+    /**
+     * 1회 제공량(그램). 읽을 수 없으면 NaN.
+     */
+    public double servingGrams(int ord) {
+        return servingGrams[ord];
+    }
+
+    /**
+     * 포장 단위 중량(그램). 읽을 수 없으면 NaN.
+     */
+    public double weightGrams(int ord) {
+        return weightGrams[ord];
+    }
+
+    LocalDate dataCreated(int ord) {
+        return dataCreated[ord];
+    }
+
+    LocalDate dataReference(int ord) {
+        return dataReference[ord];
+    }
+
+    long nutritionId(int ord) {
+        return nutritionIds[ord];
+    }
+
+    public boolean hasNutrition(int ord) {
+        return hasNutrition[ord];
+    }
+
+    /**
+     * 100g 기준 영양소 값. 값이 없으면 NaN.
+     */
+    public double value(Nutrient nutrient, int ord) {
+        return nutrients[nutrient.ordinal()][ord];
+    }
+
+    /**
+     * 영양소 컬럼 전체 (ordinal 인덱스). 스캔용으로만 쓰고 절대 수정하지 말 것.
+     */
+    public double[] column(Nutrient nutrient) {
+        return nutrients[nutrient.ordinal()];
+    }
+
+    public FoodSearchIndex searchIndex() {
+        FoodSearchIndex idx = searchIndex;
+        if (idx != null) return idx;
+        synchronized (this) {
+            if (searchIndex == null) searchIndex = FoodSearchIndex.build(this);
+            return searchIndex;
+        }
+    }
+
+    public FoodAutocompleteIndex autocompleteIndex() {
+        FoodAutocompleteIndex idx = autocompleteIndex;
+        if (idx != null) return idx;
+        synchronized (this) {
+            if (autocompleteIndex == null) autocompleteIndex = FoodAutocompleteIndex.build(this);
+            return autocompleteIndex;
+        }
+    }
+
+    public FoodFuzzyIndex fuzzyIndex() {
+        FoodFuzzyIndex idx = fuzzyIndex;
+        if (idx != null) return idx;
+        synchronized (this) {
+            if (fuzzyIndex == null) fuzzyIndex = FoodFuzzyIndex.build(this);
+            return fuzzyIndex;
+        }
+    }
+
+    public FoodNutrientIndex nutrientIndex() {
+        FoodNutrientIndex idx = nutrientIndex;
+        if (idx != null) return idx;
+        synchronized (this) {
+            if (nutrientIndex == null) nutrientIndex = FoodNutrientIndex.build(this);
+            return nutrientIndex;
+        }
+    }
+
+    public FoodVectorIndex vectorIndex() {
+        FoodVectorIndex idx = vectorIndex;
+        if (idx != null) return idx;
+        synchronized (this) {
+            if (vectorIndex == null) vectorIndex = FoodVectorIndex.build(this);
+            return vectorIndex;
+        }
+    }
+
+    public FoodCategoryIndex categoryIndex() {
+        FoodCategoryIndex idx = categoryIndex;
+        if (idx != null) return idx;
+        synchronized (this) {
+            if (categoryIndex == null) categoryIndex = FoodCategoryIndex.build(this);
+            return categoryIndex;
+        }
+    }
+
+    /**
+     * 파생 색인을 모두 미리 만든다.
+     */
+    public void warmUp() {
+        searchIndex();
+        autocompleteIndex();
+        fuzzyIndex();
+        nutrientIndex();
+        vectorIndex();
+        categoryIndex();
+    }
+
+    public FoodItemDto toFoodItem(int ord) {
+        FoodItemDto item = new FoodItemDto();
+        item.setFoodId(foodIds[ord]);
+        item.setFoodName(foodNames[ord]);
+        item.setRepresentativeFoodName(representativeFoodNames[ord]);
+        item.setServingSize(servingSizes[ord]);
+        item.setWeight(weights[ord]);
+        item.setServingGrams(Double.isNaN(servingGrams[ord]) ? null : servingGrams[ord]);
+        item.setServingUnit(servingUnits[ord]);
+        item.setWeightGrams(Double.isNaN(weightGrams[ord]) ? null : weightGrams[ord]);
+        item.setWeightUnit(weightUnits[ord]);
+        item.setDataCreated(dataCreated[ord]);
+        item.setDataReference(dataReference[ord]);
+        return item;
+    }
+
+    /**
+     * @return 영양정보 DTO, nutrition_facts_primary 행이 없으면 null
+     */
+    public NutritionFactsPrimaryDto toNutrition(int ord) {
+        if (!hasNutrition[ord]) return null;
+        NutritionFactsPrimaryDto dto = new NutritionFactsPrimaryDto();
+        dto.setNutritionId(nutritionIds[ord]);
+        dto.setFoodId(foodIds[ord]);
+        for (Nutrient n : Nutrient.all()) {
+            double v = nutrients[n.ordinal()][ord];
+            n.set(dto, Double.isNaN(v) ? null : v);
+        }
+        return dto;
+    }
+
+    /**
+     * selectFoodDetailById 와 같은 모양의 DTO 를 만든다.
+     */
+    public FoodDetailDto toFoodDetail(int ord) {
+        FoodDetailDto detail = new FoodDetailDto();
+        detail.setFood(toFoodItem(ord));
+        detail.setNutrition(toNutrition(ord));
+        return detail;
+    }
+
+    /**
+     * DB 조회 결과를 한 행씩 받아 컬럼 배열로 쌓는 빌더 (단일 스레드 전용)
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private int size;
+        private final Map<String, Integer> ordinals = new HashMap<>();
+
+        private String[] foodIds = new String[INITIAL_CAPACITY];
+        private String[] foodNames = new String[INITIAL_CAPACITY];
+        private String[] representativeFoodNames = new String[INITIAL_CAPACITY];
+        private String[] servingSizes = new String[INITIAL_CAPACITY];
+        private String[] weights = new String[INITIAL_CAPACITY];
+        private double[] servingGrams = new double[INITIAL_CAPACITY];
+        private String[] servingUnits = new String[INITIAL_CAPACITY];
+        private double[] weightGrams = new double[INITIAL_CAPACITY];
+        private String[] weightUnits = new String[INITIAL_CAPACITY];
+        private LocalDate[] dataCreated = new LocalDate[INITIAL_CAPACITY];
+        private LocalDate[] dataReference = new LocalDate[INITIAL_CAPACITY];
+        private boolean[] hasNutrition = new boolean[INITIAL_CAPACITY];
+        private long[] nutritionIds = new long[INITIAL_CAPACITY];
+        private final double[][] nutrients = new double[Nutrient.all().length][INITIAL_CAPACITY];
+
+        private Builder() {
+        }
+
+        /**
+         * 한 식품을 추가한다. 같은 foodId 가 다시 들어오면 먼저 들어온 행을 유지한다
+         * (selectFoodDetailById 의 LIMIT 1 과 같은 동작).
+         *
+         * @return 부여된 ordinal
+         */
+        public int add(FoodDetailDto detail) {
+            FoodItemDto food = detail.getFood();
+            if (food == null || food.getFoodId() == null) return NOT_FOUND;
+
+            Integer existing = ordinals.get(food.getFoodId());
+            if (existing != null) return existing;
+
+            int ord = append(food.getFoodId(), food.getFoodName(), food.getRepresentativeFoodName(),
+                    food.getServingSize(), food.getWeight(), food.getDataCreated(), food.getDataReference());
+
+            NutritionFactsPrimaryDto nutrition = detail.getNutrition();
+            hasNutrition[ord] = nutrition != null;
+            nutritionIds[ord] = nutrition != null && nutrition.getNutritionId() != null ? nutrition.getNutritionId() : 0L;
+            for (Nutrient n : Nutrient.all()) {
+                Double v = nutrition == null ? null : n.get(nutrition);
+                nutrients[n.ordinal()][ord] = v == null ? Double.NaN : v;
+            }
+            return ord;
+        }
+
+        /**
+         * 스냅샷 복원용: 기본정보 한 행을 뒤에 붙인다. 영양소는 nutrition() 으로 채운다.
+         * serving_size / weight 의 그램 환산은 여기서 한 번만 한다 (DB 적재, 스냅샷 복원 공통).
+         * foodId 는 이미 중복이 제거되어 있다고 가정한다.
+         */
+        int append(String foodId, String foodName, String representativeFoodName,
+                   String servingSize, String weight, LocalDate created, LocalDate reference) {
+            ensureCapacity(size + 1);
+            int ord = size++;
+            ordinals.put(foodId, ord);
+
+            foodIds[ord] = foodId;
+            foodNames[ord] = foodName;
+            representativeFoodNames[ord] = representativeFoodName;
+            servingSizes[ord] = servingSize;
+            weights[ord] = weight;
+            FoodAmount serving = FoodAmount.parse(servingSize);
+            servingGrams[ord] = serving == null ? Double.NaN : serving.grams();
+            servingUnits[ord] = serving == null ? null : serving.unit();
+            FoodAmount packed = FoodAmount.parse(weight);
+            weightGrams[ord] = packed == null ? Double.NaN : packed.grams();
+            weightUnits[ord] = packed == null ? null : packed.unit();
+            dataCreated[ord] = created;
+            dataReference[ord] = reference;
+            for (double[] column : nutrients) column[ord] = Double.NaN;
+            return ord;
+        }
+
+        void nutrition(int ord, boolean present, long nutritionId) {
+            hasNutrition[ord] = present;
+            nutritionIds[ord] = nutritionId;
+        }
+
+        /**
+         * 영양소 컬럼을 통째로 채운다 (0..size-1). 길이는 size 이상이어야 한다.
+         */
+        void column(Nutrient nutrient, double[] values) {
+            System.arraycopy(values, 0, nutrients[nutrient.ordinal()], 0, size);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public FoodCatalog build() {
+            return new FoodCatalog(this);
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= foodIds.length) return;
+            int cap = Math.max(required, foodIds.length * 2);
+            foodIds = Arrays.copyOf(foodIds, cap);
+            foodNames = Arrays.copyOf(foodNames, cap);
+            representativeFoodNames = Arrays.copyOf(representativeFoodNames, cap);
+            servingSizes = Arrays.copyOf(servingSizes, cap);
+            weights = Arrays.copyOf(weights, cap);
+            servingGrams = Arrays.copyOf(servingGrams, cap);
+            servingUnits = Arrays.copyOf(servingUnits, cap);
+            weightGrams = Arrays.copyOf(weightGrams, cap);
+            weightUnits = Arrays.copyOf(weightUnits, cap);
+            dataCreated = Arrays.copyOf(dataCreated, cap);
+            dataReference = Arrays.copyOf(dataReference, cap);
+            hasNutrition = Arrays.copyOf(hasNutrition, cap);
+            nutritionIds = Arrays.copyOf(nutritionIds, cap);
+            for (int i = 0; i < nutrients.length; i++) {
+                nutrients[i] = Arrays.copyOf(nutrients[i], cap);
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * FoodCatalog 를 로컬 디스크에 저장/복원하는 바이너리 스냅샷
+ *
+ * 형식 (big-endian):
+ * - 헤더: MAGIC, FORMAT_VERSION, 영양소 컬럼 수, 원본 버전 문자열, 저장 시각(epoch ms), 식품 수
+ * - 본문: 문자열 컬럼 5개 (길이 + UTF-8, null 은 길이 -1), 날짜 컬럼 2개 (epochDay, null 은 Long.MIN_VALUE),
+ *         영양정보 유무(byte), nutrition_id(long), 영양소 컬럼별 double 배열
+ * - 끝: 앞부분 전체의 CRC32 (long)
+ *
+ * 읽을 때는 파일을 MappedByteBuffer 로 매핑해 컬럼을 그대로 훑는다 (DB 조회 없음).
+ * 형식 버전, 영양소 구성, 원본 버전이 하나라도 다르거나 CRC 가 맞지 않으면 쓰지 않는다.
+ */
+public final class FoodCatalogSnapshot {
+
+    private static final int MAGIC = 0x59434643; // "YCFC"
+    private static final int FORMAT_VERSION = 1;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+
+    private FoodCatalogSnapshot() {
+    }
+
+    /**
+     * 스냅샷을 임시 파일에 쓴 뒤 원자적으로 교체한다.
+     *
+     * @param sourceVersion 원본 테이블 버전 (다음 기동 때 비교용)
+     */
+    public static void write(FoodCatalog catalog, String sourceVersion, Path path) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+
+        try {
+            CRC32 crc = new CRC32();
+            try (OutputStream raw = new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16)) {
+                DataOutputStream out = new DataOutputStream(new CheckedOutputStream(raw, crc));
+                writeBody(out, catalog, sourceVersion);
+                out.flush();
+                new DataOutputStream(raw).writeLong(crc.getValue());
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * @param expectedVersion 현재 원본 버전. null 이면 (DB 를 확인할 수 없을 때) 버전 비교를 건너뛴다.
+     * @return 복원한 카탈로그, 파일이 없거나 맞지 않으면 null
+     */
+    public static FoodCatalog read(Path path, String expectedVersion) throws IOException {
+        if (!Files.isRegularFile(path)) return null;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < Long.BYTES + 5 * Integer.BYTES) return null;
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+
+            CRC32 crc = new CRC32();
+            ByteBuffer body = buf.duplicate();
+            body.limit((int) (length - Long.BYTES));
+            crc.update(body);
+            if (buf.getLong((int) (length - Long.BYTES)) != crc.getValue()) return null;
+
+            if (buf.getInt() != MAGIC || buf.getInt() != FORMAT_VERSION) return null;
+            if (buf.getInt() != Nutrient.all().length) return null;
+            String sourceVersion = readString(buf);
+            if (expectedVersion != null && !expectedVersion.equals(sourceVersion)) return null;
+            buf.getLong(); // 저장 시각
+            return readColumns(buf, buf.getInt());
+        }
+    }
+
+    private static void writeBody(DataOutputStream out, FoodCatalog catalog, String sourceVersion) throws IOException {
+        int n = catalog.size();
+        Nutrient[] nutrients = Nutrient.all();
+
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(nutrients.length);
+        writeString(out, sourceVersion);
+        out.writeLong(System.currentTimeMillis());
+        out.writeInt(n);
+
+        for (int i = 0; i < n; i++) writeString(out, catalog.foodId(i));
+        for (int i = 0; i < n; i++) writeString(out, catalog.foodName(i));
+        for (int i = 0; i < n; i++) writeString(out, catalog.representativeFoodName(i));
+        for (int i = 0; i < n; i++) writeString(out, catalog.servingSize(i));
+        for (int i = 0; i < n; i++) writeString(out, catalog.weight(i));
+        for (int i = 0; i < n; i++) writeDate(out, catalog.dataCreated(i));
+        for (int i = 0; i < n; i++) writeDate(out, catalog.dataReference(i));
+        for (int i = 0; i < n; i++) out.writeByte(catalog.hasNutrition(i) ? 1 : 0);
+        for (int i = 0; i < n; i++) out.writeLong(catalog.nutritionId(i));
+        for (Nutrient nutrient : nutrients) {
+            double[] column = catalog.column(nutrient);
+            for (int i = 0; i < n; i++) out.writeDouble(column[i]);
+        }
+    }
+
+    private static FoodCatalog readColumns(ByteBuffer buf, int n) {
+        String[] ids = readStrings(buf, n);
+        String[] names = readStrings(buf, n);
+        String[] reps = readStrings(buf, n);
+        String[] servings = readStrings(buf, n);
+        String[] weights = readStrings(buf, n);
+        LocalDate[] created = readDates(buf, n);
+        LocalDate[] reference = readDates(buf, n);
+
+        FoodCatalog.Builder builder = FoodCatalog.builder(n);
+        for (int i = 0; i < n; i++) {
+            builder.append(ids[i], names[i], reps[i], servings[i], weights[i], created[i], reference[i]);
+        }
+
+        byte[] hasNutrition = new byte[n];
+        buf.get(hasNutrition);
+        long[] nutritionIds = new long[n];
+        buf.asLongBuffer().get(nutritionIds);
+        buf.position(buf.position() + n * Long.BYTES);
+        for (int i = 0; i < n; i++) builder.nutrition(i, hasNutrition[i] != 0, nutritionIds[i]);
+
+        // 영양소 컬럼은 double 배열 그대로 복사
+        double[] column = new double[n];
+        for (Nutrient nutrient : Nutrient.all()) {
+            buf.asDoubleBuffer().get(column);
+            buf.position(buf.position() + n * Double.BYTES);
+            builder.column(nutrient, column);
+        }
+        return builder.build();
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int len = buf.getInt();
+        if (len < 0) return null;
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String[] readStrings(ByteBuffer buf, int n) {
+        String[] out = new String[n];
+        for (int i = 0; i < n; i++) out[i] = readString(buf);
+        return out;
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate date) throws IOException {
+        out.writeLong(date == null ? NULL_DATE : date.toEpochDay());
+    }
+
+    private static LocalDate[] readDates(ByteBuffer buf, int n) {
+        LocalDate[] out = new LocalDate[n];
+        for (int i = 0; i < n; i++) {
+            long day = buf.getLong();
+            out[i] = day == NULL_DATE ? null : LocalDate.ofEpochDay(day);
+        }
+        return out;
+    }
+}
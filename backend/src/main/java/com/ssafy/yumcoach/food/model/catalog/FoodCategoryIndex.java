@@ -0,0 +1,122 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * food_type 분류(대분류/대표식품/중분류/소분류)별 소속 식품 집합
+ *
+ * 분류 코드마다 소속 ordinal 을 OrdinalSet 으로 미리 만들어 둔다.
+ * - 필터: 분류 집합에 ordinal 이 있는지 O(1)~O(log n) 으로 확인
+ * - 패싯: 검색 결과를 비트셋으로 만든 뒤 분류마다 AND + bitCount (GROUP BY 없음)
+ *
+ * 식품코드 형식이 달라 분류를 알 수 없는 식품은 어느 분류에도 속하지 않는다.
+ */
+public final class FoodCategoryIndex {
+
+    /** 패싯에서 단계별로 돌려줄 최대 분류 수 (개수 상위) */
+    public static final int MAX_FACET_VALUES = 100;
+
+    private final int universe;
+    private final Map<CategoryLevel, Level> levels;
+
+    private FoodCategoryIndex(int universe, Map<CategoryLevel, Level> levels) {
+        this.universe = universe;
+        this.levels = levels;
+    }
+
+    /**
+     * 한 단계의 분류 코드(오름차순)와 소속 집합
+     */
+    private static final class Level {
+
+        final String[] codes;
+        final OrdinalSet[] sets;
+
+        Level(String[] codes, OrdinalSet[] sets) {
+            this.codes = codes;
+            this.sets = sets;
+        }
+
+        OrdinalSet find(String code) {
+            int i = Arrays.binarySearch(codes, code);
+            return i < 0 ? null : sets[i];
+        }
+    }
+
+    static FoodCategoryIndex build(FoodCatalog catalog) {
+        int n = catalog.size();
+        Map<CategoryLevel, Map<String, IntList>> building = new EnumMap<>(CategoryLevel.class);
+        for (CategoryLevel level : CategoryLevel.values()) building.put(level, new HashMap<>());
+
+        for (int ord = 0; ord < n; ord++) {
+            String minor = CategoryLevel.minorCodeOf(catalog.foodId(ord));
+            if (minor == null) continue;
+            for (CategoryLevel level : CategoryLevel.values()) {
+                String code = minor.substring(0, level.codeLength());
+                building.get(level).computeIfAbsent(code, c -> new IntList()).add(ord);
+            }
+        }
+
+        Map<CategoryLevel, Level> levels = new EnumMap<>(CategoryLevel.class);
+        building.forEach((level, byCode) -> {
+            String[] codes = byCode.keySet().toArray(new String[0]);
+            Arrays.sort(codes);
+            OrdinalSet[] sets = new OrdinalSet[codes.length];
+            for (int i = 0; i < codes.length; i++) sets[i] = OrdinalSet.of(byCode.get(codes[i]).toArray(), n);
+            levels.put(level, new Level(codes, sets));
+        });
+        return new FoodCategoryIndex(n, levels);
+    }
+
+    /**
+     * ord 가 분류 코드(어느 단계든)에 속하는지
+     */
+    public boolean contains(String code, int ord) {
+        CategoryLevel level = CategoryLevel.ofCode(code);
+        if (level == null) return false;
+        OrdinalSet set = levels.get(level).find(code);
+        return set != null && set.contains(ord);
+    }
+
+    /**
+     * 주어진 식품들의 단계별 분류 개수.
+     * 개수 내림차순(같으면 코드순)으로 단계마다 최대 MAX_FACET_VALUES 개, 0 인 분류는 뺀다.
+     *
+     * @return 단계 키(major/representative/middle/minor) → 코드 → 개수
+     */
+    public Map<String, Map<String, Integer>> facets(int[] ords) {
+        long[] query = OrdinalSet.toWords(ords, universe);
+
+        Map<String, Map<String, Integer>> result = new LinkedHashMap<>();
+        for (CategoryLevel level : CategoryLevel.values()) {
+            Level l = levels.get(level);
+
+            // 상위 32비트 = 개수 보수(내림차순용), 하위 32비트 = 코드 인덱스 → long 정렬 한 번
+            long[] ranked = new long[l.sets.length];
+            int found = 0;
+            for (int i = 0; i < l.sets.length; i++) {
+                int count = l.sets[i].andCardinality(query);
+                if (count > 0) ranked[found++] = ((long) (Integer.MAX_VALUE - count) << 32) | i;
+            }
+            Arrays.sort(ranked, 0, found);
+
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (int j = 0; j < Math.min(found, MAX_FACET_VALUES); j++) {
+                int i = (int) ranked[j];
+                counts.put(l.codes[i], Integer.MAX_VALUE - (int) (ranked[j] >>> 32));
+            }
+            result.put(level.key(), counts);
+        }
+        return result;
+    }
+
+    public int categoryCount() {
+        int total = 0;
+        for (Level l : levels.values()) total += l.codes.length;
+        return total;
+    }
+}
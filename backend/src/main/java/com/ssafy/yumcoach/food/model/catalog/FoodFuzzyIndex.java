@@ -0,0 +1,216 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 오타 허용 검색용 BK-tree 색인
+ *
+ * - 키: 정규화한 food_name / representative_food_name 전체와, 그 안의 각 단어(2글자 이상).
+ *       "닭가슴살 스테이크" → "닭가슴살 스테이크", "닭가슴살", "스테이크"
+ * - 같은 키는 하나의 노드로 합치고, 노드마다 해당 키를 가진 ordinal 목록을 둔다.
+ * - 질의와 편집 거리(Levenshtein, 글자 단위) k 이내인 키를 삼각부등식으로 가지치기하며 찾는다.
+ *   (자식 간선 거리가 [d-k, d+k] 밖이면 그 하위 트리는 볼 필요가 없다)
+ *
+ * 허용 거리는 질의 길이로 정한다: 1글자는 찾지 않음, 2~4글자는 1, 그 이상은 2.
+ * 결과는 거리 오름차순, 같으면 food_name 오름차순.
+ */
+public final class FoodFuzzyIndex {
+
+    private static final int[] EMPTY = new int[0];
+    private static final int NONE = -1;
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private final String[] terms;       // 노드 인덱스
+    private final int[][] termOrdinals; // 노드 인덱스 → ordinal 목록
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] edge;           // 부모와의 편집 거리
+    private final int[] nameRank;       // ordinal → food_name 정렬 순위
+    private final int[] rankToOrdinal;
+
+    private FoodFuzzyIndex(String[] terms, int[][] termOrdinals, int[] firstChild,
+                           int[] nextSibling, int[] edge, int[] nameRank, int[] rankToOrdinal) {
+        this.terms = terms;
+        this.termOrdinals = termOrdinals;
+        this.firstChild = firstChild;
+        this.nextSibling = nextSibling;
+        this.edge = edge;
+        this.nameRank = nameRank;
+        this.rankToOrdinal = rankToOrdinal;
+    }
+
+    static FoodFuzzyIndex build(FoodCatalog catalog) {
+        int n = catalog.size();
+
+        Map<String, IntList> byTerm = new HashMap<>();
+        for (int ord = 0; ord < n; ord++) {
+            String name = FoodSearchIndex.normalize(catalog.foodName(ord));
+            String rep = FoodSearchIndex.normalize(catalog.representativeFoodName(ord));
+            addTerms(byTerm, name, ord);
+            if (rep != null && !rep.equals(name)) addTerms(byTerm, rep, ord);
+        }
+
+        String[] terms = byTerm.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        int[][] termOrdinals = new int[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            termOrdinals[i] = byTerm.get(terms[i]).toArray();
+        }
+
+        int[] firstChild = new int[terms.length];
+        int[] nextSibling = new int[terms.length];
+        int[] edge = new int[terms.length];
+        Arrays.fill(firstChild, NONE);
+        Arrays.fill(nextSibling, NONE);
+
+        Levenshtein lev = new Levenshtein();
+        for (int t = 1; t < terms.length; t++) {
+            int node = 0;
+            while (true) {
+                int d = lev.distance(terms[t], terms[node]);
+                int child = childWithEdge(firstChild, nextSibling, edge, node, d);
+                if (child == NONE) {
+                    edge[t] = d;
+                    nextSibling[t] = firstChild[node];
+                    firstChild[node] = t;
+                    break;
+                }
+                node = child;
+            }
+        }
+
+        Integer[] byName = new Integer[n];
+        for (int i = 0; i < n; i++) byName[i] = i;
+        Arrays.sort(byName, Comparator.comparing(catalog::foodName,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        int[] nameRank = new int[n];
+        int[] rankToOrdinal = new int[n];
+        for (int rank = 0; rank < n; rank++) {
+            nameRank[byName[rank]] = rank;
+            rankToOrdinal[rank] = byName[rank];
+        }
+
+        return new FoodFuzzyIndex(terms, termOrdinals, firstChild, nextSibling, edge, nameRank, rankToOrdinal);
+    }
+
+    /**
+     * query 와 편집 거리 k 이내인 이름/단어를 가진 식품을
+     * (거리, food_name) 순으로 최대 limit 개 돌려준다.
+     *
+     * @return 카탈로그 ordinal 목록
+     */
+    public int[] search(String query, int limit) {
+        if (query == null || limit <= 0 || terms.length == 0) return EMPTY;
+        String q = FoodSearchIndex.normalize(query.strip());
+        int k = maxDistance(q.length());
+        if (k == 0) return EMPTY;
+
+        // ordinal 별 최소 거리
+        Map<Integer, Integer> best = new HashMap<>();
+        Levenshtein lev = new Levenshtein();
+        IntList stack = new IntList();
+        stack.add(0);
+        int top = 1;
+        while (top > 0) {
+            int node = stack.get(--top);
+            int d = lev.distance(q, terms[node]);
+            if (d <= k) {
+                for (int ord : termOrdinals[node]) best.merge(ord, d, Math::min);
+            }
+            for (int ch = firstChild[node]; ch != NONE; ch = nextSibling[ch]) {
+                if (edge[ch] >= d - k && edge[ch] <= d + k) {
+                    if (top == stack.size()) stack.add(ch);
+                    else stack.set(top, ch);
+                    top++;
+                }
+            }
+        }
+
+        // 상위 32비트 = 거리, 하위 32비트 = 이름 순위 → long 정렬 한 번으로 순위 정렬
+        long[] ranked = new long[best.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> e : best.entrySet()) {
+            ranked[i++] = ((long) e.getValue() << 32) | nameRank[e.getKey()];
+        }
+        Arrays.sort(ranked);
+
+        int[] out = new int[Math.min(limit, ranked.length)];
+        for (int j = 0; j < out.length; j++) {
+            out[j] = rankToOrdinal[(int) ranked[j]];
+        }
+        return out;
+    }
+
+    public int termCount() {
+        return terms.length;
+    }
+
+    static int maxDistance(int queryLength) {
+        if (queryLength < 2) return 0;
+        return queryLength <= 4 ? 1 : 2;
+    }
+
+    private static int childWithEdge(int[] firstChild, int[] nextSibling, int[] edge, int node, int d) {
+        for (int ch = firstChild[node]; ch != NONE; ch = nextSibling[ch]) {
+            if (edge[ch] == d) return ch;
+        }
+        return NONE;
+    }
+
+    private static void addTerms(Map<String, IntList> byTerm, String name, int ord) {
+        if (name == null || name.isBlank()) return;
+        addTerm(byTerm, name.strip(), ord);
+
+        int start = -1;
+        for (int i = 0; i <= name.length(); i++) {
+            boolean letter = i < name.length() && Character.isLetterOrDigit(name.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                if (i - start >= MIN_TOKEN_LENGTH && (start > 0 || i < name.length())) {
+                    addTerm(byTerm, name.substring(start, i), ord);
+                }
+                start = -1;
+            }
+        }
+    }
+
+    private static void addTerm(Map<String, IntList> byTerm, String term, int ord) {
+        IntList ords = byTerm.computeIfAbsent(term, t -> new IntList());
+        // 같은 식품이 같은 키로 두 번 들어오지 않게 (ordinal 은 오름차순으로만 추가된다)
+        if (ords.size() == 0 || ords.get(ords.size() - 1) != ord) ords.add(ord);
+    }
+
+    /**
+     * 두 줄짜리 DP 로 편집 거리를 구한다. 배열은 호출 사이에 재사용한다 (스레드마다 새로 만들 것).
+     */
+    private static final class Levenshtein {
+
+        private int[] prev = new int[32];
+        private int[] cur = new int[32];
+
+        int distance(String a, String b) {
+            int m = b.length();
+            if (prev.length < m + 1) {
+                prev = new int[m + 1];
+                cur = new int[m + 1];
+            }
+            for (int j = 0; j <= m; j++) prev[j] = j;
+            for (int i = 1; i <= a.length(); i++) {
+                cur[0] = i;
+                char ca = a.charAt(i - 1);
+                for (int j = 1; j <= m; j++) {
+                    int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                    cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                }
+                int[] tmp = prev;
+                prev = cur;
+                cur = tmp;
+            }
+            return prev[m];
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 영양소 범위 조회 색인 ("단백질 ≥ 20 이고 지방 ≤ 5")
+ *
+ * - 영양소마다 값이 있는 식품의 ordinal 을 값 오름차순으로 정렬한 배열을 하나씩 둔다.
+ *   값 자체는 FoodCatalog 컬럼을 그대로 참조하므로 추가로 드는 메모리는 int[] 뿐이다.
+ * - 조건마다 이진 탐색으로 범위를 구하고, 가장 좁은 범위를 기준으로 훑으면서
+ *   나머지 조건은 컬럼 값으로 바로 확인한다.
+ * - 정렬 기준이 기준 범위의 영양소와 같으면 정렬된 순서대로 훑다가 limit 개에서 멈춘다.
+ *
+ * 값이 없는(NaN) 식품은 그 영양소 조건을 만족하지 않는 것으로 본다.
+ */
+public final class FoodNutrientIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final FoodCatalog catalog;
+    private final int[][] sorted; // [Nutrient.ordinal()] → 값 오름차순 ordinal
+
+    private FoodNutrientIndex(FoodCatalog catalog, int[][] sorted) {
+        this.catalog = catalog;
+        this.sorted = sorted;
+    }
+
+    static FoodNutrientIndex build(FoodCatalog catalog) {
+        int n = catalog.size();
+        Nutrient[] nutrients = Nutrient.all();
+        int[][] sorted = new int[nutrients.length][];
+
+        for (Nutrient nutrient : nutrients) {
+            double[] column = catalog.column(nutrient);
+            Integer[] ords = new Integer[n];
+            int count = 0;
+            for (int ord = 0; ord < n; ord++) {
+                if (!Double.isNaN(column[ord])) ords[count++] = ord;
+            }
+            Arrays.sort(ords, 0, count, (a, b) -> {
+                int c = Double.compare(column[a], column[b]);
+                return c != 0 ? c : Integer.compare(a, b);
+            });
+
+            int[] arr = new int[count];
+            for (int i = 0; i < count; i++) arr[i] = ords[i];
+            sorted[nutrient.ordinal()] = arr;
+        }
+        return new FoodNutrientIndex(catalog, sorted);
+    }
+
+    /**
+     * 모든 범위 조건을 만족하는 식품을 정렬 기준에 맞춰 최대 limit 개 돌려준다.
+     *
+     * @param ranges     범위 조건 (비어 있으면 전체)
+     * @param sortBy     정렬 기준 영양소, null 이면 ordinal(food_id) 순
+     * @param descending sortBy 내림차순 여부
+     * @return 카탈로그 ordinal 목록
+     */
+    public int[] filter(List<NutrientRange> ranges, Nutrient sortBy, boolean descending, int limit) {
+        if (limit <= 0) return EMPTY;
+
+        // 가장 좁은 조건을 기준으로 삼는다
+        int drivingIdx = -1;
+        int from = 0;
+        int to = 0;
+        for (int i = 0; i < ranges.size(); i++) {
+            NutrientRange r = ranges.get(i);
+            int[] ords = sorted[r.nutrient().ordinal()];
+            double[] column = catalog.column(r.nutrient());
+            int lo = lowerBound(ords, column, r.min());
+            int hi = upperBound(ords, column, r.max());
+            if (drivingIdx < 0 || hi - lo < to - from) {
+                drivingIdx = i;
+                from = lo;
+                to = Math.max(lo, hi);
+            }
+        }
+
+        if (drivingIdx < 0) {
+            // 조건 없음: 정렬 기준이 있으면 그 배열 전체를 그대로, 없으면 ordinal 순
+            if (sortBy == null) {
+                int[] out = new int[Math.min(limit, catalog.size())];
+                for (int i = 0; i < out.length; i++) out[i] = i;
+                return out;
+            }
+            return scanInOrder(sorted[sortBy.ordinal()], 0, sorted[sortBy.ordinal()].length,
+                    ranges, -1, descending, limit);
+        }
+
+        Nutrient driving = ranges.get(drivingIdx).nutrient();
+        int[] drivingOrds = sorted[driving.ordinal()];
+        if (sortBy == driving) {
+            return scanInOrder(drivingOrds, from, to, ranges, drivingIdx, descending, limit);
+        }
+
+        // 기준 범위 안에서 조건을 모두 만족하는 것을 모은 뒤 정렬
+        IntList matches = new IntList();
+        for (int i = from; i < to; i++) {
+            int ord = drivingOrds[i];
+            if (matchesAll(ord, ranges, drivingIdx)) matches.add(ord);
+        }
+        return sortAndLimit(matches.toArray(), sortBy, descending, limit);
+    }
+
+    private int[] scanInOrder(int[] ords, int from, int to, List<NutrientRange> ranges,
+                              int skip, boolean descending, int limit) {
+        IntList out = new IntList();
+        if (descending) {
+            for (int i = to - 1; i >= from && out.size() < limit; i--) {
+                if (matchesAll(ords[i], ranges, skip)) out.add(ords[i]);
+            }
+        } else {
+            for (int i = from; i < to && out.size() < limit; i++) {
+                if (matchesAll(ords[i], ranges, skip)) out.add(ords[i]);
+            }
+        }
+        return out.toArray();
+    }
+
+    private int[] sortAndLimit(int[] ords, Nutrient sortBy, boolean descending, int limit) {
+        if (sortBy == null) {
+            Arrays.sort(ords);
+            return ords.length <= limit ? ords : Arrays.copyOf(ords, limit);
+        }
+
+        double[] column = catalog.column(sortBy);
+        Integer[] boxed = new Integer[ords.length];
+        for (int i = 0; i < ords.length; i++) boxed[i] = ords[i];
+        Arrays.sort(boxed, (a, b) -> {
+            double va = column[a];
+            double vb = column[b];
+            // 값이 없으면 방향과 관계없이 뒤로
+            if (Double.isNaN(va) || Double.isNaN(vb)) {
+                if (Double.isNaN(va) && Double.isNaN(vb)) return Integer.compare(a, b);
+                return Double.isNaN(va) ? 1 : -1;
+            }
+            int c = descending ? Double.compare(vb, va) : Double.compare(va, vb);
+            return c != 0 ? c : Integer.compare(a, b);
+        });
+
+        int[] out = new int[Math.min(limit, boxed.length)];
+        for (int i = 0; i < out.length; i++) out[i] = boxed[i];
+        return out;
+    }
+
+    private boolean matchesAll(int ord, List<NutrientRange> ranges, int skip) {
+        for (int i = 0; i < ranges.size(); i++) {
+            if (i == skip) continue;
+            NutrientRange r = ranges.get(i);
+            if (!r.contains(catalog.value(r.nutrient(), ord))) return false;
+        }
+        return true;
+    }
+
+    // column[ords[i]] >= value 인 첫 위치
+    private static int lowerBound(int[] ords, double[] column, double value) {
+        int lo = 0;
+        int hi = ords.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (column[ords[mid]] < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // column[ords[i]] > value 인 첫 위치
+    private static int upperBound(int[] ords, double[] column, double value) {
+        int lo = 0;
+        int hi = ords.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (column[ords[mid]] <= value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
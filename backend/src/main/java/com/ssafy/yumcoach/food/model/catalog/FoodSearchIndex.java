@@ -0,0 +1,220 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * food_name / representative_food_name 에 대한 n-gram 역색인
+ *
+ * searchFoodItems 의 `LIKE '%keyword%' ... ORDER BY food_name LIMIT n` 을 대체한다.
+ * - 글자 1개(unigram)와 연속 2글자(bigram)를 키로 posting list 를 만든다.
+ * - posting 에는 ordinal 대신 food_name 정렬 순위(rank)를 넣어 두기 때문에
+ *   교집합을 앞에서부터 훑으면 결과가 이미 이름순이고, limit 개를 채우면 바로 멈춘다.
+ * - n-gram 교집합은 후보일 뿐이므로 마지막에 실제 부분 문자열 포함 여부를 확인한다.
+ *
+ * 대소문자는 구분하지 않는다 (MySQL _ci collation 과 맞춤).
+ */
+public final class FoodSearchIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final int[] rankToOrdinal;
+    private final String[] normalizedNames;          // rank 인덱스
+    private final String[] normalizedRepresentative; // rank 인덱스
+    private final Map<Integer, int[]> postings;
+
+    private FoodSearchIndex(int[] rankToOrdinal, String[] normalizedNames,
+                            String[] normalizedRepresentative, Map<Integer, int[]> postings) {
+        this.rankToOrdinal = rankToOrdinal;
+        this.normalizedNames = normalizedNames;
+        this.normalizedRepresentative = normalizedRepresentative;
+        this.postings = postings;
+    }
+
+    static FoodSearchIndex build(FoodCatalog catalog) {
+        int n = catalog.size();
+
+        Integer[] byName = new Integer[n];
+        for (int i = 0; i < n; i++) byName[i] = i;
+        Arrays.sort(byName, Comparator.comparing(catalog::foodName,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+
+        int[] rankToOrdinal = new int[n];
+        String[] names = new String[n];
+        String[] reps = new String[n];
+        Map<Integer, IntList> building = new HashMap<>();
+
+        for (int rank = 0; rank < n; rank++) {
+            int ord = byName[rank];
+            rankToOrdinal[rank] = ord;
+            names[rank] = normalize(catalog.foodName(ord));
+            reps[rank] = normalize(catalog.representativeFoodName(ord));
+
+            // 같은 식품 안에서 중복 키는 한 번만 넣는다
+            for (int key : distinctKeys(names[rank], reps[rank])) {
+                building.computeIfAbsent(key, k -> new IntList()).add(rank);
+            }
+        }
+
+        Map<Integer, int[]> postings = new HashMap<>(building.size() * 2);
+        building.forEach((k, v) -> postings.put(k, v.toArray()));
+        return new FoodSearchIndex(rankToOrdinal, names, reps, postings);
+    }
+
+    /**
+     * keyword 를 food_name 또는 representative_food_name 에 포함하는 식품을
+     * food_name 오름차순으로 최대 limit 개 돌려준다.
+     *
+     * @return 카탈로그 ordinal 목록
+     */
+    public int[] search(String keyword, int limit) {
+        return search(keyword, limit, null);
+    }
+
+    /**
+     * search(keyword, limit) 와 같되 accept 가 false 인 ordinal 은 건너뛴다 (분류 필터 등).
+     * 걸러진 식품은 limit 에 세지 않는다.
+     *
+     * @param accept null 이면 거르지 않음
+     */
+    public int[] search(String keyword, int limit, IntPredicate accept) {
+        if (limit <= 0 || keyword == null) return EMPTY;
+        String q = normalize(keyword);
+
+        if (q.isEmpty()) {
+            // LIKE '%%' 는 이름이 있는 모든 행과 일치
+            IntList out = new IntList();
+            for (int rank = 0; rank < rankToOrdinal.length && out.size() < limit; rank++) {
+                if ((normalizedNames[rank] != null || normalizedRepresentative[rank] != null)
+                        && (accept == null || accept.test(rankToOrdinal[rank]))) {
+                    out.add(rankToOrdinal[rank]);
+                }
+            }
+            return out.toArray();
+        }
+
+        int[][] lists = postingsFor(q);
+        if (lists == null) return EMPTY;
+
+        IntList out = new IntList();
+        int[] smallest = lists[0];
+        int[] cursors = new int[lists.length];
+
+        outer:
+        for (int rank : smallest) {
+            for (int i = 1; i < lists.length; i++) {
+                int pos = gallop(lists[i], cursors[i], rank);
+                cursors[i] = pos;
+                if (pos >= lists[i].length) break outer; // 더 이상 교집합 없음
+                if (lists[i][pos] != rank) continue outer;
+            }
+            if (matches(rank, q) && (accept == null || accept.test(rankToOrdinal[rank]))) {
+                out.add(rankToOrdinal[rank]);
+                if (out.size() >= limit) break;
+            }
+        }
+        return out.toArray();
+    }
+
+    public int keyCount() {
+        return postings.size();
+    }
+
+    private boolean matches(int rank, String q) {
+        String name = normalizedNames[rank];
+        if (name != null && name.contains(q)) return true;
+        String rep = normalizedRepresentative[rank];
+        return rep != null && rep.contains(q);
+    }
+
+    /**
+     * 질의의 n-gram posting 들을 짧은 순서로 정렬해 돌려준다. 하나라도 없으면 null.
+     */
+    private int[][] postingsFor(String q) {
+        int[] keys = q.length() == 1
+                ? new int[]{unigram(q.charAt(0))}
+                : bigramKeys(q);
+
+        int[][] lists = new int[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            int[] p = postings.get(keys[i]);
+            if (p == null) return null;
+            lists[i] = p;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(a -> a.length));
+        return lists;
+    }
+
+    /**
+     * a[from..] 에서 target 이상인 첫 위치 (지수 탐색 + 이진 탐색)
+     */
+    private static int gallop(int[] a, int from, int target) {
+        int step = 1;
+        int hi = from;
+        while (hi < a.length && a[hi] < target) {
+            from = hi + 1;
+            hi += step;
+            step <<= 1;
+        }
+        int lo = from;
+        hi = Math.min(hi, a.length - 1);
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < target) lo = mid + 1;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    private static int[] bigramKeys(String s) {
+        int[] keys = new int[s.length() - 1];
+        int n = 0;
+        for (int i = 0; i + 1 < s.length(); i++) {
+            int key = bigram(s.charAt(i), s.charAt(i + 1));
+            boolean dup = false;
+            for (int j = 0; j < n; j++) {
+                if (keys[j] == key) { dup = true; break; }
+            }
+            if (!dup) keys[n++] = key;
+        }
+        return Arrays.copyOf(keys, n);
+    }
+
+    private static int[] distinctKeys(String name, String rep) {
+        IntList keys = new IntList();
+        addKeys(keys, name);
+        addKeys(keys, rep);
+        int[] arr = keys.toArray();
+        Arrays.sort(arr);
+        int n = 0;
+        for (int i = 0; i < arr.length; i++) {
+            if (i == 0 || arr[i] != arr[i - 1]) arr[n++] = arr[i];
+        }
+        return Arrays.copyOf(arr, n);
+    }
+
+    private static void addKeys(IntList keys, String s) {
+        if (s == null) return;
+        for (int i = 0; i < s.length(); i++) {
+            keys.add(unigram(s.charAt(i)));
+            if (i + 1 < s.length()) keys.add(bigram(s.charAt(i), s.charAt(i + 1)));
+        }
+    }
+
+    // unigram 은 상위 16비트가 0, bigram 은 첫 글자가 상위 16비트에 들어간다
+    private static int unigram(char c) {
+        return c;
+    }
+
+    private static int bigram(char a, char b) {
+        return (a << 16) | b;
+    }
+
+    static String normalize(String s) {
+        return s == null ? null : s.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,138 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * 영양소 벡터 최근접 이웃 색인 (대체 식품 추천용)
+ *
+ * - 차원: 열량, 단백질, 탄수화물, 지방, 당류, 나트륨, 식이섬유 (100g 기준)
+ * - 값은 log1p 로 눌러 단위/규모 차이를 줄인 뒤 차원별 z-score 로 정규화한다.
+ *   당류/나트륨/식이섬유처럼 빠진 값은 평균(0)으로 둔다.
+ * - 열량/단백질/탄수화물/지방 중 하나라도 없는 식품은 색인하지 않는다.
+ * - 벡터는 행 단위로 이어 붙인 float[] 하나에 담고, 질의는 전체를 한 번 훑는다
+ *   (차원이 작아 트리보다 연속 배열 순차 스캔이 빠르다).
+ */
+public final class FoodVectorIndex {
+
+    public static final Nutrient[] DIMENSIONS = {
+            Nutrient.ENERGY_KCAL, Nutrient.PROTEIN_G, Nutrient.CARBOHYDRATE_G, Nutrient.FAT_G,
+            Nutrient.SUGARS_G, Nutrient.SODIUM_MG, Nutrient.DIETARY_FIBER_G
+    };
+
+    private static final int DIM = DIMENSIONS.length;
+    private static final int REQUIRED_DIMS = 4; // 앞의 4개(열량/단백질/탄수화물/지방)는 필수
+    private static final int[] EMPTY = new int[0];
+
+    private final float[] vectors;      // [row * DIM + d]
+    private final int[] rowToOrdinal;
+    private final int[] ordinalToRow;   // 색인되지 않았으면 -1
+
+    private FoodVectorIndex(float[] vectors, int[] rowToOrdinal, int[] ordinalToRow) {
+        this.vectors = vectors;
+        this.rowToOrdinal = rowToOrdinal;
+        this.ordinalToRow = ordinalToRow;
+    }
+
+    static FoodVectorIndex build(FoodCatalog catalog) {
+        int n = catalog.size();
+        double[][] columns = new double[DIM][];
+        for (int d = 0; d < DIM; d++) columns[d] = catalog.column(DIMENSIONS[d]);
+
+        int[] ordinalToRow = new int[n];
+        IntList rows = new IntList();
+        for (int ord = 0; ord < n; ord++) {
+            boolean ok = catalog.hasNutrition(ord);
+            for (int d = 0; ok && d < REQUIRED_DIMS; d++) ok = !Double.isNaN(columns[d][ord]);
+            ordinalToRow[ord] = ok ? rows.size() : -1;
+            if (ok) rows.add(ord);
+        }
+        int[] rowToOrdinal = rows.toArray();
+        int m = rowToOrdinal.length;
+
+        // 차원별 평균/표준편차 (log1p 값, 빠진 값 제외)
+        double[] mean = new double[DIM];
+        double[] std = new double[DIM];
+        for (int d = 0; d < DIM; d++) {
+            double sum = 0;
+            double sumSq = 0;
+            int count = 0;
+            for (int ord : rowToOrdinal) {
+                double v = columns[d][ord];
+                if (Double.isNaN(v)) continue;
+                double x = Math.log1p(Math.max(0, v));
+                sum += x;
+                sumSq += x * x;
+                count++;
+            }
+            mean[d] = count == 0 ? 0 : sum / count;
+            double var = count == 0 ? 0 : sumSq / count - mean[d] * mean[d];
+            std[d] = var > 1e-12 ? Math.sqrt(var) : 1;
+        }
+
+        float[] vectors = new float[m * DIM];
+        for (int row = 0; row < m; row++) {
+            int ord = rowToOrdinal[row];
+            for (int d = 0; d < DIM; d++) {
+                double v = columns[d][ord];
+                vectors[row * DIM + d] = Double.isNaN(v)
+                        ? 0f
+                        : (float) ((Math.log1p(Math.max(0, v)) - mean[d]) / std[d]);
+            }
+        }
+        return new FoodVectorIndex(vectors, rowToOrdinal, ordinalToRow);
+    }
+
+    public boolean contains(int ord) {
+        return ord >= 0 && ord < ordinalToRow.length && ordinalToRow[ord] >= 0;
+    }
+
+    public int size() {
+        return rowToOrdinal.length;
+    }
+
+    /**
+     * ord 와 영양소 벡터가 가장 가까운 식품을 가까운 순으로 최대 k 개 돌려준다 (자기 자신 제외).
+     *
+     * @param exclude true 를 돌려주는 ordinal 은 후보에서 뺀다 (null 이면 제외 없음)
+     * @return 카탈로그 ordinal 목록, ord 가 색인되지 않았으면 빈 배열
+     */
+    public int[] nearest(int ord, int k, IntPredicate exclude) {
+        if (k <= 0 || !contains(ord)) return EMPTY;
+        int self = ordinalToRow[ord];
+        int base = self * DIM;
+
+        // 거리 오름차순으로 유지하는 고정 크기 후보 목록
+        float[] bestDist = new float[k];
+        int[] bestRow = new int[k];
+        Arrays.fill(bestDist, Float.POSITIVE_INFINITY);
+        int found = 0;
+
+        int m = rowToOrdinal.length;
+        for (int row = 0; row < m; row++) {
+            if (row == self) continue;
+            int off = row * DIM;
+            float dist = 0f;
+            for (int d = 0; d < DIM; d++) {
+                float diff = vectors[off + d] - vectors[base + d];
+                dist += diff * diff;
+            }
+            if (dist >= bestDist[k - 1]) continue;
+            if (exclude != null && exclude.test(rowToOrdinal[row])) continue;
+
+            int pos = k - 1;
+            while (pos > 0 && bestDist[pos - 1] > dist) {
+                bestDist[pos] = bestDist[pos - 1];
+                bestRow[pos] = bestRow[pos - 1];
+                pos--;
+            }
+            bestDist[pos] = dist;
+            bestRow[pos] = row;
+            if (found < k) found++;
+        }
+
+        int[] out = new int[found];
+        for (int i = 0; i < found; i++) out[i] = rowToOrdinal[bestRow[i]];
+        return out;
+    }
+}
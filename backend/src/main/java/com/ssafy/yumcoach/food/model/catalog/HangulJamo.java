@@ -0,0 +1,95 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import java.util.Locale;
+
+/**
+ * 한글 음절 → 자모 분해 유틸
+ *
+ * - jamo(): 음절을 초성/중성/종성 호환 자모로 풀고, 겹모음/겹받침도 낱자로 쪼갠다.
+ *           예) "닭" → "ㄷㅏㄹㄱ", "과" → "ㄱㅗㅏ"
+ *           입력 중인 글자("달", "닥")도 완성된 이름의 자모 접두사가 된다.
+ * - choseong(): 음절마다 초성만 남긴다. 공백은 버린다. 예) "닭가슴살 스테이크" → "ㄷㄱㅅㅅㅅㅌㅇㅋ"
+ *
+ * 한글이 아닌 글자는 소문자로 바꿔 그대로 둔다.
+ */
+public final class HangulJamo {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ",
+            "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ",
+            "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ",
+            "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    // 단독으로 입력된 겹자모(호환 자모)도 낱자로 푼다
+    private static final String COMPOUND_JAMO = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄㅘㅙㅚㅝㅞㅟㅢ";
+    private static final String[] COMPOUND_SPLIT = {
+            "ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ",
+            "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ"
+    };
+
+    private HangulJamo() {
+    }
+
+    public static String jamo(String s) {
+        if (s == null) return null;
+        String lower = s.toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(lower.length() * 3);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (isSyllable(c)) {
+                int idx = c - SYLLABLE_BASE;
+                sb.append(CHOSEONG.charAt(idx / 588));
+                sb.append(JUNGSEONG[(idx % 588) / 28]);
+                sb.append(JONGSEONG[idx % 28]);
+            } else {
+                int compound = COMPOUND_JAMO.indexOf(c);
+                if (compound >= 0) sb.append(COMPOUND_SPLIT[compound]);
+                else sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    public static String choseong(String s) {
+        if (s == null) return null;
+        String lower = s.toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            if (isSyllable(c)) sb.append(CHOSEONG.charAt((c - SYLLABLE_BASE) / 588));
+            else sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 공백을 빼면 자음(초성으로 쓸 수 있는 호환 자모)만으로 이루어졌는지
+     * 예) "ㄷㄱ" → true, "닭" / "ㄷㅏ" → false
+     */
+    public static boolean isChoseongOnly(String s) {
+        if (s == null) return false;
+        boolean any = false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            if (CHOSEONG.indexOf(c) < 0) return false;
+            any = true;
+        }
+        return any;
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import java.util.Arrays;
+
+/**
+ * 색인 빌드용 가변 int 배열 (boxing 없이 posting/노드 목록을 쌓기 위함)
+ */
+final class IntList {
+
+    private int[] data = new int[8];
+    private int size;
+
+    void add(int v) {
+        if (size == data.length) data = Arrays.copyOf(data, size * 2);
+        data[size++] = v;
+    }
+
+    int get(int i) {
+        return data[i];
+    }
+
+    void set(int i, int v) {
+        data[i] = v;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+}
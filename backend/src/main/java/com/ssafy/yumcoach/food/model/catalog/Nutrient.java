@@ -0,0 +1,103 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import com.ssafy.yumcoach.food.model.NutritionFactsPrimaryDto;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * nutrition_facts_primary 의 수치 컬럼 목록
+ *
+ * FoodCatalog 는 이 enum 의 ordinal 을 컬럼 인덱스로 사용해
+ * 영양소별 double[] 배열을 하나씩 들고 있는다.
+ * - property: NutritionFactsPrimaryDto / JSON 필드명
+ * - column:   DB 컬럼명
+ */
+public enum Nutrient {
+
+    ENERGY_KCAL("energyKcal", "energy_kcal", NutritionFactsPrimaryDto::getEnergyKcal, NutritionFactsPrimaryDto::setEnergyKcal),
+    WATER_G("waterG", "water_g", NutritionFactsPrimaryDto::getWaterG, NutritionFactsPrimaryDto::setWaterG),
+    PROTEIN_G("proteinG", "protein_g", NutritionFactsPrimaryDto::getProteinG, NutritionFactsPrimaryDto::setProteinG),
+    FAT_G("fatG", "fat_g", NutritionFactsPrimaryDto::getFatG, NutritionFactsPrimaryDto::setFatG),
+    ASH_G("ashG", "ash_g", NutritionFactsPrimaryDto::getAshG, NutritionFactsPrimaryDto::setAshG),
+    CARBOHYDRATE_G("carbohydrateG", "carbohydrate_g", NutritionFactsPrimaryDto::getCarbohydrateG, NutritionFactsPrimaryDto::setCarbohydrateG),
+    SUGARS_G("sugarsG", "sugars_g", NutritionFactsPrimaryDto::getSugarsG, NutritionFactsPrimaryDto::setSugarsG),
+    DIETARY_FIBER_G("dietaryFiberG", "dietary_fiber_g", NutritionFactsPrimaryDto::getDietaryFiberG, NutritionFactsPrimaryDto::setDietaryFiberG),
+
+    CALCIUM_MG("calciumMg", "calcium_mg", NutritionFactsPrimaryDto::getCalciumMg, NutritionFactsPrimaryDto::setCalciumMg),
+    IRON_MG("ironMg", "iron_mg", NutritionFactsPrimaryDto::getIronMg, NutritionFactsPrimaryDto::setIronMg),
+    PHOSPHORUS_MG("phosphorusMg", "phosphorus_mg", NutritionFactsPrimaryDto::getPhosphorusMg, NutritionFactsPrimaryDto::setPhosphorusMg),
+    POTASSIUM_MG("potassiumMg", "potassium_mg", NutritionFactsPrimaryDto::getPotassiumMg, NutritionFactsPrimaryDto::setPotassiumMg),
+    SODIUM_MG("sodiumMg", "sodium_mg", NutritionFactsPrimaryDto::getSodiumMg, NutritionFactsPrimaryDto::setSodiumMg),
+
+    VITAMIN_A_RAE("vitaminARae", "vitamin_a_rae", NutritionFactsPrimaryDto::getVitaminARae, NutritionFactsPrimaryDto::setVitaminARae),
+    RETINOL_UG("retinolUg", "retinol_ug", NutritionFactsPrimaryDto::getRetinolUg, NutritionFactsPrimaryDto::setRetinolUg),
+    BETA_CAROTENE_UG("betaCaroteneUg", "beta_carotene_ug", NutritionFactsPrimaryDto::getBetaCaroteneUg, NutritionFactsPrimaryDto::setBetaCaroteneUg),
+
+    THIAMIN_MG("thiaminMg", "thiamin_mg", NutritionFactsPrimaryDto::getThiaminMg, NutritionFactsPrimaryDto::setThiaminMg),
+    RIBOFLAVIN_MG("riboflavinMg", "riboflavin_mg", NutritionFactsPrimaryDto::getRiboflavinMg, NutritionFactsPrimaryDto::setRiboflavinMg),
+    NIACIN_MG("niacinMg", "niacin_mg", NutritionFactsPrimaryDto::getNiacinMg, NutritionFactsPrimaryDto::setNiacinMg),
+    VITAMIN_C_MG("vitaminCMg", "vitamin_c_mg", NutritionFactsPrimaryDto::getVitaminCMg, NutritionFactsPrimaryDto::setVitaminCMg),
+    VITAMIN_D_UG("vitaminDUg", "vitamin_d_ug", NutritionFactsPrimaryDto::getVitaminDUg, NutritionFactsPrimaryDto::setVitaminDUg),
+
+    CHOLESTEROL_MG("cholesterolMg", "cholesterol_mg", NutritionFactsPrimaryDto::getCholesterolMg, NutritionFactsPrimaryDto::setCholesterolMg),
+    SATURATED_FAT_G("saturatedFatG", "saturated_fat_g", NutritionFactsPrimaryDto::getSaturatedFatG, NutritionFactsPrimaryDto::setSaturatedFatG),
+    TRANS_FAT_G("transFatG", "trans_fat_g", NutritionFactsPrimaryDto::getTransFatG, NutritionFactsPrimaryDto::setTransFatG),
+    UNSATURATED_FAT_G("unsaturatedFatG", "unsaturated_fat_g", NutritionFactsPrimaryDto::getUnsaturatedFatG, NutritionFactsPrimaryDto::setUnsaturatedFatG),
+
+    CAFFEINE_MG("caffeineMg", "caffeine_mg", NutritionFactsPrimaryDto::getCaffeineMg, NutritionFactsPrimaryDto::setCaffeineMg),
+    VITAMIN_E_MG("vitaminEMg", "vitamin_e_mg", NutritionFactsPrimaryDto::getVitaminEMg, NutritionFactsPrimaryDto::setVitaminEMg),
+    VITAMIN_E_TOCOTRIENOL_MG("vitaminETocotrienolMg", "vitamin_e_tocotrienol_mg", NutritionFactsPrimaryDto::getVitaminETocotrienolMg, NutritionFactsPrimaryDto::setVitaminETocotrienolMg);
+
+    private static final Nutrient[] VALUES = values();
+
+    private final String property;
+    private final String column;
+    private final Function<NutritionFactsPrimaryDto, Double> getter;
+    private final BiConsumer<NutritionFactsPrimaryDto, Double> setter;
+
+    Nutrient(String property, String column,
+             Function<NutritionFactsPrimaryDto, Double> getter,
+             BiConsumer<NutritionFactsPrimaryDto, Double> setter) {
+        this.property = property;
+        this.column = column;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    public Double get(NutritionFactsPrimaryDto dto) {
+        return getter.apply(dto);
+    }
+
+    public void set(NutritionFactsPrimaryDto dto, Double value) {
+        setter.accept(dto, value);
+    }
+
+    /** values() 복사 없이 쓰기 위한 공유 배열 (수정 금지) */
+    static Nutrient[] all() {
+        return VALUES;
+    }
+
+    /**
+     * JSON 필드명(energyKcal) 또는 enum 이름(ENERGY_KCAL)으로 찾는다.
+     *
+     * @return 일치하는 항목, 없으면 null
+     */
+    public static Nutrient fromName(String name) {
+        if (name == null) return null;
+        for (Nutrient n : VALUES) {
+            if (n.property.equalsIgnoreCase(name) || n.name().equalsIgnoreCase(name)) {
+                return n;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+/**
+ * 영양소 하나에 대한 범위 조건 (min ≤ 값 ≤ max, 100g 기준)
+ * 한쪽 경계가 없으면 무한대로 둔다.
+ */
+public record NutrientRange(Nutrient nutrient, double min, double max) {
+
+    public NutrientRange {
+        if (nutrient == null) throw new IllegalArgumentException("nutrient is required");
+        if (Double.isNaN(min) || Double.isNaN(max)) throw new IllegalArgumentException("bound is NaN");
+        if (min > max) throw new IllegalArgumentException(nutrient.property() + ": min > max");
+    }
+
+    public static NutrientRange atLeast(Nutrient nutrient, double min) {
+        return new NutrientRange(nutrient, min, Double.POSITIVE_INFINITY);
+    }
+
+    public static NutrientRange atMost(Nutrient nutrient, double max) {
+        return new NutrientRange(nutrient, Double.NEGATIVE_INFINITY, max);
+    }
+
+    public boolean contains(double value) {
+        return value >= min && value <= max; // NaN 은 항상 false
+    }
+}
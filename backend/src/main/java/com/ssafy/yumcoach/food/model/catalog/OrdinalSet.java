@@ -0,0 +1,72 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import java.util.Arrays;
+
+/**
+ * ordinal 집합 (RoaringBitmap 처럼 밀도에 따라 표현을 고른다)
+ *
+ * - 원소가 적으면 정렬된 int[] (원소당 4바이트)
+ * - 많으면 long[] 비트셋 (전체 식품 수 / 8 바이트)
+ * 교집합 크기는 비트셋끼리면 워드 단위 AND + bitCount, 희소하면 원소별 비트 확인으로 센다.
+ */
+final class OrdinalSet {
+
+    private final int[] sparse;  // 희소 표현일 때만
+    private final long[] words;  // 밀집 표현일 때만
+    private final int cardinality;
+
+    private OrdinalSet(int[] sparse, long[] words, int cardinality) {
+        this.sparse = sparse;
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * @param sortedOrds 오름차순, 중복 없음
+     * @param universe   전체 식품 수
+     */
+    static OrdinalSet of(int[] sortedOrds, int universe) {
+        // int 하나(32비트)가 비트셋의 32칸과 같은 공간 → 밀도 1/32 이상이면 비트셋이 작다
+        if ((long) sortedOrds.length * 32 >= universe) {
+            return new OrdinalSet(null, toWords(sortedOrds, universe), sortedOrds.length);
+        }
+        return new OrdinalSet(sortedOrds, null, sortedOrds.length);
+    }
+
+    static long[] toWords(int[] ords, int universe) {
+        long[] words = new long[(universe + 63) >>> 6];
+        for (int ord : ords) words[ord >>> 6] |= 1L << ord;
+        return words;
+    }
+
+    int cardinality() {
+        return cardinality;
+    }
+
+    boolean contains(int ord) {
+        if (words != null) {
+            int w = ord >>> 6;
+            return w < words.length && (words[w] & (1L << ord)) != 0;
+        }
+        return Arrays.binarySearch(sparse, ord) >= 0;
+    }
+
+    /**
+     * |this ∩ query|
+     *
+     * @param query toWords() 로 만든 비트셋
+     */
+    int andCardinality(long[] query) {
+        int count = 0;
+        if (words != null) {
+            int n = Math.min(words.length, query.length);
+            for (int i = 0; i < n; i++) count += Long.bitCount(words[i] & query[i]);
+            return count;
+        }
+        for (int ord : sparse) {
+            int w = ord >>> 6;
+            if (w < query.length && (query[w] & (1L << ord)) != 0) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,240 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import java.util.Arrays;
+
+/**
+ * 배열 기반 접두사 트라이 (자동완성용)
+ *
+ * - 노드마다 하위 트리에서 우선순위가 가장 높은 ordinal 을 최대 K개 미리 계산해 둔다.
+ *   조회는 접두사 길이만큼 내려가서 캐시된 목록을 읽는 것으로 끝난다.
+ * - 자식이 하나뿐이고 자기 자신에서 끝나는 키가 없는 노드는 자식의 목록을 그대로 공유한다.
+ * - 키는 maxDepth 글자까지만 색인한다. 더 긴 질의는 호출하는 쪽에서 결과를 다시 확인해야 한다.
+ *   캐시된 목록만으로 모자라면 candidates() 로 하위 트리의 키 전부를 받아 확인한다
+ *   (키를 정렬해 넣으므로 노드의 하위 트리는 정렬된 키 배열의 연속 구간이다).
+ *
+ * 노드/목록은 모두 원시 배열이라 객체 수가 노드 수와 무관하다.
+ */
+final class PrefixTrie {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final int maxDepth;
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] topStart;
+    private final byte[] topCount;
+    private final int[] topPool;
+    private final int[] sortedOrds; // 키 정렬 순서의 ordinal
+    private final int[] keyFrom;    // 노드 → 하위 트리 키 구간 [keyFrom, keyTo)
+    private final int[] keyTo;
+
+    private PrefixTrie(int maxDepth, char[] labels, int[] firstChild, int[] nextSibling,
+                       int[] topStart, byte[] topCount, int[] topPool,
+                       int[] sortedOrds, int[] keyFrom, int[] keyTo) {
+        this.maxDepth = maxDepth;
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.nextSibling = nextSibling;
+        this.topStart = topStart;
+        this.topCount = topCount;
+        this.topPool = topPool;
+        this.sortedOrds = sortedOrds;
+        this.keyFrom = keyFrom;
+        this.keyTo = keyTo;
+    }
+
+    int maxDepth() {
+        return maxDepth;
+    }
+
+    int nodeCount() {
+        return labels.length;
+    }
+
+    /**
+     * prefix 로 시작하는 키의 상위 ordinal 목록 (우선순위 순).
+     * prefix 가 maxDepth 보다 길면 앞 maxDepth 글자로만 찾는다.
+     */
+    int[] lookup(String prefix) {
+        int node = find(prefix);
+        if (node == NONE) return new int[0];
+        int start = topStart[node];
+        return Arrays.copyOfRange(topPool, start, start + topCount[node]);
+    }
+
+    /**
+     * prefix(앞 maxDepth 글자)로 시작하는 모든 키의 ordinal (키 순서, 같은 ordinal 이 여러 번 나올 수 있음).
+     */
+    int[] candidates(String prefix) {
+        int node = find(prefix);
+        if (node == NONE) return new int[0];
+        return Arrays.copyOfRange(sortedOrds, keyFrom[node], keyTo[node]);
+    }
+
+    private int find(String prefix) {
+        int node = ROOT;
+        int depth = Math.min(prefix.length(), maxDepth);
+        for (int i = 0; i < depth && node != NONE; i++) {
+            node = child(node, prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private int child(int node, char c) {
+        for (int ch = firstChild[node]; ch != NONE; ch = nextSibling[ch]) {
+            if (labels[ch] == c) return ch;
+        }
+        return NONE;
+    }
+
+    /**
+     * (키, ordinal) 쌍을 모아 트라이를 만든다.
+     * priority[ord] 가 작을수록 앞에 온다.
+     */
+    static final class Builder {
+
+        private final int maxDepth;
+        private final int topK;
+        private String[] keys = new String[1024];
+        private int[] ords = new int[1024];
+        private int size;
+
+        Builder(int maxDepth, int topK) {
+            if (topK > Byte.MAX_VALUE) throw new IllegalArgumentException("topK too large: " + topK);
+            this.maxDepth = maxDepth;
+            this.topK = topK;
+        }
+
+        void add(String key, int ord) {
+            if (key == null || key.isEmpty()) return;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                ords = Arrays.copyOf(ords, size * 2);
+            }
+            keys[size] = key.length() > maxDepth ? key.substring(0, maxDepth) : key;
+            ords[size] = ord;
+            size++;
+        }
+
+        PrefixTrie build(int[] priority) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> keys[a].compareTo(keys[b]));
+
+            IntList label = new IntList();
+            IntList first = new IntList();
+            IntList next = new IntList();
+            IntList last = new IntList();
+            IntList termNode = new IntList();
+            IntList termOrd = new IntList();
+            IntList from = new IntList();
+            IntList to = new IntList();
+
+            newNode(label, first, next, last, (char) 0);
+            from.add(0);
+            to.add(size);
+            int[] path = new int[maxDepth + 1];
+            path[0] = ROOT;
+            String prev = "";
+
+            // 정렬된 키를 차례로 넣으면 노드가 전위 순서로 만들어진다 (부모 index < 자식 index)
+            for (int i = 0; i < size; i++) {
+                String key = keys[order[i]];
+                int common = commonPrefix(prev, key);
+                for (int d = common + 1; d <= key.length(); d++) {
+                    int parent = path[d - 1];
+                    int node = newNode(label, first, next, last, key.charAt(d - 1));
+                    int lastChild = last.get(parent);
+                    if (lastChild == NONE) first.set(parent, node);
+                    else next.set(lastChild, node);
+                    last.set(parent, node);
+                    path[d] = node;
+                    from.add(i);
+                    to.add(i + 1);
+                }
+                for (int d = 1; d <= key.length(); d++) to.set(path[d], i + 1);
+                termNode.add(path[key.length()]);
+                termOrd.add(ords[order[i]]);
+                prev = key;
+            }
+
+            int nodes = label.size();
+            int[] termStart = new int[nodes + 1];
+            for (int i = 0; i < termNode.size(); i++) termStart[termNode.get(i) + 1]++;
+            for (int i = 0; i < nodes; i++) termStart[i + 1] += termStart[i];
+            // termNode 는 정렬된 순서로 들어갔으므로 같은 노드의 ordinal 이 연속해 있다
+            int[] termOrds = termOrd.toArray();
+
+            int[] topStart = new int[nodes];
+            byte[] topCount = new byte[nodes];
+            IntList pool = new IntList();
+            int[] firstArr = first.toArray();
+            int[] nextArr = next.toArray();
+
+            long[] buf = new long[64];
+            for (int node = nodes - 1; node >= 0; node--) {
+                int termFrom = termStart[node];
+                int termTo = termStart[node + 1];
+                int onlyChild = firstArr[node] != NONE && nextArr[firstArr[node]] == NONE ? firstArr[node] : NONE;
+
+                if (termFrom == termTo && onlyChild != NONE) {
+                    topStart[node] = topStart[onlyChild];
+                    topCount[node] = topCount[onlyChild];
+                    continue;
+                }
+
+                int n = 0;
+                for (int t = termFrom; t < termTo; t++) {
+                    if (n == buf.length) buf = Arrays.copyOf(buf, n * 2);
+                    buf[n++] = encode(priority, termOrds[t]);
+                }
+                for (int ch = firstArr[node]; ch != NONE; ch = nextArr[ch]) {
+                    for (int j = 0; j < topCount[ch]; j++) {
+                        if (n == buf.length) buf = Arrays.copyOf(buf, n * 2);
+                        buf[n++] = encode(priority, pool.get(topStart[ch] + j));
+                    }
+                }
+                Arrays.sort(buf, 0, n);
+
+                topStart[node] = pool.size();
+                int taken = 0;
+                for (int j = 0; j < n && taken < topK; j++) {
+                    if (j > 0 && buf[j] == buf[j - 1]) continue; // 같은 식품이 여러 키로 들어온 경우
+                    pool.add((int) buf[j]);
+                    taken++;
+                }
+                topCount[node] = (byte) taken;
+            }
+
+            char[] labels = new char[nodes];
+            for (int i = 0; i < nodes; i++) labels[i] = (char) label.get(i);
+            int[] sortedOrds = new int[size];
+            for (int i = 0; i < size; i++) sortedOrds[i] = ords[order[i]];
+            return new PrefixTrie(maxDepth, labels, firstArr, nextArr, topStart, topCount, pool.toArray(),
+                    sortedOrds, from.toArray(), to.toArray());
+        }
+
+        private static int newNode(IntList label, IntList first,
+                                   IntList next, IntList last, char c) {
+            label.add(c);
+            first.add(NONE);
+            next.add(NONE);
+            last.add(NONE);
+            return label.size() - 1;
+        }
+
+        // 상위 32비트 = 우선순위, 하위 32비트 = ordinal → long 정렬 한 번으로 순위 정렬
+        private static long encode(int[] priority, int ord) {
+            return ((long) priority[ord] << 32) | (ord & 0xFFFFFFFFL);
+        }
+
+        private static int commonPrefix(String a, String b) {
+            int n = Math.min(a.length(), b.length());
+            int i = 0;
+            while (i < n && a.charAt(i) == b.charAt(i)) i++;
+            return i;
+        }
+    }
+}
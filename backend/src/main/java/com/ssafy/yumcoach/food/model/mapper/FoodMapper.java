@@ -4,7 +4,10 @@ import com.ssafy.yumcoach.food.model.FoodDetailDto;
 import com.ssafy.yumcoach.food.model.FoodItemDto;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -15,6 +18,30 @@ public interface FoodMapper {
      */
     FoodDetailDto selectFoodDetailById(@Param("foodId") String foodId);
 
+    /**
+     * 전체 식품 + 대표 영양정보를 food_id 순으로 한 행씩 넘겨준다 (카탈로그 적재용)
+     */
+    void selectAllFoodDetails(ResultHandler<FoodDetailDto> handler);
+
+    /**
+     * selectAllFoodDetails 의 커서 버전 (전체 내보내기용)
+     * 커서를 다 읽을 때까지 트랜잭션(세션)이 열려 있어야 한다.
+     */
+    Cursor<FoodDetailDto> cursorAllFoodDetails();
+
+    /**
+     * 카탈로그 원본 버전 (food_catalog_version, 기본키 조회). 행이 없으면 null.
+     * 스냅샷이 최신인지 확인할 때 쓴다.
+     */
+    Long selectCatalogVersion();
+
+    /**
+     * 여러 food_id 의 기본정보 + 대표 영양정보를 한 번에 조회 (IN 절)
+     * - foodIds 는 비어 있으면 안 된다.
+     * - 없는 id 는 결과에서 빠진다.
+     */
+    List<FoodDetailDto> selectFoodDetailsByIds(@Param("foodIds") Collection<String> foodIds);
+
     /**
      * 식품 이름/대표식품 이름/카테고리명으로 검색
      */
@@ -23,6 +50,14 @@ public interface FoodMapper {
             @Param("limit") int limit
     );
 
+    /**
+     * searchFoodItems 의 커서 버전 (스트리밍 응답용, 트랜잭션 안에서만 읽을 것)
+     */
+    Cursor<FoodItemDto> cursorFoodItems(
+            @Param("keyword") String keyword,
+            @Param("limit") int limit
+    );
+
     /**
      * 단순히 food_items만 food_id 기준으로 조회하고 싶을 때
      */
@@ -0,0 +1,45 @@
+package com.ssafy.yumcoach.food.model.mapper;
+
+import com.ssafy.yumcoach.food.model.FoodPopularityDto;
+import com.ssafy.yumcoach.food.model.FoodPopularityStateDto;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.List;
+
+@Mapper
+public interface FoodPopularityMapper {
+
+    // meal 테이블의 현재 최대 id (없으면 null)
+    Long selectMaxMealId();
+
+    // 집계 진행 위치. 트랜잭션 안에서 행 잠금을 잡는다 (여러 서버가 동시에 집계하지 않도록)
+    FoodPopularityStateDto selectStateForUpdate();
+
+    int updateLastMealId(@Param("lastMealId") long lastMealId);
+
+    // 다음에 반영할 위치를 기록하고 유예 시간을 새로 잰다
+    int updatePendingMealId(@Param("pendingMealId") long pendingMealId);
+
+    // (fromId, toId] 구간의 meal 을 사용자·식품별로 센 증분
+    List<FoodPopularityDto> selectUserDeltas(
+            @Param("fromId") long fromId,
+            @Param("toId") long toId
+    );
+
+    // (fromId, toId] 구간 증분을 집계 테이블에 더한다 (INSERT ... SELECT ... ON DUPLICATE KEY UPDATE)
+    int upsertGlobalDeltas(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    int upsertUserDeltas(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // 전체 재집계용
+    int deleteAllGlobal();
+
+    int deleteAllUser();
+
+    // 메모리 적재용 (한 행씩 스트리밍)
+    void selectAllGlobal(ResultHandler<FoodPopularityDto> handler);
+
+    void selectAllUser(ResultHandler<FoodPopularityDto> handler);
+}
@@ -0,0 +1,232 @@
+package com.ssafy.yumcoach.food.model.service;
+
+import com.ssafy.yumcoach.food.model.catalog.FoodCatalog;
+import com.ssafy.yumcoach.food.model.catalog.FoodCatalogSnapshot;
+import com.ssafy.yumcoach.food.model.mapper.FoodMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 기동 시 food_items + nutrition_facts_primary 를 한 번 읽어
+ * FoodCatalog(컬럼형 메모리 카탈로그)를 만들어 두는 서비스
+ *
+ * 로컬 디스크의 바이너리 스냅샷이 원본 버전(food_catalog_version)과 같으면 DB 전체 조회 없이 스냅샷에서 읽는다.
+ * 버전은 기본키 한 행 조회라 기동할 때마다 확인해도 원본 테이블을 훑지 않는다.
+ * 스냅샷이 없거나 오래됐으면 DB 에서 읽고 스냅샷을 새로 쓴다.
+ *
+ * 카탈로그는 세대(generation) 단위로 통째로 교체한다 (copy-on-write).
+ * - 다시 적재할 때는 새 세대를 백그라운드에서 만들고 색인까지 모두 만든 뒤 volatile 참조 하나로 바꾼다.
+ *   읽는 쪽은 getCatalog() 로 받은 세대만 쓰므로 잠금 없이 항상 완성된 색인을 본다.
+ * - 이전 세대는 진행 중인 요청이 끝나면 참조가 사라져 GC 된다.
+ * - 원본 버전 행을 주기적으로 확인해 바뀌었으면 자동으로 다시 적재한다. 관리자 API 로 강제할 수도 있다.
+ *
+ * 적재 전이거나 적재에 실패했으면 getCatalog() 가 null 을 돌려주고,
+ * FoodService 는 그때만 기존 FoodMapper 조회로 돌아간다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FoodCatalogService {
+
+    private final FoodMapper foodMapper;
+
+    @Value("${food.catalog.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
+
+    @Value("${food.catalog.snapshot.path:${java.io.tmpdir}/yumcoach/food-catalog.bin}")
+    private String snapshotPath;
+
+    private volatile FoodCatalog catalog;
+    private volatile String catalogVersion;
+
+    // 교체 지표 (관리자 상태 API 로 노출)
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong reloadFailures = new AtomicLong();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile LocalDateTime lastSwapAt;
+    private volatile long lastBuildMillis;
+    private volatile String lastSource;
+    private volatile String lastError;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            load();
+        } catch (Exception e) {
+            log.error("[FoodCatalog] initial load failed, falling back to DB lookups", e);
+        }
+    }
+
+    /**
+     * 스냅샷이 최신이면 스냅샷에서, 아니면 DB 에서 카탈로그를 읽어 교체한다.
+     * 기동 직후용: 색인이 만들어지기 전에 교체해 foodId 조회부터 바로 처리한다.
+     */
+    public FoodCatalog load() {
+        long started = System.nanoTime();
+        String version = sourceVersion();
+        FoodCatalog loaded = build(version);
+        publish(loaded, version, started);
+
+        CompletableFuture.runAsync(() -> warmUp(loaded)).exceptionally(e -> {
+            log.error("[FoodCatalog] index build failed", e);
+            return null;
+        });
+        return loaded;
+    }
+
+    /**
+     * 원본 버전이 바뀌었으면 다시 적재한다. 기본키 한 행 조회라 짧은 주기로 확인해도 된다.
+     */
+    @Scheduled(fixedDelayString = "${food.catalog.reload-check-interval-ms:60000}",
+            initialDelayString = "${food.catalog.reload-check-interval-ms:60000}")
+    public void checkForChanges() {
+        String version = sourceVersion();
+        if (version == null || version.equals(catalogVersion)) return;
+        log.info("[FoodCatalog] source tables changed ({} -> {})", catalogVersion, version);
+        reloadAsync(false);
+    }
+
+    /**
+     * 새 세대를 백그라운드에서 만들어 교체한다.
+     *
+     * @param force false 면 원본 버전이 현재 세대와 같을 때 아무것도 하지 않는다
+     * @return 새로 시작했으면 true, 이미 다시 적재하는 중이면 false
+     */
+    public boolean reloadAsync(boolean force) {
+        if (!reloading.compareAndSet(false, true)) return false;
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                reload(force);
+            } catch (Exception e) {
+                reloadFailures.incrementAndGet();
+                lastError = e.toString();
+                log.error("[FoodCatalog] reload failed, keeping generation {}", generation.get(), e);
+            } finally {
+                reloading.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * @return 현재 카탈로그, 아직 적재되지 않았으면 null
+     */
+    public FoodCatalog getCatalog() {
+        return catalog;
+    }
+
+    public boolean isReady() {
+        return catalog != null;
+    }
+
+    /**
+     * 세대 교체 지표
+     */
+    public Map<String, Object> status() {
+        FoodCatalog current = catalog;
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("ready", current != null);
+        status.put("generation", generation.get());
+        status.put("size", current == null ? 0 : current.size());
+        status.put("sourceVersion", catalogVersion);
+        status.put("source", lastSource);
+        status.put("lastSwapAt", lastSwapAt);
+        status.put("lastBuildMillis", lastBuildMillis);
+        status.put("reloading", reloading.get());
+        status.put("reloadFailures", reloadFailures.get());
+        status.put("lastError", lastError);
+        return status;
+    }
+
+    private void reload(boolean force) {
+        long started = System.nanoTime();
+        String version = sourceVersion();
+        if (!force && version != null && version.equals(catalogVersion)) {
+            log.info("[FoodCatalog] source unchanged, skip reload");
+            return;
+        }
+
+        FoodCatalog next = build(version);
+        warmUp(next); // 교체 전에 색인까지 완성해 둔다
+        publish(next, version, started);
+        lastError = null;
+    }
+
+    /**
+     * 스냅샷이 원본 버전과 같으면 스냅샷에서, 아니면 DB 에서 새 세대를 만든다 (교체는 하지 않음).
+     */
+    private FoodCatalog build(String version) {
+        if (snapshotEnabled) {
+            try {
+                FoodCatalog snapshot = FoodCatalogSnapshot.read(Path.of(snapshotPath), version);
+                if (snapshot != null) {
+                    lastSource = "snapshot";
+                    return snapshot;
+                }
+                log.info("[FoodCatalog] snapshot {} missing or stale, loading from DB", snapshotPath);
+            } catch (Exception e) {
+                log.warn("[FoodCatalog] snapshot {} unreadable, loading from DB", snapshotPath, e);
+            }
+        }
+
+        FoodCatalog.Builder builder = FoodCatalog.builder();
+        foodMapper.selectAllFoodDetails(ctx -> builder.add(ctx.getResultObject()));
+        FoodCatalog loaded = builder.build();
+        lastSource = "database";
+
+        if (snapshotEnabled && version != null) {
+            try {
+                FoodCatalogSnapshot.write(loaded, version, Path.of(snapshotPath));
+            } catch (Exception e) {
+                log.warn("[FoodCatalog] failed to write snapshot {}", snapshotPath, e);
+            }
+        }
+        return loaded;
+    }
+
+    private void publish(FoodCatalog next, String version, long startedNanos) {
+        this.catalog = next;
+        this.catalogVersion = version;
+        long gen = generation.incrementAndGet();
+        lastSwapAt = LocalDateTime.now();
+        lastBuildMillis = (System.nanoTime() - startedNanos) / 1_000_000;
+        log.info("[FoodCatalog] generation {} live: {} foods from {} in {} ms",
+                gen, next.size(), lastSource, lastBuildMillis);
+    }
+
+    private static void warmUp(FoodCatalog target) {
+        long started = System.nanoTime();
+        target.warmUp();
+        log.info("[FoodCatalog] indexes ready ({} search keys, {} autocomplete nodes, {} fuzzy terms, {} categories) in {} ms",
+                target.searchIndex().keyCount(), target.autocompleteIndex().nodeCount(),
+                target.fuzzyIndex().termCount(), target.categoryIndex().categoryCount(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * 원본 버전 문자열. DB 를 확인할 수 없거나 버전 행이 없으면 null.
+     */
+    private String sourceVersion() {
+        try {
+            Long version = foodMapper.selectCatalogVersion();
+            return version == null ? null : "v" + version;
+        } catch (Exception e) {
+            log.warn("[FoodCatalog] could not read catalog version", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.ssafy.yumcoach.food.model.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ssafy.yumcoach.food.model.FoodDetailDto;
+import com.ssafy.yumcoach.food.model.FoodItemDto;
+import com.ssafy.yumcoach.food.model.catalog.FoodAmount;
+import com.ssafy.yumcoach.food.model.catalog.FoodCatalog;
+import com.ssafy.yumcoach.food.model.mapper.FoodMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 식품 목록을 NDJSON(한 줄에 JSON 하나)으로 한 행씩 써 내려가는 서비스
+ *
+ * 결과 전체를 List 로 모으지 않으므로 행 수와 관계없이 메모리 사용이 일정하다.
+ * - 카탈로그가 적재되어 있으면 카탈로그에서 바로 쓴다 (DB 를 거치지 않음).
+ * - 적재 전이면 MyBatis Cursor 로 읽는다. 커서는 세션이 열려 있어야 하므로
+ *   다 쓸 때까지 읽기 전용 트랜잭션을 유지한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FoodExportService {
+
+    // 이 행 수마다 응답 스트림을 flush 해 클라이언트가 바로 받아 가게 한다
+    private static final int FLUSH_EVERY = 1000;
+
+    private final FoodMapper foodMapper;
+    private final FoodCatalogService foodCatalogService;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * searchFood(keyword, limit) 와 같은 결과(food_name 순)를 FoodItemDto 한 줄씩 쓴다.
+     *
+     * @return 쓴 행 수
+     */
+    public long writeSearch(String keyword, int limit, OutputStream out) throws IOException {
+        FoodCatalog catalog = foodCatalogService.getCatalog();
+        NdjsonWriter writer = new NdjsonWriter(out, FoodItemDto.class);
+
+        if (catalog != null) {
+            for (int ord : catalog.searchIndex().search(keyword, limit)) {
+                writer.write(catalog.toFoodItem(ord));
+            }
+        } else {
+            readOnly(() -> {
+                try (Cursor<FoodItemDto> cursor = foodMapper.cursorFoodItems(keyword, limit)) {
+                    for (FoodItemDto item : cursor) writer.write(FoodAmount.fill(item));
+                }
+            });
+        }
+        return writer.finish();
+    }
+
+    /**
+     * 전체 식품 + 대표 영양정보를 food_id 순으로 FoodDetailDto 한 줄씩 쓴다.
+     *
+     * @return 쓴 행 수
+     */
+    public long writeCatalog(OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        FoodCatalog catalog = foodCatalogService.getCatalog();
+        NdjsonWriter writer = new NdjsonWriter(out, FoodDetailDto.class);
+
+        if (catalog != null) {
+            for (int ord = 0; ord < catalog.size(); ord++) {
+                writer.write(catalog.toFoodDetail(ord));
+            }
+        } else {
+            readOnly(() -> {
+                try (Cursor<FoodDetailDto> cursor = foodMapper.cursorAllFoodDetails()) {
+                    for (FoodDetailDto detail : cursor) {
+                        FoodAmount.fill(detail.getFood());
+                        writer.write(detail);
+                    }
+                }
+            });
+        }
+
+        long rows = writer.finish();
+        log.info("[FoodExport] exported {} foods from {} in {} ms", rows,
+                catalog != null ? "catalog" : "database", (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private void readOnly(CursorWork work) throws IOException {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        try {
+            tx.executeWithoutResult(status -> {
+                try {
+                    work.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // 클라이언트가 연결을 끊은 경우 등
+        }
+    }
+
+    @FunctionalInterface
+    private interface CursorWork {
+        void run() throws IOException;
+    }
+
+    /**
+     * 행마다 JSON 한 줄 + '\n'. 매 행 flush 하지 않고 FLUSH_EVERY 행마다 flush 한다.
+     */
+    private final class NdjsonWriter {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter writer;
+        private long rows;
+
+        NdjsonWriter(OutputStream out, Class<?> type) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null); // 값 사이 기본 구분자(공백) 대신 줄바꿈을 직접 쓴다
+            this.writer = objectMapper.writerFor(type)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .without(SerializationFeature.INDENT_OUTPUT);
+        }
+
+        void write(Object value) throws IOException {
+            writer.writeValue(generator, value);
+            generator.writeRaw('\n');
+            if (++rows % FLUSH_EVERY == 0) generator.flush();
+        }
+
+        long finish() throws IOException {
+            generator.flush();
+            return rows;
+        }
+    }
+}
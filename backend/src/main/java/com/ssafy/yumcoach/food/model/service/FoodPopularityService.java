@@ -0,0 +1,174 @@
+package com.ssafy.yumcoach.food.model.service;
+
+import com.ssafy.yumcoach.food.model.FoodPopularityDto;
+import com.ssafy.yumcoach.food.model.FoodPopularityStateDto;
+import com.ssafy.yumcoach.food.model.mapper.FoodPopularityMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * meal.meal_code 섭취 빈도(전체 / 사용자별)를 집계해 검색 순위에 쓰는 서비스
+ *
+ * - DB: food_popularity, food_popularity_user 에 누적하고, 어디까지 반영했는지는
+ *   food_popularity_state.last_meal_id 로 관리한다. 주기적으로 그 뒤에 추가된 meal 만 더한다.
+ * - meal.id 는 INSERT 할 때 정해지고 커밋 순서와 다르므로, 방금 본 MAX(id) 까지 바로 올리면
+ *   그보다 작은 id 로 늦게 커밋된 행을 영영 놓친다. 그래서 MAX(id) 를 pending 으로 적어 두고,
+ *   유예 시간(commit-grace-seconds)이 지난 다음 refresh 에서 그 위치까지 반영한다.
+ * - 메모리: 같은 값을 foodId 기준 맵으로 들고 있어 검색 시 DB 를 거치지 않는다.
+ *   (foodId 기준이라 카탈로그가 다시 적재돼도 그대로 쓸 수 있다)
+ *
+ * 식단 수정/삭제로 지워진 meal 은 증분에 반영되지 않으므로 매일 새벽 전체를 다시 집계한다.
+ * 순위용 근사치라 그 사이의 오차는 허용한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FoodPopularityService {
+
+    private final FoodPopularityMapper popularityMapper;
+
+    // 이 시간보다 오래 열려 있는 meal INSERT 트랜잭션은 없다고 본다
+    @Value("${food.popularity.commit-grace-seconds:60}")
+    private long commitGraceSeconds;
+
+    private volatile Map<String, Integer> globalCounts = new ConcurrentHashMap<>();
+    private volatile Map<Integer, Map<String, Integer>> userCounts = new ConcurrentHashMap<>();
+
+    // 메모리에 반영된 마지막 meal.id (synchronized 메서드 안에서만 읽고 쓴다)
+    private long appliedMealId;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("[FoodPopularity] initial load failed, search falls back to name order", e);
+        }
+    }
+
+    /**
+     * 유예 시간이 지난 pending 위치까지의 meal 을 DB 집계 테이블과 메모리에 더하고,
+     * 현재 MAX(meal.id) 를 다음 pending 위치로 적어 둔다.
+     */
+    @Scheduled(fixedDelayString = "${food.popularity.refresh-interval-ms:600000}",
+            initialDelayString = "${food.popularity.refresh-interval-ms:600000}")
+    @Transactional
+    public synchronized void refresh() {
+        // 다른 서버가 같은 구간을 두 번 더하지 않도록 state 행을 잠근 뒤 진행 위치를 확인한다
+        FoodPopularityStateDto state = popularityMapper.selectStateForUpdate();
+        long last = state == null ? 0L : state.getLastMealId();
+        long pending = state == null ? 0L : state.getPendingMealId();
+
+        if (pending > last) {
+            Long age = state.getPendingAgeSeconds();
+            if (age == null || age < commitGraceSeconds) {
+                // 아직 커밋 중일 수 있는 구간: 다음 refresh 로 미룬다 (pending 은 그대로 둬야 유예 시간이 흐른다)
+                applyToMemory(last);
+                return;
+            }
+            popularityMapper.upsertGlobalDeltas(last, pending);
+            popularityMapper.upsertUserDeltas(last, pending);
+            popularityMapper.updateLastMealId(pending);
+            last = pending;
+        }
+
+        Long max = popularityMapper.selectMaxMealId();
+        if (max != null && max > last) {
+            popularityMapper.updatePendingMealId(max);
+        }
+
+        // 메모리는 이 서버가 반영한 위치부터 따로 따라간다 (다른 서버가 DB 를 먼저 올렸을 수 있음)
+        applyToMemory(last);
+    }
+
+    private void applyToMemory(long upTo) {
+        if (appliedMealId >= upTo) return;
+        int rows = 0;
+        for (FoodPopularityDto delta : popularityMapper.selectUserDeltas(appliedMealId, upTo)) {
+            apply(globalCounts, userCounts, delta);
+            rows++;
+        }
+        log.debug("[FoodPopularity] applied meals ({}, {}] ({} rows)", appliedMealId, upTo, rows);
+        appliedMealId = upTo;
+    }
+
+    /**
+     * 집계 테이블을 비우고 반영 위치(last_meal_id)까지 meal 전체로 다시 집계한 뒤 메모리도 새로 읽는다.
+     * 그 뒤 구간은 pending 그대로 refresh 가 이어서 반영한다.
+     */
+    @Scheduled(cron = "0 30 3 * * *", zone = "Asia/Seoul")
+    @Transactional
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        FoodPopularityStateDto state = popularityMapper.selectStateForUpdate();
+        long to = state == null ? 0L : state.getLastMealId();
+
+        popularityMapper.deleteAllGlobal();
+        popularityMapper.deleteAllUser();
+        popularityMapper.upsertGlobalDeltas(0L, to);
+        popularityMapper.upsertUserDeltas(0L, to);
+
+        reload();
+        log.info("[FoodPopularity] rebuilt up to meal {} in {} ms", to, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * @return 전체 사용자 기준 섭취 기록 수
+     */
+    public int globalCount(String foodId) {
+        return foodId == null ? 0 : globalCounts.getOrDefault(foodId, 0);
+    }
+
+    /**
+     * @return 해당 사용자의 섭취 기록 수
+     */
+    public int userCount(Integer userId, String foodId) {
+        if (userId == null || foodId == null) return 0;
+        Map<String, Integer> counts = userCounts.get(userId);
+        return counts == null ? 0 : counts.getOrDefault(foodId, 0);
+    }
+
+    /**
+     * 집계 테이블 전체를 메모리로 읽어 교체한다.
+     */
+    private synchronized void reload() {
+        FoodPopularityStateDto state = popularityMapper.selectStateForUpdate();
+
+        Map<String, Integer> global = new ConcurrentHashMap<>();
+        Map<Integer, Map<String, Integer>> byUser = new ConcurrentHashMap<>();
+        popularityMapper.selectAllGlobal(ctx -> {
+            FoodPopularityDto row = ctx.getResultObject();
+            global.put(row.getFoodId(), row.getUseCount());
+        });
+        popularityMapper.selectAllUser(ctx -> {
+            FoodPopularityDto row = ctx.getResultObject();
+            byUser.computeIfAbsent(row.getUserId(), k -> new ConcurrentHashMap<>())
+                    .put(row.getFoodId(), row.getUseCount());
+        });
+
+        this.globalCounts = global;
+        this.userCounts = byUser;
+        this.appliedMealId = state == null ? 0L : state.getLastMealId();
+        log.info("[FoodPopularity] loaded {} foods, {} users (up to meal {})",
+                global.size(), byUser.size(), appliedMealId);
+    }
+
+    private static void apply(Map<String, Integer> global, Map<Integer, Map<String, Integer>> byUser,
+                              FoodPopularityDto delta) {
+        if (delta.getFoodId() == null || delta.getUseCount() == null) return;
+        global.merge(delta.getFoodId(), delta.getUseCount(), Integer::sum);
+        if (delta.getUserId() != null) {
+            byUser.computeIfAbsent(delta.getUserId(), k -> new ConcurrentHashMap<>())
+                    .merge(delta.getFoodId(), delta.getUseCount(), Integer::sum);
+        }
+    }
+}
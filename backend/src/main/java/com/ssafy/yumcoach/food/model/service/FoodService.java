@@ -1,11 +1,83 @@
 package com.ssafy.yumcoach.food.model.service;
 
+import com.ssafy.yumcoach.food.model.FoodBatchResponse;
 import com.ssafy.yumcoach.food.model.FoodDetailDto;
 import com.ssafy.yumcoach.food.model.FoodItemDto;
+import com.ssafy.yumcoach.food.model.catalog.Nutrient;
+import com.ssafy.yumcoach.food.model.catalog.NutrientRange;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface FoodService {
+
+    /** 일괄 조회 한 번에 받을 수 있는 최대 id 수 */
+    int MAX_BATCH_SIZE = 500;
+
+    /**
+     * 식품 기본정보 + 대표 영양정보 조회
+     * 메모리 카탈로그가 적재되어 있으면 DB 를 거치지 않는다.
+     */
     public FoodDetailDto getFoodDetail(String foodId);
+
+    /**
+     * 여러 식품 상세를 한 번에 조회 (카탈로그 적재 전에는 IN 절 한 번)
+     * 중복/빈 id 는 무시하고, 존재하지 않는 id 는 missing 으로 돌려준다.
+     */
+    public FoodBatchResponse getFoodDetails(Collection<String> foodIds);
     public List<FoodItemDto> searchFood(String keyword, int limit);
+
+    /**
+     * 분류 필터 검색. category 는 food_type 의 대분류(2자리)/대표식품(5자리)/중분류(7자리)/소분류(9자리) 코드,
+     * null 이면 searchFood(keyword, limit) 와 같다.
+     *
+     * @throws IllegalStateException CATALOG_NOT_READY - category 가 있는데 카탈로그 적재 전
+     */
+    public List<FoodItemDto> searchFood(String keyword, int limit, String category);
+
+    /**
+     * 인기순 검색: 일치 정도(이름 일치 > 앞부분 일치 > 단어 시작 일치)와
+     * 전체/내 섭취 빈도를 섞은 점수 순으로 돌려준다. userId 가 null 이면 전체 빈도만 쓴다.
+     * category 는 searchFood(keyword, limit, category) 와 같다.
+     */
+    public List<FoodItemDto> searchFoodPopular(String keyword, int limit, Integer userId, String category);
+
+    /**
+     * 오타 허용 검색: 일반 검색 결과를 먼저, 이어서 편집 거리 1~2 인 이름을 (거리, 이름) 순으로 채운다.
+     * category 는 searchFood(keyword, limit, category) 와 같다.
+     */
+    public List<FoodItemDto> searchFoodFuzzy(String keyword, int limit, String category);
+
+    /**
+     * keyword(와 category)에 일치하는 식품 전체의 분류별 개수 (메모리 카탈로그 전용)
+     * fuzzy 이면 searchFoodFuzzy 와 같이 편집 거리 1~2 인 식품까지 센다.
+     *
+     * @return 단계(major/representative/middle/minor) → 분류 코드 → 개수, 개수 내림차순 (단계별 상위 FoodCategoryIndex.MAX_FACET_VALUES 개)
+     * @throws IllegalStateException CATALOG_NOT_READY - 카탈로그 적재 전
+     */
+    public Map<String, Map<String, Integer>> searchFacets(String keyword, String category, boolean fuzzy);
+
+    /**
+     * 자모/초성 자동완성 ("ㄷㄱ", "닭ㄱ" 등 입력 중인 문자열)
+     */
+    public List<FoodItemDto> autocomplete(String query, int limit);
+
+    /**
+     * 영양소 범위 조건으로 식품 조회 (메모리 카탈로그 전용, DB 를 거치지 않는다)
+     *
+     * @param sortBy null 이면 food_id 순
+     * @throws IllegalStateException CATALOG_NOT_READY - 카탈로그 적재 전
+     */
+    public List<FoodDetailDto> filterByNutrients(List<NutrientRange> ranges, Nutrient sortBy,
+                                                 boolean descending, int limit);
+
+    /**
+     * 영양소 구성(열량/탄단지/당류/나트륨/식이섬유)이 가장 비슷한 식품 k 개 (대체 식품 추천)
+     * userId 가 주어지면 그 사용자의 식이 제한 값이 이름에 들어간 식품은 뺀다.
+     *
+     * @return 비슷한 순서의 식품 상세 목록, foodId 가 없거나 영양정보가 부족하면 null
+     * @throws IllegalStateException CATALOG_NOT_READY - 카탈로그 적재 전
+     */
+    public List<FoodDetailDto> findSimilarFoods(String foodId, int k, Integer userId);
 }
@@ -1,25 +1,316 @@
 package com.ssafy.yumcoach.food.model.service;
 
+import com.ssafy.yumcoach.food.model.FoodBatchResponse;
 import com.ssafy.yumcoach.food.model.FoodDetailDto;
 import com.ssafy.yumcoach.food.model.FoodItemDto;
+import com.ssafy.yumcoach.food.model.catalog.FoodAmount;
+import com.ssafy.yumcoach.food.model.catalog.FoodCatalog;
+import com.ssafy.yumcoach.food.model.catalog.FoodCategoryIndex;
+import com.ssafy.yumcoach.food.model.catalog.Nutrient;
+import com.ssafy.yumcoach.food.model.catalog.NutrientRange;
 import com.ssafy.yumcoach.food.model.mapper.FoodMapper;
+import com.ssafy.yumcoach.user.model.UserDietRestriction;
+import com.ssafy.yumcoach.user.model.mapper.UserDietRestrictionMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.IntPredicate;
 
 @Service
 @RequiredArgsConstructor
 public class FoodServiceImpl implements FoodService{
 
+    // 분류 필터가 있는 오타 허용 검색에서 BK-tree 로부터 받을 최대 후보 수
+    private static final int FUZZY_CANDIDATES = 5000;
+    private static final double GLOBAL_WEIGHT = 0.5;
+    private static final double USER_WEIGHT = 1.0;
+    private static final int MAX_FILTER_SIZE = 500;
+    private static final int MAX_SIMILAR_SIZE = 50;
+
     private final FoodMapper foodMapper;
+    private final FoodCatalogService foodCatalogService;
+    private final FoodPopularityService foodPopularityService;
+    private final UserDietRestrictionMapper userDietRestrictionMapper;
 
     public FoodDetailDto getFoodDetail(String foodId) {
-        return foodMapper.selectFoodDetailById(foodId);
+        FoodCatalog catalog = foodCatalogService.getCatalog();
+        if (catalog == null) {
+            // 카탈로그 적재 전에는 기존처럼 DB 조회
+            return withAmounts(foodMapper.selectFoodDetailById(foodId));
+        }
+
+        int ord = catalog.ordinalOf(foodId);
+        return ord == FoodCatalog.NOT_FOUND ? null : catalog.toFoodDetail(ord);
+    }
+
+    public FoodBatchResponse getFoodDetails(Collection<String> foodIds) {
+        Set<String> ids = new LinkedHashSet<>();
+        if (foodIds != null) {
+            for (String id : foodIds) {
+                if (id != null && !id.isBlank()) ids.add(id);
+            }
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("foodIds 는 최대 " + MAX_BATCH_SIZE + "개까지 조회할 수 있습니다.");
+        }
+
+        Map<String, FoodDetailDto> found = new LinkedHashMap<>();
+        FoodCatalog catalog = foodCatalogService.getCatalog();
+        if (catalog != null) {
+            for (String id : ids) {
+                int ord = catalog.ordinalOf(id);
+                if (ord != FoodCatalog.NOT_FOUND) found.put(id, catalog.toFoodDetail(ord));
+            }
+        } else if (!ids.isEmpty()) {
+            // IN (...) 한 번으로 조회. 영양정보 행이 여러 개면 첫 행만 쓴다 (selectFoodDetailById 와 동일)
+            Map<String, FoodDetailDto> rows = new LinkedHashMap<>();
+            for (FoodDetailDto detail : foodMapper.selectFoodDetailsByIds(ids)) {
+                rows.putIfAbsent(detail.getFood().getFoodId(), withAmounts(detail));
+            }
+            for (String id : ids) {
+                FoodDetailDto detail = rows.get(id);
+                if (detail != null) found.put(id, detail);
+            }
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            if (!found.containsKey(id)) missing.add(id);
+        }
+        return new FoodBatchResponse(found, missing);
     }
 
     public List<FoodItemDto> searchFood(String keyword, int limit) {
-        return foodMapper.searchFoodItems(keyword, limit);
+        return searchFood(keyword, limit, null);
     }
-}
 
+    public List<FoodItemDto> searchFood(String keyword, int limit, String category) {
+        FoodCatalog catalog = foodCatalogService.getCatalog();
+        if (catalog == null) {
+            requireNoCategory(category);
+            return withAmounts(foodMapper.searchFoodItems(keyword, limit));
+        }
+
+        // n-gram 역색인: food_name 오름차순, 최대 limit 개 (LIKE 검색과 같은 의미)
+        return toFoodItems(catalog, catalog.searchIndex().search(keyword, limit, categoryFilter(catalog, category)));
+    }
+
+    public List<FoodItemDto> searchFoodPopular(String keyword, int limit, Integer userId, String category) {
+        FoodCatalog catalog = foodCatalogService.getCatalog();
+        if (catalog == null) {
+            requireNoCategory(category);
+            return withAmounts(foodMapper.searchFoodItems(keyword, limit));
+        }
+        if (limit <= 0) return new ArrayList<>();
+
+        // 이름순 앞부분만 보면 인기 식품이 빠지므로 일치하는 식품 전체에 점수를 매긴다
+        int[] candidates = catalog.searchIndex().search(keyword, Integer.MAX_VALUE, categoryFilter(catalog, category));
+        String q = keyword == null ? "" : keyword.toLowerCase(Locale.ROOT);
+
+        double[] scores = new double[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            String foodId = catalog.foodId(candidates[i]);
+            scores[i] = matchQuality(catalog.foodName(candidates[i]), q)
+                    + GLOBAL_WEIGHT * Math.log1p(foodPopularityService.globalCount(foodId))
+                    + USER_WEIGHT * Math.log1p(foodPopularityService.userCount(userId, foodId));
+        }
+
+        // 점수 내림차순, 같으면 이름순(후보 순서). 상위 limit 개만 힙에 남긴다 (맨 위가 가장 낮은 순위)
+        Comparator<Integer> byRank = (a, b) -> scores[a] != scores[b]
+                ? Double.compare(scores[b], scores[a])
+                : Integer.compare(a, b);
+        int n = Math.min(limit, candidates.length);
+        PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(1, n), byRank.reversed());
+        for (int i = 0; i < candidates.length; i++) {
+            top.add(i);
+            if (top.size() > n) top.poll();
+        }
+
+        Integer[] order = top.toArray(new Integer[0]);
+        Arrays.sort(order, byRank);
+        List<FoodItemDto> result = new ArrayList<>(order.length);
+        for (int i : order) {
+            result.add(catalog.toFoodItem(candidates[i]));
+        }
+        return result;
+    }
+
+    public List<FoodItemDto> searchFoodFuzzy(String keyword, int limit, String category) {
+        FoodCatalog catalog = foodCatalogService.getCatalog();
+        if (catalog == null) {
+            // 카탈로그 적재 전에는 BK-tree 가 없으므로 일반 검색만
+            requireNoCategory(category);
+            return withAmounts(foodMapper.searchFoodItems(keyword, limit));
+        }
+
+        return toFoodItems(catalog, fuzzyMatches(catalog, keyword, limit, categoryFilter(catalog, category)));
+    }
+
+    /**
+     * 오타 허용 검색 후보: 부분 문자열 일치(거리 0)가 먼저, 모자라면 BK-tree 결과로 채운다.
+     * searchFoodFuzzy 와 패싯(limit 없이)이 같은 후보를 쓴다.
+     */
+    private static int[] fuzzyMatches(FoodCatalog catalog, String keyword, int limit, IntPredicate accept) {
+        int[] exact = catalog.searchIndex().search(keyword, limit, accept);
+        if (exact.length >= limit) return exact;
+
+        // 분류로 거르면 BK-tree 결과가 줄어드므로 후보를 넉넉히 받는다
+        int fuzzyLimit = accept == null ? limit : Math.max(limit, FUZZY_CANDIDATES);
+        Set<Integer> seen = new LinkedHashSet<>();
+        for (int ord : exact) seen.add(ord);
+        for (int ord : catalog.fuzzyIndex().search(keyword, fuzzyLimit)) {
+            if (seen.size() >= limit) break;
+            if (accept == null || accept.test(ord)) seen.add(ord);
+        }
+        return seen.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public Map<String, Map<String, Integer>> searchFacets(String keyword, String category, boolean fuzzy) {
+        FoodCatalog catalog = foodCatalogService.getCatalog();
+        if (catalog == null) {
+            throw new IllegalStateException("CATALOG_NOT_READY");
+        }
+
+        // limit 없이 일치하는 식품 전체에 대해 분류별 개수를 센다 (목록과 같은 검색 방식)
+        IntPredicate accept = categoryFilter(catalog, category);
+        int[] matches = fuzzy
+                ? fuzzyMatches(catalog, keyword, Integer.MAX_VALUE, accept)
+                : catalog.searchIndex().search(keyword, Integer.MAX_VALUE, accept);
+        return catalog.categoryIndex().facets(matches);
+    }
+
+    public List<FoodItemDto> autocomplete(String query, int limit) {
+        FoodCatalog catalog = foodCatalogService.getCatalog();
+        if (catalog == null) {
+            // 카탈로그 적재 전에는 자모 색인이 없으므로 일반 검색으로 대신한다
+            return withAmounts(foodMapper.searchFoodItems(query, limit));
+        }
+        return toFoodItems(catalog, catalog.autocompleteIndex().suggest(query, limit));
+    }
+
+    public List<FoodDetailDto> filterByNutrients(List<NutrientRange> ranges, Nutrient sortBy,
+                                                 boolean descending, int limit) {
+        FoodCatalog catalog = foodCatalogService.getCatalog();
+        if (catalog == null) {
+            throw new IllegalStateException("CATALOG_NOT_READY");
+        }
+
+        int[] ords = catalog.nutrientIndex().filter(ranges, sortBy, descending, Math.min(limit, MAX_FILTER_SIZE));
+        List<FoodDetailDto> result = new ArrayList<>(ords.length);
+        for (int ord : ords) {
+            result.add(catalog.toFoodDetail(ord));
+        }
+        return result;
+    }
+
+    public List<FoodDetailDto> findSimilarFoods(String foodId, int k, Integer userId) {
+        FoodCatalog catalog = foodCatalogService.getCatalog();
+        if (catalog == null) {
+            throw new IllegalStateException("CATALOG_NOT_READY");
+        }
+
+        int ord = catalog.ordinalOf(foodId);
+        if (ord == FoodCatalog.NOT_FOUND || !catalog.vectorIndex().contains(ord)) return null;
+
+        List<String> restricted = restrictedKeywords(userId);
+        int[] ords = catalog.vectorIndex().nearest(ord, Math.min(k, MAX_SIMILAR_SIZE),
+                restricted.isEmpty() ? null : o -> containsAny(catalog, o, restricted));
+
+        List<FoodDetailDto> result = new ArrayList<>(ords.length);
+        for (int o : ords) {
+            result.add(catalog.toFoodDetail(o));
+        }
+        return result;
+    }
+
+    /**
+     * 분류 코드 필터. category 가 없으면 null (거르지 않음).
+     */
+    private static IntPredicate categoryFilter(FoodCatalog catalog, String category) {
+        if (category == null) return null;
+        FoodCategoryIndex index = catalog.categoryIndex();
+        return ord -> index.contains(category, ord);
+    }
+
+    /**
+     * 분류 필터는 카탈로그 색인으로만 처리한다 (food_items 에 분류 컬럼이 없음).
+     */
+    private static void requireNoCategory(String category) {
+        if (category != null) {
+            throw new IllegalStateException("CATALOG_NOT_READY");
+        }
+    }
+
+    /**
+     * 식이 제한 값(알레르기/비선호 등, 예: "땅콩")을 소문자로 모은다.
+     */
+    private List<String> restrictedKeywords(Integer userId) {
+        List<String> keywords = new ArrayList<>();
+        if (userId == null) return keywords;
+        for (UserDietRestriction r : userDietRestrictionMapper.findByUserId(userId)) {
+            String v = r.getRestrictionValue();
+            if (v != null && !v.isBlank()) keywords.add(v.strip().toLowerCase(Locale.ROOT));
+        }
+        return keywords;
+    }
+
+    private static boolean containsAny(FoodCatalog catalog, int ord, List<String> keywords) {
+        String name = catalog.foodName(ord);
+        String rep = catalog.representativeFoodName(ord);
+        String n = name == null ? "" : name.toLowerCase(Locale.ROOT);
+        String r = rep == null ? "" : rep.toLowerCase(Locale.ROOT);
+        for (String keyword : keywords) {
+            if (n.contains(keyword) || r.contains(keyword)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 이름과 정확히 같으면 3, 이름이 검색어로 시작하면 2, 이름 속 단어가 검색어로 시작하면 1
+     * (대표식품명으로만 일치한 경우 0)
+     */
+    private static double matchQuality(String name, String q) {
+        if (name == null || q.isEmpty()) return 0;
+        String n = name.toLowerCase(Locale.ROOT);
+        if (n.equals(q)) return 3;
+        if (n.startsWith(q)) return 2;
+        int idx = n.indexOf(q);
+        while (idx > 0) {
+            if (!Character.isLetterOrDigit(n.charAt(idx - 1))) return 1;
+            idx = n.indexOf(q, idx + 1);
+        }
+        return 0;
+    }
+
+    /**
+     * DB 조회 결과에 serving_size / weight 그램 환산 값을 채운다 (카탈로그는 적재 때 이미 채워 둔다).
+     */
+    private static List<FoodItemDto> withAmounts(List<FoodItemDto> items) {
+        if (items != null) items.forEach(FoodAmount::fill);
+        return items;
+    }
+
+    private static FoodDetailDto withAmounts(FoodDetailDto detail) {
+        if (detail != null) FoodAmount.fill(detail.getFood());
+        return detail;
+    }
+
+    private List<FoodItemDto> toFoodItems(FoodCatalog catalog, int[] ords) {
+        List<FoodItemDto> result = new ArrayList<>(ords.length);
+        for (int ord : ords) {
+            result.add(catalog.toFoodItem(ord));
+        }
+        return result;
+    }
+}
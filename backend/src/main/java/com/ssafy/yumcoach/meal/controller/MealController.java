@@ -1,19 +1,37 @@
 package com.ssafy.yumcoach.meal.controller;
 
 import com.ssafy.yumcoach.auth.principal.CustomUserPrincipal;
+import com.ssafy.yumcoach.meal.enums.SummaryBucket;
+import com.ssafy.yumcoach.meal.model.MealBucketSummaryDto;
+import com.ssafy.yumcoach.meal.model.MealDailySummaryDto;
+import com.ssafy.yumcoach.meal.model.MealImportResultDto;
 import com.ssafy.yumcoach.meal.model.MealItemDto;
 import com.ssafy.yumcoach.meal.model.MealLogDto;
+import com.ssafy.yumcoach.meal.model.MealTimelinePageDto;
+import com.ssafy.yumcoach.meal.model.service.MealDayCache;
+import com.ssafy.yumcoach.meal.model.service.MealImportService;
+import com.ssafy.yumcoach.meal.model.service.MealOutboxDispatcher;
 import com.ssafy.yumcoach.meal.model.service.MealService;
+import com.ssafy.yumcoach.meal.model.service.MealSummaryService;
+import com.ssafy.yumcoach.user.model.service.UserService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -22,6 +40,11 @@ import java.util.List;
 public class MealController {
 
     private final MealService mealService;
+    private final MealSummaryService mealSummaryService;
+    private final MealImportService mealImportService;
+    private final MealDayCache mealDayCache;
+    private final MealOutboxDispatcher mealOutboxDispatcher;
+    private final UserService userService;
 
     /**
      * 특정 날짜의 식사 기록 조회 API
@@ -81,6 +104,130 @@ public class MealController {
                 : ResponseEntity.ok(meals);
     }
 
+    /**
+     * 식사 타임라인 API (전체 기록을 최근 것부터 페이지 단위로)
+     *
+     * GET /api/meals/timeline?size={N}&cursor={nextCursor}
+     *
+     * 정렬은 날짜 → 끼니 종류 → 기록 id 내림차순. 첫 페이지는 cursor 없이 요청하고,
+     * 이후에는 직전 응답의 nextCursor 를 그대로 넘긴다. 페이지 사이에 기록이 추가/삭제되어도
+     * 이미 받은 기록이 다시 나오거나 빠지지 않고, 얼마나 뒤 페이지든 조회 비용이 같다.
+     *
+     * @param cursor 직전 응답의 nextCursor (첫 페이지면 생략)
+     * @param size   페이지 크기 (기본값 20, 최대 100)
+     *
+     *               Request Example:
+     *               GET /api/meals/timeline?size=20
+     *               GET /api/meals/timeline?size=20&cursor=MjAyNS0xMi0xMHxMVU5DSHwxMjM
+     *
+     *               Response:
+     *               - 200 OK: { "items": [ MealLogDto ... ], "nextCursor": "...", "hasNext": true }
+     *               (마지막 페이지면 nextCursor 는 null, hasNext 는 false)
+     *               - 400 Bad Request: cursor 형식 / size 범위 오류
+     *
+     * @return 타임라인 한 페이지
+     */
+    @GetMapping("/timeline")
+    public ResponseEntity<?> getTimeline(
+            @AuthenticationPrincipal CustomUserPrincipal user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        try {
+            MealTimelinePageDto page = mealService.getTimeline(user.getUserId(), cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * 기간 영양 합계 추이 API
+     *
+     * GET /api/meals/range/summary?startDate={yyyy-MM-dd}&endDate={yyyy-MM-dd}&bucket={day|week|month}
+     *
+     * /range 와 같은 기간을 음식 목록 없이 구간별 합계로만 돌려준다 (차트용).
+     * 구간마다 전체 합계와 끼니 종류(BREAKFAST, LUNCH ...)별 합계를 담는다.
+     *
+     * @param startDate 시작 날짜 (yyyy-MM-dd 형식)
+     * @param endDate   종료 날짜 (yyyy-MM-dd 형식)
+     * @param bucket    집계 단위 day | week | month (기본값 day, 주는 월요일 시작)
+     *
+     *                  Request Example:
+     *                  GET /api/meals/range/summary?startDate=2025-09-01&endDate=2025-11-30&bucket=week
+     *
+     *                  Response:
+     *                  - 200 OK: List<MealBucketSummaryDto> (구간 순서, 기록 없는 구간은 0)
+     *                  - 400 Bad Request: 기간/단위 오류 (최대 1096일)
+     *
+     *                  Response Body Example:
+     *                  [
+     *                  { "startDate": "2025-09-01", "endDate": "2025-09-07",
+     *                  "total": { "kcal": 12850.5, "protein": 610.2, "carbs": 1620.0, "fat": 402.3,
+     *                  "mealCount": 19, "itemCount": 44 },
+     *                  "byMealType": { "BREAKFAST": { ... }, "LUNCH": { ... } } }
+     *                  ]
+     *
+     * @return 구간별 합계 목록
+     */
+    @GetMapping("/range/summary")
+    public ResponseEntity<?> getRangeSummary(
+            @AuthenticationPrincipal CustomUserPrincipal user,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            @RequestParam(defaultValue = "day") String bucket) {
+
+        SummaryBucket unit;
+        try {
+            unit = SummaryBucket.valueOf(bucket.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "bucket 은 day, week, month 중 하나여야 합니다."));
+        }
+
+        try {
+            List<MealBucketSummaryDto> summary =
+                    mealSummaryService.getRangeSummary(user.getUserId(), startDate, endDate, unit);
+            return ResponseEntity.ok(summary);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * 하루 영양 합계 조회 API
+     *
+     * GET /api/meals/summary?days={N}&endDate={yyyy-MM-dd}
+     *
+     * 식단을 저장/수정/삭제할 때마다 갱신되는 하루 합계(meal_daily_summary)를 읽으므로
+     * 기간이 길어도 식사 기록 전체를 훑지 않는다.
+     *
+     * @param days    조회 일수 (기본값 7, 최대 366)
+     * @param endDate 마지막 날짜 (기본값 오늘)
+     *
+     *                Request Example:
+     *                GET /api/meals/summary?days=7&endDate=2025-12-10
+     *
+     *                Response:
+     *                - 200 OK: List<MealDailySummaryDto> (날짜 오름차순, 기록 없는 날은 0, 정확히 days 개)
+     *                - 400 Bad Request: days 범위 오류
+     *
+     * @return 하루 합계 목록
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<?> getDailySummaries(
+            @AuthenticationPrincipal CustomUserPrincipal user,
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+
+        try {
+            LocalDate end = endDate != null ? endDate : LocalDate.now(ZoneId.of("Asia/Seoul"));
+            List<MealDailySummaryDto> summaries = mealSummaryService.getDailySummaries(user.getUserId(), end, days);
+            return ResponseEntity.ok(summaries);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     /**
      * 한 끼 식사 기록 저장 API
      *
@@ -141,6 +288,106 @@ public class MealController {
         return ResponseEntity.ok("식사 기록이 등록되었습니다.");
     }
 
+    /**
+     * 식사 기록 일괄 가져오기 API (JSON 배열)
+     *
+     * POST /api/meals/import
+     * Content-Type: application/json
+     *
+     * POST /api/meals 와 같은 MealLogDto 를 배열로 보낸다. userId 는 로그인 사용자로 저장된다.
+     * 각 item 의 mealCode 는 식품 카탈로그에 있어야 하고,
+     * mealName / amount / kcal / protein / carbs / fat 을 비우면 카탈로그 값(1회 제공량 기준)으로 채운다.
+     *
+     * 기록은 500끼니씩 묶어 커밋하므로 중간에 실패해도 앞 묶음은 저장된 채로 남는다.
+     * 잘못된 기록은 건너뛰고 순번(index)과 사유를 errors 에 담는다.
+     *
+     *                   Request Example:
+     *                   [
+     *                   { "date": "2025-12-10", "mealType": "BREAKFAST",
+     *                   "items": [ { "mealCode": "D101-004160000-0001", "amount": 150 } ] },
+     *                   { "date": "2025-12-10", "mealType": "LUNCH", "items": [ ... ] }
+     *                   ]
+     *
+     *                   Response:
+     *                   - 200 OK: MealImportResultDto
+     *                   { "received": 2, "imported": 1, "importedItems": 3, "failed": 1,
+     *                   "elapsedMillis": 12, "itemsPerSecond": 250,
+     *                   "errors": [ { "index": 1, "line": null,
+     *                   "message": "items[0].mealCode 'X' 는 식품 카탈로그에 없습니다." } ],
+     *                   "errorsTruncated": false }
+     *
+     * @return 가져오기 결과
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MealImportResultDto> importMeals(
+            @AuthenticationPrincipal CustomUserPrincipal user,
+            @RequestBody List<MealLogDto> records) {
+
+        return ResponseEntity.ok(mealImportService.importMeals(user.getUserId(), records));
+    }
+
+    /**
+     * 식사 기록 일괄 가져오기 API (NDJSON / CSV 본문)
+     *
+     * POST /api/meals/import
+     * Content-Type: application/x-ndjson | text/csv
+     *
+     * - NDJSON: 한 줄에 MealLogDto 하나
+     * - CSV: 첫 줄 헤더, 한 줄에 음식 하나. 연속된 줄 중 (meal, date, mealType) 이 같으면 한 끼로 묶는다.
+     *   date,mealType,mealCode,mealName,amount,kcal,protein,carbs,fat
+     *   2025-12-10,BREAKFAST,D101-004160000-0001,,150,,,,
+     *
+     * 본문을 한 줄씩 읽으며 저장하므로 큰 파일도 메모리에 다 올리지 않는다. errors 의 line 은 줄 번호.
+     *
+     *                   Response:
+     *                   - 200 OK: MealImportResultDto
+     *                   - 400 Bad Request: CSV 헤더에 필수 열이 없음
+     *
+     * @return 가져오기 결과
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<?> importMealsStream(
+            @AuthenticationPrincipal CustomUserPrincipal user,
+            @RequestHeader("Content-Type") String contentType,
+            InputStream body) throws IOException {
+
+        boolean csv = contentType.toLowerCase(Locale.ROOT).startsWith("text/csv");
+        return importStream(user.getUserId(), csv, body);
+    }
+
+    /**
+     * 식사 기록 일괄 가져오기 API (파일 업로드)
+     *
+     * POST /api/meals/import
+     * Content-Type: multipart/form-data, file 파트에 .csv 또는 .ndjson / .jsonl 파일
+     *
+     * 파일 형식은 위 NDJSON / CSV 본문과 같다. 확장자가 .csv 이거나 파트 Content-Type 이 text/csv 면 CSV 로 읽는다.
+     *
+     * @return 가져오기 결과
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importMealsFile(
+            @AuthenticationPrincipal CustomUserPrincipal user,
+            @RequestParam("file") MultipartFile file) throws IOException {
+
+        String name = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase(Locale.ROOT);
+        boolean csv = name.endsWith(".csv") || "text/csv".equalsIgnoreCase(file.getContentType());
+        try (InputStream in = file.getInputStream()) {
+            return importStream(user.getUserId(), csv, in);
+        }
+    }
+
+    private ResponseEntity<?> importStream(Integer userId, boolean csv, InputStream in) throws IOException {
+        try {
+            MealImportResultDto result = csv
+                    ? mealImportService.importCsv(userId, in)
+                    : mealImportService.importNdjson(userId, in);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     /**
      * 식사 기록 수정 API
      *
@@ -156,25 +403,34 @@ public class MealController {
      *                   "date": "2025-12-10",
      *                   "mealType": "LUNCH",
      *                   "items": [
-     *                   { "mealCode": "CHK001", "mealName": "Chicken Breast",
-     *                   "amount": 200 }
+     *                   { "id": 25, "mealCode": "CHK001", "mealName": "Chicken Breast",
+     *                   "amount": 200 },
+     *                   { "mealCode": "RCE001", "mealName": "Rice", "amount": 150 }
      *                   ]
      *                   }
      *
+     *                   items 의 id 로 기존 아이템과 비교한다.
+     *                   - id 가 있는 아이템: 값이 바뀐 경우에만 수정
+     *                   - id 가 없는 아이템: 새로 추가
+     *                   - 요청에 없는 기존 아이템: 삭제
+     *
      *                   Response:
-     *                   - 200 OK: "식사 기록이 수정되었습니다."
+     *                   - 200 OK: { "message": "식사 기록이 수정되었습니다.", "itemIds": [25, 31] }
+     *                   (itemIds 는 요청 items 순서대로의 아이템 id, 새로 추가된 아이템은 새 id)
      *
-     * @return 수정 성공 메시지
+     * @return 수정 성공 메시지 + 아이템 id 목록
      */
     @PutMapping("/{mealLogId}")
-    public ResponseEntity<@NonNull String> updateMealLog(
+    public ResponseEntity<@NonNull Map<String, Object>> updateMealLog(
             @PathVariable Long mealLogId,
             @RequestBody MealLogDto mealLogDto) {
 
         mealLogDto.setId(mealLogId);
-        mealService.updateMealLog(mealLogDto);
+        List<Long> itemIds = mealService.updateMealLog(mealLogDto);
 
-        return ResponseEntity.ok("식사 기록이 수정되었습니다.");
+        return ResponseEntity.ok(Map.of(
+                "message", "식사 기록이 수정되었습니다.",
+                "itemIds", itemIds));
     }
 
     /**
@@ -244,4 +500,38 @@ public class MealController {
         mealService.updateMealItem(user.getUserId(), mealLogId, mealItemDto);
         return ResponseEntity.ok("식사 아이템이 수정되었습니다.");
     }
-}
\ No newline at end of file
+
+    /**
+     * 날짜별 식사 기록 캐시 상태 (관리자 전용)
+     *
+     * 조회 수, 로컬 / Redis 적중 수, 적중률(hitRate), 무효화 수, Redis 오류 수, 로컬 항목 수 등
+     *
+     * 예: GET /api/meals/admin/cache-status
+     */
+    @GetMapping("/admin/cache-status")
+    public ResponseEntity<?> cacheStatus(@AuthenticationPrincipal CustomUserPrincipal user) {
+
+        if (user == null || !userService.isAdmin(user.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "관리자 권한이 필요합니다."));
+        }
+        return ResponseEntity.ok(mealDayCache.stats());
+    }
+
+    /**
+     * 식단 변경 이벤트(outbox) 전달 상태 (관리자 전용)
+     *
+     * 대기 중 이벤트 수, 리스너 수, 이 서버에서 전달/실패/포기한 수
+     *
+     * 예: GET /api/meals/admin/outbox-status
+     */
+    @GetMapping("/admin/outbox-status")
+    public ResponseEntity<?> outboxStatus(@AuthenticationPrincipal CustomUserPrincipal user) {
+
+        if (user == null || !userService.isAdmin(user.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "관리자 권한이 필요합니다."));
+        }
+        return ResponseEntity.ok(mealOutboxDispatcher.status());
+    }
+}
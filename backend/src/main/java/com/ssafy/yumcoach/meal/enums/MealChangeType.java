@@ -0,0 +1,31 @@
+package com.ssafy.yumcoach.meal.enums;
+
+/**
+ * 식단 변경 이벤트 종류. code 는 outbox 바이너리에 저장되므로 바꾸지 않는다 (새 종류는 새 code 로 추가).
+ */
+public enum MealChangeType {
+    CREATED(1),      // 끼니 저장 (일괄 가져오기 포함)
+    UPDATED(2),      // 끼니 수정 (같은 날짜 안에서 아이템 추가/수정/삭제)
+    DELETED(3),      // 끼니 삭제
+    MOVED_OUT(4),    // 끼니 날짜 변경: 옛 날짜에서 빠짐
+    MOVED_IN(5),     // 끼니 날짜 변경: 새 날짜로 들어감
+    ITEM_UPDATED(6), // 아이템 하나 수정
+    ITEM_DELETED(7); // 아이템 하나 삭제
+
+    private final int code;
+
+    MealChangeType(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    public static MealChangeType ofCode(int code) {
+        for (MealChangeType type : values()) {
+            if (type.code == code) return type;
+        }
+        throw new IllegalArgumentException("unknown MealChangeType code: " + code);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ssafy.yumcoach.meal.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+// 기간 집계 단위
+public enum SummaryBucket {
+    DAY, WEEK, MONTH;
+
+    // date 가 속한 구간의 첫날 (주는 월요일 시작)
+    public LocalDate startOf(LocalDate date) {
+        switch (this) {
+            case WEEK:
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return date.withDayOfMonth(1);
+            default:
+                return date;
+        }
+    }
+
+    // 구간 첫날 기준 다음 구간의 첫날
+    public LocalDate next(LocalDate bucketStart) {
+        switch (this) {
+            case WEEK:
+                return bucketStart.plusWeeks(1);
+            case MONTH:
+                return bucketStart.plusMonths(1);
+            default:
+                return bucketStart.plusDays(1);
+        }
+    }
+}
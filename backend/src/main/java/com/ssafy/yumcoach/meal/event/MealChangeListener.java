@@ -0,0 +1,13 @@
+package com.ssafy.yumcoach.meal.event;
+
+/**
+ * 식단 변경 이벤트를 받아 자기 데이터를 증분 갱신하는 쪽 (리포트, 챌린지 등). 빈으로 등록하면 자동으로 받는다.
+ *
+ * - 같은 사용자의 이벤트는 eventId(meal_outbox.id) 순서대로 온다.
+ * - 최소 한 번 전달이므로 같은 이벤트가 다시 올 수 있다. eventId 로 이미 반영했는지 거른다.
+ * - 예외를 던지면 이 호출의 트랜잭션이 롤백되고, 그 사용자의 이후 이벤트는 재시도가 성공할 때까지 보류된다.
+ */
+public interface MealChangeListener {
+
+    void onMealChanged(MealChangedEvent event);
+}
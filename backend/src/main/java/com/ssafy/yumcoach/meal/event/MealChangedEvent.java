@@ -0,0 +1,89 @@
+package com.ssafy.yumcoach.meal.event;
+
+import com.ssafy.yumcoach.meal.enums.MealChangeType;
+import com.ssafy.yumcoach.meal.model.MealItemDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 한 사용자의 하루 식단이 바뀐 내용 (meal_outbox 한 행)
+ *
+ * items 는 아이템 단위 증감이다. 추가는 sign = +1, 삭제는 sign = -1 이고
+ * 수정은 옛 값 -1 과 새 값 +1 두 개로 나타낸다. 그날 합계 변화량은 sign × 값의 합이다.
+ *
+ * @param eventId   meal_outbox.id (테이블 전체 AUTO_INCREMENT. 사용자가 다르면 커밋 순서와 다를 수 있지만
+ *                  같은 사용자 안에서는 meal_outbox_user 잠금으로 커밋 순서와 같다.
+ *                  리스너가 중복 전달을 거를 때 쓴다. 저장 전에는 0)
+ * @param userId    사용자
+ * @param date      바뀐 날짜
+ * @param historyId 끼니(meal_history.id)
+ * @param type      변경 종류
+ * @param items     아이템별 증감
+ */
+public record MealChangedEvent(long eventId, int userId, LocalDate date, long historyId,
+                               MealChangeType type, List<ItemDelta> items) {
+
+    /**
+     * @param mealItemId meal.id
+     * @param sign       +1 추가 / -1 삭제
+     * @param amount     섭취량(g), 모르면 null
+     */
+    public record ItemDelta(long mealItemId, String mealCode, int sign, Integer amount,
+                            double kcal, double protein, double carbs, double fat) {
+
+        public static ItemDelta added(MealItemDto item) {
+            return of(item, 1);
+        }
+
+        public static ItemDelta removed(MealItemDto item) {
+            return of(item, -1);
+        }
+
+        private static ItemDelta of(MealItemDto item, int sign) {
+            return new ItemDelta(
+                    item.getId() == null ? 0 : item.getId(),
+                    item.getMealCode(),
+                    sign,
+                    item.getAmount(),
+                    orZero(item.getKcal()),
+                    orZero(item.getProtein()),
+                    orZero(item.getCarbs()),
+                    orZero(item.getFat()));
+        }
+
+        private static double orZero(Double v) {
+            return v == null ? 0.0 : v;
+        }
+    }
+
+    public double kcalDelta() {
+        double sum = 0;
+        for (ItemDelta d : items) sum += d.sign() * d.kcal();
+        return sum;
+    }
+
+    public double proteinDelta() {
+        double sum = 0;
+        for (ItemDelta d : items) sum += d.sign() * d.protein();
+        return sum;
+    }
+
+    public double carbsDelta() {
+        double sum = 0;
+        for (ItemDelta d : items) sum += d.sign() * d.carbs();
+        return sum;
+    }
+
+    public double fatDelta() {
+        double sum = 0;
+        for (ItemDelta d : items) sum += d.sign() * d.fat();
+        return sum;
+    }
+
+    public int itemCountDelta() {
+        int sum = 0;
+        for (ItemDelta d : items) sum += d.sign();
+        return sum;
+    }
+}
@@ -0,0 +1,160 @@
+package com.ssafy.yumcoach.meal.event;
+
+import com.ssafy.yumcoach.meal.enums.MealChangeType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MealChangedEvent ↔ meal_outbox.payload 바이너리
+ *
+ * 형식 (v1, 정수는 모두 LEB128 가변 길이, 부호 있는 값은 zigzag):
+ * <pre>
+ * version(1B) userId historyId epochDay(zigzag) type(1B) itemCount
+ * item × itemCount:
+ *   sign(1B: 1 추가 / 0 삭제) mealItemId mealCode(길이 + UTF-8) amount(zigzag, 없으면 -1)
+ *   kcal protein carbs fat (zigzag, 0.01 단위 정수)
+ * </pre>
+ * 영양값은 DB 와 같이 소수점 둘째자리까지만 담는다. 아이템 하나가 보통 20 ~ 40바이트.
+ */
+public final class MealChangedEventCodec {
+
+    private static final int VERSION = 1;
+
+    private MealChangedEventCodec() {
+    }
+
+    public static byte[] encode(MealChangedEvent event) {
+        Writer out = new Writer(16 + event.items().size() * 40);
+        out.write(VERSION);
+        out.writeVarLong(event.userId());
+        out.writeVarLong(event.historyId());
+        out.writeZigZag(event.date().toEpochDay());
+        out.write(event.type().code());
+        out.writeVarLong(event.items().size());
+        for (MealChangedEvent.ItemDelta item : event.items()) {
+            out.write(item.sign() > 0 ? 1 : 0);
+            out.writeVarLong(item.mealItemId());
+            out.writeString(item.mealCode());
+            out.writeZigZag(item.amount() == null ? -1 : item.amount());
+            out.writeZigZag(Math.round(item.kcal() * 100));
+            out.writeZigZag(Math.round(item.protein() * 100));
+            out.writeZigZag(Math.round(item.carbs() * 100));
+            out.writeZigZag(Math.round(item.fat() * 100));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param eventId meal_outbox.id
+     * @throws IllegalArgumentException 알 수 없는 버전 / 변경 종류이거나 잘린 payload
+     */
+    public static MealChangedEvent decode(long eventId, byte[] payload) {
+        Reader in = new Reader(payload);
+        int version = in.read();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported meal event version: " + version);
+        }
+        int userId = (int) in.readVarLong();
+        long historyId = in.readVarLong();
+        LocalDate date = LocalDate.ofEpochDay(in.readZigZag());
+        MealChangeType type = MealChangeType.ofCode(in.read());
+        // 아이템 하나가 최소 8바이트이므로 남은 길이로 개수 상한을 건다 (깨진 값으로 큰 배열을 만들지 않도록)
+        long count = in.readVarLong();
+        if (count < 0 || count > in.remaining() / 8) throw new IllegalArgumentException("truncated meal event payload");
+
+        List<MealChangedEvent.ItemDelta> items = new ArrayList<>((int) count);
+        for (int i = 0; i < count; i++) {
+            int sign = in.read() == 1 ? 1 : -1;
+            long mealItemId = in.readVarLong();
+            String mealCode = in.readString();
+            long amount = in.readZigZag();
+            items.add(new MealChangedEvent.ItemDelta(
+                    mealItemId,
+                    mealCode,
+                    sign,
+                    amount < 0 ? null : (int) amount,
+                    in.readZigZag() / 100.0,
+                    in.readZigZag() / 100.0,
+                    in.readZigZag() / 100.0,
+                    in.readZigZag() / 100.0));
+        }
+        return new MealChangedEvent(eventId, userId, date, historyId, type, items);
+    }
+
+    private static final class Writer extends ByteArrayOutputStream {
+
+        Writer(int size) {
+            super(size);
+        }
+
+        void writeVarLong(long v) {
+            while ((v & ~0x7FL) != 0) {
+                write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            write((int) v);
+        }
+
+        void writeZigZag(long v) {
+            writeVarLong((v << 1) ^ (v >> 63));
+        }
+
+        void writeString(String s) {
+            if (s == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L); // 0 은 null
+            write(bytes, 0, bytes.length);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        int read() {
+            if (pos >= buf.length) throw new IllegalArgumentException("truncated meal event payload");
+            return buf[pos++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return v;
+            }
+            throw new IllegalArgumentException("malformed varint in meal event payload");
+        }
+
+        int remaining() {
+            return buf.length - pos;
+        }
+
+        long readZigZag() {
+            long v = readVarLong();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        String readString() {
+            long encoded = readVarLong();
+            if (encoded == 0) return null;
+            if (encoded < 0 || encoded - 1 > remaining()) throw new IllegalArgumentException("truncated meal event payload");
+            int len = (int) (encoded - 1);
+            String s = new String(buf, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return s;
+        }
+    }
+}
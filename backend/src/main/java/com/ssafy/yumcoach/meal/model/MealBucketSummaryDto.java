@@ -0,0 +1,25 @@
+package com.ssafy.yumcoach.meal.model;
+
+import com.ssafy.yumcoach.meal.enums.MealType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// 기간 집계 한 구간 (하루 / 한 주 / 한 달)
+public class MealBucketSummaryDto implements Serializable {
+
+    private LocalDate startDate; // 구간 첫날 (조회 시작일로 잘림)
+    private LocalDate endDate;   // 구간 마지막 날 (조회 종료일로 잘림)
+
+    private MealTotalsDto total;
+    private Map<MealType, MealTotalsDto> byMealType; // 기록이 있는 끼니 종류만
+}
@@ -0,0 +1,28 @@
+package com.ssafy.yumcoach.meal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// 하루 영양 합계 - meal_daily_summary 테이블
+public class MealDailySummaryDto implements Serializable {
+
+    private Integer userId;
+    private LocalDate date;
+
+    private Double kcal;
+    private Double protein;
+    private Double carbs;
+    private Double fat;
+
+    // 그날 기록한 음식 아이템 수
+    private Integer itemCount;
+}
@@ -0,0 +1,20 @@
+package com.ssafy.yumcoach.meal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// 일괄 가져오기에서 실패한 기록 하나
+public class MealImportErrorDto implements Serializable {
+
+    private int index;      // 요청 안에서의 순번 (0부터, CSV 는 끼니 단위)
+    private Integer line;   // NDJSON / CSV 의 줄 번호 (1부터, JSON 배열이면 null)
+    private String message;
+}
@@ -0,0 +1,29 @@
+package com.ssafy.yumcoach.meal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// 식사 기록 일괄 가져오기 결과
+public class MealImportResultDto implements Serializable {
+
+    private int received;      // 읽은 끼니 수
+    private int imported;      // 저장된 끼니 수
+    private int importedItems; // 저장된 음식(meal) 수
+    private int failed;        // 실패한 끼니 수
+
+    private long elapsedMillis;
+    private long itemsPerSecond;
+
+    // 실패 사유 (앞에서부터 최대 MealImportService.MAX_ERRORS 건)
+    private List<MealImportErrorDto> errors;
+    private boolean errorsTruncated;
+}
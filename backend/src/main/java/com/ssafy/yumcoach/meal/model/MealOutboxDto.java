@@ -0,0 +1,25 @@
+package com.ssafy.yumcoach.meal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// meal_outbox 한 행 (전달 대기 중인 식단 변경 이벤트)
+public class MealOutboxDto implements Serializable {
+
+    private Long id;
+    private Integer userId;
+    private LocalDate eventDate;
+    private byte[] payload;   // MealChangedEventCodec
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+}
@@ -0,0 +1,47 @@
+package com.ssafy.yumcoach.meal.model;
+
+import com.ssafy.yumcoach.meal.enums.MealType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * 식사 타임라인 페이지 경계 (마지막으로 내려준 끼니의 정렬 키)
+ *
+ * - 정렬은 (date, type, id) 내림차순이고, 다음 페이지는 이 키보다 작은 행부터 읽는다.
+ * - id 가 유일하므로 그 사이에 기록이 추가/삭제되어도 이미 본 행이 다시 나오거나 건너뛰지 않는다.
+ * - 클라이언트에는 "date|type|id" 를 URL-safe Base64 로 감싼 문자열로 주고받는다 (내용에 의존하지 않게).
+ *
+ * @param date meal_history.date
+ * @param type meal_history.type
+ * @param id   meal_history.id
+ */
+public record MealTimelineCursor(LocalDate date, MealType type, long id) {
+
+    public static MealTimelineCursor of(MealLogDto last) {
+        return new MealTimelineCursor(last.getDate(), last.getMealType(), last.getId());
+    }
+
+    public String encode() {
+        String raw = date + "|" + type.name() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 형식이 맞지 않는 cursor
+     */
+    public static MealTimelineCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) throw new IllegalArgumentException(raw);
+            return new MealTimelineCursor(
+                    LocalDate.parse(parts[0]),
+                    MealType.valueOf(parts[1]),
+                    Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("cursor 가 올바르지 않습니다.");
+        }
+    }
+}
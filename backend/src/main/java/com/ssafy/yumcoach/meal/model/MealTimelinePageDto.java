@@ -0,0 +1,23 @@
+package com.ssafy.yumcoach.meal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// 식사 타임라인 한 페이지 (최근 기록부터)
+public class MealTimelinePageDto implements Serializable {
+
+    private List<MealLogDto> items;
+
+    // 다음 페이지 요청에 그대로 넘길 값 (마지막 페이지면 null)
+    private String nextCursor;
+    private boolean hasNext;
+}
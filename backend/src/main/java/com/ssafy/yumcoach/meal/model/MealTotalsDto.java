@@ -0,0 +1,41 @@
+package com.ssafy.yumcoach.meal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// 영양 합계 한 묶음 (기간 집계 응답용)
+public class MealTotalsDto implements Serializable {
+
+    private double kcal;
+    private double protein;
+    private double carbs;
+    private double fat;
+
+    private int mealCount; // 끼니(meal_history) 수
+    private int itemCount; // 음식(meal) 수
+
+    public void add(MealTypeDailyTotalDto row) {
+        kcal += row.getKcal();
+        protein += row.getProtein();
+        carbs += row.getCarbs();
+        fat += row.getFat();
+        mealCount += row.getMealCount();
+        itemCount += row.getItemCount();
+    }
+
+    // 합산 후 소수점 둘째자리로 정리 (double 누적 오차 제거)
+    public void round() {
+        kcal = Math.round(kcal * 100.0) / 100.0;
+        protein = Math.round(protein * 100.0) / 100.0;
+        carbs = Math.round(carbs * 100.0) / 100.0;
+        fat = Math.round(fat * 100.0) / 100.0;
+    }
+}
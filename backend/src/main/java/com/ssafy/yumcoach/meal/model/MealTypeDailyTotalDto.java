@@ -0,0 +1,25 @@
+package com.ssafy.yumcoach.meal.model;
+
+import com.ssafy.yumcoach.meal.enums.MealType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+// 하루 × 끼니 종류별 합계 (GROUP BY DATE(date), type 결과 한 행)
+public class MealTypeDailyTotalDto implements Serializable {
+
+    private LocalDate date;
+    private MealType mealType;
+
+    private double kcal;
+    private double protein;
+    private double carbs;
+    private double fat;
+
+    private int mealCount;
+    private int itemCount;
+}
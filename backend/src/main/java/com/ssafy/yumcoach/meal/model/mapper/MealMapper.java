@@ -6,6 +6,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +26,18 @@ public interface MealMapper {
             @Param("endDate") LocalDate endDate
     );
 
+    // 타임라인 한 페이지: (date, type, id) 내림차순으로 커서 다음 끼니부터 limit 개 (커서가 없으면 처음부터)
+    List<MealLogDto> selectMealTimeline(
+            @Param("userId") Integer userId,
+            @Param("cursorDate") LocalDate cursorDate,
+            @Param("cursorType") String cursorType,
+            @Param("cursorId") Long cursorId,
+            @Param("limit") int limit
+    );
+
+    // 한 끼의 user_id / date / type 만 (캐시 무효화 대상 확인용, items 는 비어 있음)
+    MealLogDto selectMealLogHeader(@Param("historyId") Long historyId);
+
     // meal_history 한 끼 insert
     int insertMealLog(MealLogDto mealLog);
 
@@ -34,12 +47,33 @@ public interface MealMapper {
     // 해당 끼니의 음식 전체 삭제 후 다시 넣고 싶을 때
     int deleteMealItemsByHistoryId(@Param("historyId") Long historyId);
 
-    // meal 여러 건 bulk insert
+    // meal 여러 건 bulk insert (생성된 id 를 items 각각의 id 에 채운다)
     int insertMealItems(
             @Param("historyId") Long historyId,
             @Param("items") List<MealItemDto> items
     );
 
+    // meal 한 건 insert (일괄 가져오기에서 BATCH 실행기로 묶어 보낸다)
+    int insertMealItem(
+            @Param("historyId") Long historyId,
+            @Param("item") MealItemDto item
+    );
+
+    // 한 끼의 현재 아이템 목록
+    List<MealItemDto> selectMealItemsByHistoryId(@Param("historyId") Long historyId);
+
+    // 여러 아이템 한 번에 수정 (items 의 id 기준, historyId 에 속한 것만)
+    int updateMealItemsBatch(
+            @Param("historyId") Long historyId,
+            @Param("items") List<MealItemDto> items
+    );
+
+    // 여러 아이템 한 번에 삭제 (historyId 에 속한 것만)
+    int deleteMealItemsByIds(
+            @Param("historyId") Long historyId,
+            @Param("ids") Collection<Long> ids
+    );
+
     // 단일 아이템 수정 (필요하면)
     int updateMealItem(MealItemDto item);
 
@@ -0,0 +1,48 @@
+package com.ssafy.yumcoach.meal.model.mapper;
+
+import com.ssafy.yumcoach.meal.model.MealOutboxDto;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface MealOutboxMapper {
+
+    // 사용자별 잠금 행을 트랜잭션 끝까지 잠근다 (insertEvent 전에, 같은 사용자의 이벤트 id 를 커밋 순서로)
+    int lockUser(@Param("userId") int userId);
+
+    // 이벤트 한 건 (식단 변경과 같은 트랜잭션)
+    int insertEvent(
+            @Param("userId") int userId,
+            @Param("eventDate") LocalDate eventDate,
+            @Param("payload") byte[] payload
+    );
+
+    // 지금 보낼 수 있는 대기 이벤트를 id 순서로 잠그며 읽는다 (다른 서버가 잠근 행은 건너뛴다)
+    List<MealOutboxDto> selectPendingForUpdate(@Param("limit") int limit);
+
+    // 사용자별 가장 앞의 대기 이벤트 (userId, id 만 채운다)
+    List<MealOutboxDto> selectPendingHeads(@Param("userIds") Collection<Integer> userIds);
+
+    int markDispatched(@Param("ids") Collection<Long> ids);
+
+    // 전달 실패: 시도 횟수 +1, 다음 시도 시각 = DB 시각 + backoffSeconds. dead 면 포기(status 2)
+    int markFailed(
+            @Param("id") long id,
+            @Param("error") String error,
+            @Param("backoffSeconds") long backoffSeconds,
+            @Param("dead") boolean dead
+    );
+
+    int countPending();
+
+    // 전달 완료 후 보관 기간이 지난 행 삭제 (limit 건씩)
+    int deleteDispatchedBefore(
+            @Param("before") LocalDateTime before,
+            @Param("limit") int limit
+    );
+}
@@ -0,0 +1,58 @@
+package com.ssafy.yumcoach.meal.model.mapper;
+
+import com.ssafy.yumcoach.meal.model.MealDailySummaryDto;
+import com.ssafy.yumcoach.meal.model.MealTypeDailyTotalDto;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface MealSummaryMapper {
+
+    // 한 끼(meal_history)의 현재 아이템 합계 × sign 을 그날 합계에 더한다 (sign: 1 또는 -1)
+    int applyHistoryDelta(
+            @Param("historyId") long historyId,
+            @Param("sign") int sign
+    );
+
+    // 여러 끼니의 현재 합계 × sign 을 (사용자, 날짜)별로 묶어 한 번에 더한다 (일괄 가져오기용)
+    int applyHistoriesDelta(
+            @Param("historyIds") Collection<Long> historyIds,
+            @Param("sign") int sign
+    );
+
+    // 아이템 하나(meal)의 현재 값 × sign 을 그날 합계에 더한다
+    int applyItemDelta(
+            @Param("mealItemId") long mealItemId,
+            @Param("sign") int sign
+    );
+
+    // 기간 내 하루 합계 (PK 범위 스캔, 날짜 오름차순, 기록 없는 날은 빠짐)
+    List<MealDailySummaryDto> selectDailySummaries(
+            @Param("userId") Integer userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // 기간 내 하루 × 끼니 종류별 합계 (meal_history (user_id, date, type) 인덱스 범위 스캔 + GROUP BY)
+    List<MealTypeDailyTotalDto> selectTypeTotalsByDay(
+            @Param("userId") Integer userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // 기간 내 합계를 meal 원본으로 다시 계산해 덮어쓴다
+    int reconcileDailySummaries(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // 기간 내 meal_history 가 하나도 없는 날의 합계 행 삭제
+    int deleteOrphanDailySummaries(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+}
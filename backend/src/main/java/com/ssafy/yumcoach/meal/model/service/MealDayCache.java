@@ -0,0 +1,464 @@
+package com.ssafy.yumcoach.meal.model.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.yumcoach.meal.model.MealLogDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * (userId, 날짜) 하루치 식사 기록 캐시. 로컬 LRU(1차) + Redis(2차)
+ *
+ * - 조회: 로컬 → Redis → DB 순. DB 에서 읽은 값은 두 단계에 모두 채운다. 기록 없는 날(빈 목록)도 캐시한다.
+ * - 기간 조회는 하루 단위 캐시로 나눠 찾고, 빠진 날들만 기간 쿼리 한 번으로 읽어 날짜별로 채운다.
+ * - 무효화: 식단이 바뀐 (userId, 날짜)만 트랜잭션 커밋 직후 지운다.
+ *   Redis 에는 키마다 버전 카운터를 두고 값에 읽기 시작 시점의 버전을 붙여 저장한다.
+ *   무효화는 버전을 올리므로, 무효화 전에 읽기 시작한 요청이 늦게 써 넣은 옛 값은 다음 조회에서 버려진다.
+ * - 로컬은 키 해시로 나눈 LOCAL_SEGMENTS 개 LRU 로, 구간마다 따로 잠근다.
+ *   무효화된 키에는 무효화 순번을 적은 표시(tombstone)를 로컬 TTL 동안 남긴다.
+ *   그 순번보다 먼저 읽기 시작한 요청은 그 키에 값을 넣지 못하고, 다른 키의 채우기는 영향을 받지 않는다.
+ * - 다른 서버의 로컬 캐시는 pub/sub 으로 지운다. 메시지가 유실되어도 로컬 TTL(기본 30초)이 지나면 사라진다.
+ * - Redis 오류 시 잠시 Redis 를 건너뛰고 로컬 + DB 로만 동작한다.
+ *
+ * 돌려주는 목록은 다른 요청과 공유하므로 호출하는 쪽에서 수정하지 않는다.
+ */
+@Slf4j
+@Component
+public class MealDayCache {
+
+    /** 이보다 긴 기간 조회는 캐시를 거치지 않고 DB 로 바로 간다 */
+    public static final int MAX_CACHED_RANGE_DAYS = 62;
+
+    private static final String KEY_PREFIX = "meal:day:";
+    private static final String VERSION_PREFIX = "meal:day:ver:";
+    private static final String CHANNEL = "meal:day:invalidate";
+    private static final TypeReference<List<MealLogDto>> MEALS = new TypeReference<>() {};
+    private static final long REDIS_BACKOFF_MILLIS = 30_000;
+    private static final int LOCAL_SEGMENTS = 16;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final boolean enabled;
+    private final int localMaxEntries;
+    private final long localTtlMillis;
+    private final Duration redisTtl;
+
+    private final LocalSegment[] local;
+
+    // 무효화 순번. 읽기 시작할 때의 값을 기억해 두었다가, 그 뒤에 무효화된 키에는 넣지 않는다
+    private final AtomicLong invalidationSeq = new AtomicLong();
+    private volatile long redisDownUntil;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder redisErrors = new LongAdder();
+
+    /**
+     * @param meals   null 이면 무효화 표시(tombstone)
+     * @param version 값이면 읽기 시작 시점의 순번, 표시면 무효화 순번
+     */
+    private record LocalEntry(List<MealLogDto> meals, long version, long expiresAt) {
+    }
+
+    /**
+     * 로컬 LRU 한 구간. accessOrder = true → 가장 오래 안 쓴 항목부터 밀려난다. 이 객체로 잠근다.
+     */
+    private static final class LocalSegment extends LinkedHashMap<String, LocalEntry> {
+
+        private final int maxEntries;
+
+        LocalSegment(int maxEntries) {
+            super(64, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    public MealDayCache(RedisTemplate<String, String> redisTemplate,
+                        ObjectMapper objectMapper,
+                        RedisMessageListenerContainer listenerContainer,
+                        @Value("${meal.cache.enabled:true}") boolean enabled,
+                        @Value("${meal.cache.local-max-entries:10000}") int localMaxEntries,
+                        @Value("${meal.cache.local-ttl-seconds:30}") long localTtlSeconds,
+                        @Value("${meal.cache.redis-ttl-seconds:600}") long redisTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.localMaxEntries = localMaxEntries;
+        this.localTtlMillis = localTtlSeconds * 1000;
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+        this.local = new LocalSegment[LOCAL_SEGMENTS];
+        int perSegment = Math.max(1, (localMaxEntries + LOCAL_SEGMENTS - 1) / LOCAL_SEGMENTS);
+        for (int i = 0; i < LOCAL_SEGMENTS; i++) local[i] = new LocalSegment(perSegment);
+        if (enabled) {
+            listenerContainer.addMessageListener(this::onInvalidate, new ChannelTopic(CHANNEL));
+        }
+    }
+
+    /**
+     * 하루치 식사 기록. 캐시에 없으면 loader 로 읽어 채운다.
+     */
+    public List<MealLogDto> getDay(Integer userId, LocalDate date, Supplier<List<MealLogDto>> loader) {
+        if (!enabled) return loader.get();
+
+        String key = key(userId, date);
+        List<MealLogDto> cached = getLocal(key);
+        if (cached != null) {
+            localHits.increment();
+            return cached;
+        }
+
+        long readSeq = invalidationSeq.get();
+        Map<String, String> versions = new HashMap<>();
+        Map<String, List<MealLogDto>> fromRedis = getRedis(List.of(key), versions);
+        cached = fromRedis.get(key);
+        if (cached != null) {
+            redisHits.increment();
+            putLocal(key, cached, readSeq);
+            return cached;
+        }
+
+        misses.increment();
+        List<MealLogDto> meals = loader.get();
+        putLocal(key, meals, readSeq);
+        putRedis(Map.of(key, meals), versions);
+        return meals;
+    }
+
+    /**
+     * [startDate, endDate] 기간의 식사 기록 (날짜 순). 캐시에 없는 날들만 loader(첫 날, 마지막 날) 한 번으로 읽는다.
+     */
+    public List<MealLogDto> getRange(Integer userId, LocalDate startDate, LocalDate endDate,
+                                     BiFunction<LocalDate, LocalDate, List<MealLogDto>> loader) {
+        if (!enabled || startDate.isAfter(endDate)
+                || ChronoUnit.DAYS.between(startDate, endDate) >= MAX_CACHED_RANGE_DAYS) {
+            if (enabled) bypassed.increment();
+            return loader.apply(startDate, endDate);
+        }
+
+        // 날짜 → 하루치 (찾은 것만)
+        Map<LocalDate, List<MealLogDto>> days = new HashMap<>();
+        List<String> missingKeys = new ArrayList<>();
+        Map<String, LocalDate> dateOf = new HashMap<>();
+        for (LocalDate d = startDate; !d.isAfter(endDate); d = d.plusDays(1)) {
+            String key = key(userId, d);
+            List<MealLogDto> cached = getLocal(key);
+            if (cached != null) {
+                localHits.increment();
+                days.put(d, cached);
+            } else {
+                missingKeys.add(key);
+                dateOf.put(key, d);
+            }
+        }
+
+        if (!missingKeys.isEmpty()) {
+            long readSeq = invalidationSeq.get();
+            Map<String, String> versions = new HashMap<>();
+            Map<String, List<MealLogDto>> fromRedis = getRedis(missingKeys, versions);
+
+            LocalDate first = null;
+            LocalDate last = null;
+            for (String key : missingKeys) {
+                LocalDate d = dateOf.get(key);
+                List<MealLogDto> cached = fromRedis.get(key);
+                if (cached != null) {
+                    redisHits.increment();
+                    days.put(d, cached);
+                    putLocal(key, cached, readSeq);
+                } else {
+                    misses.increment();
+                    if (first == null) first = d;
+                    last = d;
+                }
+            }
+
+            if (first != null) {
+                Map<LocalDate, List<MealLogDto>> loaded = new HashMap<>();
+                for (MealLogDto meal : loader.apply(first, last)) {
+                    loaded.computeIfAbsent(meal.getDate(), x -> new ArrayList<>()).add(meal);
+                }
+                Map<String, List<MealLogDto>> toRedis = new LinkedHashMap<>();
+                for (LocalDate d = first; !d.isAfter(last); d = d.plusDays(1)) {
+                    if (days.containsKey(d)) continue;
+                    String key = key(userId, d);
+                    List<MealLogDto> meals = loaded.getOrDefault(d, List.of());
+                    days.put(d, meals);
+                    putLocal(key, meals, readSeq);
+                    toRedis.put(key, meals);
+                }
+                putRedis(toRedis, versions);
+            }
+        }
+
+        List<MealLogDto> result = new ArrayList<>();
+        for (LocalDate d = startDate; !d.isAfter(endDate); d = d.plusDays(1)) {
+            List<MealLogDto> meals = days.get(d);
+            if (meals != null) result.addAll(meals);
+        }
+        return result;
+    }
+
+    /**
+     * 진행 중인 트랜잭션이 커밋된 뒤 (userId, 날짜들)을 지운다. 트랜잭션 밖이면 바로 지운다.
+     * 롤백되면 데이터가 그대로이므로 지우지 않는다.
+     */
+    public void evictAfterCommit(Integer userId, Collection<LocalDate> dates) {
+        if (!enabled || userId == null) return;
+        Set<LocalDate> targets = new LinkedHashSet<>();
+        for (LocalDate d : dates) {
+            if (d != null) targets.add(d);
+        }
+        if (targets.isEmpty()) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId, targets);
+                }
+            });
+        } else {
+            evict(userId, targets);
+        }
+    }
+
+    /**
+     * (userId, 날짜들)을 로컬 / Redis / 다른 서버 로컬에서 지운다.
+     */
+    public void evict(Integer userId, Collection<LocalDate> dates) {
+        if (!enabled || dates.isEmpty()) return;
+
+        invalidations.add(dates.size());
+        List<String> keys = new ArrayList<>(dates.size());
+        for (LocalDate d : dates) keys.add(key(userId, d));
+        invalidateLocal(keys);
+
+        try {
+            Duration versionTtl = redisTtl.plusMinutes(1); // 값보다 늦게 만료되어야 옛 값이 맞는 버전으로 보이지 않는다
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (String key : keys) {
+                        String versionKey = VERSION_PREFIX + key.substring(KEY_PREFIX.length());
+                        ops.opsForValue().increment(versionKey);
+                        ops.expire(versionKey, versionTtl);
+                        ops.delete(key);
+                    }
+                    return null;
+                }
+            });
+            redisTemplate.convertAndSend(CHANNEL, nodeId + "|" + String.join(",", keys));
+        } catch (RuntimeException e) {
+            redisFailed("evict", e);
+        }
+    }
+
+    /**
+     * 캐시 적중률 등 (관리자 상태 조회용)
+     */
+    public Map<String, Object> stats() {
+        long local = localHits.sum();
+        long redis = redisHits.sum();
+        long miss = misses.sum();
+        long lookups = local + redis + miss;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("lookups", lookups);
+        stats.put("localHits", local);
+        stats.put("redisHits", redis);
+        stats.put("misses", miss);
+        stats.put("hitRate", lookups == 0 ? 0.0 : Math.round((local + redis) * 10000.0 / lookups) / 10000.0);
+        stats.put("localHitRate", lookups == 0 ? 0.0 : Math.round(local * 10000.0 / lookups) / 10000.0);
+        stats.put("bypassedRanges", bypassed.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("redisErrors", redisErrors.sum());
+        stats.put("redisAvailable", System.currentTimeMillis() >= redisDownUntil);
+        int entries = 0;
+        for (LocalSegment segment : this.local) {
+            synchronized (segment) {
+                entries += segment.size();
+            }
+        }
+        stats.put("localEntries", entries); // 무효화 표시 포함
+        stats.put("localMaxEntries", localMaxEntries);
+        return stats;
+    }
+
+    // ===== 로컬 =====
+
+    private LocalSegment segment(String key) {
+        int h = key.hashCode();
+        return local[(h ^ (h >>> 16)) & (LOCAL_SEGMENTS - 1)];
+    }
+
+    private List<MealLogDto> getLocal(String key) {
+        LocalSegment segment = segment(key);
+        synchronized (segment) {
+            LocalEntry entry = segment.get(key);
+            if (entry == null) return null;
+            if (entry.expiresAt() < System.currentTimeMillis()) {
+                segment.remove(key);
+                return null;
+            }
+            return entry.meals(); // 무효화 표시면 null
+        }
+    }
+
+    /**
+     * @param readSeq 읽기 시작 시점의 invalidationSeq
+     */
+    private void putLocal(String key, List<MealLogDto> meals, long readSeq) {
+        long now = System.currentTimeMillis();
+        LocalSegment segment = segment(key);
+        synchronized (segment) {
+            // 읽는 동안 이 키가 무효화되었거나, 더 나중에 읽기 시작한 값이 이미 있으면 넣지 않는다
+            LocalEntry current = segment.get(key);
+            if (current != null && current.version() > readSeq && current.expiresAt() >= now) return;
+            segment.put(key, new LocalEntry(meals, readSeq, now + localTtlMillis));
+        }
+    }
+
+    private void invalidateLocal(Iterable<String> keys) {
+        long expiresAt = System.currentTimeMillis() + localTtlMillis;
+        for (String key : keys) {
+            LocalEntry tombstone = new LocalEntry(null, invalidationSeq.incrementAndGet(), expiresAt);
+            LocalSegment segment = segment(key);
+            synchronized (segment) {
+                segment.put(key, tombstone);
+            }
+        }
+    }
+
+    private void onInvalidate(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int sep = body.indexOf('|');
+        if (sep < 0 || body.substring(0, sep).equals(nodeId)) return;
+
+        invalidateLocal(List.of(body.substring(sep + 1).split(",")));
+    }
+
+    // ===== Redis =====
+
+    /**
+     * 키들의 값과 버전을 MGET 한 번으로 읽는다. 현재 버전과 다른 버전으로 저장된 값은 없는 것으로 본다.
+     *
+     * @param versions 키 → 현재 버전 (나중에 putRedis 가 값에 붙일 버전). Redis 를 못 읽었으면 비워 둔다.
+     */
+    private Map<String, List<MealLogDto>> getRedis(List<String> keys, Map<String, String> versions) {
+        if (System.currentTimeMillis() < redisDownUntil) return Map.of();
+
+        List<String> request = new ArrayList<>(keys.size() * 2);
+        for (String key : keys) {
+            request.add(key);
+            request.add(VERSION_PREFIX + key.substring(KEY_PREFIX.length()));
+        }
+
+        List<String> values;
+        try {
+            values = redisTemplate.opsForValue().multiGet(request);
+        } catch (RuntimeException e) {
+            redisFailed("get", e);
+            return Map.of();
+        }
+        if (values == null) return Map.of();
+
+        Map<String, List<MealLogDto>> found = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            String value = values.get(i * 2);
+            String version = values.get(i * 2 + 1) == null ? "0" : values.get(i * 2 + 1);
+            versions.put(key, version);
+
+            if (value == null) continue;
+            int newline = value.indexOf('\n');
+            if (newline < 0 || !value.substring(0, newline).equals(version)) continue;
+            try {
+                found.put(key, objectMapper.readValue(value.substring(newline + 1), MEALS));
+            } catch (Exception e) {
+                log.warn("[MealDayCache] unreadable cache entry {}: {}", key, e.getMessage());
+            }
+        }
+        return found;
+    }
+
+    private void putRedis(Map<String, List<MealLogDto>> entries, Map<String, String> versions) {
+        if (entries.isEmpty() || System.currentTimeMillis() < redisDownUntil) return;
+
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, List<MealLogDto>> e : entries.entrySet()) {
+            String version = versions.get(e.getKey());
+            if (version == null) continue; // 버전을 모르면 쓰지 않는다
+            try {
+                values.put(e.getKey(), version + "\n" + objectMapper.writeValueAsString(e.getValue()));
+            } catch (Exception ex) {
+                log.warn("[MealDayCache] failed to serialize {}: {}", e.getKey(), ex.getMessage());
+            }
+        }
+        if (values.isEmpty()) return;
+
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    values.forEach((key, value) -> ops.opsForValue().set(key, value, redisTtl));
+                    return null;
+                }
+            });
+        } catch (RuntimeException e) {
+            redisFailed("put", e);
+        }
+    }
+
+    private void redisFailed(String op, RuntimeException e) {
+        redisErrors.increment();
+        redisDownUntil = System.currentTimeMillis() + REDIS_BACKOFF_MILLIS;
+        log.warn("[MealDayCache] redis {} failed, using local cache only for {} s: {}",
+                op, REDIS_BACKOFF_MILLIS / 1000, e.getMessage());
+    }
+
+    private static String key(Integer userId, LocalDate date) {
+        return KEY_PREFIX + userId + ":" + date;
+    }
+}
@@ -0,0 +1,579 @@
+package com.ssafy.yumcoach.meal.model.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ssafy.yumcoach.food.model.FoodDetailDto;
+import com.ssafy.yumcoach.food.model.NutritionFactsPrimaryDto;
+import com.ssafy.yumcoach.food.model.catalog.FoodAmount;
+import com.ssafy.yumcoach.food.model.service.FoodService;
+import com.ssafy.yumcoach.meal.enums.MealChangeType;
+import com.ssafy.yumcoach.meal.enums.MealType;
+import com.ssafy.yumcoach.meal.event.MealChangedEvent;
+import com.ssafy.yumcoach.meal.event.MealChangedEventCodec;
+import com.ssafy.yumcoach.meal.model.MealImportErrorDto;
+import com.ssafy.yumcoach.meal.model.MealImportResultDto;
+import com.ssafy.yumcoach.meal.model.MealItemDto;
+import com.ssafy.yumcoach.meal.model.MealLogDto;
+import com.ssafy.yumcoach.meal.model.mapper.MealMapper;
+import com.ssafy.yumcoach.meal.model.mapper.MealOutboxMapper;
+import com.ssafy.yumcoach.meal.model.mapper.MealSummaryMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 식사 기록 일괄 가져오기 (다른 앱에서 옮겨 오는 기록, 시드 스크립트)
+ *
+ * - 기록을 chunkSize 끼니씩 모아 한 트랜잭션으로 저장하고 커밋한다.
+ *   한 묶음이 DB 오류로 실패하면 그 묶음만 롤백되고 나머지는 계속 저장한다.
+ * - 저장은 BATCH 실행기(SqlSessionTemplate, ExecutorType.BATCH)로 한다.
+ *   같은 SQL 이 JDBC batch 로 묶여 나가므로 끼니마다 왕복하지 않는다.
+ *   (MySQL 은 JDBC URL 에 rewriteBatchedStatements=true 가 있으면 multi-row INSERT 로 바꿔 보낸다)
+ * - meal_code 는 묶음마다 식품 카탈로그에서 한 번에 확인하고, 비어 있는 이름/섭취량/영양정보를 채운다.
+ * - 잘못된 기록은 건너뛰고 순번과 사유를 결과에 담는다.
+ * - NDJSON / CSV 는 한 줄씩 읽으며 바로 묶음으로 넘기므로 요청 크기와 관계없이 메모리 사용이 일정하다.
+ */
+@Slf4j
+@Service
+public class MealImportService {
+
+    /** 결과에 담는 실패 사유 최대 건수 */
+    public static final int MAX_ERRORS = 1000;
+
+    /** 한 끼에 넣을 수 있는 최대 음식 수 */
+    public static final int MAX_ITEMS_PER_MEAL = 100;
+
+    private final FoodService foodService;
+    private final MealDayCache mealDayCache;
+    private final ObjectReader recordReader;
+    private final SqlSessionTemplate batchSession;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${meal.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${meal.import.max-records:100000}")
+    private int maxRecords;
+
+    @Autowired
+    public MealImportService(FoodService foodService,
+                             MealDayCache mealDayCache,
+                             ObjectMapper objectMapper,
+                             SqlSessionFactory sqlSessionFactory,
+                             PlatformTransactionManager transactionManager) {
+        this(foodService, mealDayCache, objectMapper,
+                new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH),
+                new TransactionTemplate(transactionManager));
+    }
+
+    /**
+     * 테스트용: BATCH 세션과 트랜잭션을 직접 넘긴다.
+     */
+    MealImportService(FoodService foodService,
+                      MealDayCache mealDayCache,
+                      ObjectMapper objectMapper,
+                      SqlSessionTemplate batchSession,
+                      TransactionTemplate transactionTemplate) {
+        this.foodService = foodService;
+        this.mealDayCache = mealDayCache;
+        this.recordReader = objectMapper.readerFor(MealLogDto.class);
+        this.batchSession = batchSession;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * JSON 배열로 받은 기록 가져오기. userId 는 기록에 있는 값과 관계없이 로그인 사용자로 저장한다.
+     */
+    public MealImportResultDto importMeals(Integer userId, List<MealLogDto> records) {
+        ImportRun run = new ImportRun(userId, "json");
+        if (records != null) {
+            for (int i = 0; i < records.size() && !run.isFull(); i++) {
+                run.accept(i, null, records.get(i));
+            }
+            if (records.size() > maxRecords) run.truncated(maxRecords, null);
+        }
+        return run.finish();
+    }
+
+    /**
+     * 한 줄에 MealLogDto JSON 하나 (빈 줄은 무시).
+     */
+    public MealImportResultDto importNdjson(Integer userId, InputStream in) throws IOException {
+        ImportRun run = new ImportRun(userId, "ndjson");
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        int index = 0;
+        int lineNo = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+            if (run.isFull()) {
+                run.truncated(index, lineNo);
+                break;
+            }
+            MealLogDto record;
+            try {
+                record = recordReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                run.reject(index++, lineNo, "JSON 형식 오류: " + e.getOriginalMessage());
+                continue;
+            }
+            run.accept(index++, lineNo, record);
+        }
+        return run.finish();
+    }
+
+    /**
+     * 첫 줄은 헤더. 열 이름(순서 무관): date, mealType, mealCode 필수 / mealName, amount, kcal, protein, carbs, fat, meal 선택.
+     * 한 줄이 음식 하나이고, 연속된 줄 중 (meal, date, mealType) 이 같은 줄을 한 끼로 묶는다.
+     * 같은 날 같은 종류의 끼니를 따로 남기려면 meal 열에 서로 다른 값을 넣는다.
+     */
+    public MealImportResultDto importCsv(Integer userId, InputStream in) throws IOException {
+        ImportRun run = new ImportRun(userId, "csv");
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String header = reader.readLine();
+        if (header == null) return run.finish();
+        if (header.startsWith("\uFEFF")) header = header.substring(1); // 엑셀이 붙이는 BOM
+        CsvColumns columns = CsvColumns.of(splitCsv(header));
+
+        CsvMeal current = null;
+        int index = 0;
+        int lineNo = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+
+            List<String> cells = splitCsv(line);
+            String key = columns.groupKey(cells);
+            if (current == null || !current.key.equals(key)) {
+                if (current != null) current.submit(run);
+                if (run.isFull()) {
+                    run.truncated(index, lineNo);
+                    current = null;
+                    break;
+                }
+                current = new CsvMeal(index++, lineNo, key);
+            }
+            current.add(columns, cells, lineNo);
+        }
+        if (current != null) current.submit(run);
+        return run.finish();
+    }
+
+    /**
+     * 한 요청의 진행 상태. 기록을 chunkSize 끼니씩 모아 검증 → 저장한다.
+     */
+    private final class ImportRun {
+
+        private final Integer userId;
+        private final String format;
+        private final long started = System.nanoTime();
+
+        private final List<MealLogDto> pending = new ArrayList<>();
+        private final List<int[]> pendingPositions = new ArrayList<>(); // {index, line(없으면 -1)}
+
+        private int received;
+        private int imported;
+        private int importedItems;
+        private int failed;
+        private final List<MealImportErrorDto> errors = new ArrayList<>();
+        private boolean errorsTruncated;
+
+        ImportRun(Integer userId, String format) {
+            this.userId = userId;
+            this.format = format;
+        }
+
+        boolean isFull() {
+            return received >= maxRecords;
+        }
+
+        void accept(int index, Integer line, MealLogDto record) {
+            received++;
+            String error = validateShape(record);
+            if (error != null) {
+                fail(index, line, error);
+                return;
+            }
+            record.setId(null);
+            record.setUserId(userId);
+            pending.add(record);
+            pendingPositions.add(new int[]{index, line == null ? -1 : line});
+            if (pending.size() >= chunkSize) flush();
+        }
+
+        void reject(int index, Integer line, String message) {
+            received++;
+            fail(index, line, message);
+        }
+
+        void truncated(int index, Integer line) {
+            addError(index, line, "한 번에 최대 " + maxRecords + "끼니까지 가져올 수 있습니다. 이후 기록은 읽지 않았습니다.");
+        }
+
+        private void fail(int index, Integer line, String message) {
+            failed++;
+            addError(index, line, message);
+        }
+
+        private void addError(int index, Integer line, String message) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(MealImportErrorDto.builder().index(index).line(line).message(message).build());
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) return;
+
+            // 1) meal_code 확인 + 빈 값 채우기 (DB 트랜잭션 밖에서)
+            Map<String, FoodDetailDto> foods = lookupFoods(pending);
+            List<MealLogDto> valid = new ArrayList<>(pending.size());
+            List<int[]> validPositions = new ArrayList<>(pending.size());
+            for (int i = 0; i < pending.size(); i++) {
+                String error = resolveItems(pending.get(i), foods);
+                int[] pos = pendingPositions.get(i);
+                if (error != null) {
+                    fail(pos[0], pos[1] < 0 ? null : pos[1], error);
+                } else {
+                    valid.add(pending.get(i));
+                    validPositions.add(pos);
+                }
+            }
+            pending.clear();
+            pendingPositions.clear();
+            if (valid.isEmpty()) return;
+
+            // 2) 한 묶음 = 한 트랜잭션
+            try {
+                Integer items = transactionTemplate.execute(status -> writeChunk(valid));
+                imported += valid.size();
+                importedItems += items == null ? 0 : items;
+
+                Set<LocalDate> dates = new LinkedHashSet<>();
+                for (MealLogDto meal : valid) dates.add(meal.getDate());
+                mealDayCache.evict(userId, dates);
+            } catch (DataAccessException e) {
+                String cause = Objects.toString(e.getMostSpecificCause().getMessage(), "");
+                log.warn("[MealImport] chunk of {} meals rolled back for user {}: {}", valid.size(), userId, cause);
+                for (int[] pos : validPositions) {
+                    fail(pos[0], pos[1] < 0 ? null : pos[1], "저장 실패(같은 묶음 전체 롤백): " + cause);
+                }
+            }
+        }
+
+        MealImportResultDto finish() {
+            flush();
+            long elapsedNanos = System.nanoTime() - started;
+            long elapsedMillis = elapsedNanos / 1_000_000;
+            long itemsPerSecond = elapsedNanos == 0 ? 0 : importedItems * 1_000_000_000L / elapsedNanos;
+            if (received > 0) {
+                log.info("[MealImport] user {} ({}): {} meals / {} items imported, {} failed in {} ms ({} items/s)",
+                        userId, format, imported, importedItems, failed, elapsedMillis, itemsPerSecond);
+            }
+            return MealImportResultDto.builder()
+                    .received(received)
+                    .imported(imported)
+                    .importedItems(importedItems)
+                    .failed(failed)
+                    .elapsedMillis(elapsedMillis)
+                    .itemsPerSecond(itemsPerSecond)
+                    .errors(errors)
+                    .errorsTruncated(errorsTruncated)
+                    .build();
+        }
+    }
+
+    /**
+     * 한 묶음 저장. BATCH 실행기는 flushStatements 때 실제로 SQL 을 보내므로
+     * meal_history 를 먼저 보내 생성된 id 를 받은 뒤 meal 을, 그 id 까지 받은 뒤 하루 합계와 변경 이벤트를 보낸다.
+     *
+     * @return 저장한 음식 수
+     */
+    private int writeChunk(List<MealLogDto> meals) {
+        MealMapper mealMapper = batchSession.getMapper(MealMapper.class);
+        MealSummaryMapper summaryMapper = batchSession.getMapper(MealSummaryMapper.class);
+
+        for (MealLogDto meal : meals) {
+            mealMapper.insertMealLog(meal);
+        }
+        batchSession.flushStatements(); // → meal.id
+
+        int items = 0;
+        List<Long> historyIds = new ArrayList<>(meals.size());
+        for (MealLogDto meal : meals) {
+            historyIds.add(meal.getId());
+            for (MealItemDto item : meal.getItems()) {
+                item.setId(null);
+                item.setHistoryId(meal.getId());
+                mealMapper.insertMealItem(meal.getId(), item);
+                items++;
+            }
+        }
+
+        batchSession.flushStatements(); // → item.id (변경 이벤트에 담는다)
+
+        // 새로 넣은 끼니뿐이므로 (사용자, 날짜)별 합계를 한 번에 더하면 된다
+        summaryMapper.applyHistoriesDelta(historyIds, 1);
+
+        // 사용자별 잠금 행을 id 순으로 먼저 잡는다 (MealOutboxService.publish 와 같은 순서 보장, 묶음끼리 교착 없이)
+        MealOutboxMapper outboxMapper = batchSession.getMapper(MealOutboxMapper.class);
+        Set<Integer> userIds = new TreeSet<>();
+        for (MealLogDto meal : meals) userIds.add(meal.getUserId());
+        for (Integer userId : userIds) outboxMapper.lockUser(userId);
+
+        for (MealLogDto meal : meals) {
+            List<MealChangedEvent.ItemDelta> deltas = new ArrayList<>(meal.getItems().size());
+            for (MealItemDto item : meal.getItems()) deltas.add(MealChangedEvent.ItemDelta.added(item));
+            MealChangedEvent event = new MealChangedEvent(0, meal.getUserId(), meal.getDate(), meal.getId(),
+                    MealChangeType.CREATED, deltas);
+            outboxMapper.insertEvent(meal.getUserId(), meal.getDate(), MealChangedEventCodec.encode(event));
+        }
+        batchSession.flushStatements();
+        return items;
+    }
+
+    /**
+     * 묶음에 나온 meal_code 를 FoodService.MAX_BATCH_SIZE 개씩 나눠 조회한다.
+     */
+    private Map<String, FoodDetailDto> lookupFoods(List<MealLogDto> meals) {
+        Set<String> codes = new LinkedHashSet<>();
+        for (MealLogDto meal : meals) {
+            for (MealItemDto item : meal.getItems()) codes.add(item.getMealCode().trim());
+        }
+
+        Map<String, FoodDetailDto> foods = new HashMap<>(codes.size() * 2);
+        List<String> slice = new ArrayList<>(FoodService.MAX_BATCH_SIZE);
+        for (String code : codes) {
+            slice.add(code);
+            if (slice.size() == FoodService.MAX_BATCH_SIZE) {
+                foods.putAll(foodService.getFoodDetails(slice).getFoods());
+                slice.clear();
+            }
+        }
+        if (!slice.isEmpty()) foods.putAll(foodService.getFoodDetails(slice).getFoods());
+        return foods;
+    }
+
+    /**
+     * 카탈로그에 없는 meal_code 가 있으면 사유를 돌려준다.
+     * 있으면 비어 있는 이름, 섭취량(1회 제공량, 모르면 100g), 영양정보(100g 기준 × 섭취량)를 채운다.
+     * 카탈로그에 영양정보가 없는 식품은 다른 식단 경로처럼 비어 있는 영양값을 0 으로 둔다.
+     */
+    private static String resolveItems(MealLogDto meal, Map<String, FoodDetailDto> foods) {
+        List<MealItemDto> items = meal.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            MealItemDto item = items.get(i);
+            item.setMealCode(item.getMealCode().trim());
+            FoodDetailDto food = foods.get(item.getMealCode());
+            if (food == null) {
+                return "items[" + i + "].mealCode '" + item.getMealCode() + "' 는 식품 카탈로그에 없습니다.";
+            }
+
+            if (item.getMealName() == null || item.getMealName().isBlank()) {
+                item.setMealName(food.getFood() == null ? null : food.getFood().getFoodName());
+            }
+            if (item.getAmount() == null) {
+                Double grams = food.getFood() == null ? null : food.getFood().getServingGrams();
+                item.setAmount(FoodAmount.wholeGrams(grams));
+            }
+
+            NutritionFactsPrimaryDto nutrition = food.getNutrition();
+            double factor = item.getAmount() / 100.0;
+            if (item.getKcal() == null) item.setKcal(scaled(nutrition == null ? null : nutrition.getEnergyKcal(), factor));
+            if (item.getProtein() == null) item.setProtein(scaled(nutrition == null ? null : nutrition.getProteinG(), factor));
+            if (item.getCarbs() == null) item.setCarbs(scaled(nutrition == null ? null : nutrition.getCarbohydrateG(), factor));
+            if (item.getFat() == null) item.setFat(scaled(nutrition == null ? null : nutrition.getFatG(), factor));
+        }
+        return null;
+    }
+
+    private static Double scaled(Double per100g, double factor) {
+        return per100g == null ? 0.0 : Math.round(per100g * factor * 100.0) / 100.0;
+    }
+
+    /**
+     * 카탈로그 없이 확인할 수 있는 형식 오류
+     */
+    private static String validateShape(MealLogDto record) {
+        if (record == null) return "빈 기록입니다.";
+        if (record.getDate() == null) return "date 는 필수입니다.";
+        if (record.getMealType() == null) return "mealType 은 필수입니다.";
+
+        List<MealItemDto> items = record.getItems();
+        if (items == null || items.isEmpty()) return "items 가 비어 있습니다.";
+        if (items.size() > MAX_ITEMS_PER_MEAL) {
+            return "한 끼에 음식은 최대 " + MAX_ITEMS_PER_MEAL + "개까지 넣을 수 있습니다.";
+        }
+        for (int i = 0; i < items.size(); i++) {
+            MealItemDto item = items.get(i);
+            if (item == null) return "items[" + i + "] 가 비어 있습니다.";
+            if (item.getMealCode() == null || item.getMealCode().isBlank()) {
+                return "items[" + i + "].mealCode 는 필수입니다.";
+            }
+            if (item.getAmount() != null && item.getAmount() <= 0) {
+                return "items[" + i + "].amount 는 0 보다 커야 합니다.";
+            }
+        }
+        return null;
+    }
+
+    // ===== CSV =====
+
+    /**
+     * 헤더에서 찾은 열 위치 (없으면 -1)
+     */
+    private record CsvColumns(int meal, int date, int mealType, int mealCode, int mealName,
+                              int amount, int kcal, int protein, int carbs, int fat) {
+
+        static CsvColumns of(List<String> header) {
+            Map<String, Integer> pos = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                pos.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : List.of("date", "mealtype", "mealcode")) {
+                if (!pos.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV 헤더에 " + required + " 열이 없습니다. "
+                            + "(date, mealType, mealCode 필수 / mealName, amount, kcal, protein, carbs, fat, meal 선택)");
+                }
+            }
+            return new CsvColumns(pos.getOrDefault("meal", -1), pos.get("date"), pos.get("mealtype"),
+                    pos.get("mealcode"), pos.getOrDefault("mealname", -1), pos.getOrDefault("amount", -1),
+                    pos.getOrDefault("kcal", -1), pos.getOrDefault("protein", -1),
+                    pos.getOrDefault("carbs", -1), pos.getOrDefault("fat", -1));
+        }
+
+        String groupKey(List<String> cells) {
+            return cell(cells, meal) + '\u0000' + cell(cells, date) + '\u0000' + cell(cells, mealType);
+        }
+
+        static String cell(List<String> cells, int index) {
+            if (index < 0 || index >= cells.size()) return "";
+            return cells.get(index).trim();
+        }
+    }
+
+    /**
+     * CSV 에서 한 끼로 묶이는 연속된 줄들. 한 줄이라도 잘못되면 그 끼니 전체를 실패로 남긴다.
+     */
+    private static final class CsvMeal {
+
+        private final int index;
+        private final int line;
+        private final String key;
+        private final MealLogDto meal = new MealLogDto();
+        private String error;
+
+        CsvMeal(int index, int line, String key) {
+            this.index = index;
+            this.line = line;
+            this.key = key;
+            this.meal.setItems(new ArrayList<>());
+        }
+
+        void add(CsvColumns columns, List<String> cells, int lineNo) {
+            if (error != null) return;
+            try {
+                if (meal.getItems().isEmpty()) {
+                    meal.setDate(LocalDate.parse(CsvColumns.cell(cells, columns.date())));
+                    meal.setMealType(MealType.valueOf(
+                            CsvColumns.cell(cells, columns.mealType()).toUpperCase(Locale.ROOT)));
+                }
+                String name = CsvColumns.cell(cells, columns.mealName());
+                meal.getItems().add(MealItemDto.builder()
+                        .mealCode(CsvColumns.cell(cells, columns.mealCode()))
+                        .mealName(name.isEmpty() ? null : name)
+                        .amount(parseInteger(CsvColumns.cell(cells, columns.amount())))
+                        .kcal(parseDouble(CsvColumns.cell(cells, columns.kcal())))
+                        .protein(parseDouble(CsvColumns.cell(cells, columns.protein())))
+                        .carbs(parseDouble(CsvColumns.cell(cells, columns.carbs())))
+                        .fat(parseDouble(CsvColumns.cell(cells, columns.fat())))
+                        .build());
+            } catch (DateTimeParseException e) {
+                error = lineNo + "번째 줄: date 는 yyyy-MM-dd 형식이어야 합니다.";
+            } catch (IllegalArgumentException e) { // NumberFormatException 포함
+                error = lineNo + "번째 줄: " + (e instanceof NumberFormatException
+                        ? "숫자 형식 오류 (" + e.getMessage() + ")"
+                        : "mealType 은 " + List.of(MealType.values()) + " 중 하나여야 합니다.");
+            }
+        }
+
+        void submit(ImportRun run) {
+            if (error != null) {
+                run.reject(index, line, error);
+            } else {
+                run.accept(index, line, meal);
+            }
+        }
+
+        private static Integer parseInteger(String value) {
+            return value.isEmpty() ? null : (int) Math.round(Double.parseDouble(value));
+        }
+
+        private static Double parseDouble(String value) {
+            return value.isEmpty() ? null : Double.parseDouble(value);
+        }
+    }
+
+    /**
+     * RFC 4180 한 줄 분리 ("..." 안의 쉼표, "" 이스케이프). 줄바꿈이 든 칸은 지원하지 않는다.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cell.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
@@ -0,0 +1,203 @@
+package com.ssafy.yumcoach.meal.model.service;
+
+import com.ssafy.yumcoach.meal.event.MealChangeListener;
+import com.ssafy.yumcoach.meal.event.MealChangedEvent;
+import com.ssafy.yumcoach.meal.event.MealChangedEventCodec;
+import com.ssafy.yumcoach.meal.model.MealOutboxDto;
+import com.ssafy.yumcoach.meal.model.mapper.MealOutboxMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * meal_outbox 의 식단 변경 이벤트를 서버 안의 MealChangeListener 들에게 전달한다.
+ *
+ * - 지금 보낼 수 있는 대기 이벤트를 id 순서로 batchSize 개씩 FOR UPDATE SKIP LOCKED 로 잠그고 전달한 뒤 완료 표시한다.
+ *   재시도 대기 중인 사용자의 이벤트는 SQL 에서 빠지므로 그 뒤의 다른 사용자 이벤트가 밀리지 않는다.
+ * - 같은 사용자의 이벤트는 insert 전에 meal_outbox_user 행을 잠그므로 id 순서가 커밋 순서와 같다.
+ *   그래서 READ COMMITTED 로 읽을 때 뒤 id 만 먼저 보이는 일이 없다 (MealOutboxService).
+ * - 여러 서버는 서로 다른 행을 잠가 동시에 진행한다. 사용자 순서를 지키려고, 그 사용자의 더 앞선 대기 이벤트가
+ *   이번 묶음에 없으면 (다른 서버가 처리 중) 그 사용자의 이벤트는 이번 묶음에서 건드리지 않는다.
+ * - 이벤트 하나의 전달(모든 리스너 호출)은 별도 트랜잭션이다. 실패하면 그 전달만 롤백되고
+ *   그 사용자의 이후 이벤트는 이번 묶음에서 건너뛴다 (순서 보장). 다른 사용자는 계속 진행한다.
+ * - 실패한 이벤트는 지수 백오프로 다시 시도하고, maxAttempts 번 실패하면 포기(status 2)하고 로그를 남긴다.
+ *   다음 시도 시각은 DB 시각 기준이다 (서버 시계와 무관).
+ * - 완료 표시 전에 서버가 죽으면 다음 폴링에서 다시 전달한다 (최소 한 번). 리스너는 eventId 로 중복을 거른다.
+ */
+@Slf4j
+@Component
+public class MealOutboxDispatcher {
+
+    private static final long MAX_BACKOFF_SECONDS = 600;
+    private static final int PURGE_CHUNK = 5000;
+
+    private final MealOutboxMapper mealOutboxMapper;
+    private final ObjectProvider<MealChangeListener> listeners;
+    private final TransactionTemplate claimTx;
+    private final TransactionTemplate deliverTx;
+
+    @Value("${meal.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${meal.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${meal.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+
+    public MealOutboxDispatcher(MealOutboxMapper mealOutboxMapper,
+                                ObjectProvider<MealChangeListener> listeners,
+                                PlatformTransactionManager transactionManager) {
+        this.mealOutboxMapper = mealOutboxMapper;
+        this.listeners = listeners;
+
+        // 읽은 행만 잠그고 gap lock 은 걸지 않는다 (식단 저장의 outbox insert 를 막지 않도록)
+        this.claimTx = new TransactionTemplate(transactionManager);
+        this.claimTx.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+
+        this.deliverTx = new TransactionTemplate(transactionManager);
+        this.deliverTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(fixedDelayString = "${meal.outbox.poll-millis:1000}")
+    public void poll() {
+        if (!running.compareAndSet(false, true)) return;
+        try {
+            // 한 묶음을 다 처리했으면 밀린 이벤트가 더 있을 수 있으므로 바로 이어서
+            while (dispatchBatch() == batchSize) {
+                // continue
+            }
+        } catch (Exception e) {
+            log.error("[MealOutbox] dispatch failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * @return 이번 묶음에서 처리(전달 또는 실패 기록)한 이벤트 수. 보류한 이벤트는 세지 않는다.
+     */
+    int dispatchBatch() {
+        Integer processed = claimTx.execute(status -> {
+            List<MealOutboxDto> rows = mealOutboxMapper.selectPendingForUpdate(batchSize);
+            if (rows.isEmpty()) return 0;
+
+            List<MealChangeListener> targets = listeners.orderedStream().toList();
+            Set<Integer> blockedUsers = usersBehindOtherDispatchers(rows);
+            List<Long> done = new ArrayList<>(rows.size());
+            int count = 0;
+
+            for (MealOutboxDto row : rows) {
+                if (blockedUsers.contains(row.getUserId())) continue;
+
+                try {
+                    MealChangedEvent event = MealChangedEventCodec.decode(row.getId(), row.getPayload());
+                    if (!targets.isEmpty()) {
+                        deliverTx.executeWithoutResult(s -> {
+                            for (MealChangeListener listener : targets) listener.onMealChanged(event);
+                        });
+                    }
+                    done.add(row.getId());
+                } catch (Exception e) {
+                    if (!recordFailure(row, e)) blockedUsers.add(row.getUserId());
+                }
+                count++;
+            }
+
+            if (!done.isEmpty()) {
+                mealOutboxMapper.markDispatched(done);
+                delivered.addAndGet(done.size());
+            }
+            return count;
+        });
+        return processed == null ? 0 : processed;
+    }
+
+    /**
+     * 이번 묶음에 있는 사용자 중, 묶음 밖에 더 앞선 대기 이벤트가 있는 사용자.
+     * SKIP LOCKED 로 건너뛴 행(다른 서버가 전달 중)이 앞에 있다는 뜻이므로 이번에는 그 사용자를 건드리지 않는다.
+     */
+    private Set<Integer> usersBehindOtherDispatchers(List<MealOutboxDto> rows) {
+        Map<Integer, Long> firstInBatch = new LinkedHashMap<>();
+        for (MealOutboxDto row : rows) firstInBatch.putIfAbsent(row.getUserId(), row.getId());
+
+        Set<Integer> blocked = new HashSet<>();
+        for (MealOutboxDto head : mealOutboxMapper.selectPendingHeads(firstInBatch.keySet())) {
+            Long first = firstInBatch.get(head.getUserId());
+            if (first != null && head.getId() < first) blocked.add(head.getUserId());
+        }
+        return blocked;
+    }
+
+    /**
+     * @return 포기(dead)했으면 true
+     */
+    private boolean recordFailure(MealOutboxDto row, Exception e) {
+        int attempts = row.getAttempts() + 1;
+        boolean giveUp = attempts >= maxAttempts;
+        long backoff = Math.min(1L << Math.min(attempts, 20), MAX_BACKOFF_SECONDS);
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        if (message.length() > 500) message = message.substring(0, 500);
+
+        mealOutboxMapper.markFailed(row.getId(), message, backoff, giveUp);
+        failures.incrementAndGet();
+        if (giveUp) {
+            dead.incrementAndGet();
+            log.error("[MealOutbox] giving up event {} (user {}) after {} attempts", row.getId(), row.getUserId(),
+                    attempts, e);
+        } else {
+            log.warn("[MealOutbox] event {} (user {}) failed (attempt {}), retry in {} s: {}",
+                    row.getId(), row.getUserId(), attempts, backoff, message);
+        }
+        return giveUp;
+    }
+
+    /**
+     * 전달이 끝난 지 retentionDays 가 지난 행을 지운다.
+     */
+    @Scheduled(cron = "0 40 4 * * *", zone = "Asia/Seoul")
+    public void purgeDispatched() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        long total = 0;
+        try {
+            int deleted;
+            do {
+                deleted = mealOutboxMapper.deleteDispatchedBefore(before, PURGE_CHUNK);
+                total += deleted;
+            } while (deleted == PURGE_CHUNK);
+            log.info("[MealOutbox] purged {} dispatched events older than {}", total, before);
+        } catch (Exception e) {
+            log.error("[MealOutbox] purge failed", e);
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("pending", mealOutboxMapper.countPending());
+        status.put("listeners", listeners.orderedStream().count());
+        status.put("delivered", delivered.get());
+        status.put("failures", failures.get());
+        status.put("dead", dead.get());
+        return status;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ssafy.yumcoach.meal.model.service;
+
+import com.ssafy.yumcoach.meal.enums.MealChangeType;
+import com.ssafy.yumcoach.meal.event.MealChangedEvent;
+import com.ssafy.yumcoach.meal.event.MealChangedEventCodec;
+import com.ssafy.yumcoach.meal.model.mapper.MealOutboxMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 식단 변경 이벤트를 meal_outbox 에 남긴다.
+ * 호출하는 쪽의 트랜잭션 안에서 insert 하므로 식단 변경이 커밋될 때만 이벤트도 남는다.
+ * insert 전에 사용자별 잠금 행(meal_outbox_user)을 잠가, 같은 사용자의 이벤트는 커밋 순서대로 id 를 받는다.
+ * (잠금은 식단 변경의 다른 잠금을 모두 잡은 뒤 마지막에 걸리므로 교착 순서가 생기지 않는다)
+ * 전달은 MealOutboxDispatcher 가 한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MealOutboxService {
+
+    private final MealOutboxMapper mealOutboxMapper;
+
+    public void publish(Integer userId, LocalDate date, long historyId, MealChangeType type,
+                        List<MealChangedEvent.ItemDelta> items) {
+        if (userId == null || date == null || items.isEmpty()) return; // 합계가 바뀌지 않은 변경은 남기지 않는다
+        MealChangedEvent event = new MealChangedEvent(0, userId, date, historyId, type, items);
+        mealOutboxMapper.lockUser(userId);
+        mealOutboxMapper.insertEvent(userId, date, MealChangedEventCodec.encode(event));
+    }
+}
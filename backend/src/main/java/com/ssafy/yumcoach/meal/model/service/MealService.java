@@ -2,23 +2,29 @@ package com.ssafy.yumcoach.meal.model.service;
 
 import com.ssafy.yumcoach.meal.model.MealItemDto;
 import com.ssafy.yumcoach.meal.model.MealLogDto;
+import com.ssafy.yumcoach.meal.model.MealTimelinePageDto;
 
 import java.time.LocalDate;
 import java.util.List;
 
 public interface MealService {
 
+    int MAX_TIMELINE_SIZE = 100;
+
     // 특정 날짜의 식사 조회
     List<MealLogDto> getMealsByDate(Integer userId, LocalDate date);
 
     // 기간별 식사 조회 (옵션)
     List<MealLogDto> getMealsByDateRange(Integer userId, LocalDate startDate, LocalDate endDate);
 
+    // 전체 식사 기록을 최근 것부터 페이지 단위로 조회 (cursor 가 null 이면 첫 페이지)
+    MealTimelinePageDto getTimeline(Integer userId, String cursor, int size);
+
     // 식사 로그 저장 (한 끼)
     void saveMealLog(MealLogDto mealLog);
 
-    // 식사 로그 수정
-    void updateMealLog(MealLogDto mealLog);
+    // 식사 로그 수정 (바뀐 아이템만 반영), 요청 items 순서대로의 아이템 id 반환
+    List<Long> updateMealLog(MealLogDto mealLog);
 
     // 식사 로그 삭제
     void deleteMealLog(Long mealLogId);
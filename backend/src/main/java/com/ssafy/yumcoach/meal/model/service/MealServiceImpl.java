@@ -1,36 +1,85 @@
 package com.ssafy.yumcoach.meal.model.service;
 
+import com.ssafy.yumcoach.meal.enums.MealChangeType;
+import com.ssafy.yumcoach.meal.event.MealChangedEvent.ItemDelta;
 import com.ssafy.yumcoach.meal.model.MealItemDto;
 import com.ssafy.yumcoach.meal.model.mapper.MealMapper;
+import com.ssafy.yumcoach.meal.model.mapper.MealSummaryMapper;
 import com.ssafy.yumcoach.meal.model.MealLogDto;
+import com.ssafy.yumcoach.meal.model.MealTimelineCursor;
+import com.ssafy.yumcoach.meal.model.MealTimelinePageDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class MealServiceImpl implements MealService {
 
     private final MealMapper mealMapper;
+    private final MealSummaryMapper mealSummaryMapper;
+    private final MealDayCache mealDayCache;
+    private final MealOutboxService mealOutboxService;
 
+    /**
+     * (userId, 날짜) 캐시를 거쳐 조회한다. 아래 변경 메서드들이 바뀐 날짜만 커밋 직후 무효화한다.
+     */
     @Override
     public List<MealLogDto> getMealsByDate(Integer userId, LocalDate date) {
-        return mealMapper.selectMealLogsByUserAndDate(userId, date);
+        return mealDayCache.getDay(userId, date,
+                () -> mealMapper.selectMealLogsByUserAndDate(userId, date));
     }
 
     @Override
     public List<MealLogDto> getMealsByDateRange(Integer userId, LocalDate startDate, LocalDate endDate) {
-        return mealMapper.selectMealLogsByUserAndDateRange(userId, startDate, endDate);
+        return mealDayCache.getRange(userId, startDate, endDate,
+                (from, to) -> mealMapper.selectMealLogsByUserAndDateRange(userId, from, to));
+    }
+
+    /**
+     * keyset 페이지: 한 행 더(size + 1) 읽어 다음 페이지가 있는지 판단하고,
+     * 이 페이지 마지막 끼니의 (date, type, id) 를 다음 cursor 로 준다.
+     */
+    @Override
+    public MealTimelinePageDto getTimeline(Integer userId, String cursor, int size) {
+        if (size < 1 || size > MAX_TIMELINE_SIZE) {
+            throw new IllegalArgumentException("size 는 1 ~ " + MAX_TIMELINE_SIZE + " 사이여야 합니다.");
+        }
+        MealTimelineCursor after = cursor == null || cursor.isBlank() ? null : MealTimelineCursor.decode(cursor);
+
+        List<MealLogDto> rows = mealMapper.selectMealTimeline(
+                userId,
+                after == null ? null : after.date(),
+                after == null ? null : after.type().name(),
+                after == null ? null : after.id(),
+                size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<MealLogDto> page = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        return MealTimelinePageDto.builder()
+                .items(page)
+                .nextCursor(hasNext ? MealTimelineCursor.of(page.get(page.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .build();
     }
 
     /**
      * 저장 방식:
      * 1) meal_history insert
      * 2) meal bulk insert
+     * 3) 그날 합계(meal_daily_summary)에 이 끼니 합계를 더한다
+     * 4) 변경 이벤트(outbox) 기록
      */
     @Transactional
     @Override
@@ -42,26 +91,106 @@ public class MealServiceImpl implements MealService {
         if (mealLog.getItems() != null && !mealLog.getItems().isEmpty()) {
             mealMapper.insertMealItems(mealLog.getId(), mealLog.getItems());
         }
+
+        // 3) 하루 합계 반영
+        mealSummaryMapper.applyHistoryDelta(mealLog.getId(), 1);
+
+        mealDayCache.evictAfterCommit(mealLog.getUserId(), Collections.singletonList(mealLog.getDate()));
+
+        // 4) 변경 이벤트
+        List<ItemDelta> deltas = new ArrayList<>();
+        if (mealLog.getItems() != null) {
+            for (MealItemDto item : mealLog.getItems()) deltas.add(ItemDelta.added(item));
+        }
+        mealOutboxService.publish(mealLog.getUserId(), mealLog.getDate(), mealLog.getId(),
+                MealChangeType.CREATED, deltas);
     }
 
     /**
      * 수정 방식:
      * 1) meal_history update
-     * 2) 기존 meal 삭제 → 새로 insert
+     * 2) 기존 아이템과 id 로 비교해 바뀐 것만 반영
+     *    - id 가 없거나 이 끼니에 없는 id → 새로 insert (한 번에)
+     *    - id 가 같고 값이 바뀜 → update (한 번에)
+     *    - 요청에 없는 기존 아이템 → delete (한 번에)
+     * 하루 합계는 수정 전 끼니 합계를 빼고(날짜가 바뀌었으면 옛 날짜에서) 수정 후 합계를 더한다.
+     * 변경 이벤트는 바뀐 아이템만 담는다. 날짜를 옮겼으면 옛 날짜에서 전부 빼고 새 날짜에 전부 더하는 두 건.
+     *
+     * @return 요청 items 순서대로의 아이템 id
      */
     @Transactional
     @Override
-    public void updateMealLog(MealLogDto mealLog) {
+    public List<Long> updateMealLog(MealLogDto mealLog) {
+        Long historyId = mealLog.getId();
+        MealLogDto header = mealMapper.selectMealLogHeader(historyId);
+        mealSummaryMapper.applyHistoryDelta(historyId, -1);
+
         // 1) 한 끼 메타 수정
         mealMapper.updateMealLog(mealLog);
 
-        // 2) 기존 아이템 전체 삭제
-        mealMapper.deleteMealItemsByHistoryId(mealLog.getId());
+        // 2) 기존 아이템과 비교
+        Map<Long, MealItemDto> existing = new LinkedHashMap<>();
+        for (MealItemDto item : mealMapper.selectMealItemsByHistoryId(historyId)) {
+            existing.put(item.getId(), item);
+        }
 
-        // 3) 새로운 아이템 추가
-        if (mealLog.getItems() != null && !mealLog.getItems().isEmpty()) {
-            mealMapper.insertMealItems(mealLog.getId(), mealLog.getItems());
+        List<MealItemDto> requested = mealLog.getItems() == null ? List.of() : mealLog.getItems();
+        List<MealItemDto> toInsert = new ArrayList<>();
+        List<MealItemDto> toUpdate = new ArrayList<>();
+        Set<Long> kept = new HashSet<>();
+        for (MealItemDto item : requested) {
+            MealItemDto before = item.getId() == null ? null : existing.get(item.getId());
+            if (before == null || !kept.add(item.getId())) {
+                item.setId(null); // 다른 끼니의 id 나 중복 id 는 새 아이템으로 취급
+                toInsert.add(item);
+            } else if (changed(before, item)) {
+                toUpdate.add(item);
+            }
+        }
+
+        List<Long> toDelete = new ArrayList<>();
+        for (Long id : existing.keySet()) {
+            if (!kept.contains(id)) toDelete.add(id);
+        }
+
+        if (!toDelete.isEmpty()) mealMapper.deleteMealItemsByIds(historyId, toDelete);
+        if (!toUpdate.isEmpty()) mealMapper.updateMealItemsBatch(historyId, toUpdate);
+        if (!toInsert.isEmpty()) mealMapper.insertMealItems(historyId, toInsert);
+
+        mealSummaryMapper.applyHistoryDelta(historyId, 1);
+
+        if (header != null) {
+            // 날짜를 옮겼으면 옛 날짜와 새 날짜 모두
+            mealDayCache.evictAfterCommit(header.getUserId(), Arrays.asList(header.getDate(), mealLog.getDate()));
+
+            if (mealLog.getDate() == null || mealLog.getDate().equals(header.getDate())) {
+                List<ItemDelta> deltas = new ArrayList<>();
+                for (Long id : toDelete) deltas.add(ItemDelta.removed(existing.get(id)));
+                for (MealItemDto item : toUpdate) {
+                    deltas.add(ItemDelta.removed(existing.get(item.getId())));
+                    deltas.add(ItemDelta.added(item));
+                }
+                for (MealItemDto item : toInsert) deltas.add(ItemDelta.added(item));
+                mealOutboxService.publish(header.getUserId(), header.getDate(), historyId,
+                        MealChangeType.UPDATED, deltas);
+            } else {
+                List<ItemDelta> out = new ArrayList<>();
+                for (MealItemDto item : existing.values()) out.add(ItemDelta.removed(item));
+                List<ItemDelta> in = new ArrayList<>();
+                for (MealItemDto item : requested) in.add(ItemDelta.added(item));
+                mealOutboxService.publish(header.getUserId(), header.getDate(), historyId,
+                        MealChangeType.MOVED_OUT, out);
+                mealOutboxService.publish(header.getUserId(), mealLog.getDate(), historyId,
+                        MealChangeType.MOVED_IN, in);
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(requested.size());
+        for (MealItemDto item : requested) {
+            item.setHistoryId(historyId);
+            ids.add(item.getId());
         }
+        return ids;
     }
 
     /**
@@ -72,12 +201,26 @@ public class MealServiceImpl implements MealService {
     @Transactional
     @Override
     public void deleteMealLog(Long mealLogId) {
+        MealLogDto header = evictDayOf(mealLogId);
+        List<MealItemDto> before = mealMapper.selectMealItemsByHistoryId(mealLogId);
+        mealSummaryMapper.applyHistoryDelta(mealLogId, -1);
         mealMapper.deleteMealItemsByHistoryId(mealLogId);
+
+        if (header != null) {
+            List<ItemDelta> deltas = new ArrayList<>();
+            for (MealItemDto item : before) deltas.add(ItemDelta.removed(item));
+            mealOutboxService.publish(header.getUserId(), header.getDate(), mealLogId,
+                    MealChangeType.DELETED, deltas);
+        }
     }
 
     @Transactional
     @Override
     public void deleteMealItem(long userId, long mealLogId, long mealItemId) {
+        MealLogDto header = evictDayOf(mealLogId);
+        MealItemDto before = findItem(mealLogId, mealItemId);
+        // 삭제 전에 값을 빼 둔다 (삭제되지 않으면 예외로 함께 롤백)
+        mealSummaryMapper.applyItemDelta(mealItemId, -1);
         int deleted = mealMapper.deleteMealItemScoped(
                 userId,
                 mealLogId,
@@ -91,6 +234,28 @@ public class MealServiceImpl implements MealService {
         if (remaining == 0) {
             mealMapper.deleteMealLogByIdAndUserId(mealLogId, userId);
         }
+
+        if (header != null && before != null) {
+            mealOutboxService.publish(header.getUserId(), header.getDate(), mealLogId,
+                    MealChangeType.ITEM_DELETED, List.of(ItemDelta.removed(before)));
+        }
+    }
+
+    /**
+     * 저장된 값(DECIMAL(10,2))과 비교하므로 영양정보는 소수점 둘째자리로 맞춰 비교한다.
+     */
+    private static boolean changed(MealItemDto before, MealItemDto after) {
+        return !Objects.equals(before.getMealCode(), after.getMealCode())
+                || !Objects.equals(before.getMealName(), after.getMealName())
+                || !Objects.equals(before.getAmount(), after.getAmount())
+                || !Objects.equals(scale2(before.getKcal()), scale2(after.getKcal()))
+                || !Objects.equals(scale2(before.getProtein()), scale2(after.getProtein()))
+                || !Objects.equals(scale2(before.getCarbs()), scale2(after.getCarbs()))
+                || !Objects.equals(scale2(before.getFat()), scale2(after.getFat()));
+    }
+
+    private static Long scale2(Double v) {
+        return v == null ? null : Math.round(v * 100.0);
     }
 
     /**
@@ -102,6 +267,36 @@ public class MealServiceImpl implements MealService {
     public void updateMealItem(Integer userId, Long mealLogId, MealItemDto mealItemDto) {
         // 권한 확인: 해당 아이템이 현재 사용자의 mealLog에 속하는지 확인
         // (선택사항: 더 엄격한 권한 체크 원하면 userId도 함께 검증)
+        MealLogDto header = evictDayOf(mealLogId);
+        MealItemDto before = findItem(mealLogId, mealItemDto.getId());
+        mealSummaryMapper.applyItemDelta(mealItemDto.getId(), -1);
         mealMapper.updateMealItem(mealItemDto);
+        mealSummaryMapper.applyItemDelta(mealItemDto.getId(), 1);
+
+        if (header != null && before != null) {
+            mealItemDto.setHistoryId(mealLogId);
+            mealOutboxService.publish(header.getUserId(), header.getDate(), mealLogId,
+                    MealChangeType.ITEM_UPDATED, List.of(ItemDelta.removed(before), ItemDelta.added(mealItemDto)));
+        }
+    }
+
+    /**
+     * 이 끼니가 속한 (사용자, 날짜)의 캐시를 커밋 직후 지우도록 등록한다.
+     *
+     * @return 끼니 메타 정보 (없으면 null)
+     */
+    private MealLogDto evictDayOf(long historyId) {
+        MealLogDto header = mealMapper.selectMealLogHeader(historyId);
+        if (header != null) {
+            mealDayCache.evictAfterCommit(header.getUserId(), Collections.singletonList(header.getDate()));
+        }
+        return header;
+    }
+
+    private MealItemDto findItem(long historyId, Long mealItemId) {
+        for (MealItemDto item : mealMapper.selectMealItemsByHistoryId(historyId)) {
+            if (item.getId().equals(mealItemId)) return item;
+        }
+        return null;
     }
 }
@@ -0,0 +1,169 @@
+package com.ssafy.yumcoach.meal.model.service;
+
+import com.ssafy.yumcoach.meal.enums.MealType;
+import com.ssafy.yumcoach.meal.enums.SummaryBucket;
+import com.ssafy.yumcoach.meal.model.MealBucketSummaryDto;
+import com.ssafy.yumcoach.meal.model.MealDailySummaryDto;
+import com.ssafy.yumcoach.meal.model.MealTotalsDto;
+import com.ssafy.yumcoach.meal.model.MealTypeDailyTotalDto;
+import com.ssafy.yumcoach.meal.model.mapper.MealSummaryMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자별 하루 영양 합계(meal_daily_summary) 조회 / 보정
+ *
+ * - 합계는 MealServiceImpl 이 식단을 저장/수정/삭제할 때 같은 트랜잭션에서 증감분으로 갱신한다.
+ * - 조회는 (user_id, date) PK 범위 스캔 한 번으로 N일치를 읽는다 (meal 행을 훑지 않음).
+ * - 끼니 종류별 기간 집계는 SQL GROUP BY 로 하루 × 끼니 종류 단위까지 줄인 뒤 주/월로 묶는다.
+ * - 증감 경로를 거치지 않은 변경(직접 SQL, 사용자 삭제 등)으로 어긋난 값은
+ *   매일 새벽 최근 며칠을 meal 원본으로 다시 계산해 맞춘다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MealSummaryService {
+
+    /** 한 번에 조회할 수 있는 최대 일수 */
+    public static final int MAX_DAYS = 366;
+
+    /** 기간 집계로 조회할 수 있는 최대 일수 (약 3년) */
+    public static final int MAX_RANGE_DAYS = 1096;
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private final MealSummaryMapper mealSummaryMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${meal.summary.reconcile-days:7}")
+    private int reconcileDays;
+
+    /**
+     * endDate 까지 days 일치 하루 합계 (날짜 오름차순). 기록이 없는 날도 0 으로 채워 정확히 days 개를 돌려준다.
+     */
+    public List<MealDailySummaryDto> getDailySummaries(Integer userId, LocalDate endDate, int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("days 는 1 ~ " + MAX_DAYS + " 사이여야 합니다.");
+        }
+        LocalDate startDate = endDate.minusDays(days - 1L);
+
+        Map<LocalDate, MealDailySummaryDto> byDate = new HashMap<>();
+        for (MealDailySummaryDto row : mealSummaryMapper.selectDailySummaries(userId, startDate, endDate)) {
+            byDate.put(row.getDate(), row);
+        }
+
+        List<MealDailySummaryDto> result = new ArrayList<>(days);
+        for (LocalDate d = startDate; !d.isAfter(endDate); d = d.plusDays(1)) {
+            MealDailySummaryDto row = byDate.get(d);
+            result.add(row != null ? row : MealDailySummaryDto.builder()
+                    .userId(userId)
+                    .date(d)
+                    .kcal(0.0)
+                    .protein(0.0)
+                    .carbs(0.0)
+                    .fat(0.0)
+                    .itemCount(0)
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * [startDate, endDate] 기간의 구간별 합계와 끼니 종류별 합계.
+     * 식사 기록 전체를 객체로 만들지 않고 하루 × 끼니 종류 단위로 집계한 행만 읽는다.
+     * 기록이 없는 구간도 0 으로 채워 차트에 바로 쓸 수 있게 한다.
+     */
+    public List<MealBucketSummaryDto> getRangeSummary(Integer userId, LocalDate startDate, LocalDate endDate,
+                                                      SummaryBucket bucket) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate 는 endDate 보다 늦을 수 없습니다.");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("기간은 최대 " + MAX_RANGE_DAYS + "일까지 조회할 수 있습니다.");
+        }
+
+        // 구간 첫날 → 구간 (날짜 순서 유지)
+        Map<LocalDate, MealBucketSummaryDto> buckets = new LinkedHashMap<>();
+        for (LocalDate start = bucket.startOf(startDate); !start.isAfter(endDate); start = bucket.next(start)) {
+            LocalDate last = bucket.next(start).minusDays(1);
+            buckets.put(start, MealBucketSummaryDto.builder()
+                    .startDate(start.isBefore(startDate) ? startDate : start)
+                    .endDate(last.isAfter(endDate) ? endDate : last)
+                    .total(new MealTotalsDto())
+                    .byMealType(new EnumMap<>(MealType.class))
+                    .build());
+        }
+
+        for (MealTypeDailyTotalDto row : mealSummaryMapper.selectTypeTotalsByDay(userId, startDate, endDate)) {
+            MealBucketSummaryDto target = buckets.get(bucket.startOf(row.getDate()));
+            if (target == null) continue;
+            target.getTotal().add(row);
+            if (row.getMealType() != null) {
+                target.getByMealType().computeIfAbsent(row.getMealType(), t -> new MealTotalsDto()).add(row);
+            }
+        }
+
+        List<MealBucketSummaryDto> result = new ArrayList<>(buckets.values());
+        for (MealBucketSummaryDto b : result) {
+            b.getTotal().round();
+            b.getByMealType().values().forEach(MealTotalsDto::round);
+        }
+        return result;
+    }
+
+    /**
+     * 매일 새벽 최근 reconcileDays 일을 원본으로 다시 맞춘다.
+     */
+    @Scheduled(cron = "0 10 4 * * *", zone = "Asia/Seoul")
+    public void reconcileRecent() {
+        LocalDate today = LocalDate.now(ZONE);
+        try {
+            reconcile(today.minusDays(reconcileDays - 1L), today);
+        } catch (Exception e) {
+            log.error("[MealSummary] reconcile failed", e);
+        }
+    }
+
+    /**
+     * [startDate, endDate] 기간의 하루 합계를 meal 원본으로 다시 계산해 덮어쓴다.
+     * 하루씩 따로 커밋하고, 하루 안에서 덮어쓰기와 고아 행 삭제는 한 트랜잭션이다.
+     * READ COMMITTED 라 INSERT … SELECT 가 meal_history / meal 을 잠금 없이 읽으므로
+     * 보정 중에도 사용자의 식단 저장이 막히지 않는다 (잠기는 건 그날 meal_daily_summary 행뿐).
+     * reconcileRecent 처럼 같은 빈 안에서 불러도 프록시를 거치지 않으므로 @Transactional 대신 TransactionTemplate 으로 묶는다.
+     */
+    public void reconcile(LocalDate startDate, LocalDate endDate) {
+        long started = System.nanoTime();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+
+        int upserted = 0;
+        int removed = 0;
+        for (LocalDate d = startDate; !d.isAfter(endDate); d = d.plusDays(1)) {
+            LocalDate day = d;
+            int[] counts = tx.execute(status -> new int[]{
+                    mealSummaryMapper.reconcileDailySummaries(day, day),
+                    mealSummaryMapper.deleteOrphanDailySummaries(day, day)
+            });
+            upserted += counts[0];
+            removed += counts[1];
+        }
+        log.info("[MealSummary] reconciled {} ~ {} ({} rows upserted, {} removed) in {} ms",
+                startDate, endDate, upserted, removed, (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -41,6 +41,8 @@ public class MealTodoController {
      *
      * 예:
      * /meal-todos?userId=1&mealType=DINNER&foodCode=FD_001&foodName=닭가슴살&defaultGrams=150
+     *
+     * defaultGrams 를 생략하면 식품의 1회 제공량(그램)을, 그것도 없으면 100g 을 쓴다.
      */
     @PostMapping
     public ResponseEntity<@NonNull String> createTodo(
@@ -48,7 +50,7 @@ public class MealTodoController {
             @RequestParam MealType mealType,
             @RequestParam String foodCode,
             @RequestParam String foodName,
-            @RequestParam Integer defaultGrams
+            @RequestParam(required = false) Integer defaultGrams
     ) {
         mealTodoService.createTodo(
                 user.getUserId(),
@@ -2,6 +2,7 @@ package com.ssafy.yumcoach.meal.todo.model.service;
 
 import com.ssafy.yumcoach.food.model.FoodDetailDto;
 import com.ssafy.yumcoach.food.model.NutritionFactsPrimaryDto;
+import com.ssafy.yumcoach.food.model.catalog.FoodAmount;
 import com.ssafy.yumcoach.food.model.service.FoodService;
 import com.ssafy.yumcoach.meal.enums.MealType;
 import com.ssafy.yumcoach.meal.model.MealItemDto;
@@ -47,7 +48,7 @@ public class MealTodoServiceImpl implements MealTodoService {
         todo.setMealType(mealType);
         todo.setFoodCode(foodCode);
         todo.setFoodName(foodName);
-        todo.setDefaultGrams(defaultGrams);
+        todo.setDefaultGrams(defaultGrams != null ? defaultGrams : servingGrams(foodCode));
 
         mealTodoMapper.insert(todo);
     }
@@ -109,11 +110,21 @@ public class MealTodoServiceImpl implements MealTodoService {
                 .items(List.of(item))
                 .build();
 
+        // 하루 합계 / 날짜별 캐시 무효화는 saveMealLog 가 이 트랜잭션 커밋에 맞춰 처리한다
         mealService.saveMealLog(mealLog);
 
         mealTodoMapper.deleteById(todoId, userId);
     }
 
+    /**
+     * 식품의 1회 제공량(그램, 카탈로그 적재 때 환산해 둔 값). 모르면 100g, 최소 1g.
+     */
+    private int servingGrams(String foodCode) {
+        FoodDetailDto detail = foodService.getFoodDetail(foodCode);
+        Double grams = detail == null || detail.getFood() == null ? null : detail.getFood().getServingGrams();
+        return FoodAmount.wholeGrams(grams);
+    }
+
     @Override
     public void deleteTodo(Integer userId, Long todoId) {
         mealTodoMapper.deleteById(todoId, userId);
@@ -4,8 +4,10 @@ import com.ssafy.yumcoach.report.model.CreateReportRequest;
 import com.ssafy.yumcoach.report.model.ReportDto;
 import com.ssafy.yumcoach.report.service.ReportService;
 import com.ssafy.yumcoach.report.model.mapper.ReportMapper;
+import com.ssafy.yumcoach.report.scheduler.ReportScheduler;
 import com.ssafy.yumcoach.user.model.User;
 import com.ssafy.yumcoach.user.model.mapper.UserMapper;
+import com.ssafy.yumcoach.user.model.service.UserService;
 import com.ssafy.yumcoach.auth.util.JwtUtil;
 import jakarta.servlet.http.Cookie;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +36,8 @@ public class ReportController {
     private final ReportMapper reportMapper;
     private final UserMapper userMapper;
     private final Environment env;
+    private final ReportScheduler reportScheduler;
+    private final UserService userService;
 
     /**
      * 🔥 헬퍼: userId 추출 (토큰에서만)
@@ -102,6 +106,64 @@ public class ReportController {
         }
     }
 
+    /**
+     * 관리자 확인. 통과하면 null, 아니면 401/403 응답
+     */
+    private ResponseEntity<?> checkAdmin(HttpServletRequest request) {
+        Integer adminId = extractUserId(request);
+        if (adminId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "인증이 필요합니다."));
+        }
+
+        if (!userService.isAdmin(adminId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "관리자 권한이 필요합니다."));
+        }
+        return null;
+    }
+
+    /**
+     * 배치 진행 상황 / 처리량 / 동시 실행 한도 (관리자 전용)
+     */
+    @GetMapping("/admin/scheduler-status")
+    public ResponseEntity<?> schedulerStatus(HttpServletRequest request) {
+        ResponseEntity<?> denied = checkAdmin(request);
+        if (denied != null) return denied;
+
+        return ResponseEntity.ok(reportScheduler.status());
+    }
+
+    /**
+     * 최근 배치 실행 기록 (관리자 전용)
+     */
+    @GetMapping("/admin/runs")
+    public ResponseEntity<?> recentRuns(HttpServletRequest request,
+                                        @RequestParam(defaultValue = "20") int limit) {
+        ResponseEntity<?> denied = checkAdmin(request);
+        if (denied != null) return denied;
+
+        return ResponseEntity.ok(reportScheduler.recentRuns(limit));
+    }
+
+    /**
+     * 배치 실행에서 실패한 사용자만 다시 처리 (관리자 전용, 비동기)
+     */
+    @PostMapping("/admin/runs/{runId}/retry-failed")
+    public ResponseEntity<?> retryFailed(HttpServletRequest request, @PathVariable long runId) {
+        ResponseEntity<?> denied = checkAdmin(request);
+        if (denied != null) return denied;
+
+        try {
+            int queued = reportScheduler.redriveFailed(runId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(Map.of("runId", runId, "queued", queued));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * 일간 리포트 생성
      */
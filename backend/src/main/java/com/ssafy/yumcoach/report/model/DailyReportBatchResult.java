@@ -0,0 +1,28 @@
+package com.ssafy.yumcoach.report.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyReportBatchResult {
+    /**
+     * 일간 리포트 배치 한 묶음의 결과
+     *
+     * - `success`: 리포트를 만들었거나 (재개 시) 분석을 마친 사용자 수
+     * - `skipped`: 식사 기록이 없거나 이미 배치 리포트가 끝난 사용자 수
+     * - `analyzed`: 그중 AI 분석까지 성공한 수
+     * - `*Millis`: 단계별 소요 시간 (집계 + 저장 / AI 분석 / 마무리)
+     */
+    private int success;
+    private int skipped;
+    private int analyzed;
+    private int mealRows;
+    private long aggregateMillis;
+    private long analyzeMillis;
+    private long finalizeMillis;
+}
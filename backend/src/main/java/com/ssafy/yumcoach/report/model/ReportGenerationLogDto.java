@@ -0,0 +1,27 @@
+package com.ssafy.yumcoach.report.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportGenerationLogDto {
+    /**
+     * `report_generation_log` 한 행 (배치에서 여러 행을 한 번에 넣을 때 사용)
+     */
+    private Integer userId;
+    private String type;
+    private LocalDate date;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private String triggeredBy;
+    private String result;
+    private Integer reportId;
+    private String details;
+}
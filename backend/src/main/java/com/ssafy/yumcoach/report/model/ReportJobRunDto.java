@@ -0,0 +1,38 @@
+package com.ssafy.yumcoach.report.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobRunDto {
+    /**
+     * 리포트 배치 한 번의 실행 기록 (`report_job_run`)
+     *
+     * - `runKey`: 배치 식별자 (예: DAILY:2026-10-16, WEEKLY:2026-10-06)
+     * - `fromDate`/`toDate`: 대상 기간 (일간은 같은 날)
+     * - `shardCount`: 실행을 시작할 때의 샤드 수 (재개할 때도 이 값을 쓴다)
+     * - `success`/`skipped`/`failed`/`shardsDone`: 샤드 행을 합한 값 (조회 시에만 채워짐)
+     */
+    private Long id;
+    private String runKey;
+    private String type;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private Integer shardCount;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+
+    private Integer success;
+    private Integer skipped;
+    private Integer failed;
+    private Integer shardsDone;
+}
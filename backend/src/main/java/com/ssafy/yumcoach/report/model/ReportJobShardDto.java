@@ -0,0 +1,23 @@
+package com.ssafy.yumcoach.report.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobShardDto {
+    /**
+     * 배치 샤드 하나의 진행 상태 (`report_job_shard`)
+     *
+     * - `lastUserId`: 이 샤드에서 마지막으로 처리한 user_id. 재개하면 이보다 큰 사용자부터 처리한다.
+     * - `status`: PENDING / DONE
+     */
+    private Long runId;
+    private Integer shard;
+    private Integer lastUserId;
+    private String status;
+}
@@ -0,0 +1,32 @@
+package com.ssafy.yumcoach.report.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportMealRowDto {
+    /**
+     * 일간 리포트 배치 집계용 한 행 (meal_history ⟕ meal ⟕ food_items / nutrition_facts_primary)
+     *
+     * - user_id, history id, meal id 순으로 정렬되어 스트리밍된다.
+     * - 아이템이 없는 끼니도 한 행 나온다 (`mealId` null) - 끼니 수 계산용.
+     * - `hasNutrition`: 음식 / 영양 정보가 있는 아이템인지 (없으면 합계에서 뺀다)
+     * - 영양소는 100g 기준 값이다.
+     */
+    private Integer userId;
+    private Integer historyId;
+    private String mealType;
+    private Integer mealId;
+    private Integer amount;
+    private String foodName;
+    private boolean hasNutrition;
+    private Double energyKcal;
+    private Double proteinG;
+    private Double carbohydrateG;
+    private Double fatG;
+}
@@ -0,0 +1,94 @@
+package com.ssafy.yumcoach.report.model.mapper;
+
+import com.ssafy.yumcoach.report.model.ReportJobRunDto;
+import com.ssafy.yumcoach.report.model.ReportJobShardDto;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface ReportJobMapper {
+    /**
+     * 배치 실행 행을 만든다. 같은 run_key 가 이미 있으면 (다른 서버가 먼저 만들었거나 재개) 아무것도 하지 않는다.
+     */
+    int insertRunIfAbsent(ReportJobRunDto run);
+
+    ReportJobRunDto selectRunByKey(@Param("runKey") String runKey);
+
+    /**
+     * 샤드 합계를 포함한 실행 기록
+     */
+    ReportJobRunDto selectRunById(@Param("id") Long id);
+
+    /**
+     * 최근 실행 기록 (샤드 합계 포함, 최신순)
+     */
+    List<ReportJobRunDto> selectRecentRuns(@Param("limit") int limit);
+
+    /**
+     * since 이후 시작해 아직 끝나지 않은 실행 (서버 재시작 시 재개 대상)
+     */
+    List<ReportJobRunDto> selectUnfinishedRuns(@Param("since") LocalDateTime since);
+
+    /**
+     * 샤드 행을 만든다 (이미 있으면 건너뜀).
+     */
+    int insertShards(@Param("runId") Long runId, @Param("shards") List<Integer> shards);
+
+    ReportJobShardDto selectShard(@Param("runId") Long runId, @Param("shard") int shard);
+
+    /**
+     * 샤드 커서를 lastUserId 로 옮기고 결과 수를 더한다. lastUserId 가 null 이면 커서는 그대로 둔다 (재처리).
+     * fence 가 있으면 그 임대일 때만 바꾼다 (임대를 잃었으면 0).
+     */
+    int advanceShard(@Param("runId") Long runId,
+                     @Param("shard") int shard,
+                     @Param("fence") Long fence,
+                     @Param("lastUserId") Integer lastUserId,
+                     @Param("success") int success,
+                     @Param("skipped") int skipped,
+                     @Param("failed") int failed);
+
+    /**
+     * 샤드 완료 표시 + 임대 해제 (그 임대일 때만)
+     */
+    int markShardDone(@Param("runId") Long runId, @Param("shard") int shard, @Param("fence") long fence);
+
+    /**
+     * 끝나지 않았고 임자가 없거나 만료된 샤드를 owner 로 가져간다 (fence + 1). 가져갔으면 1.
+     */
+    int claimShard(@Param("runId") Long runId,
+                   @Param("shard") int shard,
+                   @Param("owner") String owner,
+                   @Param("ttlSeconds") long ttlSeconds);
+
+    Long selectShardFence(@Param("runId") Long runId, @Param("shard") int shard, @Param("owner") String owner);
+
+    int renewShardLease(@Param("runId") Long runId,
+                        @Param("shard") int shard,
+                        @Param("fence") long fence,
+                        @Param("ttlSeconds") long ttlSeconds);
+
+    /**
+     * 아직 그 임대면 fence, 아니면 null. 샤드 행을 FOR UPDATE 로 잠근다.
+     */
+    Long lockShardLease(@Param("runId") Long runId, @Param("shard") int shard, @Param("fence") long fence);
+
+    int releaseShardLease(@Param("runId") Long runId, @Param("shard") int shard, @Param("fence") long fence);
+
+    /**
+     * 모든 샤드가 끝났으면 실행을 COMPLETED 로 바꾼다.
+     */
+    int completeRunIfDone(@Param("runId") Long runId);
+
+    /**
+     * 실패 기록 (이미 있으면 시도 횟수를 올리고 FAILED 로 되돌림)
+     */
+    int upsertFailure(@Param("runId") Long runId, @Param("userId") int userId, @Param("error") String error);
+
+    List<Integer> selectFailedUserIds(@Param("runId") Long runId);
+
+    int resolveFailure(@Param("runId") Long runId, @Param("userId") int userId);
+}
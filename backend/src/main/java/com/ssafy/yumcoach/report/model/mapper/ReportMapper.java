@@ -1,13 +1,17 @@
 package com.ssafy.yumcoach.report.model.mapper;
 
 import com.ssafy.yumcoach.report.model.ReportDto;
+import com.ssafy.yumcoach.report.model.ReportGenerationLogDto;
+import com.ssafy.yumcoach.report.model.ReportMealRowDto;
 import com.ssafy.yumcoach.report.model.ReportMealDto;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.Collection;
 import java.util.List;
 import com.ssafy.yumcoach.report.model.ReportInsightDto;
 
@@ -111,4 +115,49 @@ public interface ReportMapper {
     void updateReportHero(@Param("reportId") int reportId, @Param("heroTitle") String heroTitle, @Param("heroLine") String heroLine);
 
     void deleteInsightsByReportId(@Param("reportId") int reportId);
+
+    /**
+     * 일간 배치: 사용자들의 [start, end) 식사 기록을 영양 정보와 조인해 한 쿼리로 스트리밍한다.
+     * user_id, history id, meal id 순으로 정렬되며, 아이템이 없는 끼니도 한 행 나온다.
+     * 커서는 트랜잭션 안에서 끝까지 읽어야 한다.
+     */
+    Cursor<ReportMealRowDto> cursorDailyMealRows(@Param("start") LocalDateTime start,
+                                                 @Param("end") LocalDateTime end,
+                                                 @Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * 일간 배치: 해당 날짜에 이미 있는 DAILY 리포트 (id, user_id, status, created_by)와
+     * [start, end) 사이 사용자가 직접 생성한 기록 (id / status 없이 created_by = USER)
+     */
+    List<ReportDto> selectExistingDailyReports(@Param("date") LocalDate date,
+                                               @Param("start") LocalDateTime start,
+                                               @Param("end") LocalDateTime end,
+                                               @Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * 여러 리포트를 한 문장으로 저장한다. 각 `report.id` 에 생성된 PK 가 채워진다.
+     */
+    int insertReports(List<ReportDto> reports);
+
+    /**
+     * 여러 리포트 식사 요약을 한 문장으로 저장한다.
+     */
+    int insertReportMeals(@Param("meals") List<ReportMealDto> meals);
+
+    /**
+     * 생성 로그 여러 건을 한 문장으로 저장한다.
+     */
+    int insertGenerationLogs(@Param("logs") List<ReportGenerationLogDto> logs);
+
+    /**
+     * 주간 배치: 사용자의 그 기간 WEEKLY 리포트 (id, user_id, status, created_by), 먼저 만든 순
+     */
+    List<ReportDto> selectExistingWeeklyReports(@Param("userId") int userId,
+                                                @Param("fromDate") LocalDate fromDate,
+                                                @Param("toDate") LocalDate toDate);
+
+    /**
+     * 배치가 만든 리포트들을 완료(SYSTEM) 상태로 표기
+     */
+    int markReportsCompleted(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,202 @@
+package com.ssafy.yumcoach.report.scheduler;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 리포트 배치 한 번의 진행 상황 / 처리량
+ *
+ * - 작업 스레드가 카운터를 올리고, 모니터가 주기적으로 sample() 을 불러 최근 구간 처리량을 계산한다.
+ * - 여러 서버가 샤드를 나눠 돌므로 total 은 이 서버가 가져간 샤드의 사용자 수만큼 늘어난다.
+ */
+public class ReportRunProgress {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private final String name;
+    private final int shardsTotal;
+    private final AtomicInteger total = new AtomicInteger();
+    private final LocalDateTime startedAt = LocalDateTime.now(ZONE);
+    private final long startedNanos = System.nanoTime();
+
+    private final AtomicInteger success = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private final AtomicInteger abandoned = new AtomicInteger();
+
+    private final AtomicInteger shardsClaimed = new AtomicInteger();
+    private final AtomicInteger shardsCompleted = new AtomicInteger();
+    private final AtomicInteger shardsLost = new AtomicInteger();
+    private final AtomicInteger shardsRetried = new AtomicInteger();
+    private final AtomicInteger shardsFailed = new AtomicInteger();
+    private final AtomicInteger shardsByOthers = new AtomicInteger();
+
+    private volatile LocalDateTime finishedAt;
+    private volatile long finishedNanos;
+
+    // 최근 구간 처리량 (모니터 스레드만 갱신)
+    private long lastSampleNanos = startedNanos;
+    private int lastSampleProcessed;
+    private volatile double recentPerSecond;
+
+    public ReportRunProgress(String name, int shardsTotal) {
+        this.name = name;
+        this.shardsTotal = shardsTotal;
+    }
+
+    /**
+     * 샤드를 가져와 users 명을 처리 대상에 더한다.
+     */
+    public void shardClaimed(int users) {
+        shardsClaimed.incrementAndGet();
+        total.addAndGet(users);
+    }
+
+    /**
+     * 샤드 없이 처리 대상을 더한다 (실패 사용자 재처리).
+     */
+    public void addUsers(int users) {
+        total.addAndGet(users);
+    }
+
+    public void shardCompleted() {
+        shardsCompleted.incrementAndGet();
+    }
+
+    /**
+     * 임대를 잃어 나머지 사용자를 다른 서버에 넘긴 샤드
+     */
+    public void shardLost() {
+        shardsLost.incrementAndGet();
+    }
+
+    /**
+     * 오류로 멈춰 백오프 뒤 다시 시도할 샤드
+     */
+    public void shardRetried() {
+        shardsRetried.incrementAndGet();
+    }
+
+    /**
+     * 시도 한도를 넘겨 남은 사용자를 실패로 남기고 끝낸 샤드
+     */
+    public void shardFailed() {
+        shardsFailed.incrementAndGet();
+    }
+
+    public void shardDoneByOther() {
+        shardsByOthers.incrementAndGet();
+    }
+
+    /**
+     * 처리하지 않고 넘긴 사용자 (임대를 잃었거나 샤드를 다시 시도하려고 멈춤 - 다시 가져가면 처리 대상에 다시 더해진다)
+     */
+    public void abandoned(int users) {
+        abandoned.addAndGet(users);
+    }
+
+    public void success() {
+        success.incrementAndGet();
+    }
+
+    public void success(int users) {
+        success.addAndGet(users);
+    }
+
+    public void skipped() {
+        skipped.incrementAndGet();
+    }
+
+    public void skipped(int users) {
+        skipped.addAndGet(users);
+    }
+
+    public void error() {
+        errors.incrementAndGet();
+    }
+
+    public void error(int users) {
+        errors.addAndGet(users);
+    }
+
+    public void finish() {
+        finishedNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now(ZONE);
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int processed() {
+        return success.get() + skipped.get() + errors.get() + abandoned.get();
+    }
+
+    /**
+     * 직전 sample 이후 처리량을 갱신한다.
+     */
+    public void sample() {
+        long now = System.nanoTime();
+        int processed = processed();
+        long elapsed = now - lastSampleNanos;
+        if (elapsed > 0) {
+            recentPerSecond = (processed - lastSampleProcessed) * 1_000_000_000.0 / elapsed;
+        }
+        lastSampleNanos = now;
+        lastSampleProcessed = processed;
+    }
+
+    private double elapsedSeconds() {
+        long end = finishedAt != null ? finishedNanos : System.nanoTime();
+        return (end - startedNanos) / 1_000_000_000.0;
+    }
+
+    public double perSecond() {
+        double elapsed = elapsedSeconds();
+        return elapsed > 0 ? processed() / elapsed : 0.0;
+    }
+
+    public String summary() {
+        return String.format("%s %d/%d (success=%d, skipped=%d, errors=%d), shards %d/%d mine + %d others (retried=%d, failed=%d), %.1f/s, recent %.1f/s, %.0fs elapsed",
+                name, processed(), total.get(), success.get(), skipped.get(), errors.get(),
+                shardsCompleted.get(), shardsClaimed.get(), shardsByOthers.get(), shardsRetried.get(), shardsFailed.get(),
+                perSecond(), recentPerSecond, elapsedSeconds());
+    }
+
+    public Map<String, Object> toMap() {
+        int processed = processed();
+        int total = this.total.get();
+        double perSecond = perSecond();
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", name);
+        map.put("startedAt", startedAt.toString());
+        map.put("finishedAt", finishedAt != null ? finishedAt.toString() : null);
+        map.put("total", total);
+        map.put("processed", processed);
+        map.put("success", success.get());
+        map.put("skipped", skipped.get());
+        map.put("errors", errors.get());
+        map.put("abandoned", abandoned.get());
+        map.put("shardsTotal", shardsTotal);
+        map.put("shardsClaimed", shardsClaimed.get());
+        map.put("shardsCompleted", shardsCompleted.get());
+        map.put("shardsLost", shardsLost.get());
+        map.put("shardsRetried", shardsRetried.get());
+        map.put("shardsFailed", shardsFailed.get());
+        map.put("shardsByOthers", shardsByOthers.get());
+        map.put("percent", total == 0 ? 100.0 : Math.round(processed * 1000.0 / total) / 10.0);
+        map.put("elapsedSeconds", Math.round(elapsedSeconds()));
+        map.put("perSecond", Math.round(perSecond * 10) / 10.0);
+        map.put("recentPerSecond", Math.round(recentPerSecond * 10) / 10.0);
+        map.put("etaSeconds", finishedAt != null || perSecond <= 0 ? null : Math.round((total - processed) / perSecond));
+        return map;
+    }
+}
@@ -1,106 +1,745 @@
 package com.ssafy.yumcoach.report.scheduler;
 
 import com.ssafy.yumcoach.report.service.ReportService;
+import com.ssafy.yumcoach.report.model.DailyReportBatchResult;
 import com.ssafy.yumcoach.report.model.ReportDto;
+import com.ssafy.yumcoach.report.model.ReportJobRunDto;
+import com.ssafy.yumcoach.report.model.ReportJobShardDto;
+import com.ssafy.yumcoach.report.model.mapper.ReportJobMapper;
 import com.ssafy.yumcoach.report.model.mapper.ReportMapper;
 import com.ssafy.yumcoach.user.model.mapper.UserMapper;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
 
-@Component
-@RequiredArgsConstructor
+/**
+ * 일간/주간 리포트 배치
+ *
+ * - 사용자별 작업을 고정 크기 작업 스레드 풀에 나눠 돌린다.
+ *   DB / AI 동시 실행 수는 ReportWorkLimiter 가 따로 제한하고, DB 쪽은 커넥션 풀 대기 시간에 맞춰 줄이고 늘린다.
+ * - 배치는 전용 스레드에서 돌아 @Scheduled 스레드(다른 정기 작업과 공유)를 붙잡지 않는다.
+ *   같은 시점에 배치는 하나만 돈다.
+ * - 여러 서버가 함께 돌 때는 user_id 를 샤드로 나누고 report_job_shard 행 임대(ReportShardLeaser)로 샤드를 나눠 가진다.
+ *   임대는 처리 중 heartbeat 로 연장하고, 서버가 죽어 만료된 샤드는 남은 서버가 다시 가져간다.
+ *   커서 이동 / 리포트 저장은 임대의 fence 로 확인하므로 임대를 잃은 서버는 더 쓰지 못한다.
+ *   임대를 얻지 못한 샤드는 처리하지 않는다 (DB 장애 시 직접 처리하지 않는다).
+ * - 실행 / 샤드 커서 / 실패 사용자는 report_job_* 테이블에 남는다.
+ *   샤드 안에서는 user_id 순서로 처리하며 한 명(일간은 한 묶음)마다 커서를 옮기므로, 재시작하면 끝나지 않은 실행을 멈춘 곳부터 잇는다.
+ *   샤드 처리가 오류로 멈추면(임대 상실 제외) 잠시 뒤 같은 실행에서 다시 시도하고,
+ *   시도 한도를 넘으면 남은 사용자를 실패로 남기고 샤드를 끝낸다.
+ *   실패한 사용자만 관리자가 다시 돌릴 수 있다 (redriveFailed).
+ * - 일간은 샤드의 사용자를 묶음으로 나눠 묶음마다 식사 기록을 한 쿼리로 집계하고 다건 INSERT 로 저장한다 (createDailyReports).
+ *   주간은 사용자마다 createScheduledWeeklyReport 로 만든다. 둘 다 이미 있는 리포트는 건너뛰어 다시 돌아도 중복되지 않는다.
+ * - 진행률 / 처리량은 주기적으로 로그에 남기고 status() 로 조회할 수 있다.
+ */
 @Slf4j
+@Component
 public class ReportScheduler {
 
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final long MAX_SHARD_RETRY_BACKOFF_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private enum Outcome { SUCCESS, SKIPPED, FAILED }
+
     private final ReportService reportService;
     private final ReportMapper reportMapper;
+    private final ReportJobMapper jobMapper;
     private final UserMapper userMapper;
+    private final ReportWorkLimiter limiter;
+    private final ReportShardLeaser leaser;
+
+    private final int workerCount;
+    private final int shardCount;
+    private final long maxRunNanos;
+    private final long sampleMillis;
+    private final long progressLogNanos;
+    private final long resumeMaxAgeHours;
+    private final int dailyChunkSize;
+    private final int shardMaxAttempts;
+    private final long shardRetryBackoffNanos;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(daemonThreads("report-batch"));
+    private final AtomicReference<ReportRunProgress> current = new AtomicReference<>();
+    private volatile ReportRunProgress last;
+
+    public ReportScheduler(ReportService reportService,
+                           ReportMapper reportMapper,
+                           ReportJobMapper jobMapper,
+                           UserMapper userMapper,
+                           ReportWorkLimiter limiter,
+                           ReportShardLeaser leaser,
+                           @Value("${report.scheduler.workers:16}") int workerCount,
+                           @Value("${report.scheduler.shards:64}") int shardCount,
+                           @Value("${report.scheduler.max-run-minutes:360}") long maxRunMinutes,
+                           @Value("${report.scheduler.sample-millis:1000}") long sampleMillis,
+                           @Value("${report.scheduler.progress-log-seconds:15}") long progressLogSeconds,
+                           @Value("${report.scheduler.resume-max-age-hours:36}") long resumeMaxAgeHours,
+                           @Value("${report.scheduler.daily-chunk-size:200}") int dailyChunkSize,
+                           @Value("${report.scheduler.shard-max-attempts:3}") int shardMaxAttempts,
+                           @Value("${report.scheduler.shard-retry-backoff-seconds:5}") long shardRetryBackoffSeconds) {
+        this.reportService = reportService;
+        this.reportMapper = reportMapper;
+        this.jobMapper = jobMapper;
+        this.userMapper = userMapper;
+        this.limiter = limiter;
+        this.leaser = leaser;
+        this.workerCount = Math.max(1, workerCount);
+        this.shardCount = Math.max(1, shardCount);
+        this.maxRunNanos = TimeUnit.MINUTES.toNanos(Math.max(1, maxRunMinutes));
+        this.sampleMillis = Math.max(100, sampleMillis);
+        this.progressLogNanos = TimeUnit.SECONDS.toNanos(Math.max(1, progressLogSeconds));
+        this.resumeMaxAgeHours = resumeMaxAgeHours;
+        this.dailyChunkSize = Math.max(1, dailyChunkSize);
+        this.shardMaxAttempts = Math.max(1, shardMaxAttempts);
+        this.shardRetryBackoffNanos = TimeUnit.SECONDS.toNanos(Math.max(1, shardRetryBackoffSeconds));
+    }
 
     // 매일 새벽 1시 (Asia/Seoul) - 전날 일간 리포트 생성
     @Scheduled(cron = "0 0 1 * * *", zone = "Asia/Seoul")
     public void scheduleDailyReports() {
-        ZoneId zone = ZoneId.of("Asia/Seoul");
-        LocalDate target = LocalDate.now(zone).minusDays(1); // 전 날
+        LocalDate target = LocalDate.now(ZONE).minusDays(1); // 전 날
         log.info("[ReportScheduler] Running daily reports for date={}", target);
 
-        List<Integer> userIds = userMapper.findAllUserIds();
-        int success = 0; int skipped = 0; int errors = 0;
+        begin("DAILY", target, target);
+    }
+
+    // 매주 월요일 새벽 1시 (Asia/Seoul) - 전주 주간 리포트 생성
+    @Scheduled(cron = "0 0 1 * * MON", zone = "Asia/Seoul")
+    public void scheduleWeeklyReports() {
+        LocalDate today = LocalDate.now(ZONE);
+        // 지난 주 월요일 ~ 일요일
+        LocalDate lastMonday = today.with(DayOfWeek.MONDAY).minusWeeks(1);
+        LocalDate lastSunday = lastMonday.plusDays(6);
+
+        log.info("[ReportScheduler] Running weekly reports for from={} to={}", lastMonday, lastSunday);
+
+        begin("WEEKLY", lastMonday, lastSunday);
+    }
+
+    /**
+     * 서버가 뜨면 최근에 시작해 끝나지 않은 실행을 이어서 돈다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedRuns() {
+        try {
+            LocalDateTime since = LocalDateTime.now(ZONE).minusHours(resumeMaxAgeHours);
+            for (ReportJobRunDto run : jobMapper.selectUnfinishedRuns(since)) {
+                log.info("[ReportScheduler] Resuming unfinished run {}", run.getRunKey());
+                start(run);
+            }
+        } catch (Exception e) {
+            log.error("[ReportScheduler] failed to look up unfinished runs", e);
+        }
+    }
+
+    /**
+     * 실행 행을 만들고(다른 서버가 먼저 만들었으면 그대로 쓰고) 배치를 시작한다.
+     */
+    private void begin(String type, LocalDate from, LocalDate to) {
+        String runKey = type + ":" + from;
+        jobMapper.insertRunIfAbsent(ReportJobRunDto.builder()
+                .runKey(runKey)
+                .type(type)
+                .fromDate(from)
+                .toDate(to)
+                .shardCount(shardCount)
+                .build());
 
-        for (Integer uid : userIds) {
+        ReportJobRunDto run = jobMapper.selectRunByKey(runKey);
+        if ("COMPLETED".equals(run.getStatus())) {
+            log.info("[ReportScheduler] {} already completed at {}", runKey, run.getFinishedAt());
+            return;
+        }
+        start(run);
+    }
+
+    /**
+     * 배치 전용 스레드에 넘긴다. 월요일엔 일간/주간이 같은 시각에 잡히므로 앞 배치가 끝난 뒤 이어서 돈다.
+     */
+    private void start(ReportJobRunDto run) {
+        runner.execute(() -> {
             try {
-                ReportDto dto = reportService.createDailyReport(uid, target);
-                // 스케줄러가 만든 리포트는 완료 상태로 표기
-                if (dto != null && dto.getId() != null) {
+                run(run);
+            } catch (Exception e) {
+                log.error("[ReportScheduler] {} failed", run.getRunKey(), e);
+            }
+        });
+    }
+
+    private IntFunction<ReportDto> jobFor(ReportJobRunDto run) {
+        if ("WEEKLY".equals(run.getType())) {
+            return weeklyJob(run, () -> { });
+        }
+        return dailyJob(run, () -> { });
+    }
+
+    /**
+     * 주간 한 명: 이미 있는 리포트는 건너뛰고 배치가 만들다 멈춘 리포트는 이어서 쓴다 (createScheduledWeeklyReport).
+     * 만들지 않았으면 IllegalStateException 으로 건너뜀을 알린다.
+     */
+    private IntFunction<ReportDto> weeklyJob(ReportJobRunDto run, Runnable leaseCheck) {
+        return uid -> {
+            ReportDto dto = reportService.createScheduledWeeklyReport(uid, run.getFromDate(), run.getToDate(), leaseCheck);
+            if (dto == null) throw new IllegalStateException("SKIPPED");
+            return null; // 완료 표기는 createScheduledWeeklyReport 가 했다
+        };
+    }
+
+    /**
+     * 일간 한 명: 묶음 경로(createDailyReports)를 한 명짜리로 돈다.
+     * 묶음 실패 후 재처리와 관리자 재처리도 같은 건너뜀 기준(이미 있는 리포트 / 직접 생성 기록)을 따른다.
+     * 만들지 않았으면 IllegalStateException 으로 건너뜀을 알린다.
+     */
+    private IntFunction<ReportDto> dailyJob(ReportJobRunDto run, Runnable leaseCheck) {
+        return uid -> {
+            DailyReportBatchResult r = reportService.createDailyReports(run.getFromDate(), List.of(uid), leaseCheck);
+            if (r.getSuccess() == 0) throw new IllegalStateException("SKIPPED");
+            return null; // 완료 표기는 createDailyReports 가 했다
+        };
+    }
+
+    /**
+     * 임대를 얻은 샤드만 처리한다.
+     * 다른 서버가 쥔 샤드는 DB 에 끝남이 기록되거나 임대가 만료될 때까지 주기적으로 다시 확인한다.
+     * 오류로 멈춘 샤드는 작업 스레드가 retry 로 돌려주고, 백오프가 지나면 다시 임대를 얻어 커서부터 잇는다.
+     */
+    private void run(ReportJobRunDto run) throws InterruptedException {
+        // 재개할 때도 처음 시작할 때의 샤드 수로 나눈다
+        int shardCount = run.getShardCount();
+        List<List<Integer>> shardUsers = new ArrayList<>(shardCount);
+        List<Integer> shardIds = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shardUsers.add(new ArrayList<>());
+            shardIds.add(i);
+        }
+        for (Integer uid : userMapper.findAllUserIds()) {
+            shardUsers.get(Math.floorMod(uid, shardCount)).add(uid);
+        }
+        shardUsers.forEach(Collections::sort);
+        jobMapper.insertShards(run.getId(), shardIds);
+
+        ReportRunProgress progress = new ReportRunProgress(run.getRunKey(), shardCount);
+        if (!current.compareAndSet(null, progress)) {
+            log.warn("[ReportScheduler] {} skipped: {} is still running", run.getRunKey(), current.get().getName());
+            return;
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(workerCount, daemonThreads("report-worker"));
+        ScheduledExecutorService monitor = startMonitor(progress);
+        Set<ShardRun> active = ConcurrentHashMap.newKeySet();
+        Semaphore slots = new Semaphore(workerCount);
+
+        long heartbeatMillis = Math.max(1000, leaser.leaseTtl().toMillis() / 3);
+        monitor.scheduleWithFixedDelay(() -> heartbeat(active, progress), heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+
+        // 서버마다 다른 샤드부터 시작해 임대 경합을 줄인다
+        Collections.rotate(shardIds, -Math.floorMod(leaser.nodeId().hashCode(), shardCount));
+        Deque<Integer> pending = new ArrayDeque<>(shardIds);
+        // 작업 스레드가 다시 시도하라고 돌려준 샤드 / 샤드별 시도 횟수와 다음 시도 시각 (코디네이터 스레드만 쓴다)
+        BlockingQueue<Integer> retry = new LinkedBlockingQueue<>();
+        Map<Integer, Integer> attempts = new HashMap<>();
+        Map<Integer, Long> retryAt = new HashMap<>();
+        long deadline = System.nanoTime() + maxRunNanos;
+
+        try {
+            // 작업 스레드는 active 에서 빠지기 전에 retry 에 넣으므로 active 를 먼저 본다
+            while (!pending.isEmpty() || !active.isEmpty() || !retry.isEmpty()) {
+                for (Integer shard; (shard = retry.poll()) != null; ) {
+                    requeue(shard, pending, attempts, retryAt);
+                }
+                if (System.nanoTime() > deadline) {
+                    log.warn("[ReportScheduler] {} gave up waiting for {} shards held by other nodes (resumes on restart)",
+                            run.getRunKey(), pending.size());
+                    break;
+                }
+
+                boolean claimedAny = false;
+                for (int i = pending.size(); i > 0; i--) {
+                    int shard = pending.poll();
+                    Long at = retryAt.get(shard);
+                    if (at != null && at - System.nanoTime() > 0) {
+                        pending.add(shard);
+                        continue;
+                    }
+                    ReportJobShardDto row;
                     try {
-                        reportMapper.updateReportStatusCreatedBy(dto.getId(), "COMPLETED", "SYSTEM");
-                    } catch (Exception ex) {
-                        log.warn("[ReportScheduler] failed to mark report as COMPLETED for reportId={}: {}", dto.getId(), ex.toString());
+                        row = jobMapper.selectShard(run.getId(), shard);
+                    } catch (Exception e) {
+                        log.warn("[ReportScheduler] failed to read shard {}, will retry: {}", shard, e.toString());
+                        pending.add(shard);
+                        continue;
+                    }
+                    if (row == null || "DONE".equals(row.getStatus())) {
+                        progress.shardDoneByOther();
+                        continue;
+                    }
+
+                    slots.acquire();
+                    ReportShardLeaser.Lease lease;
+                    try {
+                        lease = leaser.tryClaim(run.getId(), shard);
+                    } catch (Exception e) {
+                        // 임대 없이 처리하면 서버마다 같은 샤드를 돌게 되므로 기다렸다 다시 시도한다
+                        log.warn("[ReportScheduler] lease unavailable for shard {}, will retry: {}", shard, e.toString());
+                        lease = null;
+                    }
+                    if (lease == null) {
+                        slots.release();
+                        pending.add(shard);
+                        continue;
+                    }
+
+                    claimedAny = true;
+                    ShardRun sr = new ShardRun(shard, lease);
+                    active.add(sr);
+                    List<Integer> users = shardUsers.get(shard);
+                    int attempt = attempts.merge(shard, 1, Integer::sum);
+                    workers.execute(() -> {
+                        boolean again = false;
+                        try {
+                            again = processShard(run, sr, users, progress, attempt);
+                        } finally {
+                            leaser.release(sr.lease);
+                            if (again) retry.add(sr.shard);
+                            active.remove(sr);
+                            slots.release();
+                        }
+                    });
+                }
+
+                if (!claimedAny) {
+                    // 나머지는 다른 서버나 이 서버의 작업 스레드가 처리 중이거나 백오프 중 - 돌려받은 샤드가 있으면 바로 깬다
+                    Integer back = retry.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (back != null) {
+                        requeue(back, pending, attempts, retryAt);
                     }
                 }
-                success++;
-                // 짧은 인터벌로 DB 부담 완화
-                Thread.sleep(50);
-            } catch (IllegalStateException ise) {
-                // LIMIT_EXCEEDED or NO_MEALS 등은 건너뜀
-                log.debug("[ReportScheduler] skip user {}: {}", uid, ise.getMessage());
-                skipped++;
-            } catch (InterruptedException ie) {
+            }
+
+            workers.shutdown();
+            while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                // 진행 로그는 모니터가 남긴다
+            }
+            jobMapper.completeRunIfDone(run.getId());
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            throw e;
+        } finally {
+            monitor.shutdownNow();
+            progress.finish();
+            last = progress;
+            current.set(null);
+            log.info("[ReportScheduler] Finished {}", progress.summary());
+        }
+    }
+
+    /**
+     * 돌려받은 샤드를 백오프(시도마다 두 배, 최대 5분) 뒤에 다시 가져가도록 pending 에 넣는다.
+     */
+    private void requeue(int shard, Deque<Integer> pending, Map<Integer, Integer> attempts, Map<Integer, Long> retryAt) {
+        int n = attempts.getOrDefault(shard, 1);
+        long backoff = Math.min(shardRetryBackoffNanos << Math.min(n - 1, 16), MAX_SHARD_RETRY_BACKOFF_NANOS);
+        retryAt.put(shard, System.nanoTime() + backoff);
+        pending.add(shard);
+    }
+
+    /**
+     * 샤드 하나를 커서 다음 사용자부터 user_id 순서로 처리한다. 한 명(일간은 한 묶음) 끝낼 때마다 커서와 결과 수를 저장한다.
+     * 묶음 중간에 멈췄다 재개해도 이미 만든 리포트는 건너뛴다 (createDailyReports / createScheduledWeeklyReport).
+     * 오류로 멈추면 attempt 가 한도 전이면 true 를 돌려 다시 시도하게 하고, 한도면 남은 사용자를 실패로 남긴다 (failShard).
+     */
+    private boolean processShard(ReportJobRunDto run, ShardRun sr, List<Integer> users,
+                                 ReportRunProgress progress, int attempt) {
+        List<Integer> todo = null;
+        int counted = 0; // todo 중 진행 카운터에 반영한 사용자 수
+        try {
+            // 임대를 얻은 뒤 다시 읽어야 앞 소유자가 옮긴 커서를 놓치지 않는다
+            ReportJobShardDto row = jobMapper.selectShard(run.getId(), sr.shard);
+            if (row == null || "DONE".equals(row.getStatus())) {
+                progress.shardDoneByOther();
+                return false;
+            }
+
+            todo = remainingUsers(users, row);
+            progress.shardClaimed(todo.size());
+
+            // 일간은 묶음 단위 집계(createDailyReports), 주간은 사용자 단위
+            int step = "DAILY".equals(run.getType()) ? dailyChunkSize : 1;
+            IntFunction<ReportDto> weekly = weeklyJob(run, () -> leaser.checkHeld(sr.lease));
+            for (int i = 0; i < todo.size(); i += step) {
+                if (sr.lost) {
+                    progress.abandoned(todo.size() - i);
+                    progress.shardLost();
+                    return false;
+                }
+                List<Integer> chunk = todo.subList(i, Math.min(i + step, todo.size()));
+                int[] counts;
+                if (step == 1) {
+                    counts = count(processUser(run, chunk.get(0), weekly, progress));
+                } else {
+                    counts = processDailyChunk(run, sr, chunk, progress);
+                }
+                counted = i + chunk.size();
+                if (jobMapper.advanceShard(run.getId(), sr.shard, sr.lease.fence(), chunk.get(chunk.size() - 1),
+                        counts[0], counts[1], counts[2]) == 0) {
+                    throw new ReportShardLeaser.LeaseLostException(sr.lease);
+                }
+            }
+
+            if (jobMapper.markShardDone(run.getId(), sr.shard, sr.lease.fence()) == 0) {
+                throw new ReportShardLeaser.LeaseLostException(sr.lease);
+            }
+            jobMapper.completeRunIfDone(run.getId());
+            progress.shardCompleted();
+        } catch (ReportShardLeaser.LeaseLostException e) {
+            // 새 임자가 커서부터 이어서 처리한다 (이미 저장된 리포트는 건너뛴다)
+            sr.lost = true;
+            progress.shardLost();
+            log.warn("[ReportScheduler] {} lost lease on shard {} while processing, stopped: {}",
+                    run.getRunKey(), sr.shard, e.getMessage());
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
                 Thread.currentThread().interrupt();
-                log.warn("[ReportScheduler] interrupted while sleeping between user reports");
-            } catch (Exception e) {
-                errors++;
-                log.error("[ReportScheduler] failed for user {}: {}", uid, e.toString());
             }
+            int uncounted = todo == null ? 0 : todo.size() - counted;
+            if (attempt < shardMaxAttempts) {
+                // 커서는 마지막으로 처리한 사용자에 남아 있으므로 다시 임대를 얻어 이어서 처리한다
+                log.warn("[ReportScheduler] {} shard {} stopped (attempt {}/{}), will retry: {}",
+                        run.getRunKey(), sr.shard, attempt, shardMaxAttempts, e.toString());
+                progress.abandoned(uncounted);
+                progress.shardRetried();
+                return true;
+            }
+            failShard(run, sr, users, todo == null, uncounted, e, progress);
         }
+        return false;
+    }
+
+    /**
+     * 시도 한도를 넘긴 샤드: 커서 뒤 사용자를 모두 실패로 남기고(관리자 재처리 대상) 샤드를 끝낸다.
+     * 이것마저 저장하지 못하면 샤드는 끝나지 않은 채 남아 재시작 후 이어서 처리된다.
+     */
+    private void failShard(ReportJobRunDto run, ShardRun sr, List<Integer> users, boolean unclaimed, int uncounted,
+                           Exception cause, ReportRunProgress progress) {
+        try {
+            ReportJobShardDto row = jobMapper.selectShard(run.getId(), sr.shard);
+            if (row == null || "DONE".equals(row.getStatus())) {
+                progress.abandoned(uncounted);
+                return;
+            }
+            List<Integer> failed = remainingUsers(users, row);
+            String error = "SHARD_FAILED: " + cause;
+            if (error.length() > MAX_ERROR_LENGTH) error = error.substring(0, MAX_ERROR_LENGTH);
 
-        log.info("[ReportScheduler] Daily reports finished: success={}, skipped={}, errors={}", success, skipped, errors);
+            leaser.checkHeld(sr.lease);
+            for (Integer uid : failed) {
+                jobMapper.upsertFailure(run.getId(), uid, error);
+            }
+            if (!failed.isEmpty() && jobMapper.advanceShard(run.getId(), sr.shard, sr.lease.fence(),
+                    failed.get(failed.size() - 1), 0, 0, failed.size()) == 0) {
+                throw new ReportShardLeaser.LeaseLostException(sr.lease);
+            }
+            if (jobMapper.markShardDone(run.getId(), sr.shard, sr.lease.fence()) == 0) {
+                throw new ReportShardLeaser.LeaseLostException(sr.lease);
+            }
+            jobMapper.completeRunIfDone(run.getId());
+
+            if (unclaimed) progress.addUsers(failed.size());
+            progress.error(unclaimed ? failed.size() : uncounted);
+            progress.shardFailed();
+            log.error("[ReportScheduler] {} shard {} failed after {} attempts, recorded {} users as failed: {}",
+                    run.getRunKey(), sr.shard, shardMaxAttempts, failed.size(), cause.toString());
+        } catch (ReportShardLeaser.LeaseLostException e) {
+            sr.lost = true;
+            progress.abandoned(uncounted);
+            progress.shardLost();
+            log.warn("[ReportScheduler] {} lost lease on shard {} while recording its failure: {}",
+                    run.getRunKey(), sr.shard, e.getMessage());
+        } catch (Exception e) {
+            progress.abandoned(uncounted);
+            log.error("[ReportScheduler] {} shard {} failed after {} attempts and its failure could not be recorded "
+                            + "(resumes on restart): {} / {}",
+                    run.getRunKey(), sr.shard, shardMaxAttempts, cause.toString(), e.toString());
+        }
     }
 
-    // 매주 월요일 새벽 1시 (Asia/Seoul) - 전주 주간 리포트 생성
-    @Scheduled(cron = "0 0 1 * * MON", zone = "Asia/Seoul")
-    public void scheduleWeeklyReports() {
-        ZoneId zone = ZoneId.of("Asia/Seoul");
-        LocalDate today = LocalDate.now(zone);
-        // 지난 주 월요일 ~ 일요일
-        LocalDate lastMonday = today.with(DayOfWeek.MONDAY).minusWeeks(1);
-        LocalDate lastSunday = lastMonday.plusDays(6);
+    /**
+     * 샤드 사용자 중 커서(last_user_id) 뒤의 사용자
+     */
+    private static List<Integer> remainingUsers(List<Integer> users, ReportJobShardDto row) {
+        int cursor = row.getLastUserId() == null ? 0 : row.getLastUserId();
+        int from = 0;
+        while (from < users.size() && users.get(from) <= cursor) from++;
+        return users.subList(from, users.size());
+    }
 
-        log.info("[ReportScheduler] Running weekly reports for from={} to={}", lastMonday, lastSunday);
+    /**
+     * 일간 리포트 한 묶음을 createDailyReports 로 처리한다. 결과는 {성공, 건너뜀, 실패} 수.
+     * 집계 / 저장 단계가 실패하면 (그 단계는 롤백되므로) 묶음의 사용자를 한 명씩 다시 처리해 실패를 사용자별로 남긴다.
+     */
+    private int[] processDailyChunk(ReportJobRunDto run, ShardRun sr, List<Integer> chunk,
+                                    ReportRunProgress progress) {
+        try {
+            DailyReportBatchResult r = limiter.runBatch(() -> reportService.createDailyReports(run.getFromDate(), chunk,
+                    () -> leaser.checkHeld(sr.lease)));
+            progress.success(r.getSuccess());
+            progress.skipped(r.getSkipped());
+            return new int[]{r.getSuccess(), r.getSkipped(), 0};
+        } catch (ReportShardLeaser.LeaseLostException e) {
+            throw e;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("[ReportScheduler] {} batch of {} users failed, retrying one by one: {}",
+                    run.getRunKey(), chunk.size(), e.toString());
+        }
 
-        List<Integer> userIds = userMapper.findAllUserIds();
-        int success = 0; int skipped = 0; int errors = 0;
+        IntFunction<ReportDto> job = dailyJob(run, () -> leaser.checkHeld(sr.lease));
+        int[] counts = new int[3];
+        for (Integer uid : chunk) {
+            int[] c = count(processUser(run, uid, job, progress));
+            for (int i = 0; i < 3; i++) counts[i] += c[i];
+        }
+        return counts;
+    }
+
+    private static int[] count(Outcome outcome) {
+        return new int[]{
+                outcome == Outcome.SUCCESS ? 1 : 0,
+                outcome == Outcome.SKIPPED ? 1 : 0,
+                outcome == Outcome.FAILED ? 1 : 0};
+    }
+
+    /**
+     * 처리 중인 샤드의 임대를 연장한다. 이미 다른 서버가 가져갔으면 남은 사용자는 넘긴다.
+     */
+    private void heartbeat(Set<ShardRun> active, ReportRunProgress progress) {
+        for (ShardRun sr : active) {
+            if (sr.lost) continue;
+            try {
+                if (!leaser.renew(sr.lease)) {
+                    sr.lost = true;
+                    log.warn("[ReportScheduler] {} lost lease on shard {}, leaving the rest to its new owner",
+                            progress.getName(), sr.shard);
+                }
+            } catch (Exception e) {
+                log.warn("[ReportScheduler] lease renew failed for shard {}: {}", sr.shard, e.toString());
+            }
+        }
+    }
 
-        for (Integer uid : userIds) {
+    /**
+     * 커넥션 풀 대기에 맞춘 DB 한도 조절 + 진행 로그.
+     * 풀 대기 측정이 커넥션을 기다리느라 막혀도 임대 연장은 밀리지 않게 스레드 두 개.
+     */
+    private ScheduledExecutorService startMonitor(ReportRunProgress progress) {
+        limiter.reset();
+        ScheduledExecutorService monitor = Executors.newScheduledThreadPool(2, daemonThreads("report-monitor"));
+        long[] lastLog = {System.nanoTime()};
+        monitor.scheduleWithFixedDelay(() -> {
             try {
-                ReportDto dto = reportService.createWeeklyReport(uid, lastMonday, lastSunday);
+                limiter.adjust();
+                progress.sample();
+                long now = System.nanoTime();
+                if (now - lastLog[0] >= progressLogNanos) {
+                    lastLog[0] = now;
+                    log.info("[ReportScheduler] {} {}", progress.summary(), limiter.stats());
+                }
+            } catch (Exception e) {
+                log.warn("[ReportScheduler] monitor tick failed: {}", e.toString());
+            }
+        }, sampleMillis, sampleMillis, TimeUnit.MILLISECONDS);
+        return monitor;
+    }
+
+    private Outcome processUser(ReportJobRunDto run, int uid, IntFunction<ReportDto> job, ReportRunProgress progress) {
+        try {
+            limiter.runBatch(() -> {
+                ReportDto dto = job.apply(uid);
+                // 스케줄러가 만든 리포트는 완료 상태로 표기
                 if (dto != null && dto.getId() != null) {
                     try {
                         reportMapper.updateReportStatusCreatedBy(dto.getId(), "COMPLETED", "SYSTEM");
                     } catch (Exception ex) {
-                        log.warn("[ReportScheduler] failed to mark weekly report as COMPLETED for reportId={}: {}", dto.getId(), ex.toString());
+                        log.warn("[ReportScheduler] failed to mark report as COMPLETED for reportId={}: {}", dto.getId(), ex.toString());
                     }
                 }
-                success++;
-                Thread.sleep(100);
-            } catch (IllegalStateException ise) {
-                log.debug("[ReportScheduler] skip weekly for user {}: {}", uid, ise.getMessage());
-                skipped++;
-            } catch (InterruptedException ie) {
+                return dto;
+            });
+            progress.success();
+            return Outcome.SUCCESS;
+        } catch (ReportShardLeaser.LeaseLostException e) {
+            throw e; // 실패가 아니다 - 샤드를 새 임자에게 넘긴다
+        } catch (IllegalStateException ise) {
+            // LIMIT_EXCEEDED or NO_MEALS 등은 건너뜀
+            log.debug("[ReportScheduler] skip user {}: {}", uid, ise.getMessage());
+            progress.skipped();
+            return Outcome.SKIPPED;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
                 Thread.currentThread().interrupt();
-                log.warn("[ReportScheduler] interrupted while sleeping between weekly reports");
-            } catch (Exception e) {
-                errors++;
-                log.error("[ReportScheduler] weekly failed for user {}: {}", uid, e.toString());
             }
+            progress.error();
+            log.error("[ReportScheduler] {} failed for user {}: {}", run.getRunKey(), uid, e.toString());
+            try {
+                String error = e.toString();
+                jobMapper.upsertFailure(run.getId(), uid,
+                        error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            } catch (Exception ex) {
+                log.warn("[ReportScheduler] failed to record failure for user {}: {}", uid, ex.toString());
+            }
+            return Outcome.FAILED;
+        }
+    }
+
+    /**
+     * 실행 runId 에서 실패한 사용자만 다시 처리하도록 배치 스레드에 넘긴다. 넘긴 사용자 수를 돌려준다.
+     */
+    public int redriveFailed(long runId) {
+        ReportJobRunDto run = jobMapper.selectRunById(runId);
+        if (run == null) {
+            throw new IllegalArgumentException("배치 실행 기록이 없습니다.");
+        }
+        List<Integer> userIds = jobMapper.selectFailedUserIds(runId);
+        if (!userIds.isEmpty()) {
+            runner.execute(() -> {
+                try {
+                    redrive(run, userIds);
+                } catch (Exception e) {
+                    log.error("[ReportScheduler] redrive of {} failed", run.getRunKey(), e);
+                }
+            });
+        }
+        return userIds.size();
+    }
+
+    private void redrive(ReportJobRunDto run, List<Integer> userIds) throws InterruptedException {
+        ReportRunProgress progress = new ReportRunProgress("RETRY " + run.getRunKey(), 0);
+        if (!current.compareAndSet(null, progress)) {
+            log.warn("[ReportScheduler] redrive of {} skipped: {} is still running", run.getRunKey(), current.get().getName());
+            return;
+        }
+        progress.addUsers(userIds.size());
+
+        IntFunction<ReportDto> job = jobFor(run);
+        ExecutorService workers = Executors.newFixedThreadPool(workerCount, daemonThreads("report-worker"));
+        ScheduledExecutorService monitor = startMonitor(progress);
+        try {
+            for (Integer uid : userIds) {
+                workers.execute(() -> {
+                    Outcome outcome = processUser(run, uid, job, progress);
+                    if (outcome == Outcome.FAILED) return;
+                    try {
+                        // 실패 한 건을 이번 결과로 옮긴다 (커서는 그대로)
+                        jobMapper.resolveFailure(run.getId(), uid);
+                        jobMapper.advanceShard(run.getId(), Math.floorMod(uid, run.getShardCount()), null, null,
+                                outcome == Outcome.SUCCESS ? 1 : 0,
+                                outcome == Outcome.SKIPPED ? 1 : 0,
+                                -1);
+                    } catch (Exception e) {
+                        log.warn("[ReportScheduler] failed to record redrive result for user {}: {}", uid, e.toString());
+                    }
+                });
+            }
+            workers.shutdown();
+            while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                // 진행 로그는 모니터가 남긴다
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            throw e;
+        } finally {
+            monitor.shutdownNow();
+            progress.finish();
+            last = progress;
+            current.set(null);
+            log.info("[ReportScheduler] Finished {}", progress.summary());
         }
+    }
+
+    /**
+     * 최근 실행 기록 (샤드 합계 포함)
+     */
+    public List<ReportJobRunDto> recentRuns(int limit) {
+        return jobMapper.selectRecentRuns(Math.max(1, Math.min(limit, 100)));
+    }
+
+    /**
+     * 실행 중인 배치(없으면 직전 배치) 진행 상황과 동시 실행 한도
+     */
+    public Map<String, Object> status() {
+        ReportRunProgress running = current.get();
+        ReportRunProgress shown = running != null ? running : last;
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running != null);
+        status.put("node", leaser.nodeId());
+        status.put("workers", workerCount);
+        status.put("shards", shardCount);
+        status.put("run", shown != null ? shown.toMap() : null);
+        status.put("limits", limiter.stats());
+        return status;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+    }
+
+    /**
+     * 이 서버가 처리 중인 샤드
+     */
+    private static final class ShardRun {
+        final int shard;
+        final ReportShardLeaser.Lease lease;
+        volatile boolean lost;
+
+        ShardRun(int shard, ReportShardLeaser.Lease lease) {
+            this.shard = shard;
+            this.lease = lease;
+        }
+    }
 
-        log.info("[ReportScheduler] Weekly reports finished: success={}, skipped={}, errors={}", success, skipped, errors);
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
     }
 }
@@ -0,0 +1,108 @@
+package com.ssafy.yumcoach.report.scheduler;
+
+import com.ssafy.yumcoach.report.model.mapper.ReportJobMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * 리포트 배치 샤드 임대 (report_job_shard 행)
+ *
+ * - 여러 서버가 같은 배치를 동시에 돌 때 샤드마다 한 서버만 처리하도록 샤드 행을 조건부 UPDATE 로 가져간다.
+ *   (끝나지 않았고, 임자가 없거나 임대가 만료된 행만) 가져갈 때마다 fence 가 1 씩 오른다.
+ * - 처리 중에는 주기적으로 lease_until 을 연장(heartbeat)하고, 서버가 죽으면 만료되어 다른 서버가 다시 가져간다.
+ * - 커서 이동 / 완료 표시 / 리포트 저장은 자기 fence 일 때만 한다 (fencing).
+ *   임대를 잃은 서버가 긴 AI 호출에서 돌아와도 새 임자가 fence 를 올렸으므로 더 쓰지 못한다.
+ * - 시각은 모두 DB 의 NOW(3) 기준이라 서버 시계 차이와 무관하다.
+ * - DB 를 못 쓰면 임대도 못 얻으므로 샤드를 처리하지 않는다 (중복 리포트보다 다음 실행 / 재개를 택한다).
+ */
+@Slf4j
+@Component
+public class ReportShardLeaser {
+
+    private final ReportJobMapper jobMapper;
+    private final String nodeId;
+    private final Duration leaseTtl;
+
+    public ReportShardLeaser(ReportJobMapper jobMapper,
+                             @Value("${report.scheduler.lease-ttl-seconds:30}") long leaseTtlSeconds) {
+        this.jobMapper = jobMapper;
+        this.nodeId = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+        this.leaseTtl = Duration.ofSeconds(Math.max(5, leaseTtlSeconds));
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public Duration leaseTtl() {
+        return leaseTtl;
+    }
+
+    /**
+     * 샤드 임대를 시도한다. 다른 서버가 쥐고 있거나 이미 끝난 샤드면 null.
+     */
+    public Lease tryClaim(Long runId, int shard) {
+        if (jobMapper.claimShard(runId, shard, nodeId, leaseTtl.toSeconds()) == 0) return null;
+        Long fence = jobMapper.selectShardFence(runId, shard, nodeId);
+        return fence == null ? null : new Lease(runId, shard, fence);
+    }
+
+    /**
+     * 임대 연장. 다른 서버가 가져갔으면 (fence 가 바뀌었으면) false.
+     */
+    public boolean renew(Lease lease) {
+        return jobMapper.renewShardLease(lease.runId(), lease.shard(), lease.fence(), leaseTtl.toSeconds()) == 1;
+    }
+
+    /**
+     * 아직 이 임대가 유효한지 확인한다. 트랜잭션 안에서 부르면 샤드 행을 잠그므로
+     * 그 트랜잭션이 끝날 때까지 다른 서버가 샤드를 가져가지 못한다.
+     *
+     * @throws LeaseLostException 다른 서버가 가져갔으면
+     */
+    public void checkHeld(Lease lease) {
+        if (jobMapper.lockShardLease(lease.runId(), lease.shard(), lease.fence()) == null) {
+            throw new LeaseLostException(lease);
+        }
+    }
+
+    /**
+     * 임대를 반납해 (끝내지 못했으면) 다른 서버가 바로 가져갈 수 있게 한다.
+     */
+    public void release(Lease lease) {
+        try {
+            jobMapper.releaseShardLease(lease.runId(), lease.shard(), lease.fence());
+        } catch (Exception e) {
+            // 반납에 실패해도 lease_until 이 지나면 풀린다
+            log.warn("[ReportShardLeaser] release failed for run {} shard {}: {}", lease.runId(), lease.shard(), e.toString());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+
+    /**
+     * 임대 중인 샤드. fence 는 가져갈 때의 report_job_shard.fence
+     */
+    public record Lease(Long runId, int shard, long fence) {
+    }
+
+    /**
+     * 임대를 잃어 더 쓰면 안 되는 상태
+     */
+    public static class LeaseLostException extends RuntimeException {
+        public LeaseLostException(Lease lease) {
+            super("LEASE_LOST run " + lease.runId() + " shard " + lease.shard() + " fence " + lease.fence());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.ssafy.yumcoach.report.scheduler;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 리포트 배치 작업의 동시 실행 수 제한
+ *
+ * - DB 작업과 AI 호출을 따로 센다. 배치 작업 하나는 DB 허가를 쥔 채 실행되고,
+ *   AI 호출 동안에는 DB 허가를 내려놓고 AI 허가를 잡는다 (응답을 기다리는 동안 DB 자리를 막지 않음).
+ * - DB 허가 수는 고정값이 아니라 커넥션 풀 대기 시간에 따라 조절한다.
+ *   대기가 길면 절반으로 줄이고, 대기가 거의 없고 허가를 다 쓰고 있으면 하나씩 늘린다.
+ * - 배치 스레드가 아닌 곳(사용자 요청)에서의 AI 호출은 제한하지 않는다.
+ */
+@Slf4j
+@Component
+public class ReportWorkLimiter {
+
+    private final DataSource dataSource;
+    private final int maxDbConcurrency;
+    private final int minDbConcurrency;
+    private final long poolWaitHighMillis;
+    private final long poolWaitLowMillis;
+
+    private final AdjustableGate db;
+    private final Semaphore ai;
+    private final int aiConcurrency;
+
+    /** 현재 스레드가 DB 허가를 쥔 배치 작업 중인지 */
+    private final ThreadLocal<Boolean> holdingDb = new ThreadLocal<>();
+
+    private volatile long lastPoolWaitMillis;
+    private volatile int lastThreadsAwaiting = -1;
+
+    public ReportWorkLimiter(DataSource dataSource,
+                             @Value("${report.scheduler.db-concurrency:8}") int maxDbConcurrency,
+                             @Value("${report.scheduler.db-min-concurrency:1}") int minDbConcurrency,
+                             @Value("${report.scheduler.ai-concurrency:12}") int aiConcurrency,
+                             @Value("${report.scheduler.pool-wait-high-millis:50}") long poolWaitHighMillis,
+                             @Value("${report.scheduler.pool-wait-low-millis:5}") long poolWaitLowMillis) {
+        this.dataSource = dataSource;
+        this.maxDbConcurrency = Math.max(1, maxDbConcurrency);
+        this.minDbConcurrency = Math.max(1, Math.min(minDbConcurrency, this.maxDbConcurrency));
+        this.aiConcurrency = Math.max(1, aiConcurrency);
+        this.poolWaitHighMillis = poolWaitHighMillis;
+        this.poolWaitLowMillis = poolWaitLowMillis;
+        this.db = new AdjustableGate(this.maxDbConcurrency);
+        this.ai = new Semaphore(this.aiConcurrency, true);
+    }
+
+    /**
+     * DB 허가를 쥐고 배치 작업 하나를 실행한다.
+     */
+    public <T> T runBatch(Callable<T> work) throws Exception {
+        db.acquire();
+        holdingDb.set(Boolean.TRUE);
+        try {
+            return work.call();
+        } finally {
+            holdingDb.remove();
+            db.release();
+        }
+    }
+
+    /**
+     * AI 호출. 배치 작업 안이면 DB 허가를 내려놓고 AI 허가를 잡은 뒤 호출하고, 끝나면 DB 허가를 다시 잡는다.
+     */
+    public <T> T callAi(Callable<T> call) throws Exception {
+        if (holdingDb.get() == null) {
+            return call.call();
+        }
+
+        db.release();
+        try {
+            ai.acquire();
+            try {
+                return call.call();
+            } finally {
+                ai.release();
+            }
+        } finally {
+            // 다시 잡지 못하면 runBatch 의 release 가 남의 허가를 돌려주게 되므로 인터럽트를 미뤄서라도 잡는다
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    db.acquire();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 배치 시작 시 DB 허가 수를 최대치로 되돌린다.
+     */
+    public void reset() {
+        db.setLimit(maxDbConcurrency);
+    }
+
+    /**
+     * 커넥션 풀 대기 시간을 재서 DB 허가 수를 조절한다. 배치 모니터가 주기적으로 호출한다.
+     */
+    public void adjust() {
+        long waitMillis = samplePoolWaitMillis();
+        lastPoolWaitMillis = waitMillis;
+
+        int limit = db.limit();
+        int next = limit;
+        if (waitMillis >= poolWaitHighMillis) {
+            next = Math.max(minDbConcurrency, limit / 2);
+        } else if (waitMillis <= poolWaitLowMillis && db.inUse() >= limit) {
+            next = Math.min(maxDbConcurrency, limit + 1);
+        }
+        if (next != limit) {
+            db.setLimit(next);
+            log.info("[ReportWorkLimiter] db concurrency {} -> {} (pool wait {} ms)", limit, next, waitMillis);
+        }
+    }
+
+    /**
+     * 커넥션 하나를 빌렸다 돌려주는 데 걸린 시간 (ms).
+     * Hikari 풀에 이미 커넥션을 기다리는 스레드가 있으면 빌려 보지 않고 바로 혼잡으로 본다.
+     */
+    private long samplePoolWaitMillis() {
+        HikariPoolMXBean pool = hikariPool();
+        if (pool != null) {
+            lastThreadsAwaiting = pool.getThreadsAwaitingConnection();
+            if (lastThreadsAwaiting > 0) {
+                return poolWaitHighMillis;
+            }
+        }
+
+        long started = System.nanoTime();
+        try (Connection ignored = dataSource.getConnection()) {
+            return (System.nanoTime() - started) / 1_000_000;
+        } catch (Exception e) {
+            log.warn("[ReportWorkLimiter] pool wait probe failed: {}", e.toString());
+            return Math.max(poolWaitHighMillis, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private HikariPoolMXBean hikariPool() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            }
+        } catch (Exception ignored) {
+            // Hikari 가 아니면 커넥션 대여 시간만 본다
+        }
+        return null;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("dbLimit", db.limit());
+        stats.put("dbMaxLimit", maxDbConcurrency);
+        stats.put("dbInUse", db.inUse());
+        stats.put("aiLimit", aiConcurrency);
+        stats.put("aiInUse", aiConcurrency - ai.availablePermits());
+        stats.put("poolWaitMillis", lastPoolWaitMillis);
+        stats.put("poolThreadsAwaiting", lastThreadsAwaiting);
+        return stats;
+    }
+
+    /**
+     * 한도를 실행 중에 바꿀 수 있는 세마포어.
+     * 한도를 줄여도 이미 잡힌 허가는 빼앗지 않고, 반납되면서 자연히 새 한도로 내려간다.
+     */
+    static final class AdjustableGate {
+
+        private int limit;
+        private int inUse;
+
+        AdjustableGate(int limit) {
+            this.limit = limit;
+        }
+
+        synchronized void acquire() throws InterruptedException {
+            while (inUse >= limit) {
+                wait();
+            }
+            inUse++;
+        }
+
+        synchronized void release() {
+            inUse--;
+            notifyAll();
+        }
+
+        synchronized void setLimit(int limit) {
+            this.limit = limit;
+            notifyAll();
+        }
+
+        synchronized int limit() {
+            return limit;
+        }
+
+        synchronized int inUse() {
+            return inUse;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.ssafy.yumcoach.report.service;
 
+import com.ssafy.yumcoach.report.model.DailyReportBatchResult;
 import com.ssafy.yumcoach.report.model.ReportDto;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public interface ReportService {
     /**
@@ -13,6 +15,19 @@ public interface ReportService {
      * @return 생성된 ReportDto (PROGRESS 상태 또는 생성 결과)
      */
     ReportDto createDailyReport(int userId, LocalDate date);
+    /**
+     * 일별 리포트 일괄 생성 (스케줄러)
+     * 사용자 묶음의 식사 기록을 한 쿼리로 집계하고 리포트 / 리포트 식사를 다건 INSERT 로 저장한 뒤 사용자별로 AI 분석한다.
+     * 이미 배치가 만든 리포트는 다시 만들지 않고, 분석 전에 멈췄던 리포트는 분석만 이어서 한다.
+     * 그 날짜의 DAILY 리포트가 이미 있거나 그날 사용자가 직접 생성한 사용자는 건너뛴다.
+     *
+     * @param date      생성 대상 날짜
+     * @param userIds   대상 유저 ID 묶음
+     * @param leaseCheck 저장 트랜잭션 시작 / 사용자별 AI 분석 / 마무리 전에 부른다. 예외를 던지면 거기서 멈춘다
+     *                   (샤드 임대를 잃은 서버가 더 쓰지 않도록)
+     * @return 묶음 처리 결과 (성공 / 건너뜀 수, 단계별 소요 시간)
+     */
+    DailyReportBatchResult createDailyReports(LocalDate date, List<Integer> userIds, Runnable leaseCheck);
     /**
      * 일별 리포트 조회
      *
@@ -30,6 +45,19 @@ public interface ReportService {
      * @return 생성된 ReportDto
      */
     ReportDto createWeeklyReport(int userId, LocalDate fromDate, LocalDate toDate);
+    /**
+     * 주간 리포트 생성 (스케줄러)
+     * 그 기간의 WEEKLY 리포트가 이미 있으면 건너뛰고, 배치가 만들다 멈춘(완료 표기 전) 리포트는 새로 넣지 않고 이어서 쓴다.
+     * 재개 / 임대 인계 / 관리자 재처리로 같은 사용자를 다시 돌아도 리포트는 하나만 남는다.
+     *
+     * @param userId     대상 유저 ID
+     * @param fromDate   주간 시작일
+     * @param toDate     주간 종료일
+     * @param leaseCheck 저장 트랜잭션 시작 / AI 분석 / 마무리 전에 부른다. 예외를 던지면 거기서 멈춘다
+     * @return 만들었거나 이어서 끝낸 ReportDto, 이미 있어서 건너뛰었으면 null
+     * @throws IllegalStateException NO_MEALS - 기간 식사 기록이 없다 (리포트를 남기지 않는다)
+     */
+    ReportDto createScheduledWeeklyReport(int userId, LocalDate fromDate, LocalDate toDate, Runnable leaseCheck);
     /**
      * 주간 리포트 조회
      *
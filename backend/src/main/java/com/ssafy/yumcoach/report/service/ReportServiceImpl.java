@@ -6,22 +6,31 @@ import com.ssafy.yumcoach.ai.ReportAnalysisResult;
 import com.ssafy.yumcoach.challenge.model.ChallengeDto;
 import com.ssafy.yumcoach.challenge.model.service.ChallengeService;
 import com.ssafy.yumcoach.food.model.FoodDetailDto;
-import com.ssafy.yumcoach.food.model.mapper.FoodMapper;
+import com.ssafy.yumcoach.food.model.FoodItemDto;
+import com.ssafy.yumcoach.food.model.NutritionFactsPrimaryDto;
+import com.ssafy.yumcoach.food.model.service.FoodService;
 import com.ssafy.yumcoach.meal.model.MealItemDto;
 import com.ssafy.yumcoach.meal.model.MealLogDto;
 import com.ssafy.yumcoach.meal.model.mapper.MealMapper;
+import com.ssafy.yumcoach.report.model.DailyReportBatchResult;
 import com.ssafy.yumcoach.report.model.ReportDto;
+import com.ssafy.yumcoach.report.model.ReportGenerationLogDto;
 import com.ssafy.yumcoach.report.model.ReportInsightDto;
 import com.ssafy.yumcoach.report.model.ReportMealDto;
+import com.ssafy.yumcoach.report.model.ReportMealRowDto;
 import com.ssafy.yumcoach.report.model.mapper.ReportMapper;
+import com.ssafy.yumcoach.report.scheduler.ReportWorkLimiter;
 import com.ssafy.yumcoach.user.model.User;
 import com.ssafy.yumcoach.user.model.mapper.UserMapper;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -34,10 +43,15 @@ public class ReportServiceImpl implements ReportService {
 
     private final ReportMapper reportMapper;
     private final MealMapper mealMapper;
-    private final FoodMapper foodMapper;
+    private final FoodService foodService;
     private final UserMapper userMapper;
     private final ChallengeService challengeService;
     private final OpenAiService openAiService;
+    private final ReportWorkLimiter reportWorkLimiter;
+    private final PlatformTransactionManager transactionManager;
+
+    /** 다건 INSERT 한 문장에 넣는 최대 행 수 */
+    private static final int INSERT_SLICE = 500;
 
     @Override
     public ReportDto createDailyReport(int userId, LocalDate date) {
@@ -53,88 +67,171 @@ public class ReportServiceImpl implements ReportService {
             throw new IllegalStateException("LIMIT_EXCEEDED");
         }
 
-        ReportDto dto = new ReportDto();
-        dto.setUserId(userId);
-        dto.setDate(date);
-        dto.setType("DAILY");
-        dto.setStatus("PROGRESS");
-        dto.setCreatedBy("USER");
-
-        reportMapper.insertReport(dto);
-
-        List<MealLogDto> logs = mealMapper.selectMealLogsByUserAndDateRange(userId, date, date);
-
-        int cal = 0, pro = 0, carb = 0, fat = 0;
-        List<ReportMealDto> meals = new ArrayList<>();
-
-        for (MealLogDto log : logs) {
-            if (log.getItems() == null) continue;
-            for (MealItemDto item : log.getItems()) {
-                if (item.getMealCode() == null || item.getAmount() == null) continue;
-                FoodDetailDto fd = foodMapper.selectFoodDetailById(item.getMealCode());
-                if (fd == null || fd.getNutrition() == null) continue;
-
-                double f = item.getAmount() / 100.0;
-                int k = (int)(fd.getNutrition().getEnergyKcal() * f);
-                int p = (int)(fd.getNutrition().getProteinG() * f);
-                int c = (int)(fd.getNutrition().getCarbohydrateG() * f);
-                int fa = (int)(fd.getNutrition().getFatG() * f);
-
-                cal += k; pro += p; carb += c; fat += fa;
-
-                ReportMealDto rm = new ReportMealDto();
-                rm.setReportId(dto.getId());
-                rm.setCalories(k);
-                rm.setProteinG(p);
-                rm.setCarbG(c);
-                rm.setFatG(fa);
-                rm.setMealName(fd.getFood().getFoodName());
+        return buildDailyReport(userId, date, "USER", true);
+    }
 
-                reportMapper.insertReportMeal(rm);
-                meals.add(rm);
+    @Override
+    public DailyReportBatchResult createDailyReports(LocalDate date, List<Integer> userIds, Runnable leaseCheck) {
+        if (userIds.isEmpty()) return new DailyReportBatchResult();
+
+        long started = System.nanoTime();
+        int skipped = 0;
+
+        // 이미 배치가 만든 리포트: 끝났으면 건너뛰고, 분석 전에 멈췄으면 분석만 잇는다
+        // 사용자가 직접 만든 리포트나 그날 직접 생성한 기록이 있으면 건너뛴다 (createDailyReport 의 생성 로그 확인과 같은 기준)
+        Map<Integer, ReportDto> systemReports = new LinkedHashMap<>();
+        Set<Integer> done = new HashSet<>();
+        for (ReportDto existing : reportMapper.selectExistingDailyReports(
+                date, date.atStartOfDay(), date.plusDays(1).atStartOfDay(), userIds)) {
+            done.add(existing.getUserId());
+            if ("SYSTEM".equals(existing.getCreatedBy()) && existing.getId() != null) {
+                systemReports.putIfAbsent(existing.getUserId(), existing);
             }
         }
+        List<ReportDto> toAnalyze = new ArrayList<>();
+        for (Integer uid : done) {
+            ReportDto existing = systemReports.get(uid);
+            if (existing != null && !"COMPLETED".equals(existing.getStatus())) {
+                toAnalyze.add(existing);
+            } else {
+                skipped++;
+            }
+        }
+        List<Integer> pending = new ArrayList<>(userIds.size());
+        for (Integer uid : userIds) {
+            if (!done.contains(uid)) pending.add(uid);
+        }
 
-        if (meals.isEmpty()) throw new IllegalStateException("NO_MEALS");
-
-        // 🔥 식사 횟수 계산: MealHistory의 고유 타입 개수
-        int mealCount = calculateMealCount(userId, date);
-
-        reportMapper.updateReportSummary(dto.getId(), cal, pro, carb, fat, mealCount);
-
-        dto.setMeals(meals);
-
-        boolean analysisPassed = false;
-        try {
-            analyzeReport(dto.getId());
-            analysisPassed = true;
-        } catch (Exception e) {
-            log.warn("analyzeReport failed for reportId={}", dto.getId(), e);
+        // 1) 집계 + 저장: 한 트랜잭션에서 식사 행을 스트리밍해 사용자별로 접고 다건 INSERT
+        int[] mealRows = {0};
+        List<ReportDto> created = pending.isEmpty() ? List.of()
+                : new TransactionTemplate(transactionManager).execute(status -> {
+                    leaseCheck.run(); // 트랜잭션 안: 커밋까지 다른 서버가 샤드를 가져가지 못한다
+                    Map<Integer, DailyAggregate> byUser = new LinkedHashMap<>();
+                    try (Cursor<ReportMealRowDto> rows = reportMapper.cursorDailyMealRows(
+                            date.atStartOfDay(), date.plusDays(1).atStartOfDay(), pending)) {
+                        Integer lastMealId = null;
+                        for (ReportMealRowDto row : rows) {
+                            mealRows[0]++;
+                            DailyAggregate agg = byUser.computeIfAbsent(row.getUserId(), k -> new DailyAggregate());
+                            agg.mealTypes.add(row.getMealType());
+                            // 영양 정보가 여러 행이면 같은 meal 이 이어서 나오므로 첫 행만 쓴다
+                            if (row.getMealId() == null || row.getMealId().equals(lastMealId)) continue;
+                            lastMealId = row.getMealId();
+                            if (row.isHasNutrition()) agg.add(row);
+                        }
+                    } catch (java.io.IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+
+                    List<ReportDto> reports = new ArrayList<>();
+                    for (Map.Entry<Integer, DailyAggregate> e : byUser.entrySet()) {
+                        DailyAggregate agg = e.getValue();
+                        if (agg.meals.isEmpty()) continue;
+                        ReportDto dto = new ReportDto();
+                        dto.setUserId(e.getKey());
+                        dto.setDate(date);
+                        dto.setType("DAILY");
+                        dto.setStatus("PROGRESS");
+                        dto.setCreatedBy("SYSTEM");
+                        dto.setTotalCalories(agg.cal);
+                        dto.setProteinG(agg.pro);
+                        dto.setCarbG(agg.carb);
+                        dto.setFatG(agg.fat);
+                        dto.setMealCount(agg.mealTypes.size());
+                        dto.setMeals(agg.meals);
+                        reports.add(dto);
+                    }
+
+                    for (int i = 0; i < reports.size(); i += INSERT_SLICE) {
+                        reportMapper.insertReports(reports.subList(i, Math.min(i + INSERT_SLICE, reports.size())));
+                    }
+                    List<ReportMealDto> meals = new ArrayList<>();
+                    for (ReportDto dto : reports) {
+                        for (ReportMealDto rm : dto.getMeals()) {
+                            rm.setReportId(dto.getId());
+                            meals.add(rm);
+                        }
+                    }
+                    insertReportMeals(meals);
+                    return reports;
+                });
+        // 식사 기록이 없는 사용자 (NO_MEALS)
+        skipped += pending.size() - created.size();
+        toAnalyze.addAll(created);
+        long aggregated = System.nanoTime();
+
+        // 2) AI 분석은 사용자별 (실패해도 리포트는 남긴다)
+        List<ReportGenerationLogDto> logs = new ArrayList<>(toAnalyze.size());
+        List<Integer> ids = new ArrayList<>(toAnalyze.size());
+        int analyzed = 0;
+        for (ReportDto dto : toAnalyze) {
+            leaseCheck.run(); // 임대를 잃었으면 남은 분석은 새 임자가 이어서 한다
+            boolean analysisPassed = false;
+            try {
+                analyzeReport(dto.getId());
+                analysisPassed = true;
+                analyzed++;
+            } catch (Exception e) {
+                log.warn("analyzeReport failed for reportId={}", dto.getId(), e);
+            }
+            ids.add(dto.getId());
+            logs.add(ReportGenerationLogDto.builder()
+                    .userId(dto.getUserId())
+                    .type("DAILY")
+                    .date(date)
+                    .triggeredBy("SYSTEM")
+                    .result(analysisPassed ? "CREATED_WITH_AI" : "CREATED")
+                    .reportId(dto.getId())
+                    .details(analysisPassed ? "ANALYZED_WITH_AI" : "CREATED_NO_AI")
+                    .build());
         }
+        long analyzedAt = System.nanoTime();
 
-        // 기록: 생성 로그 남기기
+        // 3) 마무리: 생성 로그 / 완료 표기도 묶음 단위로
+        leaseCheck.run();
         try {
-            String details = analysisPassed ? "ANALYZED_WITH_AI" : "CREATED_NO_AI";
-            reportMapper.insertGenerationLog(userId, "DAILY", date, null, null, "USER",
-                    analysisPassed ? "CREATED_WITH_AI" : "CREATED", dto.getId(), details);
+            for (int i = 0; i < logs.size(); i += INSERT_SLICE) {
+                reportMapper.insertGenerationLogs(logs.subList(i, Math.min(i + INSERT_SLICE, logs.size())));
+            }
+            if (!ids.isEmpty()) reportMapper.markReportsCompleted(ids);
         } catch (Exception ex) {
-            log.error("insertGenerationLog failed for reportId={}", dto.getId(), ex);
+            // 완료 표기가 안 된 리포트는 재개할 때 분석부터 다시 한다
+            log.error("failed to finalize daily batch for date={} ({} reports)", date, ids.size(), ex);
         }
+        long finished = System.nanoTime();
+
+        DailyReportBatchResult result = DailyReportBatchResult.builder()
+                .success(toAnalyze.size())
+                .skipped(skipped)
+                .analyzed(analyzed)
+                .mealRows(mealRows[0])
+                .aggregateMillis((aggregated - started) / 1_000_000)
+                .analyzeMillis((analyzedAt - aggregated) / 1_000_000)
+                .finalizeMillis((finished - analyzedAt) / 1_000_000)
+                .build();
+        log.info("[ReportService] daily batch date={} users={} reports={} skipped={} rows={} | aggregate {} ms, analyze {} ms, finalize {} ms",
+                date, userIds.size(), result.getSuccess(), skipped, mealRows[0],
+                result.getAggregateMillis(), result.getAnalyzeMillis(), result.getFinalizeMillis());
+        return result;
+    }
 
-        // Refresh DTO
-        ReportDto refreshed = reportMapper.selectReportById(dto.getId());
-        if (refreshed != null) {
-            refreshed.setMeals(meals);
-            try {
-                var insights = reportMapper.selectReportInsights(dto.getId());
-                refreshed.setInsights(insights);
-            } catch (Exception ex) {
-                log.warn("failed to load insights for reportId={}", dto.getId(), ex);
-            }
-            return refreshed;
+    /**
+     * 일간 배치에서 한 사용자의 하루 합계 (createDailyReport 와 같은 계산: reportMeal)
+     */
+    private static final class DailyAggregate {
+        final Set<String> mealTypes = new HashSet<>();
+        final List<ReportMealDto> meals = new ArrayList<>();
+        int cal, pro, carb, fat;
+
+        void add(ReportMealRowDto row) {
+            ReportMealDto rm = reportMeal(row.getAmount(), row.getEnergyKcal(), row.getProteinG(), row.getCarbohydrateG(),
+                    row.getFatG(), row.getFoodName());
+            rm.setMealId(row.getMealId());
+
+            cal += rm.getCalories(); pro += rm.getProteinG(); carb += rm.getCarbG(); fat += rm.getFatG();
+            meals.add(rm);
         }
-
-        return dto;
     }
 
     public ReportDto createDailyReport(int userId, LocalDate date, String createdBy) {
@@ -152,6 +249,15 @@ public class ReportServiceImpl implements ReportService {
             }
         }
 
+        return buildDailyReport(userId, date, createdBy, false);
+    }
+
+    /**
+     * 일간 리포트 한 건 생성 (두 createDailyReport 공통). 생성 횟수 확인은 호출하는 쪽에서 한다.
+     *
+     * @param withDetails 생성 로그 details 에 AI 분석 여부를 남길지
+     */
+    private ReportDto buildDailyReport(int userId, LocalDate date, String createdBy, boolean withDetails) {
         ReportDto dto = new ReportDto();
         dto.setUserId(userId);
         dto.setDate(date);
@@ -159,78 +265,188 @@ public class ReportServiceImpl implements ReportService {
         dto.setStatus("PROGRESS");
         dto.setCreatedBy(createdBy);
 
+        ReportBuild build = new ReportBuild("daily");
         reportMapper.insertReport(dto);
+        loadMeals(build, userId, date, date);
+
+        if (build.meals.isEmpty()) throw new IllegalStateException("NO_MEALS");
 
-        List<MealLogDto> logs = mealMapper.selectMealLogsByUserAndDateRange(userId, date, date);
+        for (ReportMealDto rm : build.meals) rm.setReportId(dto.getId());
+        insertReportMeals(build.meals);
+
+        // 🔥 식사 횟수 계산: MealHistory의 고유 타입 개수
+        int mealCount = calculateMealCount(userId, date);
+
+        reportMapper.updateReportSummary(dto.getId(), build.cal, build.pro, build.carb, build.fat, mealCount);
+
+        dto.setMeals(build.meals);
+        build.saved();
+
+        boolean analysisPassed = tryAnalyze(dto.getId(), "daily");
+        build.analyzed();
+
+        // 기록: 생성 로그 남기기
+        try {
+            String details = withDetails ? (analysisPassed ? "ANALYZED_WITH_AI" : "CREATED_NO_AI") : null;
+            reportMapper.insertGenerationLog(userId, "DAILY", date, null, null, createdBy,
+                    analysisPassed ? "CREATED_WITH_AI" : "CREATED", dto.getId(), details);
+        } catch (Exception ex) {
+            log.error("insertGenerationLog failed for reportId={}", dto.getId(), ex);
+        }
 
-        int cal = 0, pro = 0, carb = 0, fat = 0;
-        List<ReportMealDto> meals = new ArrayList<>();
+        ReportDto result = refreshed(dto, build.meals, "daily");
+        build.logStages(dto.getId());
+        return result;
+    }
 
+    /**
+     * 기간 식사 기록에 나온 meal_code 를 FoodService.MAX_BATCH_SIZE 개씩 나눠 한 번에 조회한다.
+     */
+    private Map<String, FoodDetailDto> lookupFoods(List<MealLogDto> logs) {
+        Set<String> codes = new LinkedHashSet<>();
         for (MealLogDto log : logs) {
             if (log.getItems() == null) continue;
             for (MealItemDto item : log.getItems()) {
-                if (item.getMealCode() == null || item.getAmount() == null) continue;
-                FoodDetailDto fd = foodMapper.selectFoodDetailById(item.getMealCode());
-                if (fd == null || fd.getNutrition() == null) continue;
+                if (item.getMealCode() != null) codes.add(item.getMealCode());
+            }
+        }
 
-                double f = item.getAmount() / 100.0;
-                int k = (int)(fd.getNutrition().getEnergyKcal() * f);
-                int p = (int)(fd.getNutrition().getProteinG() * f);
-                int c = (int)(fd.getNutrition().getCarbohydrateG() * f);
-                int fa = (int)(fd.getNutrition().getFatG() * f);
+        Map<String, FoodDetailDto> foods = new HashMap<>(codes.size() * 2);
+        List<String> slice = new ArrayList<>(Math.min(codes.size(), FoodService.MAX_BATCH_SIZE));
+        for (String code : codes) {
+            slice.add(code);
+            if (slice.size() == FoodService.MAX_BATCH_SIZE) {
+                foods.putAll(foodService.getFoodDetails(slice).getFoods());
+                slice.clear();
+            }
+        }
+        if (!slice.isEmpty()) foods.putAll(foodService.getFoodDetails(slice).getFoods());
+        return foods;
+    }
 
-                cal += k; pro += p; carb += c; fat += fa;
+    /**
+     * report_meal 다건 INSERT (INSERT_SLICE 행씩)
+     */
+    private void insertReportMeals(List<ReportMealDto> meals) {
+        for (int i = 0; i < meals.size(); i += INSERT_SLICE) {
+            reportMapper.insertReportMeals(meals.subList(i, Math.min(i + INSERT_SLICE, meals.size())));
+        }
+    }
 
-                ReportMealDto rm = new ReportMealDto();
-                rm.setReportId(dto.getId());
-                rm.setCalories(k);
-                rm.setProteinG(p);
-                rm.setCarbG(c);
-                rm.setFatG(fa);
-                rm.setMealName(fd.getFood().getFoodName());
+    /**
+     * 기간 식사 기록을 읽고 나온 meal_code 를 한 번에 조회해 항목별 영양값을 build 에 더한다.
+     * 섭취량이 없거나 식품 / 영양정보를 찾지 못한 항목은 뺀다.
+     */
+    private void loadMeals(ReportBuild build, int userId, LocalDate from, LocalDate to) {
+        List<MealLogDto> logs = mealMapper.selectMealLogsByUserAndDateRange(userId, from, to);
+        Map<String, FoodDetailDto> foods = lookupFoods(logs);
 
-                reportMapper.insertReportMeal(rm);
-                meals.add(rm);
+        for (MealLogDto log : logs) {
+            if (log.getItems() == null) continue;
+            for (MealItemDto item : log.getItems()) {
+                if (item.getMealCode() == null || item.getAmount() == null) continue;
+                FoodDetailDto fd = foods.get(item.getMealCode());
+                if (fd == null || fd.getNutrition() == null) continue;
+
+                NutritionFactsPrimaryDto n = fd.getNutrition();
+                FoodItemDto food = fd.getFood();
+                build.add(reportMeal(item.getAmount(), n.getEnergyKcal(), n.getProteinG(), n.getCarbohydrateG(), n.getFatG(),
+                        food == null ? null : food.getFoodName()));
             }
         }
+        build.foods = foods.size();
+        build.loaded = System.nanoTime();
+    }
 
-        if (meals.isEmpty()) throw new IllegalStateException("NO_MEALS");
-
-        // 🔥 식사 횟수 계산
-        int mealCount = calculateMealCount(userId, date);
-
-        reportMapper.updateReportSummary(dto.getId(), cal, pro, carb, fat, mealCount);
+    /**
+     * 100g 기준 영양값 × 섭취량. 항목별로 정수 절사하고 빈 값은 0.
+     */
+    private static ReportMealDto reportMeal(int grams, Double kcal, Double protein, Double carbs, Double fat,
+                                            String name) {
+        double f = grams / 100.0;
+        ReportMealDto rm = new ReportMealDto();
+        rm.setCalories((int) (orZero(kcal) * f));
+        rm.setProteinG((int) (orZero(protein) * f));
+        rm.setCarbG((int) (orZero(carbs) * f));
+        rm.setFatG((int) (orZero(fat) * f));
+        rm.setMealName(name);
+        return rm;
+    }
 
-        dto.setMeals(meals);
+    private static double orZero(Double v) {
+        return v == null ? 0.0 : v;
+    }
 
-        boolean analysisPassed = false;
+    /**
+     * AI 분석. 실패해도 리포트는 남긴다.
+     *
+     * @return 분석에 성공했으면 true
+     */
+    private boolean tryAnalyze(Integer reportId, String kind) {
         try {
-            analyzeReport(dto.getId());
-            analysisPassed = true;
+            analyzeReport(reportId);
+            return true;
         } catch (Exception e) {
-            log.warn("analyzeReport failed for reportId={}", dto.getId(), e);
+            log.warn("analyzeReport failed for {} reportId={}", kind, reportId, e);
+            return false;
         }
+    }
 
+    /**
+     * 저장된 리포트를 다시 읽어 meals / insights 를 붙인다. 못 읽으면 dto 그대로.
+     */
+    private ReportDto refreshed(ReportDto dto, List<ReportMealDto> meals, String kind) {
+        ReportDto refreshed = reportMapper.selectReportById(dto.getId());
+        if (refreshed == null) return dto;
+        refreshed.setMeals(meals);
         try {
-            reportMapper.insertGenerationLog(userId, "DAILY", date, null, null, createdBy,
-                    analysisPassed ? "CREATED_WITH_AI" : "CREATED", dto.getId(), null);
+            refreshed.setInsights(reportMapper.selectReportInsights(dto.getId()));
         } catch (Exception ex) {
-            log.error("insertGenerationLog failed for reportId={}", dto.getId(), ex);
+            log.warn("failed to load insights for {} reportId={}", kind, dto.getId(), ex);
         }
+        return refreshed;
+    }
 
-        ReportDto refreshed = reportMapper.selectReportById(dto.getId());
-        if (refreshed != null) {
-            refreshed.setMeals(meals);
-            try {
-                var insights = reportMapper.selectReportInsights(dto.getId());
-                refreshed.setInsights(insights);
-            } catch (Exception ex) {
-                log.warn("failed to load insights for reportId={}", dto.getId(), ex);
-            }
-            return refreshed;
+    /**
+     * 리포트 한 건 생성(일간 두 경로, 주간)의 항목별 계산 결과와 단계별 시각
+     * load: 리포트 행 생성 + 식사 기록 / 식품 조회, save: report_meal + 합계 저장, analyze: AI 분석, finalize: 생성 로그 + 재조회
+     */
+    private static final class ReportBuild {
+        final String kind;
+        final long started = System.nanoTime();
+        long loaded, saved, analyzedAt;
+
+        final List<ReportMealDto> meals = new ArrayList<>();
+        int foods;
+        int cal, pro, carb, fat;
+
+        ReportBuild(String kind) {
+            this.kind = kind;
         }
 
-        return dto;
+        void add(ReportMealDto rm) {
+            cal += rm.getCalories();
+            pro += rm.getProteinG();
+            carb += rm.getCarbG();
+            fat += rm.getFatG();
+            meals.add(rm);
+        }
+
+        void saved() {
+            saved = System.nanoTime();
+        }
+
+        void analyzed() {
+            analyzedAt = System.nanoTime();
+        }
+
+        void logStages(Integer reportId) {
+            long finished = System.nanoTime();
+            log.info("[ReportService] {} report id={} foods={} items={} | load {} ms, save {} ms, analyze {} ms, finalize {} ms",
+                    kind, reportId, foods, meals.size(),
+                    (loaded - started) / 1_000_000, (saved - loaded) / 1_000_000,
+                    (analyzedAt - saved) / 1_000_000, (finished - analyzedAt) / 1_000_000);
+        }
     }
 
     /**
@@ -290,47 +506,19 @@ public class ReportServiceImpl implements ReportService {
         dto.setStatus("PROGRESS");
         dto.setCreatedBy("USER");
 
+        ReportBuild build = new ReportBuild("weekly");
         reportMapper.insertReport(dto);
+        loadMeals(build, userId, from, to);
 
-        List<MealLogDto> logs = mealMapper.selectMealLogsByUserAndDateRange(userId, from, to);
+        if (build.cal == 0) throw new IllegalStateException("NO_MEALS");
 
-        int cal = 0, pro = 0, carb = 0, fat = 0;
+        int avgMealCount = averageMealCount(userId, from, to);
 
-        for (MealLogDto log : logs) {
-            if (log.getItems() == null) continue;
-            for (MealItemDto item : log.getItems()) {
-                FoodDetailDto fd = foodMapper.selectFoodDetailById(item.getMealCode());
-                if (fd == null || fd.getNutrition() == null) continue;
-
-                double f = item.getAmount() / 100.0;
-                cal += fd.getNutrition().getEnergyKcal() * f;
-                pro += fd.getNutrition().getProteinG() * f;
-                carb += fd.getNutrition().getCarbohydrateG() * f;
-                fat += fd.getNutrition().getFatG() * f;
-            }
-        }
-
-        if (cal == 0) throw new IllegalStateException("NO_MEALS");
+        reportMapper.updateReportSummary(dto.getId(), build.cal, build.pro, build.carb, build.fat, avgMealCount);
+        build.saved();
 
-        // 🔥 주간 식사 횟수: 기간 내 모든 날짜의 평균
-        int totalMealCount = 0;
-        long daysBetween = java.time.temporal.ChronoUnit.DAYS.between(from, to) + 1;
-
-        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
-            totalMealCount += calculateMealCount(userId, d);
-        }
-
-        int avgMealCount = daysBetween > 0 ? (int) Math.round((double) totalMealCount / daysBetween) : 0;
-
-        reportMapper.updateReportSummary(dto.getId(), cal, pro, carb, fat, avgMealCount);
-
-        boolean analysisPassed = false;
-        try {
-            analyzeReport(dto.getId());
-            analysisPassed = true;
-        } catch (Exception e) {
-            log.warn("analyzeReport failed for weekly reportId={}", dto.getId(), e);
-        }
+        boolean analysisPassed = tryAnalyze(dto.getId(), "weekly");
+        build.analyzed();
 
         try {
             String details = analysisPassed ? "ANALYZED_WITH_AI" : "CREATED_NO_AI";
@@ -340,21 +528,83 @@ public class ReportServiceImpl implements ReportService {
             log.error("insertGenerationLog failed for weekly reportId={}", dto.getId(), ex);
         }
 
-        ReportDto refreshed = reportMapper.selectReportById(dto.getId());
-        if (refreshed != null) {
-            refreshed.setMeals(new ArrayList<>());
-            try {
-                var insights = reportMapper.selectReportInsights(dto.getId());
-                refreshed.setInsights(insights);
-            } catch (Exception ex) {
-                log.warn("failed to load insights for weekly reportId={}", dto.getId(), ex);
+        ReportDto result = refreshed(dto, new ArrayList<>(), "weekly");
+        build.logStages(dto.getId());
+        return result;
+    }
+
+    @Override
+    public ReportDto createScheduledWeeklyReport(int userId, LocalDate from, LocalDate to, Runnable leaseCheck) {
+        ReportBuild build = new ReportBuild("weekly");
+
+        // 1) 확인 + 집계 + 저장: 한 트랜잭션 (식사 기록이 없으면 아무것도 남기지 않는다)
+        ReportDto dto = new TransactionTemplate(transactionManager).execute(status -> {
+            leaseCheck.run(); // 트랜잭션 안: 커밋까지 다른 서버가 샤드를 가져가지 못한다
+
+            // 배치가 만들다 멈춘 리포트는 이어서 쓰고, 그 밖에 이미 있으면(사용자가 만들었거나 완료) 건너뛴다
+            List<ReportDto> existing = reportMapper.selectExistingWeeklyReports(userId, from, to);
+            ReportDto resume = null;
+            if (!existing.isEmpty()) {
+                ReportDto first = existing.get(0);
+                if (!"SYSTEM".equals(first.getCreatedBy()) || "COMPLETED".equals(first.getStatus())) return null;
+                resume = first;
             }
-            return refreshed;
-        }
 
+            loadMeals(build, userId, from, to);
+            if (build.cal == 0) throw new IllegalStateException("NO_MEALS");
+
+            ReportDto report = resume;
+            if (report == null) {
+                report = new ReportDto();
+                report.setUserId(userId);
+                report.setFromDate(from);
+                report.setToDate(to);
+                report.setType("WEEKLY");
+                report.setStatus("PROGRESS");
+                report.setCreatedBy("SYSTEM");
+                reportMapper.insertReport(report);
+            }
+            reportMapper.updateReportSummary(report.getId(), build.cal, build.pro, build.carb, build.fat,
+                    averageMealCount(userId, from, to));
+            return report;
+        });
+        if (dto == null) return null;
+        build.saved();
+
+        // 2) AI 분석 (실패해도 리포트는 남긴다. 다시 분석하면 인사이트를 바꿔 쓴다)
+        leaseCheck.run();
+        boolean analysisPassed = tryAnalyze(dto.getId(), "weekly");
+        build.analyzed();
+
+        // 3) 마무리: 생성 로그 + 완료 표기
+        leaseCheck.run();
+        try {
+            reportMapper.insertGenerationLog(userId, "WEEKLY", null, from, to, "SYSTEM",
+                    analysisPassed ? "CREATED_WITH_AI" : "CREATED", dto.getId(),
+                    analysisPassed ? "ANALYZED_WITH_AI" : "CREATED_NO_AI");
+            reportMapper.markReportsCompleted(List.of(dto.getId()));
+        } catch (Exception ex) {
+            // 완료 표기가 안 된 리포트는 재개할 때 분석부터 다시 한다
+            log.error("failed to finalize weekly reportId={}", dto.getId(), ex);
+        }
+        build.logStages(dto.getId());
         return dto;
     }
 
+    /**
+     * 주간 식사 횟수: 기간 내 모든 날짜의 평균
+     */
+    private int averageMealCount(int userId, LocalDate from, LocalDate to) {
+        int totalMealCount = 0;
+        long daysBetween = java.time.temporal.ChronoUnit.DAYS.between(from, to) + 1;
+
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            totalMealCount += calculateMealCount(userId, d);
+        }
+
+        return daysBetween > 0 ? (int) Math.round((double) totalMealCount / daysBetween) : 0;
+    }
+
     @Override
     public ReportDto getWeeklyReport(int userId, LocalDate fromDate, LocalDate toDate) {
         ReportDto dto = reportMapper.selectReportByUserAndRange(userId, "WEEKLY", fromDate, toDate);
@@ -430,8 +680,8 @@ public class ReportServiceImpl implements ReportService {
         // 챌린지 진행도 업데이트
         updateChallengesFromReport(report, activeChallenges);
 
-        // AI 분석 호출
-        AiResult ai = openAiService.analyze(report);
+        // AI 분석 호출 (배치 중이면 AI 동시 호출 수 제한을 받는다)
+        AiResult ai = reportWorkLimiter.callAi(() -> openAiService.analyze(report));
         reportMapper.updateReportAiResponse(reportId, ai.rawJson());
 
         if (ai.parsed() == null) {
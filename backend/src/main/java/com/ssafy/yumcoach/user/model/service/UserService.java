@@ -66,4 +66,9 @@ public interface UserService {
      * 유저 권한/등급 변경
      */
     void updateUserRole(Integer id, String role);
+
+    /**
+     * 관리자(role = ADMIN) 여부. 유저가 없으면 false
+     */
+    boolean isAdmin(Integer id);
 }
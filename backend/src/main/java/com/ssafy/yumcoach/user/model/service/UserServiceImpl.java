@@ -138,4 +138,11 @@ public class UserServiceImpl implements UserService {
         userMapper.updateUserRole(id, role);
         log.info("User role updated: id={}, role={}", id, role);
     }
+
+    @Override
+    public boolean isAdmin(Integer id) {
+        if (id == null) return false;
+        User user = userMapper.findById(id);
+        return user != null && "ADMIN".equalsIgnoreCase(user.getRole());
+    }
 }
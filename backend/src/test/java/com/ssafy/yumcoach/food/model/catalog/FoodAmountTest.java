@@ -0,0 +1,71 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class FoodAmountTest {
+
+    @Test
+    void 괄호_안_수량을_먼저_쓴다() {
+        assertThat(FoodAmount.parse("1포(30g)")).isEqualTo(new FoodAmount(30, "g"));
+        assertThat(FoodAmount.parse("1회 제공량 (250mL)")).isEqualTo(new FoodAmount(250, "ml"));
+        assertThat(FoodAmount.parse("2g [1봉 40g]")).isEqualTo(new FoodAmount(40, "g"));
+    }
+
+    @Test
+    void 괄호가_없으면_처음_나온_수량() {
+        assertThat(FoodAmount.parse("100g")).isEqualTo(new FoodAmount(100, "g"));
+        assertThat(FoodAmount.parse("100g 당 20g")).isEqualTo(new FoodAmount(100, "g"));
+    }
+
+    @Test
+    void 단위를_그램으로_바꾼다() {
+        assertThat(FoodAmount.parse("1.8kg")).isEqualTo(new FoodAmount(1800, "kg"));
+        assertThat(FoodAmount.parse("500mg").grams()).isCloseTo(0.5, within(1e-9));
+        assertThat(FoodAmount.parse("500mg").unit()).isEqualTo("mg");
+        assertThat(FoodAmount.parse("250mL")).isEqualTo(new FoodAmount(250, "ml"));
+        assertThat(FoodAmount.parse("1.5L")).isEqualTo(new FoodAmount(1500, "l"));
+        assertThat(FoodAmount.parse("200 그램")).isEqualTo(new FoodAmount(200, "g"));
+    }
+
+    @Test
+    void 부피_단위만_isVolume() {
+        assertThat(FoodAmount.parse("250mL").isVolume()).isTrue();
+        assertThat(FoodAmount.parse("1.5L").isVolume()).isTrue();
+        assertThat(FoodAmount.parse("1.8kg").isVolume()).isFalse();
+    }
+
+    @Test
+    void 천_단위_쉼표를_읽는다() {
+        assertThat(FoodAmount.parse("1,000 g")).isEqualTo(new FoodAmount(1000, "g"));
+        assertThat(FoodAmount.parse("1,250.5g")).isEqualTo(new FoodAmount(1250.5, "g"));
+    }
+
+    @Test
+    void 단위가_아니면_null() {
+        assertThat(FoodAmount.parse("2 large")).isNull();
+        assertThat(FoodAmount.parse("1 glass")).isNull();
+        assertThat(FoodAmount.parse("")).isNull();
+        assertThat(FoodAmount.parse("   ")).isNull();
+        assertThat(FoodAmount.parse(null)).isNull();
+        assertThat(FoodAmount.parse("0g")).isNull();
+    }
+
+    @Test
+    void wholeGrams_는_반올림하고_최소_1g() {
+        assertThat(FoodAmount.wholeGrams(30.4)).isEqualTo(30);
+        assertThat(FoodAmount.wholeGrams(30.5)).isEqualTo(31);
+        assertThat(FoodAmount.wholeGrams(0.2)).isEqualTo(1);
+        assertThat(FoodAmount.wholeGrams(0.5)).isEqualTo(1);
+    }
+
+    @Test
+    void wholeGrams_는_값이_없으면_DEFAULT_GRAMS() {
+        assertThat(FoodAmount.wholeGrams(null)).isEqualTo(FoodAmount.DEFAULT_GRAMS);
+        assertThat(FoodAmount.wholeGrams(Double.NaN)).isEqualTo(FoodAmount.DEFAULT_GRAMS);
+        assertThat(FoodAmount.wholeGrams(0.0)).isEqualTo(FoodAmount.DEFAULT_GRAMS);
+        assertThat(FoodAmount.wholeGrams(-5.0)).isEqualTo(FoodAmount.DEFAULT_GRAMS);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FoodAutocompleteIndexTest {
+
+    @Test
+    void 입력_중인_글자도_접두사로_맞는다() {
+        FoodCatalog catalog = FoodSearchIndexTest.catalog(
+                new String[]{"F1", "닭가슴살", null},
+                new String[]{"F2", "달걀찜", null},
+                new String[]{"F3", "두부", null});
+
+        assertThat(names(catalog, catalog.autocompleteIndex().suggest("달", 10)))
+                .containsExactly("달걀찜", "닭가슴살");
+        assertThat(names(catalog, catalog.autocompleteIndex().suggest("닭ㄱ", 10)))
+                .containsExactly("닭가슴살");
+    }
+
+    @Test
+    void 초성과_단어_시작_위치로_찾는다() {
+        FoodCatalog catalog = FoodSearchIndexTest.catalog(
+                new String[]{"F1", "닭가슴살 스테이크", null},
+                new String[]{"F2", "닭갈비", null});
+
+        assertThat(names(catalog, catalog.autocompleteIndex().suggest("ㄷㄱ", 10)))
+                .containsExactly("닭갈비", "닭가슴살 스테이크");
+        assertThat(names(catalog, catalog.autocompleteIndex().suggest("스테", 10)))
+                .containsExactly("닭가슴살 스테이크");
+    }
+
+    @Test
+    void 색인_깊이보다_긴_질의는_캐시된_상위_목록_밖에서도_찾는다() {
+        // "닭가슴살" 의 자모 12글자가 같은 노드로 잘리고, 더 짧은 이름 25개가 그 노드의 상위 목록을 채운다
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            rows.add(new String[]{"S" + i, String.format("닭가슴살 볶음%02d", i), null});
+        }
+        rows.add(new String[]{"L1", "닭가슴살스테이크 오리지널", null});
+        rows.add(new String[]{"L2", "닭가슴살스테이크 매운맛 대용량", null});
+        FoodCatalog catalog = FoodSearchIndexTest.catalog(rows.toArray(new String[0][]));
+
+        assertThat(names(catalog, catalog.autocompleteIndex().suggest("닭가슴살스", 10)))
+                .containsExactly("닭가슴살스테이크 오리지널", "닭가슴살스테이크 매운맛 대용량");
+        assertThat(names(catalog, catalog.autocompleteIndex().suggest("닭가슴살 볶음", 30)))
+                .hasSize(FoodAutocompleteIndex.MAX_RESULTS);
+        // 초성 8글자 깊이도 같다: ㄷㄱㅅㅅㅅㅌㅇㅋㅇ
+        assertThat(names(catalog, catalog.autocompleteIndex().suggest("ㄷㄱㅅㅅㅅㅌㅇㅋㅇ", 10)))
+                .containsExactly("닭가슴살스테이크 오리지널");
+    }
+
+    @Test
+    void 맞는_식품이_없으면_빈_결과() {
+        FoodCatalog catalog = FoodSearchIndexTest.catalog(new String[]{"F1", "닭가슴살", null});
+
+        assertThat(catalog.autocompleteIndex().suggest("피자", 10)).isEmpty();
+        assertThat(catalog.autocompleteIndex().suggest("닭가슴살스테이크", 10)).isEmpty();
+        assertThat(catalog.autocompleteIndex().suggest("  ", 10)).isEmpty();
+    }
+
+    private static List<String> names(FoodCatalog catalog, int[] ordinals) {
+        return Arrays.stream(ordinals).mapToObj(catalog::foodName).toList();
+    }
+}
@@ -0,0 +1,136 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import com.ssafy.yumcoach.food.model.FoodDetailDto;
+import com.ssafy.yumcoach.food.model.FoodItemDto;
+import com.ssafy.yumcoach.food.model.NutritionFactsPrimaryDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FoodCatalogSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private final FoodCatalog catalog = catalog();
+
+    @Test
+    void 쓰고_읽으면_모든_컬럼이_같다() throws IOException {
+        Path file = dir.resolve("catalog.bin");
+        FoodCatalogSnapshot.write(catalog, "v1", file);
+
+        FoodCatalog restored = FoodCatalogSnapshot.read(file, "v1");
+
+        assertThat(restored).isNotNull();
+        assertThat(restored.size()).isEqualTo(catalog.size());
+        for (int i = 0; i < catalog.size(); i++) {
+            assertThat(restored.foodId(i)).isEqualTo(catalog.foodId(i));
+            assertThat(restored.foodName(i)).isEqualTo(catalog.foodName(i));
+            assertThat(restored.representativeFoodName(i)).isEqualTo(catalog.representativeFoodName(i));
+            assertThat(restored.servingSize(i)).isEqualTo(catalog.servingSize(i));
+            assertThat(restored.weight(i)).isEqualTo(catalog.weight(i));
+            // (Object) 로 비교해야 NaN 끼리도 같다 (Double.equals)
+            assertThat(restored.servingGrams(i)).isEqualTo((Object) catalog.servingGrams(i));
+            assertThat(restored.weightGrams(i)).isEqualTo((Object) catalog.weightGrams(i));
+            assertThat(restored.dataCreated(i)).isEqualTo(catalog.dataCreated(i));
+            assertThat(restored.dataReference(i)).isEqualTo(catalog.dataReference(i));
+            assertThat(restored.hasNutrition(i)).isEqualTo(catalog.hasNutrition(i));
+            assertThat(restored.nutritionId(i)).isEqualTo(catalog.nutritionId(i));
+            assertThat(restored.ordinalOf(catalog.foodId(i))).isEqualTo(i);
+        }
+        for (Nutrient n : Nutrient.all()) {
+            // NaN(값 없음)도 그대로 돌아와야 한다
+            assertThat(restored.column(n)).as(n.name()).containsExactly(catalog.column(n));
+        }
+    }
+
+    @Test
+    void 원본_버전이_다르면_쓰지_않는다() throws IOException {
+        Path file = dir.resolve("catalog.bin");
+        FoodCatalogSnapshot.write(catalog, "v1", file);
+
+        assertThat(FoodCatalogSnapshot.read(file, "v2")).isNull();
+        // DB 를 확인할 수 없을 때(null)는 버전 비교를 건너뛴다
+        assertThat(FoodCatalogSnapshot.read(file, null)).isNotNull();
+    }
+
+    @Test
+    void 한_바이트라도_바뀌면_CRC_로_거른다() throws IOException {
+        Path file = dir.resolve("catalog.bin");
+        FoodCatalogSnapshot.write(catalog, "v1", file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(file, bytes);
+
+        assertThat(FoodCatalogSnapshot.read(file, "v1")).isNull();
+    }
+
+    @Test
+    void 잘린_파일은_쓰지_않는다() throws IOException {
+        Path file = dir.resolve("catalog.bin");
+        FoodCatalogSnapshot.write(catalog, "v1", file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 9));
+        assertThat(FoodCatalogSnapshot.read(file, "v1")).isNull();
+
+        Files.write(file, Arrays.copyOf(bytes, 10));
+        assertThat(FoodCatalogSnapshot.read(file, "v1")).isNull();
+    }
+
+    @Test
+    void 파일이_없으면_null() throws IOException {
+        assertThat(FoodCatalogSnapshot.read(dir.resolve("missing.bin"), "v1")).isNull();
+    }
+
+    /**
+     * 영양정보 전부 / 일부 / 없음, null 문자열과 날짜, 한글과 단위 문자열이 섞인 카탈로그
+     */
+    private static FoodCatalog catalog() {
+        FoodCatalog.Builder b = FoodCatalog.builder();
+
+        NutritionFactsPrimaryDto full = new NutritionFactsPrimaryDto();
+        full.setNutritionId(9_000_000_001L);
+        double v = 0.5;
+        for (Nutrient n : Nutrient.all()) n.set(full, v++);
+        b.add(detail(food("F1", "닭가슴살", "닭고기", "1팩(100g)", "1.8kg",
+                LocalDate.of(2024, 1, 31), LocalDate.of(2023, 12, 1)), full));
+
+        NutritionFactsPrimaryDto partial = new NutritionFactsPrimaryDto();
+        partial.setNutritionId(2L);
+        partial.setEnergyKcal(52.0);
+        partial.setProteinG(0.3);
+        b.add(detail(food("F2", "사과", null, "250mL", null, null, null), partial));
+
+        b.add(detail(food("F3", "Chicken Breast", null, null, "2 large", LocalDate.of(1999, 1, 1), null), null));
+        return b.build();
+    }
+
+    private static FoodItemDto food(String id, String name, String rep, String serving, String weight,
+                                    LocalDate created, LocalDate reference) {
+        FoodItemDto food = new FoodItemDto();
+        food.setFoodId(id);
+        food.setFoodName(name);
+        food.setRepresentativeFoodName(rep);
+        food.setServingSize(serving);
+        food.setWeight(weight);
+        food.setDataCreated(created);
+        food.setDataReference(reference);
+        return food;
+    }
+
+    private static FoodDetailDto detail(FoodItemDto food, NutritionFactsPrimaryDto nutrition) {
+        FoodDetailDto detail = new FoodDetailDto();
+        detail.setFood(food);
+        detail.setNutrition(nutrition);
+        return detail;
+    }
+}
@@ -0,0 +1,73 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FoodFuzzyIndexTest {
+
+    private final FoodCatalog catalog = FoodSearchIndexTest.catalog(
+            new String[]{"F1", "닭가슴살", null},
+            new String[]{"F2", "닭가슴살 스테이크", null},
+            new String[]{"F3", "사과", null},
+            new String[]{"F4", "사자", null},
+            new String[]{"F5", "가나", null},
+            new String[]{"F6", "다나", null},
+            new String[]{"F7", "블루베리 요거트", "요구르트"},
+            new String[]{"F8", "Banana", null});
+
+    @Test
+    void 허용_거리는_질의_길이로_정한다() {
+        assertThat(FoodFuzzyIndex.maxDistance(1)).isZero();
+        assertThat(FoodFuzzyIndex.maxDistance(2)).isEqualTo(1);
+        assertThat(FoodFuzzyIndex.maxDistance(4)).isEqualTo(1);
+        assertThat(FoodFuzzyIndex.maxDistance(5)).isEqualTo(2);
+    }
+
+    @Test
+    void 한_글자_오타를_허용한다() {
+        assertThat(names(catalog.fuzzyIndex().search("닭가승살", 10)))
+                .containsExactly("닭가슴살", "닭가슴살 스테이크");
+    }
+
+    @Test
+    void 이름_안의_단어로도_찾는다() {
+        assertThat(names(catalog.fuzzyIndex().search("스테이끄", 10))).containsExactly("닭가슴살 스테이크");
+        assertThat(names(catalog.fuzzyIndex().search("요거투", 10))).containsExactly("블루베리 요거트");
+    }
+
+    @Test
+    void 대표식품명과_대소문자도_본다() {
+        assertThat(names(catalog.fuzzyIndex().search("요구르뜨", 10))).containsExactly("블루베리 요거트");
+        assertThat(names(catalog.fuzzyIndex().search("BANANNA", 10))).containsExactly("Banana");
+    }
+
+    @Test
+    void 짧은_질의는_두_글자_오타를_허용하지_않는다() {
+        // 4글자: 허용 거리 1
+        assertThat(catalog.fuzzyIndex().search("닭기승살", 10)).isEmpty();
+        // 5글자 이상: 허용 거리 2
+        assertThat(names(catalog.fuzzyIndex().search("블루베리요거투", 10))).containsExactly("블루베리 요거트");
+    }
+
+    @Test
+    void 거리가_가까운_순_같으면_이름순() {
+        assertThat(names(catalog.fuzzyIndex().search("사과", 10))).containsExactly("사과", "사자");
+        assertThat(names(catalog.fuzzyIndex().search("마나", 10))).containsExactly("가나", "다나");
+        assertThat(names(catalog.fuzzyIndex().search("마나", 1))).containsExactly("가나");
+    }
+
+    @Test
+    void 한_글자_질의나_빈_질의는_찾지_않는다() {
+        assertThat(catalog.fuzzyIndex().search("사", 10)).isEmpty();
+        assertThat(catalog.fuzzyIndex().search("  ", 10)).isEmpty();
+        assertThat(catalog.fuzzyIndex().search(null, 10)).isEmpty();
+    }
+
+    private List<String> names(int[] ordinals) {
+        return Arrays.stream(ordinals).mapToObj(catalog::foodName).toList();
+    }
+}
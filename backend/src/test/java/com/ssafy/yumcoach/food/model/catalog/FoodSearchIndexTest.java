@@ -0,0 +1,99 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import com.ssafy.yumcoach.food.model.FoodDetailDto;
+import com.ssafy.yumcoach.food.model.FoodItemDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FoodSearchIndexTest {
+
+    private final FoodCatalog catalog = catalog(
+            new String[]{"F3", "닭가슴살 스테이크", "닭고기"},
+            new String[]{"F1", "닭가슴살", "닭고기"},
+            new String[]{"F2", "훈제 닭가슴살", null},
+            new String[]{"F4", "Chicken Breast", null},
+            new String[]{"F5", "나라가나", null},
+            new String[]{"F6", "삶은 계란", "달걀"});
+
+    @Test
+    void 부분_문자열이_포함된_식품을_이름순으로_돌려준다() {
+        assertThat(names(catalog.searchIndex().search("가슴", 10)))
+                .containsExactly("닭가슴살", "닭가슴살 스테이크", "훈제 닭가슴살");
+    }
+
+    @Test
+    void limit_개를_채우면_멈춘다() {
+        assertThat(names(catalog.searchIndex().search("가슴", 2)))
+                .containsExactly("닭가슴살", "닭가슴살 스테이크");
+    }
+
+    @Test
+    void 대표식품명으로도_찾는다() {
+        assertThat(names(catalog.searchIndex().search("달걀", 10))).containsExactly("삶은 계란");
+        assertThat(names(catalog.searchIndex().search("고기", 10)))
+                .containsExactly("닭가슴살", "닭가슴살 스테이크");
+    }
+
+    @Test
+    void 대소문자를_구분하지_않는다() {
+        assertThat(names(catalog.searchIndex().search("chicken", 10))).containsExactly("Chicken Breast");
+        assertThat(names(catalog.searchIndex().search("BREAST", 10))).containsExactly("Chicken Breast");
+    }
+
+    @Test
+    void 한_글자_질의는_unigram_으로_찾는다() {
+        assertThat(names(catalog.searchIndex().search("훈", 10))).containsExactly("훈제 닭가슴살");
+    }
+
+    @Test
+    void bigram_이_모두_있어도_이어져_있지_않으면_제외한다() {
+        // "나라가나" 에는 "가나", "나라" bigram 이 모두 있지만 "가나라" 는 없다
+        assertThat(catalog.searchIndex().search("가나라", 10)).isEmpty();
+        assertThat(names(catalog.searchIndex().search("라가나", 10))).containsExactly("나라가나");
+    }
+
+    @Test
+    void 없는_글자가_있으면_빈_결과() {
+        assertThat(catalog.searchIndex().search("피자", 10)).isEmpty();
+        assertThat(catalog.searchIndex().search(null, 10)).isEmpty();
+        assertThat(catalog.searchIndex().search("닭", 0)).isEmpty();
+    }
+
+    @Test
+    void 빈_질의는_전체를_이름순으로() {
+        assertThat(names(catalog.searchIndex().search("", 3)))
+                .containsExactly("Chicken Breast", "나라가나", "닭가슴살");
+    }
+
+    @Test
+    void 걸러진_식품은_limit_에_세지_않는다() {
+        int skip = catalog.ordinalOf("F1");
+        assertThat(names(catalog.searchIndex().search("가슴", 2, ord -> ord != skip)))
+                .containsExactly("닭가슴살 스테이크", "훈제 닭가슴살");
+    }
+
+    private List<String> names(int[] ordinals) {
+        return Arrays.stream(ordinals).mapToObj(catalog::foodName).toList();
+    }
+
+    /**
+     * {foodId, foodName, representativeFoodName} 행으로 카탈로그를 만든다.
+     */
+    static FoodCatalog catalog(String[]... rows) {
+        FoodCatalog.Builder b = FoodCatalog.builder();
+        for (String[] row : rows) {
+            FoodItemDto food = new FoodItemDto();
+            food.setFoodId(row[0]);
+            food.setFoodName(row[1]);
+            food.setRepresentativeFoodName(row[2]);
+            FoodDetailDto detail = new FoodDetailDto();
+            detail.setFood(food);
+            b.add(detail);
+        }
+        return b.build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.ssafy.yumcoach.food.model.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HangulJamoTest {
+
+    @Test
+    void 음절을_자모로_풀고_겹자모는_낱자로_쪼갠다() {
+        assertThat(HangulJamo.jamo("닭")).isEqualTo("ㄷㅏㄹㄱ");
+        assertThat(HangulJamo.jamo("과")).isEqualTo("ㄱㅗㅏ");
+        assertThat(HangulJamo.jamo("ㄺ")).isEqualTo("ㄹㄱ");
+        assertThat(HangulJamo.jamo("Kimchi 김치")).isEqualTo("kimchi ㄱㅣㅁㅊㅣ");
+    }
+
+    @Test
+    void 입력_중인_음절은_완성된_음절의_자모_접두사다() {
+        assertThat(HangulJamo.jamo("닭")).startsWith(HangulJamo.jamo("달"));
+        assertThat(HangulJamo.jamo("과일")).startsWith(HangulJamo.jamo("고"));
+    }
+
+    @Test
+    void 초성만_남기고_공백은_버린다() {
+        assertThat(HangulJamo.choseong("닭가슴살 스테이크")).isEqualTo("ㄷㄱㅅㅅㅅㅌㅇㅋ");
+    }
+
+    @Test
+    void 자음만으로_된_입력인지_판단한다() {
+        assertThat(HangulJamo.isChoseongOnly("ㄷㄱ")).isTrue();
+        assertThat(HangulJamo.isChoseongOnly("ㄷ ㄱ")).isTrue();
+        assertThat(HangulJamo.isChoseongOnly("닭")).isFalse();
+        assertThat(HangulJamo.isChoseongOnly("ㄷㅏ")).isFalse();
+        assertThat(HangulJamo.isChoseongOnly(" ")).isFalse();
+    }
+}
@@ -0,0 +1,125 @@
+package com.ssafy.yumcoach.meal.event;
+
+import com.ssafy.yumcoach.meal.enums.MealChangeType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class MealChangedEventCodecTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    @Test
+    void 추가와_삭제_아이템이_그대로_돌아온다() {
+        MealChangedEvent event = new MealChangedEvent(0, 7, DAY, 42, MealChangeType.UPDATED, List.of(
+                new MealChangedEvent.ItemDelta(100, "D101-0001", -1, 150, 210.5, 12.25, 30.0, 4.75),
+                new MealChangedEvent.ItemDelta(101, "D101-0002", 1, 80, 99.99, 0.01, 0.0, 1.1)));
+
+        MealChangedEvent decoded = MealChangedEventCodec.decode(9, MealChangedEventCodec.encode(event));
+
+        assertThat(decoded.eventId()).isEqualTo(9);
+        assertThat(decoded.userId()).isEqualTo(7);
+        assertThat(decoded.date()).isEqualTo(DAY);
+        assertThat(decoded.historyId()).isEqualTo(42);
+        assertThat(decoded.type()).isEqualTo(MealChangeType.UPDATED);
+        assertThat(decoded.items()).isEqualTo(event.items());
+        assertThat(decoded.kcalDelta()).isEqualTo(99.99 - 210.5, within(1e-9));
+    }
+
+    @Test
+    void 음수_영양값과_과거_날짜도_zigzag_로_돌아온다() {
+        MealChangedEvent event = new MealChangedEvent(0, 1, LocalDate.of(1960, 1, 1), 1, MealChangeType.ITEM_UPDATED,
+                List.of(new MealChangedEvent.ItemDelta(1, "X", 1, 0, -12.34, -0.01, -1000.5, -7.0)));
+
+        MealChangedEvent decoded = MealChangedEventCodec.decode(1, MealChangedEventCodec.encode(event));
+
+        assertThat(decoded.date()).isEqualTo(LocalDate.of(1960, 1, 1));
+        assertThat(decoded.items()).isEqualTo(event.items());
+    }
+
+    @Test
+    void 섭취량과_식품코드가_없으면_null_로_돌아온다() {
+        MealChangedEvent event = new MealChangedEvent(0, 1, DAY, 1, MealChangeType.CREATED,
+                List.of(new MealChangedEvent.ItemDelta(5, null, 1, null, 10.0, 1.0, 2.0, 3.0),
+                        new MealChangedEvent.ItemDelta(6, "", 1, null, 0.0, 0.0, 0.0, 0.0)));
+
+        List<MealChangedEvent.ItemDelta> items = MealChangedEventCodec.decode(1, MealChangedEventCodec.encode(event)).items();
+
+        assertThat(items.get(0).mealCode()).isNull();
+        assertThat(items.get(0).amount()).isNull();
+        // 빈 문자열은 null 과 구분된다
+        assertThat(items.get(1).mealCode()).isEmpty();
+    }
+
+    @Test
+    void 한글_식품코드는_UTF8_로_담긴다() {
+        MealChangedEvent event = new MealChangedEvent(0, 1, DAY, 1, MealChangeType.CREATED,
+                List.of(new MealChangedEvent.ItemDelta(1, "닭가슴살-01 🍗", 1, 100, 1.0, 1.0, 1.0, 1.0)));
+
+        assertThat(MealChangedEventCodec.decode(1, MealChangedEventCodec.encode(event)).items().get(0).mealCode())
+                .isEqualTo("닭가슴살-01 🍗");
+    }
+
+    @Test
+    void 큰_id_도_가변_길이로_돌아온다() {
+        MealChangedEvent event = new MealChangedEvent(0, Integer.MAX_VALUE, DAY, Long.MAX_VALUE, MealChangeType.DELETED,
+                List.of(new MealChangedEvent.ItemDelta(Long.MAX_VALUE, "A", -1, Integer.MAX_VALUE, 1.0, 1.0, 1.0, 1.0),
+                        new MealChangedEvent.ItemDelta(1L << 35, "B", -1, 128, 1.0, 1.0, 1.0, 1.0)));
+
+        MealChangedEvent decoded = MealChangedEventCodec.decode(Long.MAX_VALUE, MealChangedEventCodec.encode(event));
+
+        assertThat(decoded.eventId()).isEqualTo(Long.MAX_VALUE);
+        assertThat(decoded.userId()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(decoded.historyId()).isEqualTo(Long.MAX_VALUE);
+        assertThat(decoded.items()).isEqualTo(event.items());
+    }
+
+    @Test
+    void 잘린_payload_는_거부한다() {
+        byte[] payload = MealChangedEventCodec.encode(new MealChangedEvent(0, 300, DAY, 70000, MealChangeType.CREATED,
+                List.of(new MealChangedEvent.ItemDelta(1, "D101-0001", 1, 100, 1.0, 1.0, 1.0, 1.0))));
+
+        for (int len = 0; len < payload.length; len++) {
+            byte[] cut = Arrays.copyOf(payload, len);
+            assertThatThrownBy(() -> MealChangedEventCodec.decode(1, cut))
+                    .as("length %d", len)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void 버전이나_변경_종류가_다르면_거부한다() {
+        byte[] payload = MealChangedEventCodec.encode(new MealChangedEvent(0, 1, DAY, 1, MealChangeType.CREATED, List.of()));
+
+        byte[] badVersion = payload.clone();
+        badVersion[0] = 2;
+        assertThatThrownBy(() -> MealChangedEventCodec.decode(1, badVersion))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+
+        // version userId historyId epochDay(3B) 다음이 type
+        byte[] badType = payload.clone();
+        badType[6] = 99;
+        assertThatThrownBy(() -> MealChangedEventCodec.decode(1, badType))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void 깨진_개수나_길이로_큰_배열을_만들지_않는다() {
+        // version=1, userId=1, historyId=1, epochDay=0, type=CREATED, itemCount=2^30
+        byte[] hugeCount = {1, 1, 1, 0, 1, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x04, 0, 0, 0, 0};
+        assertThatThrownBy(() -> MealChangedEventCodec.decode(1, hugeCount))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // itemCount=1, sign, mealItemId, mealCode 길이=2^31
+        byte[] hugeString = {1, 1, 1, 0, 1, 1, 1, 1, (byte) 0x81, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x08, 0, 0, 0, 0, 0, 0, 0, 0};
+        assertThatThrownBy(() -> MealChangedEventCodec.decode(1, hugeString))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
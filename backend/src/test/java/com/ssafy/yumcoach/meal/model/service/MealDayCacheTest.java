@@ -0,0 +1,113 @@
+package com.ssafy.yumcoach.meal.model.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.yumcoach.meal.model.MealLogDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MealDayCacheTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    private MealDayCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        // Redis 에는 아무것도 없다 (MGET → 모두 null)
+        when(values.multiGet(anyList())).thenAnswer(inv -> Arrays.asList(new String[((List<?>) inv.getArgument(0)).size()]));
+
+        cache = new MealDayCache(redisTemplate, new ObjectMapper(), mock(RedisMessageListenerContainer.class),
+                true, 100, 30, 600);
+    }
+
+    @Test
+    void 읽은_값은_로컬에_채워_다음_조회는_DB_를_읽지_않는다() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getDay(1, DAY, () -> load(loads));
+        cache.getDay(1, DAY, () -> load(loads));
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void 읽는_동안_같은_키가_무효화되면_로컬에_넣지_않는다() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getDay(1, DAY, () -> {
+            cache.evict(1, List.of(DAY));
+            return load(loads);
+        });
+        cache.getDay(1, DAY, () -> load(loads));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void 다른_키의_무효화는_채우기를_막지_않는다() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getDay(1, DAY, () -> {
+            cache.evict(2, List.of(DAY));            // 다른 사용자
+            cache.evict(1, List.of(DAY.plusDays(1))); // 같은 사용자의 다른 날
+            return load(loads);
+        });
+        cache.getDay(1, DAY, () -> load(loads));
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void 무효화_뒤에_시작한_읽기는_다시_채운다() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getDay(1, DAY, () -> load(loads));
+        cache.evict(1, List.of(DAY));
+        cache.getDay(1, DAY, () -> load(loads));
+        cache.getDay(1, DAY, () -> load(loads));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void 기간_조회도_무효화된_날만_건너뛰고_나머지는_채운다() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getRange(1, DAY, DAY.plusDays(2), (from, to) -> {
+            cache.evict(1, List.of(DAY.plusDays(1)));
+            loads.incrementAndGet();
+            return List.of();
+        });
+        List<LocalDate> reloaded = new ArrayList<>();
+        cache.getRange(1, DAY, DAY.plusDays(2), (from, to) -> {
+            for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) reloaded.add(d);
+            return List.of();
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(reloaded).containsExactly(DAY.plusDays(1));
+    }
+
+    private static List<MealLogDto> load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return List.of();
+    }
+}
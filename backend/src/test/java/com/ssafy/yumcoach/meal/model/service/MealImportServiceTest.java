@@ -0,0 +1,288 @@
+package com.ssafy.yumcoach.meal.model.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.yumcoach.food.model.FoodBatchResponse;
+import com.ssafy.yumcoach.food.model.FoodDetailDto;
+import com.ssafy.yumcoach.food.model.FoodItemDto;
+import com.ssafy.yumcoach.food.model.NutritionFactsPrimaryDto;
+import com.ssafy.yumcoach.food.model.service.FoodService;
+import com.ssafy.yumcoach.meal.enums.MealType;
+import com.ssafy.yumcoach.meal.model.MealImportResultDto;
+import com.ssafy.yumcoach.meal.model.MealItemDto;
+import com.ssafy.yumcoach.meal.model.MealLogDto;
+import com.ssafy.yumcoach.meal.model.mapper.MealMapper;
+import com.ssafy.yumcoach.meal.model.mapper.MealOutboxMapper;
+import com.ssafy.yumcoach.meal.model.mapper.MealSummaryMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MealImportServiceTest {
+
+    private static final int USER_ID = 7;
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    private final Map<String, FoodDetailDto> catalog = new LinkedHashMap<>();
+    private final List<Long> insertedHistoryIds = new ArrayList<>();
+
+    private FoodService foodService;
+    private MealDayCache mealDayCache;
+    private MealMapper mealMapper;
+    private MealSummaryMapper summaryMapper;
+    private MealOutboxMapper outboxMapper;
+    private PlatformTransactionManager transactionManager;
+    private MealImportService service;
+
+    @BeforeEach
+    void setUp() {
+        catalog.put("D101", food("D101", "현미밥", 210.0, nutrition(150.0, 3.0, 32.0, 1.0)));
+        catalog.put("D202", food("D202", "닭가슴살", null, nutrition(110.0, 23.0, 0.0, 1.5)));
+        catalog.put("D303", food("D303", "영양정보없음", 50.0, null));
+
+        foodService = mock(FoodService.class);
+        when(foodService.getFoodDetails(anyCollection())).thenAnswer(inv -> {
+            Collection<String> ids = inv.getArgument(0);
+            Map<String, FoodDetailDto> found = new LinkedHashMap<>();
+            List<String> missing = new ArrayList<>();
+            for (String id : ids) {
+                if (catalog.containsKey(id)) found.put(id, catalog.get(id));
+                else missing.add(id);
+            }
+            return new FoodBatchResponse(found, missing);
+        });
+
+        mealMapper = mock(MealMapper.class);
+        AtomicLong historyIds = new AtomicLong(1000);
+        doAnswer(inv -> {
+            MealLogDto meal = inv.getArgument(0);
+            meal.setId(historyIds.incrementAndGet());
+            insertedHistoryIds.add(meal.getId());
+            return 1;
+        }).when(mealMapper).insertMealLog(any(MealLogDto.class));
+
+        summaryMapper = mock(MealSummaryMapper.class);
+        outboxMapper = mock(MealOutboxMapper.class);
+        SqlSessionTemplate batchSession = mock(SqlSessionTemplate.class);
+        when(batchSession.getMapper(MealMapper.class)).thenReturn(mealMapper);
+        when(batchSession.getMapper(MealSummaryMapper.class)).thenReturn(summaryMapper);
+        when(batchSession.getMapper(MealOutboxMapper.class)).thenReturn(outboxMapper);
+
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+
+        mealDayCache = mock(MealDayCache.class);
+        service = new MealImportService(foodService, mealDayCache, new ObjectMapper(),
+                batchSession, new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "maxRecords", 100);
+    }
+
+    @Test
+    void 묶음_크기마다_한_트랜잭션으로_저장한다() {
+        List<MealLogDto> records = new ArrayList<>();
+        for (int i = 0; i < 5; i++) records.add(meal(DAY.plusDays(i), item("D101"), item("D202")));
+
+        MealImportResultDto result = service.importMeals(USER_ID, records);
+
+        assertThat(result.getReceived()).isEqualTo(5);
+        assertThat(result.getImported()).isEqualTo(5);
+        assertThat(result.getImportedItems()).isEqualTo(10);
+        assertThat(result.getFailed()).isZero();
+        // 2 + 2 + 마지막 1
+        verify(transactionManager, times(3)).commit(any());
+        verify(transactionManager, never()).rollback(any());
+        verify(summaryMapper, times(3)).applyHistoriesDelta(anyCollection(), eq(1));
+        verify(outboxMapper, times(5)).insertEvent(eq(USER_ID), any(LocalDate.class), any(byte[].class));
+        // 묶음마다 사용자 잠금 행을 이벤트보다 먼저 잡는다
+        verify(outboxMapper, times(3)).lockUser(USER_ID);
+        InOrder order = inOrder(outboxMapper);
+        order.verify(outboxMapper).lockUser(USER_ID);
+        order.verify(outboxMapper, times(2)).insertEvent(eq(USER_ID), any(LocalDate.class), any(byte[].class));
+        verify(mealDayCache, times(3)).evict(eq(USER_ID), anyCollection());
+        assertThat(records).allMatch(m -> m.getUserId() == USER_ID && m.getId() != null);
+    }
+
+    @Test
+    void 묶음_경계에서_남은_기록도_마지막에_저장한다() {
+        MealImportResultDto result = service.importMeals(USER_ID, List.of(meal(DAY, item("D101"))));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void 카탈로그에_없는_식품이_든_끼니만_실패한다() {
+        List<MealLogDto> records = List.of(
+                meal(DAY, item("D101")),
+                meal(DAY, item("D202"), item("NOPE")),
+                meal(DAY.plusDays(1), item("D202")));
+
+        MealImportResultDto result = service.importMeals(USER_ID, records);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getIndex()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getMessage()).contains("items[1]", "NOPE");
+        verify(mealMapper, times(2)).insertMealLog(any(MealLogDto.class));
+    }
+
+    @Test
+    void 저장에_실패한_묶음만_롤백하고_다음_묶음은_계속_저장한다() {
+        LocalDate broken = DAY.plusDays(1);
+        doAnswer(inv -> {
+            MealLogDto meal = inv.getArgument(0);
+            if (broken.equals(meal.getDate())) throw new DataIntegrityViolationException("duplicate");
+            meal.setId(5000L + insertedHistoryIds.size());
+            insertedHistoryIds.add(meal.getId());
+            return 1;
+        }).when(mealMapper).insertMealLog(any(MealLogDto.class));
+
+        List<MealLogDto> records = List.of(
+                meal(DAY, item("D101")),
+                meal(DAY, item("D202")),
+                meal(DAY.plusDays(2), item("D101")),  // 두 번째 묶음: 같은 묶음의 broken 때문에 함께 롤백
+                meal(broken, item("D101")),
+                meal(DAY.plusDays(3), item("D202")));
+
+        MealImportResultDto result = service.importMeals(USER_ID, records);
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(e -> e.getIndex()).containsExactly(2, 3);
+        assertThat(result.getErrors()).allMatch(e -> e.getMessage().contains("롤백"));
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+        // 롤백된 묶음의 날짜는 캐시를 건드리지 않는다
+        verify(mealDayCache, times(2)).evict(eq(USER_ID), anyCollection());
+    }
+
+    @Test
+    void 비어_있는_섭취량과_영양정보를_카탈로그로_채운다() {
+        MealItemDto rice = item("D101");
+        MealItemDto chicken = item("D202");
+        MealItemDto unknownNutrition = item("D303");
+        MealItemDto given = item("D101");
+        given.setAmount(50);
+        given.setKcal(999.0);
+
+        service.importMeals(USER_ID, List.of(meal(DAY, rice, chicken, unknownNutrition, given)));
+
+        assertThat(rice.getAmount()).isEqualTo(210);
+        assertThat(rice.getMealName()).isEqualTo("현미밥");
+        assertThat(rice.getKcal()).isEqualTo(315.0);
+        assertThat(rice.getCarbs()).isEqualTo(67.2);
+
+        // 1회 제공량을 모르면 100g
+        assertThat(chicken.getAmount()).isEqualTo(100);
+        assertThat(chicken.getProtein()).isEqualTo(23.0);
+
+        // 영양정보가 없는 식품은 null 이 아니라 0
+        assertThat(unknownNutrition.getAmount()).isEqualTo(50);
+        assertThat(unknownNutrition.getKcal()).isEqualTo(0.0);
+        assertThat(unknownNutrition.getProtein()).isEqualTo(0.0);
+        assertThat(unknownNutrition.getCarbs()).isEqualTo(0.0);
+        assertThat(unknownNutrition.getFat()).isEqualTo(0.0);
+
+        // 입력한 값은 그대로
+        assertThat(given.getKcal()).isEqualTo(999.0);
+        assertThat(given.getProtein()).isEqualTo(1.5);
+    }
+
+    @Test
+    void 형식이_잘못된_기록은_카탈로그_조회_전에_건너뛴다() {
+        MealLogDto noItems = meal(DAY);
+        MealItemDto zero = item("D101");
+        zero.setAmount(0);
+
+        MealImportResultDto result = service.importMeals(USER_ID, List.of(noItems, meal(DAY, zero)));
+
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getImported()).isZero();
+        verify(foodService, never()).getFoodDetails(anyCollection());
+        verify(transactionManager, never()).getTransaction(any());
+        verify(mealMapper, never()).insertMealItem(anyLong(), any());
+    }
+
+    @Test
+    void CSV_는_연속된_같은_끼니_줄을_한_끼로_묶는다() throws Exception {
+        String csv = "\uFEFFdate,mealType,mealCode,amount\n"
+                + "2026-03-02,BREAKFAST,D101,150\n"
+                + "2026-03-02,BREAKFAST,D202,\n"
+                + "2026-03-02,LUNCH,D101,\n"
+                + "2026-03-02,DINNER,D101,abc\n";
+
+        MealImportResultDto result = service.importCsv(USER_ID,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getImportedItems()).isEqualTo(3);
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(e -> assertThat(e.getLine()).isEqualTo(5));
+        verify(mealMapper, times(3)).insertMealItem(anyLong(), any(MealItemDto.class));
+        verify(summaryMapper, times(1)).applyHistoriesDelta(anyCollection(), anyInt());
+    }
+
+    private static MealLogDto meal(LocalDate date, MealItemDto... items) {
+        return MealLogDto.builder()
+                .date(date)
+                .mealType(MealType.BREAKFAST)
+                .items(new ArrayList<>(List.of(items)))
+                .build();
+    }
+
+    private static MealItemDto item(String code) {
+        return MealItemDto.builder().mealCode(code).build();
+    }
+
+    private static FoodDetailDto food(String id, String name, Double servingGrams, NutritionFactsPrimaryDto nutrition) {
+        FoodItemDto item = new FoodItemDto();
+        item.setFoodId(id);
+        item.setFoodName(name);
+        item.setServingGrams(servingGrams);
+        FoodDetailDto detail = new FoodDetailDto();
+        detail.setFood(item);
+        detail.setNutrition(nutrition);
+        return detail;
+    }
+
+    private static NutritionFactsPrimaryDto nutrition(Double kcal, Double protein, Double carbs, Double fat) {
+        NutritionFactsPrimaryDto n = new NutritionFactsPrimaryDto();
+        n.setEnergyKcal(kcal);
+        n.setProteinG(protein);
+        n.setCarbohydrateG(carbs);
+        n.setFatG(fat);
+        return n;
+    }
+}
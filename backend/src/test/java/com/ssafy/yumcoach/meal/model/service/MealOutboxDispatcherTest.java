@@ -0,0 +1,113 @@
+package com.ssafy.yumcoach.meal.model.service;
+
+import com.ssafy.yumcoach.meal.enums.MealChangeType;
+import com.ssafy.yumcoach.meal.event.MealChangeListener;
+import com.ssafy.yumcoach.meal.event.MealChangedEvent;
+import com.ssafy.yumcoach.meal.event.MealChangedEventCodec;
+import com.ssafy.yumcoach.meal.model.MealOutboxDto;
+import com.ssafy.yumcoach.meal.model.mapper.MealOutboxMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MealOutboxDispatcherTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    private final List<Long> deliveredIds = new ArrayList<>();
+    private final List<Long> failingIds = new ArrayList<>();
+
+    private MealOutboxMapper mapper;
+    private MealOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mapper = mock(MealOutboxMapper.class);
+
+        MealChangeListener listener = event -> {
+            if (failingIds.contains(event.eventId())) throw new IllegalStateException("boom");
+            deliveredIds.add(event.eventId());
+        };
+        ObjectProvider<MealChangeListener> listeners = mock(ObjectProvider.class);
+        when(listeners.orderedStream()).thenAnswer(inv -> Stream.of(listener));
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+
+        dispatcher = new MealOutboxDispatcher(mapper, listeners, transactionManager);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 10);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+    }
+
+    @Test
+    void 더_앞선_대기_이벤트가_묶음_밖에_있는_사용자는_건드리지_않는다() {
+        // 사용자 2 의 id 3 은 다른 서버가 잠가 SKIP LOCKED 로 빠졌다
+        when(mapper.selectPendingForUpdate(10)).thenReturn(List.of(row(1, 1), row(5, 2), row(6, 1), row(7, 2)));
+        when(mapper.selectPendingHeads(anyCollection())).thenReturn(List.of(head(1, 1), head(3, 2)));
+
+        int processed = dispatcher.dispatchBatch();
+
+        assertThat(processed).isEqualTo(2);
+        assertThat(deliveredIds).containsExactly(1L, 6L);
+        verify(mapper).markDispatched(List.of(1L, 6L));
+    }
+
+    @Test
+    void 전달에_실패하면_그_사용자의_뒤_이벤트만_보류한다() {
+        failingIds.add(1L);
+        when(mapper.selectPendingForUpdate(10)).thenReturn(List.of(row(1, 1), row(2, 2), row(3, 1), row(4, 2)));
+        when(mapper.selectPendingHeads(anyCollection())).thenReturn(List.of(head(1, 1), head(2, 2)));
+
+        int processed = dispatcher.dispatchBatch();
+
+        assertThat(processed).isEqualTo(3);
+        assertThat(deliveredIds).containsExactly(2L, 4L);
+        verify(mapper).markFailed(eq(1L), anyString(), eq(2L), eq(false));
+        verify(mapper, never()).markFailed(eq(3L), anyString(), anyLong(), anyBoolean());
+        verify(mapper).markDispatched(List.of(2L, 4L));
+    }
+
+    @Test
+    void 대기_이벤트가_없으면_아무것도_하지_않는다() {
+        when(mapper.selectPendingForUpdate(10)).thenReturn(List.of());
+
+        assertThat(dispatcher.dispatchBatch()).isZero();
+        verify(mapper, never()).selectPendingHeads(anyCollection());
+        verify(mapper, never()).markDispatched(anyCollection());
+    }
+
+    private static MealOutboxDto row(long id, int userId) {
+        MealChangedEvent event = new MealChangedEvent(0, userId, DAY, 100 + id, MealChangeType.CREATED, List.of());
+        return MealOutboxDto.builder()
+                .id(id)
+                .userId(userId)
+                .eventDate(DAY)
+                .payload(MealChangedEventCodec.encode(event))
+                .build();
+    }
+
+    private static MealOutboxDto head(long id, int userId) {
+        return MealOutboxDto.builder().id(id).userId(userId).build();
+    }
+}
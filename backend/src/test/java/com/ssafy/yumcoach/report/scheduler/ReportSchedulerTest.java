@@ -0,0 +1,145 @@
+package com.ssafy.yumcoach.report.scheduler;
+
+import com.ssafy.yumcoach.report.model.DailyReportBatchResult;
+import com.ssafy.yumcoach.report.model.ReportJobRunDto;
+import com.ssafy.yumcoach.report.model.ReportJobShardDto;
+import com.ssafy.yumcoach.report.model.mapper.ReportJobMapper;
+import com.ssafy.yumcoach.report.model.mapper.ReportMapper;
+import com.ssafy.yumcoach.report.service.ReportService;
+import com.ssafy.yumcoach.user.model.mapper.UserMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReportSchedulerTest {
+
+    private static final long RUN_ID = 1L;
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    private final ReportJobShardDto shard = ReportJobShardDto.builder()
+            .runId(RUN_ID).shard(0).status("PENDING").build();
+    private final AtomicLong fence = new AtomicLong();
+    // 이 횟수만큼 커서 이동(advanceShard, 실패 기록 제외)이 DB 오류로 실패한다
+    private final AtomicInteger advanceFailures = new AtomicInteger();
+
+    private ReportService reportService;
+    private ReportJobMapper jobMapper;
+    private ReportShardLeaser leaser;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        reportService = mock(ReportService.class);
+        jobMapper = mock(ReportJobMapper.class);
+        leaser = mock(ReportShardLeaser.class);
+
+        when(reportService.createDailyReports(eq(DAY), anyList(), any()))
+                .thenAnswer(inv -> DailyReportBatchResult.builder()
+                        .success(inv.<List<Integer>>getArgument(1).size()).build());
+
+        when(leaser.nodeId()).thenReturn("node-1");
+        when(leaser.leaseTtl()).thenReturn(Duration.ofSeconds(3));
+        when(leaser.tryClaim(eq(RUN_ID), eq(0)))
+                .thenAnswer(inv -> new ReportShardLeaser.Lease(RUN_ID, 0, fence.incrementAndGet()));
+
+        when(jobMapper.selectUnfinishedRuns(any())).thenReturn(List.of(ReportJobRunDto.builder()
+                .id(RUN_ID).runKey("DAILY:" + DAY).type("DAILY").fromDate(DAY).toDate(DAY)
+                .shardCount(1).status("RUNNING").build()));
+        when(jobMapper.selectShard(RUN_ID, 0)).thenAnswer(inv -> ReportJobShardDto.builder()
+                .runId(RUN_ID).shard(0).lastUserId(shard.getLastUserId()).status(shard.getStatus()).build());
+        when(jobMapper.advanceShard(eq(RUN_ID), eq(0), anyLong(), any(), anyInt(), anyInt(), anyInt()))
+                .thenAnswer(inv -> {
+                    if (inv.<Integer>getArgument(6) == 0 && advanceFailures.getAndDecrement() > 0) {
+                        throw new IllegalStateException("db blip");
+                    }
+                    shard.setLastUserId(inv.getArgument(3));
+                    return 1;
+                });
+        when(jobMapper.markShardDone(eq(RUN_ID), eq(0), anyLong())).thenAnswer(inv -> {
+            shard.setStatus("DONE");
+            return 1;
+        });
+    }
+
+    private ReportScheduler scheduler(int maxAttempts) throws Exception {
+        UserMapper userMapper = mock(UserMapper.class);
+        when(userMapper.findAllUserIds()).thenReturn(List.of(4, 2));
+        ReportWorkLimiter limiter = mock(ReportWorkLimiter.class);
+        doAnswer(inv -> inv.<Callable<?>>getArgument(0).call()).when(limiter).runBatch(any());
+
+        return new ReportScheduler(reportService, mock(ReportMapper.class), jobMapper, userMapper, limiter, leaser,
+                2, 1, 1, 100, 60, 36, 200, maxAttempts, 1);
+    }
+
+    private static void runToEnd(ReportScheduler scheduler) throws Exception {
+        scheduler.resumeUnfinishedRuns();
+        ExecutorService runner = (ExecutorService) ReflectionTestUtils.getField(scheduler, "runner");
+        runner.shutdown();
+        assertThat(runner.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> lastRun(ReportScheduler scheduler) {
+        return (Map<String, Object>) scheduler.status().get("run");
+    }
+
+    @Test
+    void 오류로_멈춘_샤드는_같은_실행에서_다시_시도해_끝낸다() throws Exception {
+        advanceFailures.set(1);
+        ReportScheduler scheduler = scheduler(3);
+
+        runToEnd(scheduler);
+
+        assertThat(shard.getStatus()).isEqualTo("DONE");
+        assertThat(shard.getLastUserId()).isEqualTo(4);
+        // 커서를 옮기지 못한 묶음은 다시 처리한다 (이미 만든 리포트는 createDailyReports 가 건너뛴다)
+        verify(reportService, times(2)).createDailyReports(eq(DAY), eq(List.of(2, 4)), any());
+        verify(leaser, times(2)).tryClaim(RUN_ID, 0);
+        verify(jobMapper, never()).upsertFailure(any(), anyInt(), anyString());
+        assertThat(lastRun(scheduler))
+                .containsEntry("shardsRetried", 1)
+                .containsEntry("shardsCompleted", 1)
+                .containsEntry("shardsFailed", 0);
+    }
+
+    @Test
+    void 시도_한도를_넘긴_샤드는_남은_사용자를_실패로_남기고_끝낸다() throws Exception {
+        advanceFailures.set(Integer.MAX_VALUE);
+        ReportScheduler scheduler = scheduler(2);
+
+        runToEnd(scheduler);
+
+        verify(leaser, times(2)).tryClaim(RUN_ID, 0);
+        verify(jobMapper).upsertFailure(eq(RUN_ID), eq(2), startsWith("SHARD_FAILED"));
+        verify(jobMapper).upsertFailure(eq(RUN_ID), eq(4), startsWith("SHARD_FAILED"));
+        verify(jobMapper).advanceShard(RUN_ID, 0, 2L, 4, 0, 0, 2);
+        assertThat(shard.getStatus()).isEqualTo("DONE");
+        assertThat(lastRun(scheduler))
+                .containsEntry("shardsRetried", 1)
+                .containsEntry("shardsFailed", 1);
+    }
+}
@@ -0,0 +1,172 @@
+package com.ssafy.yumcoach.report.service;
+
+import com.ssafy.yumcoach.ai.OpenAiService;
+import com.ssafy.yumcoach.challenge.model.service.ChallengeService;
+import com.ssafy.yumcoach.food.model.FoodBatchResponse;
+import com.ssafy.yumcoach.food.model.FoodDetailDto;
+import com.ssafy.yumcoach.food.model.FoodItemDto;
+import com.ssafy.yumcoach.food.model.NutritionFactsPrimaryDto;
+import com.ssafy.yumcoach.food.model.service.FoodService;
+import com.ssafy.yumcoach.meal.model.MealItemDto;
+import com.ssafy.yumcoach.meal.model.MealLogDto;
+import com.ssafy.yumcoach.meal.model.mapper.MealMapper;
+import com.ssafy.yumcoach.report.model.ReportDto;
+import com.ssafy.yumcoach.report.model.mapper.ReportMapper;
+import com.ssafy.yumcoach.report.scheduler.ReportWorkLimiter;
+import com.ssafy.yumcoach.user.model.mapper.UserMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReportServiceImplTest {
+
+    private static final int USER_ID = 7;
+    private static final LocalDate FROM = LocalDate.of(2026, 3, 2);
+    private static final LocalDate TO = LocalDate.of(2026, 3, 8);
+    private static final Runnable NO_LEASE = () -> { };
+
+    private ReportMapper reportMapper;
+    private MealMapper mealMapper;
+    private ReportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        reportMapper = mock(ReportMapper.class);
+        doAnswer(inv -> {
+            inv.<ReportDto>getArgument(0).setId(10);
+            return 1;
+        }).when(reportMapper).insertReport(any(ReportDto.class));
+
+        mealMapper = mock(MealMapper.class);
+        // 현미밥 200g = 300kcal
+        when(mealMapper.selectMealLogsByUserAndDateRange(eq(USER_ID), eq(FROM), eq(TO))).thenReturn(List.of(
+                MealLogDto.builder().userId(USER_ID).date(FROM)
+                        .items(List.of(MealItemDto.builder().mealCode("D101").amount(200).build())).build()));
+
+        FoodItemDto food = new FoodItemDto();
+        food.setFoodId("D101");
+        food.setFoodName("현미밥");
+        NutritionFactsPrimaryDto n = new NutritionFactsPrimaryDto();
+        n.setEnergyKcal(150.0);
+        n.setProteinG(3.0);
+        n.setCarbohydrateG(32.0);
+        n.setFatG(1.0);
+        FoodDetailDto detail = new FoodDetailDto();
+        detail.setFood(food);
+        detail.setNutrition(n);
+        FoodService foodService = mock(FoodService.class);
+        when(foodService.getFoodDetails(anyCollection())).thenReturn(new FoodBatchResponse(Map.of("D101", detail), List.of()));
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+
+        service = new ReportServiceImpl(reportMapper, mealMapper, foodService, mock(UserMapper.class),
+                mock(ChallengeService.class), mock(OpenAiService.class), mock(ReportWorkLimiter.class),
+                transactionManager);
+    }
+
+    private static ReportDto existing(int id, String createdBy, String status) {
+        ReportDto dto = new ReportDto();
+        dto.setId(id);
+        dto.setUserId(USER_ID);
+        dto.setCreatedBy(createdBy);
+        dto.setStatus(status);
+        return dto;
+    }
+
+    @Test
+    void 주간_리포트가_없으면_SYSTEM_으로_만들고_완료_표기한다() {
+        when(reportMapper.selectExistingWeeklyReports(USER_ID, FROM, TO)).thenReturn(List.of());
+
+        ReportDto dto = service.createScheduledWeeklyReport(USER_ID, FROM, TO, NO_LEASE);
+
+        assertThat(dto.getId()).isEqualTo(10);
+        assertThat(dto.getCreatedBy()).isEqualTo("SYSTEM");
+        assertThat(dto.getType()).isEqualTo("WEEKLY");
+        verify(reportMapper).updateReportSummary(10, 300, 6, 64, 2, 0);
+        verify(reportMapper).insertGenerationLog(eq(USER_ID), eq("WEEKLY"), any(), eq(FROM), eq(TO), eq("SYSTEM"),
+                any(), eq(10), any());
+        verify(reportMapper).markReportsCompleted(List.of(10));
+    }
+
+    @Test
+    void 배치가_만들다_멈춘_리포트는_새로_넣지_않고_이어서_끝낸다() {
+        when(reportMapper.selectExistingWeeklyReports(USER_ID, FROM, TO))
+                .thenReturn(List.of(existing(3, "SYSTEM", "PROGRESS")));
+
+        ReportDto dto = service.createScheduledWeeklyReport(USER_ID, FROM, TO, NO_LEASE);
+
+        assertThat(dto.getId()).isEqualTo(3);
+        verify(reportMapper, never()).insertReport(any());
+        verify(reportMapper).updateReportSummary(3, 300, 6, 64, 2, 0);
+        verify(reportMapper).markReportsCompleted(List.of(3));
+    }
+
+    @Test
+    void 완료됐거나_사용자가_만든_리포트가_있으면_건너뛴다() {
+        when(reportMapper.selectExistingWeeklyReports(USER_ID, FROM, TO))
+                .thenReturn(List.of(existing(3, "SYSTEM", "COMPLETED")))
+                .thenReturn(List.of(existing(4, "USER", "PROGRESS")));
+
+        assertThat(service.createScheduledWeeklyReport(USER_ID, FROM, TO, NO_LEASE)).isNull();
+        assertThat(service.createScheduledWeeklyReport(USER_ID, FROM, TO, NO_LEASE)).isNull();
+
+        verify(reportMapper, never()).insertReport(any());
+        verify(reportMapper, never()).updateReportSummary(anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+        verify(reportMapper, never()).markReportsCompleted(anyCollection());
+    }
+
+    @Test
+    void 섭취량이_없는_항목은_빼고_합계를_낸다() {
+        when(reportMapper.selectExistingWeeklyReports(USER_ID, FROM, TO)).thenReturn(List.of());
+        when(mealMapper.selectMealLogsByUserAndDateRange(eq(USER_ID), eq(FROM), eq(TO))).thenReturn(List.of(
+                MealLogDto.builder().userId(USER_ID).date(FROM).items(List.of(
+                        MealItemDto.builder().mealCode("D101").amount(200).build(),
+                        MealItemDto.builder().mealCode("D101").build(),
+                        MealItemDto.builder().mealCode("D101").amount(0).build())).build()));
+
+        service.createScheduledWeeklyReport(USER_ID, FROM, TO, NO_LEASE);
+
+        verify(reportMapper).updateReportSummary(10, 300, 6, 64, 2, 0);
+    }
+
+    @Test
+    void 식사_기록이_없으면_리포트_행을_남기지_않는다() {
+        when(reportMapper.selectExistingWeeklyReports(USER_ID, FROM, TO)).thenReturn(List.of());
+        when(mealMapper.selectMealLogsByUserAndDateRange(eq(USER_ID), eq(FROM), eq(TO))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> service.createScheduledWeeklyReport(USER_ID, FROM, TO, NO_LEASE))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("NO_MEALS");
+        verify(reportMapper, never()).insertReport(any());
+    }
+
+    @Test
+    void 임대를_잃었으면_저장하지_않는다() {
+        Runnable lost = () -> {
+            throw new IllegalStateException("lease lost");
+        };
+
+        assertThatThrownBy(() -> service.createScheduledWeeklyReport(USER_ID, FROM, TO, lost))
+                .hasMessage("lease lost");
+        verify(reportMapper, never()).selectExistingWeeklyReports(anyInt(), any(), any());
+        verify(reportMapper, never()).insertReport(any());
+    }
+}
@@ -0,0 +1,30 @@
+use yumcoach_db;
+
+-- 식품별 섭취 기록 수 (meal.meal_code 집계). 검색 순위용
+CREATE TABLE IF NOT EXISTS `food_popularity` (
+  `food_id` VARCHAR(255) NOT NULL,
+  `use_count` INT NOT NULL DEFAULT 0,
+  `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`food_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 사용자별 식품 섭취 기록 수
+CREATE TABLE IF NOT EXISTS `food_popularity_user` (
+  `user_id` INT NOT NULL,
+  `food_id` VARCHAR(255) NOT NULL,
+  `use_count` INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (`user_id`, `food_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 집계 진행 위치: meal.id 가 last_meal_id 이하인 행까지 반영됨 (한 행만 사용)
+-- pending_meal_id: pending_at 시점에 본 MAX(meal.id). 유예 시간이 지나면 그 이하 id 는 커밋이 끝났다고 보고 반영한다
+CREATE TABLE IF NOT EXISTS `food_popularity_state` (
+  `id` TINYINT NOT NULL,
+  `last_meal_id` INT NOT NULL DEFAULT 0,
+  `pending_meal_id` INT NOT NULL DEFAULT 0,
+  `pending_at` DATETIME NULL,
+  `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+INSERT IGNORE INTO `food_popularity_state` (`id`, `last_meal_id`) VALUES (1, 0);
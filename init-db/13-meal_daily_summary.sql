@@ -0,0 +1,41 @@
+use yumcoach_db;
+
+-- 사용자별 하루 영양 합계 (meal_history + meal 롤업)
+-- MealServiceImpl 의 저장/수정/삭제가 같은 트랜잭션에서 증감분을 더하고,
+-- 매일 새벽 최근 며칠을 meal 원본으로 다시 맞춘다.
+CREATE TABLE IF NOT EXISTS `meal_daily_summary` (
+  `user_id` INT NOT NULL,
+  `date` DATE NOT NULL,
+  `kcal` DECIMAL(12, 2) NOT NULL DEFAULT 0,
+  `protein` DECIMAL(12, 2) NOT NULL DEFAULT 0,
+  `carbs` DECIMAL(12, 2) NOT NULL DEFAULT 0,
+  `fat` DECIMAL(12, 2) NOT NULL DEFAULT 0,
+  `item_count` INT NOT NULL DEFAULT 0,
+  `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`user_id`, `date`),
+  FOREIGN KEY (`user_id`) REFERENCES `user`(`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 새벽 보정(날짜 범위 전체 사용자)용. user_id 가 앞인 인덱스로는 날짜만으로 범위를 좁힐 수 없어
+-- meal_history 전체를 훑게 된다. 보조 인덱스가 PK(id)를 들고 있어 meal 조인까지 이 인덱스로 끝난다.
+CREATE INDEX `idx_meal_history_date_user` ON `meal_history` (`date`, `user_id`);
+
+-- 기존 기록 채우기
+INSERT INTO `meal_daily_summary` (`user_id`, `date`, `kcal`, `protein`, `carbs`, `fat`, `item_count`)
+SELECT
+    h.user_id,
+    DATE(h.date),
+    COALESCE(SUM(m.kcal), 0),
+    COALESCE(SUM(m.protein), 0),
+    COALESCE(SUM(m.carbs), 0),
+    COALESCE(SUM(m.fat), 0),
+    COUNT(m.id)
+FROM meal_history h
+         LEFT JOIN meal m ON m.history_id = h.id
+GROUP BY h.user_id, DATE(h.date)
+ON DUPLICATE KEY UPDATE
+    kcal = VALUES(kcal),
+    protein = VALUES(protein),
+    carbs = VALUES(carbs),
+    fat = VALUES(fat),
+    item_count = VALUES(item_count);
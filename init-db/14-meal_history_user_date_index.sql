@@ -0,0 +1,5 @@
+use yumcoach_db;
+
+-- 사용자별 기간 조회 / 집계 / 타임라인 keyset 페이지용 (user_id, date, type) 범위 스캔
+-- InnoDB 보조 인덱스는 PK(id)를 함께 들고 있으므로 (date, type, id) 순서 정렬도 이 인덱스로 끝난다.
+CREATE INDEX `idx_meal_history_user_date_type` ON `meal_history` (`user_id`, `date`, `type`);
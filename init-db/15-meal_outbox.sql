@@ -0,0 +1,35 @@
+use yumcoach_db;
+
+-- 식단 변경 이벤트 outbox (MealChanged)
+-- MealServiceImpl 의 저장/수정/삭제가 같은 트랜잭션에서 한 행씩 넣고,
+-- MealOutboxDispatcher 가 id 순서대로 읽어 서버 안의 리스너(리포트, 챌린지 등)에 전달한다.
+-- payload 는 MealChangedEventCodec 바이너리 (사용자, 날짜, 아이템별 증감)
+CREATE TABLE IF NOT EXISTS `meal_outbox` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `user_id` INT NOT NULL,
+  `event_date` DATE NOT NULL,
+  `payload` BLOB NOT NULL,
+  `status` TINYINT NOT NULL DEFAULT 0 COMMENT '0 대기, 1 전달 완료, 2 포기(재시도 한도 초과)',
+  `attempts` INT NOT NULL DEFAULT 0,
+  `next_attempt_at` DATETIME(3) NULL,
+  `last_error` VARCHAR(500) NULL,
+  `created_at` DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  `dispatched_at` DATETIME(3) NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_meal_outbox_status_id` (`status`, `id`),
+  KEY `idx_meal_outbox_status_user_id` (`status`, `user_id`, `id`),
+  KEY `idx_meal_outbox_status_dispatched` (`status`, `dispatched_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 사용자별 outbox 잠금 행
+-- meal_outbox.id 는 insert 때 정해지므로, 같은 사용자의 두 트랜잭션이 (날짜가 달라 합계 행 잠금이 겹치지 않으면)
+-- 큰 id 가 먼저 커밋될 수 있다. 이벤트를 넣기 전에 이 행을 잠가 같은 사용자의 이벤트 insert 를 커밋 순서로 줄 세운다.
+-- user 행을 잠그지 않는 것은 meal_history 등의 FK 검사가 user 행에 공유 잠금을 걸어 잠금 승격 교착이 나기 때문이다.
+CREATE TABLE IF NOT EXISTS `meal_outbox_user` (
+  `user_id` INT NOT NULL,
+  PRIMARY KEY (`user_id`),
+  FOREIGN KEY (`user_id`) REFERENCES `user`(`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+INSERT IGNORE INTO `meal_outbox_user` (`user_id`)
+SELECT `id` FROM `user`;
@@ -0,0 +1,14 @@
+use yumcoach_db;
+
+-- 식품 카탈로그 원본(food_items, nutrition_facts_primary) 버전 (한 행만 사용)
+-- 원본을 고치는 적재/정리 스크립트가 끝에서 version 을 올린다.
+-- (others/food_catalog_version_triggers.sql 을 설치하면 행이 바뀔 때마다 자동으로 올라간다)
+-- 서버는 기본키 조회 한 번으로 로컬 스냅샷이 최신인지, 카탈로그를 다시 적재할지 판단한다.
+CREATE TABLE IF NOT EXISTS `food_catalog_version` (
+  `id` TINYINT NOT NULL,
+  `version` BIGINT NOT NULL DEFAULT 1,
+  `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+INSERT IGNORE INTO `food_catalog_version` (`id`, `version`) VALUES (1, 1);
@@ -0,0 +1,52 @@
+use yumcoach_db;
+
+-- 리포트 배치 실행 기록 (ReportScheduler)
+-- 한 번의 일간/주간 배치(run_key 예: DAILY:2026-10-16)가 한 행이고,
+-- user_id 샤드마다 마지막으로 처리한 user_id(커서)와 결과 수를 남겨
+-- 서버가 재시작되어도 멈춘 곳부터 이어서 돈다.
+CREATE TABLE IF NOT EXISTS `report_job_run` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `run_key` VARCHAR(64) NOT NULL,
+  `type` ENUM('DAILY','WEEKLY') NOT NULL,
+  `from_date` DATE NOT NULL,
+  `to_date` DATE NOT NULL,
+  `shard_count` INT NOT NULL,
+  `status` VARCHAR(16) NOT NULL DEFAULT 'RUNNING' COMMENT 'RUNNING / COMPLETED',
+  `created_at` DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  `finished_at` DATETIME(3) NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_report_job_run_key` (`run_key`),
+  KEY `idx_report_job_run_status` (`status`, `created_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 샤드별 진행 커서 / 결과 수 (샤드 안의 사용자는 user_id 오름차순으로 처리)
+-- owner / lease_until / fence 는 샤드 임대 (ReportShardLeaser). 가져갈 때마다 fence 가 오르고,
+-- 커서 이동과 리포트 저장은 자기 fence 일 때만 한다.
+CREATE TABLE IF NOT EXISTS `report_job_shard` (
+  `run_id` BIGINT NOT NULL,
+  `shard` INT NOT NULL,
+  `last_user_id` INT NOT NULL DEFAULT 0,
+  `status` VARCHAR(16) NOT NULL DEFAULT 'PENDING' COMMENT 'PENDING / DONE',
+  `success` INT NOT NULL DEFAULT 0,
+  `skipped` INT NOT NULL DEFAULT 0,
+  `failed` INT NOT NULL DEFAULT 0,
+  `owner` VARCHAR(100) NULL COMMENT '임대한 서버 (ReportShardLeaser.nodeId)',
+  `lease_until` DATETIME(3) NULL,
+  `fence` BIGINT NOT NULL DEFAULT 0,
+  `updated_at` DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+  PRIMARY KEY (`run_id`, `shard`),
+  CONSTRAINT `fk_report_job_shard_run` FOREIGN KEY (`run_id`) REFERENCES `report_job_run` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 실패한 사용자 (관리자 재처리 대상)
+CREATE TABLE IF NOT EXISTS `report_job_failure` (
+  `run_id` BIGINT NOT NULL,
+  `user_id` INT NOT NULL,
+  `status` VARCHAR(16) NOT NULL DEFAULT 'FAILED' COMMENT 'FAILED / RESOLVED',
+  `attempts` INT NOT NULL DEFAULT 1,
+  `last_error` VARCHAR(500) NULL,
+  `updated_at` DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+  PRIMARY KEY (`run_id`, `user_id`),
+  KEY `idx_report_job_failure_status` (`run_id`, `status`),
+  CONSTRAINT `fk_report_job_failure_run` FOREIGN KEY (`run_id`) REFERENCES `report_job_run` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,25 @@
+USE yumcoach_db;
+
+-- food_items / nutrition_facts_primary 가 바뀌면 food_catalog_version 을 올리는 트리거
+-- 식품 테이블을 적재한 뒤 한 번 실행한다 (init-db 시점에는 식품 테이블이 없을 수 있어 따로 둔다).
+
+DROP TRIGGER IF EXISTS food_items_ai_version;
+DROP TRIGGER IF EXISTS food_items_au_version;
+DROP TRIGGER IF EXISTS food_items_ad_version;
+DROP TRIGGER IF EXISTS nutrition_facts_primary_ai_version;
+DROP TRIGGER IF EXISTS nutrition_facts_primary_au_version;
+DROP TRIGGER IF EXISTS nutrition_facts_primary_ad_version;
+
+CREATE TRIGGER food_items_ai_version AFTER INSERT ON food_items FOR EACH ROW
+  UPDATE food_catalog_version SET version = version + 1 WHERE id = 1;
+CREATE TRIGGER food_items_au_version AFTER UPDATE ON food_items FOR EACH ROW
+  UPDATE food_catalog_version SET version = version + 1 WHERE id = 1;
+CREATE TRIGGER food_items_ad_version AFTER DELETE ON food_items FOR EACH ROW
+  UPDATE food_catalog_version SET version = version + 1 WHERE id = 1;
+
+CREATE TRIGGER nutrition_facts_primary_ai_version AFTER INSERT ON nutrition_facts_primary FOR EACH ROW
+  UPDATE food_catalog_version SET version = version + 1 WHERE id = 1;
+CREATE TRIGGER nutrition_facts_primary_au_version AFTER UPDATE ON nutrition_facts_primary FOR EACH ROW
+  UPDATE food_catalog_version SET version = version + 1 WHERE id = 1;
+CREATE TRIGGER nutrition_facts_primary_ad_version AFTER DELETE ON nutrition_facts_primary FOR EACH ROW
+  UPDATE food_catalog_version SET version = version + 1 WHERE id = 1;
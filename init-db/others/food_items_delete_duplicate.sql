@@ -29,6 +29,9 @@ DELETE fi
 FROM food_items fi
 JOIN dup_delete_ids d ON d.food_id = fi.food_id;
 
+-- 3) 서버가 카탈로그를 다시 적재하도록 버전을 올린다
+UPDATE food_catalog_version SET version = version + 1 WHERE id = 1;
+
 COMMIT;
 -- 문제 생기면: ROLLBACK;
 
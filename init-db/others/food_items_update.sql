@@ -53,3 +53,7 @@ SELECT
     TRIM(LEADING '샌드위치 ' FROM food_name) AS after
 FROM food_items
 WHERE food_name LIKE '샌드위치 %' AND food_id LIKE 'D202%';
+
+
+-- 서버가 카탈로그를 다시 적재하도록 버전을 올린다
+UPDATE food_catalog_version SET version = version + 1 WHERE id = 1;